@@ -0,0 +1,152 @@
+package Bench;
+
+import Datos.GeneradorEmpleados;
+import Entities.Empleado;
+import Entities.Legajo;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Base H2 en memoria (modo MySQL) para los benchmarks JMH.
+ *
+ * Crea el esquema con sql01, inserta los datos de sql02 y agrega N
+ * empleados sintéticos con su legajo (ver GeneradorEmpleados).
+ * Configura DatabaseConnection (db.url, db.driver, ...) para que los
+ * DAOs usen esta base, por lo que debe llamarse antes de tocar
+ * cualquier DAO o servicio.
+ *
+ * Cada fork de JMH es una JVM nueva: la base se arma una vez por fork.
+ */
+public final class BaseDeDatosH2 {
+
+    public static final String URL = "jdbc:h2:mem:empresa;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    /** Datos sintéticos reproducibles: misma semilla en cada corrida, sin bajas ni empleados sin legajo */
+    private static final GeneradorEmpleados GENERADOR = new GeneradorEmpleados(42, 0, 0);
+
+    private static int filasCargadas = -1;
+
+    private BaseDeDatosH2() {
+    }
+
+    /**
+     * Prepara la base con la cantidad de empleados sintéticos pedida.
+     * Llamadas repetidas en la misma JVM no vuelven a cargar datos.
+     *
+     * @param filas empleados sintéticos a insertar
+     */
+    public static synchronized void preparar(int filas) throws Exception {
+        if (filasCargadas >= 0) {
+            if (filasCargadas != filas) {
+                throw new IllegalStateException("La base ya se cargó con " + filasCargadas + " filas");
+            }
+            return;
+        }
+        System.setProperty("db.url", URL);
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+        Class.forName("org.h2.Driver");
+
+        Path dir = Path.of(System.getProperty("bench.sql.dir", "sql"));
+        try (Connection conn = DriverManager.getConnection(URL, "sa", "")) {
+            ejecutarScript(conn, dir.resolve("sql01_creacion_bd.sql.sql"));
+            ejecutarScript(conn, dir.resolve("sql02_datos_prueba.sql"));
+            insertarSinteticos(conn, filas);
+        }
+        filasCargadas = filas;
+    }
+
+    /** @return el DNI del i-ésimo empleado sintético */
+    public static String dni(int i) {
+        return GENERADOR.dni(i);
+    }
+
+    /**
+     * Ejecuta un script SQL omitiendo lo que no aplica a H2:
+     * DROP/CREATE DATABASE y USE (la base en memoria ya es "empresa").
+     */
+    private static void ejecutarScript(Connection conn, Path script) throws Exception {
+        StringBuilder sinComentarios = new StringBuilder();
+        for (String linea : Files.readAllLines(script, StandardCharsets.UTF_8)) {
+            if (!linea.trim().startsWith("--")) {
+                sinComentarios.append(linea).append('\n');
+            }
+        }
+        try (Statement st = conn.createStatement()) {
+            for (String sentencia : sinComentarios.toString().split(";")) {
+                String sql = sentencia.trim();
+                String inicio = sql.toUpperCase(Locale.ROOT);
+                if (sql.isEmpty() || inicio.startsWith("USE ")
+                        || inicio.startsWith("DROP DATABASE") || inicio.startsWith("CREATE DATABASE")) {
+                    continue;
+                }
+                st.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * Inserta los empleados de GeneradorEmpleados (semilla fija, todos activos
+     * y con legajo) y luego sus legajos. Los IDs generados son consecutivos
+     * porque la carga corre en una sola sesión.
+     */
+    private static void insertarSinteticos(Connection conn, int filas) throws SQLException {
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO empleados (eliminado, nombre, apellido, dni, email, fecha_ingreso, area) "
+                + "VALUES (FALSE, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < filas; i++) {
+                Empleado e = GENERADOR.generar(i);
+                ps.setString(1, e.getNombre());
+                ps.setString(2, e.getApellido());
+                ps.setString(3, e.getDni());
+                ps.setString(4, e.getEmail());
+                ps.setDate(5, Date.valueOf(e.getFechaIngreso()));
+                ps.setString(6, e.getArea());
+                ps.addBatch();
+                if ((i + 1) % 1000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+
+        long idMinimo;
+        try (PreparedStatement ps = conn.prepareStatement("SELECT id FROM empleados WHERE dni = ?")) {
+            ps.setString(1, dni(0));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                idMinimo = rs.getLong(1);
+            }
+        }
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO legajos (eliminado, nro_legajo, categoria, estado, fecha_alta, empleado_id) "
+                + "VALUES (FALSE, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < filas; i++) {
+                Legajo l = GENERADOR.generar(i).getLegajo();
+                ps.setString(1, l.getNroLegajo());
+                ps.setString(2, l.getCategoria());
+                ps.setString(3, l.getEstado().name());
+                ps.setDate(4, Date.valueOf(l.getFechaAlta()));
+                ps.setLong(5, idMinimo + i);
+                ps.addBatch();
+                if ((i + 1) % 1000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+    }
+}
@@ -0,0 +1,275 @@
+package Bench;
+
+import Config.DatabaseConnection;
+import Dao.Orden;
+import Entities.Empleado;
+import Entities.Estado;
+import Entities.Legajo;
+import Metrics.Histograma;
+import Service.EmpleadoService;
+import Service.EmpleadoServiceImpl;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga concurrente sobre EmpleadoServiceImpl (H2 en memoria).
+ *
+ * Es de lazo abierto: las operaciones se programan a tasa fija y cada una
+ * se lanza en su propio hilo virtual, sin esperar a que terminen las
+ * anteriores. La latencia se mide desde el instante PROGRAMADO, no desde
+ * que la operación consiguió cliente o conexión, así que una demora del
+ * sistema aparece en los percentiles en lugar de frenar al generador
+ * (coordinated omission).
+ *
+ * Parámetros (--clave=valor, todos opcionales):
+ *   --tasa=1000          operaciones por segundo
+ *   --duracion=30        segundos medidos
+ *   --calentamiento=5    segundos previos que no se miden
+ *   --clientes=200       operaciones en curso como máximo
+ *   --filas=10000        empleados precargados
+ *   --mezcla=getById:40,buscarPorDni:20,getPagina:10,insertar:5,crearEmpleadoConLegajo:10,actualizar:10,eliminar:5
+ *
+ * Uso: ant carga -Dcarga.args="--tasa=2000 --clientes=200"
+ */
+public final class GeneradorCarga {
+
+    private static final String MEZCLA_POR_DEFECTO =
+            "getById:40,buscarPorDni:20,getPagina:10,insertar:5,crearEmpleadoConLegajo:10,actualizar:10,eliminar:5";
+
+    /** Las altas usan DNIs por encima de los precargados */
+    private static final int DNI_ALTAS = 70_000_000;
+
+    private static final String[] AREAS = {"RRHH", "IT", "Ventas", "Finanzas", "Logistica"};
+
+    private final EmpleadoService service = new EmpleadoServiceImpl();
+    private final Map<String, Histograma> latencias = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errores = new LinkedHashMap<>();
+    private final Map<String, LongAdder> omitidas = new LinkedHashMap<>();
+    private final String[] operaciones;
+    private final int[] pesosAcumulados;
+    private final ConcurrentLinkedQueue<Long> creados = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger altas = new AtomicInteger();
+    private final Histograma atrasoGenerador = new Histograma();
+    private final int filas;
+    private long idMinimo;
+
+    private GeneradorCarga(String mezcla, int filas) {
+        this.filas = filas;
+        String[] partes = mezcla.split(",");
+        operaciones = new String[partes.length];
+        pesosAcumulados = new int[partes.length];
+        int acumulado = 0;
+        for (int i = 0; i < partes.length; i++) {
+            String[] par = partes[i].trim().split(":");
+            if (par.length != 2 || Integer.parseInt(par[1]) < 0) {
+                throw new IllegalArgumentException("Mezcla inválida: " + partes[i]);
+            }
+            operaciones[i] = par[0];
+            acumulado += Integer.parseInt(par[1]);
+            pesosAcumulados[i] = acumulado;
+            latencias.put(par[0], new Histograma());
+            errores.put(par[0], new LongAdder());
+            omitidas.put(par[0], new LongAdder());
+        }
+        if (acumulado == 0) {
+            throw new IllegalArgumentException("La mezcla debe tener al menos un peso mayor a 0");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = leerOpciones(args);
+        int tasa = Integer.parseInt(opciones.getOrDefault("tasa", "1000"));
+        int duracion = Integer.parseInt(opciones.getOrDefault("duracion", "30"));
+        int calentamiento = Integer.parseInt(opciones.getOrDefault("calentamiento", "5"));
+        int clientes = Integer.parseInt(opciones.getOrDefault("clientes", "200"));
+        int filas = Integer.parseInt(opciones.getOrDefault("filas", "10000"));
+        if (tasa <= 0 || duracion <= 0 || calentamiento < 0 || clientes <= 0 || filas <= 0) {
+            throw new IllegalArgumentException("tasa, duracion, clientes y filas deben ser mayores a 0");
+        }
+
+        BaseDeDatosH2.preparar(filas);
+        GeneradorCarga generador = new GeneradorCarga(opciones.getOrDefault("mezcla", MEZCLA_POR_DEFECTO), filas);
+        generador.idMinimo = generador.service.buscarPorDni(BaseDeDatosH2.dni(0)).getId();
+
+        System.out.printf("Carga: %d ops/s, %d s (+%d s de calentamiento), hasta %d clientes, %d filas%n",
+                tasa, duracion, calentamiento, clientes, filas);
+        generador.ejecutar(tasa, calentamiento, duracion, clientes);
+        generador.imprimirReporte(duracion);
+        DatabaseConnection.shutdown();
+    }
+
+    /**
+     * Programa una operación cada 1/tasa segundos y la lanza en un hilo virtual.
+     * Solo se registran las programadas después del calentamiento.
+     */
+    private void ejecutar(int tasa, int calentamiento, int duracion, int clientes) throws InterruptedException {
+        Semaphore enCurso = new Semaphore(clientes);
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / tasa;
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + TimeUnit.SECONDS.toNanos(calentamiento);
+        long fin = inicioMedicion + TimeUnit.SECONDS.toNanos(duracion);
+
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long programado = inicio + i * intervalo;
+                if (programado >= fin) {
+                    break;
+                }
+                long espera;
+                while ((espera = programado - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                boolean medir = programado >= inicioMedicion;
+                if (medir) {
+                    atrasoGenerador.registrar(System.nanoTime() - programado);
+                }
+                String operacion = elegirOperacion();
+                hilos.execute(() -> {
+                    enCurso.acquireUninterruptibly();
+                    try {
+                        boolean hecha = ejecutarOperacion(operacion);
+                        if (medir) {
+                            if (hecha) {
+                                latencias.get(operacion).registrar(System.nanoTime() - programado);
+                            } else {
+                                omitidas.get(operacion).increment();
+                            }
+                        }
+                    } catch (Exception e) {
+                        if (medir) {
+                            errores.get(operacion).increment();
+                        }
+                    } finally {
+                        enCurso.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private String elegirOperacion() {
+        int r = ThreadLocalRandom.current().nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (r < pesosAcumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+
+    /**
+     * @return false si la operación no tenía sobre qué actuar (no se mide)
+     */
+    private boolean ejecutarOperacion(String operacion) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operacion) {
+            case "getById":
+                service.getById(idMinimo + random.nextInt(filas));
+                return true;
+            case "buscarPorDni":
+                service.buscarPorDni(BaseDeDatosH2.dni(random.nextInt(filas)));
+                return true;
+            case "getPagina":
+                service.getPagina(idMinimo + random.nextInt(filas), 20, Orden.ASC);
+                return true;
+            case "insertar": {
+                Empleado empleado = nuevoEmpleado();
+                service.insertar(empleado);
+                creados.add(empleado.getId());
+                return true;
+            }
+            case "crearEmpleadoConLegajo": {
+                Empleado empleado = nuevoEmpleado();
+                Legajo legajo = new Legajo();
+                legajo.setNroLegajo("CARGA-" + empleado.getDni());
+                legajo.setCategoria("Junior");
+                legajo.setEstado(Estado.ACTIVO);
+                legajo.setFechaAlta(empleado.getFechaIngreso());
+                empleado.setLegajo(legajo);
+                service.crearEmpleadoConLegajo(empleado);
+                creados.add(empleado.getId());
+                return true;
+            }
+            case "actualizar": {
+                Empleado empleado = service.getById(idMinimo + random.nextInt(filas));
+                if (empleado == null) {
+                    return false;
+                }
+                empleado.setArea(AREAS[random.nextInt(AREAS.length)]);
+                service.actualizar(empleado);
+                return true;
+            }
+            case "eliminar": {
+                // Solo se eliminan empleados creados por la carga: las lecturas siguen encontrando los precargados
+                Long id = creados.poll();
+                if (id == null) {
+                    return false;
+                }
+                service.eliminar(id);
+                return true;
+            }
+            default:
+                throw new IllegalArgumentException("Operación desconocida en la mezcla: " + operacion);
+        }
+    }
+
+    private Empleado nuevoEmpleado() {
+        int n = altas.getAndIncrement();
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Carga");
+        empleado.setApellido("Concurrente");
+        empleado.setDni(String.valueOf(DNI_ALTAS + n));
+        empleado.setEmail("carga." + n + "@empresa.com");
+        empleado.setFechaIngreso(LocalDate.of(2024, 1, 1));
+        empleado.setArea(AREAS[n % AREAS.length]);
+        return empleado;
+    }
+
+    private void imprimirReporte(int duracion) {
+        System.out.println();
+        System.out.printf("%-24s %9s %8s %8s %10s %10s %10s %10s %10s%n",
+                "operacion", "ops", "errores", "omitidas", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Histograma> entrada : latencias.entrySet()) {
+            Histograma h = entrada.getValue();
+            total += h.getCantidad();
+            System.out.printf("%-24s %9d %8d %8d %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                    entrada.getKey(), h.getCantidad(),
+                    errores.get(entrada.getKey()).sum(), omitidas.get(entrada.getKey()).sum(),
+                    ms(h.percentil(50)), ms(h.percentil(90)), ms(h.percentil(99)),
+                    ms(h.percentil(99.9)), ms(h.getMaximo()));
+        }
+        System.out.println();
+        System.out.printf("Throughput medido: %.1f ops/s%n", (double) total / duracion);
+        System.out.printf("Atraso del generador: p99 %.3f ms, max %.3f ms%n",
+                ms(atrasoGenerador.percentil(99)), ms(atrasoGenerador.getMaximo()));
+        System.out.printf("Pool: %d conexiones (máx %d)%n",
+                DatabaseConnection.getTotalConnections(), DatabaseConnection.getMaxPoolSize());
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Map<String, String> leerOpciones(String[] args) {
+        Map<String, String> opciones = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Parámetro inválido (se espera --clave=valor): " + arg);
+            }
+            int igual = arg.indexOf('=');
+            opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opciones;
+    }
+}
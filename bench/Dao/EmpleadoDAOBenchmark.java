@@ -0,0 +1,76 @@
+package Dao;
+
+import Bench.BaseDeDatosH2;
+import Config.DatabaseConnection;
+import Entities.Empleado;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lecturas de EmpleadoDAOImpl contra H2 con 1k y 100k empleados.
+ * leer y getByDni deberían mantenerse planos (índices); leerTodos
+ * crece con la tabla.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmpleadoDAOBenchmark {
+
+    @Param({"1000", "100000"})
+    int filas;
+
+    private EmpleadoDAOImpl dao;
+    private long idMinimo;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDeDatosH2.preparar(filas);
+        dao = new EmpleadoDAOImpl();
+        idMinimo = dao.getByDni(BaseDeDatosH2.dni(0)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        DatabaseConnection.shutdown();
+    }
+
+    // Recorre las filas en orden para no medir siempre la misma (y cacheada) página
+    private int proximo() {
+        int i = siguiente;
+        siguiente = (i + 7919) % filas;
+        return i;
+    }
+
+    @Benchmark
+    public Empleado leer() throws Exception {
+        return dao.leer(idMinimo + proximo());
+    }
+
+    @Benchmark
+    public Empleado getByDni() throws Exception {
+        return dao.getByDni(BaseDeDatosH2.dni(proximo()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Empleado> leerTodos() throws Exception {
+        return dao.leerTodos();
+    }
+}
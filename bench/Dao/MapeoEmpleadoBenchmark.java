@@ -0,0 +1,67 @@
+package Dao;
+
+import Bench.BaseDeDatosH2;
+import Config.DatabaseConnection;
+import Entities.Empleado;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de EmpleadoDAOImpl.mapearEmpleado sobre una fila ya leída
+ * (empleado con legajo), sin ejecutar la consulta en cada invocación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoEmpleadoBenchmark {
+
+    private EmpleadoDAOImpl dao;
+    private Connection conn;
+    private PreparedStatement stmt;
+    private ResultSet rs;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDeDatosH2.preparar(1000);
+        dao = new EmpleadoDAOImpl();
+        long id = dao.getByDni(BaseDeDatosH2.dni(0)).getId();
+        conn = DatabaseConnection.getConnection();
+        stmt = conn.prepareStatement(EmpleadoDAOImpl.SQL_LEER,
+                ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        stmt.setLong(1, id);
+        rs = stmt.executeQuery();
+        if (!rs.next()) {
+            throw new IllegalStateException("No se encontró el empleado sintético " + id);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        rs.close();
+        stmt.close();
+        conn.close();
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public Empleado mapearEmpleado() throws Exception {
+        return dao.mapearEmpleado(rs);
+    }
+}
@@ -0,0 +1,50 @@
+package Service;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Validación de email de validarEmpleado: patrón precompilado frente a
+ * String.matches (que compila la expresión en cada llamada), como referencia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EmailBenchmark {
+
+    private static final String REGEX = "^[\\w._%+-]+@[\\w.-]+\\.[a-zA-Z]{2,}$";
+
+    private final String[] emails = {
+        "juan.perez@empresa.com",
+        "maria.gomez@empresa.com.ar",
+        "sin-arroba.empresa.com",
+        "usuario+etiqueta@sub.dominio.org",
+        "mal@dominio"
+    };
+
+    @Benchmark
+    public void emailValido(Blackhole bh) {
+        for (String email : emails) {
+            bh.consume(EmpleadoServiceImpl.emailValido(email));
+        }
+    }
+
+    @Benchmark
+    public void stringMatches(Blackhole bh) {
+        for (String email : emails) {
+            bh.consume(email.matches(REGEX));
+        }
+    }
+}
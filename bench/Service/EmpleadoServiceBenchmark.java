@@ -0,0 +1,73 @@
+package Service;
+
+import Bench.BaseDeDatosH2;
+import Config.DatabaseConnection;
+import Entities.Empleado;
+import Entities.Estado;
+import Entities.Legajo;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Alta completa (validación + transacción empleado/legajo) con
+ * crearEmpleadoConLegajo. Cada invocación usa un DNI nuevo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmpleadoServiceBenchmark {
+
+    /** Las altas usan DNIs por encima de los sintéticos precargados */
+    private static final int DNI_ALTAS = 60_000_000;
+
+    private EmpleadoServiceImpl service;
+    private int contador;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDeDatosH2.preparar(1000);
+        service = new EmpleadoServiceImpl();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public Empleado crearEmpleadoConLegajo() throws Exception {
+        int n = contador++;
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Alta");
+        empleado.setApellido("Benchmark");
+        empleado.setDni(String.valueOf(DNI_ALTAS + n));
+        empleado.setEmail("alta." + n + "@empresa.com");
+        empleado.setFechaIngreso(LocalDate.of(2024, 1, 1));
+        empleado.setArea("IT");
+
+        Legajo legajo = new Legajo();
+        legajo.setNroLegajo("ALTA-" + n);
+        legajo.setCategoria("Junior");
+        legajo.setEstado(Estado.ACTIVO);
+        legajo.setFechaAlta(LocalDate.of(2024, 1, 2));
+        empleado.setLegajo(legajo);
+
+        service.crearEmpleadoConLegajo(empleado);
+        return empleado;
+    }
+}
@@ -2,7 +2,8 @@
 -- Archivo: sql01_creacion_bd.sql
 -- Descripción: Crea la base de datos 'empresa', las tablas
 -- empleados y legajos (relación 1→1 unidireccional),
--- con claves, restricciones e índices.
+-- con claves, restricciones e índices, y la tabla
+-- resumen dotacion.
 -- ==========================================================
 
 DROP DATABASE IF EXISTS empresa;
@@ -43,4 +44,57 @@ CREATE TABLE legajos (
         REFERENCES empleados(id)
         ON DELETE CASCADE
         ON UPDATE CASCADE
-);
\ No newline at end of file
+);
+
+-- ==========================================================
+-- ÍNDICES DE BÚSQUEDA (EmpleadoDAO.buscar)
+-- InnoDB agrega la PK (id) al final de cada índice secundario,
+-- así que con igualdad en las columnas del índice el filtro
+-- "id > ? ORDER BY id" se resuelve sin ordenar.
+-- ==========================================================
+CREATE INDEX idx_empleados_area ON empleados (eliminado, area);
+CREATE INDEX idx_empleados_fecha_ingreso ON empleados (eliminado, fecha_ingreso);
+CREATE INDEX idx_empleados_apellido ON empleados (eliminado, apellido);
+CREATE INDEX idx_empleados_nombre ON empleados (eliminado, nombre);
+CREATE INDEX idx_legajos_estado ON legajos (estado, empleado_id);
+CREATE INDEX idx_legajos_categoria ON legajos (categoria, empleado_id);
+
+-- ==========================================================
+-- ÍNDICES DE REPORTES (ReporteDAO)
+-- Cada consulta agregada se resuelve leyendo solo un índice
+-- (EXPLAIN muestra "Using index"), sin tocar las filas:
+-- - empleados por área: idx_empleados_area
+-- - altas por mes: idx_empleados_fecha_ingreso
+-- - legajos por estado: idx_legajos_eliminado_estado
+-- - empleados sin legajo: cualquier índice (eliminado, ...) de
+--   empleados, que incluye la PK, + idx_legajos_empleado_eliminado
+-- En una base existente basta con ejecutar estos CREATE INDEX.
+-- ==========================================================
+CREATE INDEX idx_legajos_eliminado_estado ON legajos (eliminado, estado);
+CREATE INDEX idx_legajos_empleado_eliminado ON legajos (empleado_id, eliminado);
+
+-- ==========================================================
+-- TABLA: DOTACION (resumen mantenido por DotacionDAO)
+-- Empleados activos por (área, estado del legajo). Los
+-- Services la actualizan en la misma transacción que cada
+-- alta, baja o cambio de área/estado, así que leer una
+-- celda es una búsqueda por PK. area '' = sin área;
+-- estado 'SIN_LEGAJO' = empleado sin legajo activo.
+-- En una base existente, crear la tabla y ejecutar el
+-- INSERT ... SELECT de abajo (o Main.ReconstruirDotacion).
+-- ==========================================================
+DROP TABLE IF EXISTS dotacion;
+
+CREATE TABLE dotacion (
+    area VARCHAR(50) NOT NULL,
+    estado ENUM('ACTIVO', 'INACTIVO', 'SIN_LEGAJO') NOT NULL,
+    cantidad BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (area, estado)
+);
+
+INSERT INTO dotacion (area, estado, cantidad)
+SELECT COALESCE(e.area, ''), COALESCE(l.estado, 'SIN_LEGAJO'), COUNT(*)
+FROM empleados e
+LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE
+WHERE e.eliminado = FALSE
+GROUP BY COALESCE(e.area, ''), COALESCE(l.estado, 'SIN_LEGAJO');
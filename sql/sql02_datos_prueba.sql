@@ -25,6 +25,18 @@ VALUES (FALSE, 'Maria', 'Gomez', '87654321', 'maria.gomez@empresa.com', '2024-06
 INSERT INTO legajos (eliminado, nro_legajo, categoria, estado, fecha_alta, observaciones, empleado_id)
 VALUES (FALSE, 'LEG-002', 'Junior', 'ACTIVO', '2024-07-01', 'Legajo incompleto', 2);
 
+-- ==========================================================
+-- TABLA RESUMEN DOTACION (los INSERT directos no la mantienen)
+-- ==========================================================
+DELETE FROM dotacion;
+
+INSERT INTO dotacion (area, estado, cantidad)
+SELECT COALESCE(e.area, ''), COALESCE(l.estado, 'SIN_LEGAJO'), COUNT(*)
+FROM empleados e
+LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE
+WHERE e.eliminado = FALSE
+GROUP BY COALESCE(e.area, ''), COALESCE(l.estado, 'SIN_LEGAJO');
+
 -- ==========================================================
 -- Fin del archivo de datos de prueba
 -- ==========================================================
\ No newline at end of file
@@ -0,0 +1,119 @@
+package Cache;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una consulta de {@link AlmacenColumnar}: conteos por fila y
+ * columna y, si se pidió, la antigüedad promedio en días. Sólo incluye las
+ * filas y columnas con algún empleado.
+ */
+public final class Agrupacion {
+
+    private final List<String> filas;
+    private final List<String> columnas;
+    private final long[] conteos;
+    private final long[] dias;
+    private final long[] conFecha;
+
+    Agrupacion(List<String> filas, List<String> columnas, long[] conteos, long[] dias, long[] conFecha) {
+        this.filas = Collections.unmodifiableList(filas);
+        this.columnas = Collections.unmodifiableList(columnas);
+        this.conteos = conteos;
+        this.dias = dias;
+        this.conFecha = conFecha;
+    }
+
+    public List<String> getFilas() {
+        return filas;
+    }
+
+    /** @return las columnas; ["total"] si se agrupó por una sola dimensión */
+    public List<String> getColumnas() {
+        return columnas;
+    }
+
+    /** @return cantidad total de empleados contados */
+    public long getTotal() {
+        long total = 0;
+        for (long conteo : conteos) {
+            total += conteo;
+        }
+        return total;
+    }
+
+    /** @return empleados de la fila (todas las columnas), 0 si no está */
+    public long getConteo(String fila) {
+        int i = filas.indexOf(fila);
+        if (i < 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int j = 0; j < columnas.size(); j++) {
+            total += conteos[i * columnas.size() + j];
+        }
+        return total;
+    }
+
+    /** @return empleados de la celda, 0 si no está */
+    public long getConteo(String fila, String columna) {
+        int celda = celda(fila, columna);
+        return celda >= 0 ? conteos[celda] : 0;
+    }
+
+    /**
+     * @return antigüedad promedio en días de la fila (todas las columnas),
+     *         o NaN si no se pidió o ningún empleado tiene fecha de ingreso
+     */
+    public double getAntiguedadPromedio(String fila) {
+        int i = filas.indexOf(fila);
+        if (dias == null || i < 0) {
+            return Double.NaN;
+        }
+        long suma = 0;
+        long cantidad = 0;
+        for (int j = 0; j < columnas.size(); j++) {
+            suma += dias[i * columnas.size() + j];
+            cantidad += conFecha[i * columnas.size() + j];
+        }
+        return cantidad > 0 ? (double) suma / cantidad : Double.NaN;
+    }
+
+    /** @return antigüedad promedio en días de la celda, o NaN */
+    public double getAntiguedadPromedio(String fila, String columna) {
+        int celda = celda(fila, columna);
+        if (dias == null || celda < 0 || conFecha[celda] == 0) {
+            return Double.NaN;
+        }
+        return (double) dias[celda] / conFecha[celda];
+    }
+
+    private int celda(String fila, String columna) {
+        int i = filas.indexOf(fila);
+        int j = columnas.indexOf(columna);
+        return i >= 0 && j >= 0 ? i * columnas.size() + j : -1;
+    }
+
+    /** Tabla de texto con los conteos, para consola. */
+    @Override
+    public String toString() {
+        int ancho = 12;
+        for (String fila : filas) {
+            ancho = Math.max(ancho, fila.length());
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-" + ancho + "s", ""));
+        for (String columna : columnas) {
+            sb.append(String.format(" %12s", columna));
+        }
+        sb.append('\n');
+        for (int i = 0; i < filas.size(); i++) {
+            sb.append(String.format("%-" + ancho + "s", filas.get(i)));
+            for (int j = 0; j < columnas.size(); j++) {
+                sb.append(String.format(" %12d", conteos[i * columnas.size() + j]));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
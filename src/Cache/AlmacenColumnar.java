@@ -0,0 +1,823 @@
+package Cache;
+
+import Entities.Empleado;
+import Entities.Estado;
+import Entities.Legajo;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Vista columnar en memoria de empleados + legajo para consultas analticas
+ * (conteos y agrupaciones) sin ir a la BD.
+ *
+ * Una fila por empleado, incluidos los dados de baja lgica:
+ * - ids / legajos: long (legajo 0 = sin legajo activo)
+ * - fecha de ingreso: int en das desde 1970-01-01 (SIN_FECHA si es null)
+ * - area / categoria: short, cdigo de diccionario (0 = null)
+ * - estado del legajo: short, 1 + ordinal de Estado (0 = sin legajo)
+ * - combinacin: short, cdigo de la terna (area, categoria, estado)
+ * - eliminado: un bit por fila
+ *
+ * Para cada combinacin se mantienen, separados por baja lgica, la
+ * cantidad de filas y la suma de sus fechas de ingreso. Una consulta sin
+ * rango de fechas slo pliega esos totales (cientos de combinaciones, no
+ * millones de filas). Con rango de fechas se recorren las columnas en
+ * particiones paralelas, cada una con sus propios acumuladores (long[]) por
+ * combinacin, sin saltos condicionales ni objetos por fila. Los filtros
+ * por area, categoria y estado y el agrupamiento se aplican al plegar.
+ *
+ * Las consultas toman el lock de lectura; la carga y las modificaciones, el
+ * de escritura. Se carga completa una vez (cargarSiHaceFalta) y despus la
+ * mantienen los Services con las modificaciones ya confirmadas (despus del
+ * commit). Las modificaciones que llegan antes de la carga se ignoran: la
+ * carga las lee de la BD.
+ *
+ * Configuracin por System properties:
+ * - analitica.particion: filas mnimas por particin paralela (65536)
+ */
+public class AlmacenColumnar {
+
+    public enum Dimension { AREA, CATEGORIA, ESTADO }
+
+    /** Receptor de las filas durante la carga. */
+    @FunctionalInterface
+    public interface Destino {
+        void agregar(long id, boolean eliminado, LocalDate fechaIngreso, String area,
+                     long legajoId, String categoria, Estado estado);
+    }
+
+    /** Fuente de todas las filas, invocada una sola vez al cargar. */
+    @FunctionalInterface
+    public interface Fuente {
+        void recorrer(Destino destino) throws Exception;
+    }
+
+    /** Etiqueta de los grupos sin rea, sin categora o sin legajo. */
+    public static final String SIN_DATO = "(sin dato)";
+
+    static final int SIN_FECHA = Integer.MIN_VALUE;
+    private static final int PARTICION_MINIMA = Math.max(1024, Integer.getInteger("analitica.particion", 1 << 16));
+    private static final Estado[] ESTADOS = Estado.values();
+
+    private final StampedLock lock = new StampedLock();
+    private volatile boolean cargado;
+
+    private int filas;
+    private long[] ids;
+    private long[] legajos;
+    private int[] ingresos;
+    private short[] areas;
+    private short[] categorias;
+    private short[] estados;
+    private short[] combinaciones;
+    private long[] eliminados;
+
+    private Diccionario dicAreas;
+    private Diccionario dicCategorias;
+    private Combinaciones combinacion;
+    private MapaLongInt filaPorId;
+    private MapaLongInt filaPorLegajo;
+
+    public AlmacenColumnar() {
+        vaciar();
+    }
+
+    // ========================================================================
+    // CARGA
+    // ========================================================================
+
+    /**
+     * Carga todas las filas desde la fuente si todava no se cargaron.
+     * Las consultas y modificaciones concurrentes esperan a que termine.
+     *
+     * @throws Exception Si la fuente falla (el almacn queda sin cargar)
+     */
+    public void cargarSiHaceFalta(Fuente fuente) throws Exception {
+        if (cargado) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (cargado) {
+                return;
+            }
+            try {
+                fuente.recorrer(this::agregarFila);
+            } catch (Exception | Error e) {
+                vaciar();
+                throw e;
+            }
+            cargado = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /** Descarta el contenido: se vuelve a cargar en el prximo uso. */
+    public void invalidar() {
+        long stamp = lock.writeLock();
+        try {
+            vaciar();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** @return cantidad de filas (empleados activos y eliminados) */
+    public int getFilas() {
+        long stamp = lock.readLock();
+        try {
+            return filas;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ========================================================================
+    // MODIFICACIONES (invocar despus del commit)
+    // ========================================================================
+
+    /** Alta de un empleado, con su legajo si lo tiene. */
+    public void registrar(Empleado empleado) {
+        if (empleado == null || empleado.getId() == null) {
+            return;
+        }
+        Legajo legajo = empleado.getLegajo();
+        long legajoId = legajo != null && legajo.getId() != null ? legajo.getId() : 0L;
+        long stamp = lock.writeLock();
+        try {
+            if (cargado) {
+                agregarFila(empleado.getId(), false, empleado.getFechaIngreso(), empleado.getArea(),
+                        legajoId, legajoId != 0 ? legajo.getCategoria() : null,
+                        legajoId != 0 ? legajo.getEstado() : null);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Nuevos datos de un empleado (actualizacin o upsert por DNI). Si la
+     * fila no existe se agrega activa y sin legajo; el legajo y la baja
+     * lgica no se modifican.
+     */
+    public void actualizarEmpleado(long id, LocalDate fechaIngreso, String area) {
+        long stamp = lock.writeLock();
+        try {
+            if (!cargado) {
+                return;
+            }
+            int fila = filaPorId.get(id);
+            if (fila < 0) {
+                agregarFila(id, false, fechaIngreso, area, 0L, null, null);
+                return;
+            }
+            quitarDeTotales(fila);
+            ingresos[fila] = diaDe(fechaIngreso);
+            areas[fila] = dicAreas.codigo(area);
+            sumarATotales(fila);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Baja lgica de un empleado. */
+    public void eliminarEmpleado(long id) {
+        long stamp = lock.writeLock();
+        try {
+            int fila = cargado ? filaPorId.get(id) : -1;
+            if (fila >= 0) {
+                quitarDeTotales(fila);
+                eliminados[fila >>> 6] |= 1L << fila;
+                sumarATotales(fila);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Nuevos datos del legajo (se ignora si el legajo no est en el almacn). */
+    public void actualizarLegajo(long legajoId, String categoria, Estado estado) {
+        long stamp = lock.writeLock();
+        try {
+            int fila = cargado ? filaDelLegajo(legajoId) : -1;
+            if (fila >= 0) {
+                quitarDeTotales(fila);
+                categorias[fila] = dicCategorias.codigo(categoria);
+                estados[fila] = codigoEstado(estado);
+                sumarATotales(fila);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Baja lgica del legajo: el empleado queda sin legajo. */
+    public void eliminarLegajo(long legajoId) {
+        long stamp = lock.writeLock();
+        try {
+            int fila = cargado ? filaDelLegajo(legajoId) : -1;
+            if (fila >= 0) {
+                quitarDeTotales(fila);
+                legajos[fila] = 0L;
+                categorias[fila] = 0;
+                estados[fila] = 0;
+                sumarATotales(fila);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // ========================================================================
+    // CONSULTAS
+    // ========================================================================
+
+    /** @return cantidad de filas que cumplen el filtro */
+    public long contar(Filtro filtro) {
+        return consultar(null, null, filtro, null).getTotal();
+    }
+
+    /**
+     * Cuenta las filas que cumplen el filtro agrupadas por una o dos dimensiones.
+     *
+     * @param filas    dimensin de las filas del resultado
+     * @param columnas dimensin de las columnas, o null para una sola columna
+     */
+    public Agrupacion agrupar(Dimension filas, Dimension columnas, Filtro filtro) {
+        if (filas == null) {
+            throw new IllegalArgumentException("La dimensin de las filas es obligatoria");
+        }
+        return consultar(filas, columnas, filtro, null);
+    }
+
+    /**
+     * Como agrupar, adems con la antigedad promedio (en das, a la fecha
+     * de referencia) de las filas con fecha de ingreso.
+     */
+    public Agrupacion antiguedad(Dimension filas, Dimension columnas, Filtro filtro, LocalDate referencia) {
+        if (filas == null || referencia == null) {
+            throw new IllegalArgumentException("La dimensin de las filas y la fecha de referencia son obligatorias");
+        }
+        return consultar(filas, columnas, filtro, referencia);
+    }
+
+    private Agrupacion consultar(Dimension dimFilas, Dimension dimColumnas, Filtro filtro, LocalDate referencia) {
+        if (filtro == null) {
+            filtro = new Filtro();
+        }
+        long stamp = lock.readLock();
+        try {
+            if (!cargado) {
+                throw new IllegalStateException("El almacn analtico no est cargado");
+            }
+            Plan plan = new Plan(filtro, dimFilas, dimColumnas);
+            if (filtro.ingresoDesde == null && filtro.ingresoHasta == null) {
+                return plan.plegar(combinacion.cantidad, combinacion.sumaIngreso, combinacion.conIngreso, referencia);
+            }
+            long desde = filtro.ingresoDesde != null ? filtro.ingresoDesde.toEpochDay() : SIN_FECHA + 1L;
+            long hasta = filtro.ingresoHasta != null ? filtro.ingresoHasta.toEpochDay() : Integer.MAX_VALUE;
+            long[][] totales = recorrerRango(desde, hasta);
+            // Dentro de un rango todas las filas tienen fecha: conIngreso == cantidad
+            return plan.plegar(totales[0], totales[1], totales[0], referencia);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Totales por combinacin (cantidad y suma de ingresos) de las filas con
+     * fecha de ingreso en [desde, hasta], en particiones paralelas.
+     */
+    private long[][] recorrerRango(long desde, long hasta) {
+        int tamanio = combinacion.cantidad.length;
+        int particiones = (int) Math.min(ForkJoinPool.getCommonPoolParallelism() + 1L,
+                Math.max(1L, (filas + (long) PARTICION_MINIMA - 1) / PARTICION_MINIMA));
+        long[][] cantidades = new long[particiones][tamanio];
+        long[][] sumas = new long[particiones][tamanio];
+
+        int tramo = (filas + particiones - 1) / particiones;
+        ForkJoinTask<?>[] tareas = new ForkJoinTask<?>[particiones - 1];
+        for (int p = 1; p < particiones; p++) {
+            int inicio = Math.min(filas, p * tramo);
+            int fin = Math.min(filas, inicio + tramo);
+            long[] cantidad = cantidades[p];
+            long[] suma = sumas[p];
+            tareas[p - 1] = ForkJoinPool.commonPool().submit(() -> escanear(inicio, fin, desde, hasta, cantidad, suma));
+        }
+        escanear(0, Math.min(filas, tramo), desde, hasta, cantidades[0], sumas[0]);
+        for (ForkJoinTask<?> tarea : tareas) {
+            tarea.join();
+        }
+        for (int p = 1; p < particiones; p++) {
+            for (int k = 0; k < tamanio; k++) {
+                cantidades[0][k] += cantidades[p][k];
+                sumas[0][k] += sumas[p][k];
+            }
+        }
+        return new long[][] { cantidades[0], sumas[0] };
+    }
+
+    /**
+     * Recorre las filas [inicio, fin): cada una suma 1 (y su fecha) en su
+     * combinacin si la fecha cae en el rango, 0 si no. SIN_FECHA nunca cae.
+     */
+    private void escanear(int inicio, int fin, long desde, long hasta, long[] cantidad, long[] suma) {
+        final int[] ingreso = ingresos;
+        final short[] combinacion = combinaciones;
+        final long[] bajas = eliminados;
+        for (int i = inicio; i < fin; i++) {
+            long f = ingreso[i];
+            long enRango = ~((f - desde) | (hasta - f)) >>> 63;
+            int k = combinacion[i] << 1 | (int) (bajas[i >>> 6] >>> i & 1L);
+            cantidad[k] += enRango;
+            suma[k] += f * enRango;
+        }
+    }
+
+    // ========================================================================
+    // FILTRO
+    // ========================================================================
+
+    /**
+     * Condiciones de una consulta. Sin condiciones cuenta todos los
+     * empleados activos. Los conjuntos vacos no se permiten: para no
+     * filtrar por una dimensin, no invocar el mtodo correspondiente.
+     */
+    public static final class Filtro {
+        private boolean conEliminados;
+        private Set<String> areas;
+        private Set<String> categorias;
+        private EnumSet<Estado> estados;
+        private LocalDate ingresoDesde;
+        private LocalDate ingresoHasta;
+
+        /** Incluye a los empleados dados de baja lgica. */
+        public Filtro conEliminados() {
+            this.conEliminados = true;
+            return this;
+        }
+
+        public Filtro areas(String... valores) {
+            this.areas = conjunto(valores);
+            return this;
+        }
+
+        public Filtro categorias(String... valores) {
+            this.categorias = conjunto(valores);
+            return this;
+        }
+
+        /** Slo empleados con legajo en alguno de estos estados. */
+        public Filtro estados(Estado... valores) {
+            if (valores == null || valores.length == 0) {
+                throw new IllegalArgumentException("Debe indicar al menos un estado");
+            }
+            this.estados = EnumSet.copyOf(Arrays.asList(valores));
+            return this;
+        }
+
+        /**
+         * Fecha de ingreso entre desde y hasta, inclusive (null = sin lmite).
+         * Con algn lmite quedan afuera los empleados sin fecha de ingreso.
+         */
+        public Filtro ingresoEntre(LocalDate desde, LocalDate hasta) {
+            if (desde != null && hasta != null && desde.isAfter(hasta)) {
+                throw new IllegalArgumentException("La fecha desde es posterior a la fecha hasta");
+            }
+            this.ingresoDesde = desde;
+            this.ingresoHasta = hasta;
+            return this;
+        }
+
+        private static Set<String> conjunto(String... valores) {
+            if (valores == null || valores.length == 0) {
+                throw new IllegalArgumentException("Debe indicar al menos un valor");
+            }
+            return new HashSet<>(Arrays.asList(valores));
+        }
+    }
+
+    /** Filtro y dimensiones traducidos a cdigos, bajo el lock de lectura. */
+    private final class Plan {
+        private final boolean conEliminados;
+        private final boolean[] areas;
+        private final boolean[] categorias;
+        private final boolean[] estados;
+        private final Dimension dimFilas;
+        private final Dimension dimColumnas;
+        private final int alto;
+        private final int ancho;
+
+        Plan(Filtro filtro, Dimension filas, Dimension columnas) {
+            this.conEliminados = filtro.conEliminados;
+            this.areas = mascara(dicAreas, filtro.areas);
+            this.categorias = mascara(dicCategorias, filtro.categorias);
+            this.estados = new boolean[ESTADOS.length + 1];
+            for (int codigo = 0; codigo < estados.length; codigo++) {
+                estados[codigo] = filtro.estados == null
+                        || (codigo > 0 && filtro.estados.contains(ESTADOS[codigo - 1]));
+            }
+            this.dimFilas = filas;
+            this.dimColumnas = columnas;
+            this.alto = cantidadGrupos(filas);
+            this.ancho = cantidadGrupos(columnas);
+        }
+
+        /**
+         * Aplica filtro y agrupamiento a los totales por combinacin
+         * (ndice = combinacin * 2 + eliminado).
+         */
+        Agrupacion plegar(long[] cantidad, long[] sumaIngreso, long[] conIngreso, LocalDate referencia) {
+            long[] conteos = new long[alto * ancho];
+            long[] sumas = new long[alto * ancho];
+            long[] conFecha = new long[alto * ancho];
+            for (int k = 0; k < combinacion.tamanio(); k++) {
+                int a = combinacion.area[k];
+                int c = combinacion.categoria[k];
+                int e = combinacion.estado[k];
+                if (!areas[a] || !categorias[c] || !estados[e]) {
+                    continue;
+                }
+                int g = grupo(dimFilas, a, c, e) * ancho + grupo(dimColumnas, a, c, e);
+                for (int baja = 0; baja <= (conEliminados ? 1 : 0); baja++) {
+                    int i = k << 1 | baja;
+                    conteos[g] += cantidad[i];
+                    sumas[g] += sumaIngreso[i];
+                    conFecha[g] += conIngreso[i];
+                }
+            }
+            return resultado(conteos, sumas, conFecha, referencia);
+        }
+
+        /** Arma el resultado omitiendo los grupos sin filas. */
+        private Agrupacion resultado(long[] conteos, long[] sumas, long[] conFecha, LocalDate referencia) {
+            int[] filasUsadas = usados(conteos, alto, ancho, true);
+            int[] columnasUsadas = usados(conteos, alto, ancho, false);
+            int n = filasUsadas.length * columnasUsadas.length;
+            long[] c = new long[n];
+            long[] d = referencia != null ? new long[n] : null;
+            long[] f = referencia != null ? new long[n] : null;
+            long dia = referencia != null ? referencia.toEpochDay() : 0L;
+            for (int i = 0; i < filasUsadas.length; i++) {
+                for (int j = 0; j < columnasUsadas.length; j++) {
+                    int origen = filasUsadas[i] * ancho + columnasUsadas[j];
+                    int destino = i * columnasUsadas.length + j;
+                    c[destino] = conteos[origen];
+                    if (d != null) {
+                        // suma de (referencia - ingreso) = referencia * n - suma de ingresos
+                        d[destino] = dia * conFecha[origen] - sumas[origen];
+                        f[destino] = conFecha[origen];
+                    }
+                }
+            }
+            return new Agrupacion(etiquetas(dimFilas, filasUsadas), etiquetas(dimColumnas, columnasUsadas), c, d, f);
+        }
+
+        private List<String> etiquetas(Dimension dimension, int[] codigos) {
+            List<String> etiquetas = new ArrayList<>(codigos.length);
+            for (int codigo : codigos) {
+                etiquetas.add(etiqueta(dimension, codigo));
+            }
+            return etiquetas;
+        }
+    }
+
+    /** @return tabla por cdigo (0 = null) de los valores que pasan el filtro */
+    private static boolean[] mascara(Diccionario diccionario, Set<String> valores) {
+        boolean[] mascara = new boolean[diccionario.tamanio() + 1];
+        if (valores == null) {
+            Arrays.fill(mascara, true);
+            return mascara;
+        }
+        for (String valor : valores) {
+            int codigo = valor != null ? diccionario.buscar(valor) : 0;
+            if (codigo >= 0) {
+                mascara[codigo] = true;
+            }
+        }
+        return mascara;
+    }
+
+    /** ndices (de fila o de columna) con al menos una fila contada. */
+    private static int[] usados(long[] conteos, int alto, int ancho, boolean porFila) {
+        int total = porFila ? alto : ancho;
+        int[] usados = new int[total];
+        int cantidad = 0;
+        for (int k = 0; k < total; k++) {
+            long suma = 0;
+            for (int otro = 0; otro < (porFila ? ancho : alto); otro++) {
+                suma += porFila ? conteos[k * ancho + otro] : conteos[otro * ancho + k];
+            }
+            if (suma > 0 || total == 1) {
+                usados[cantidad++] = k;
+            }
+        }
+        return Arrays.copyOf(usados, cantidad);
+    }
+
+    private static int grupo(Dimension dimension, int area, int categoria, int estado) {
+        if (dimension == null) {
+            return 0;
+        }
+        switch (dimension) {
+            case AREA: return area;
+            case CATEGORIA: return categoria;
+            default: return estado;
+        }
+    }
+
+    private int cantidadGrupos(Dimension dimension) {
+        if (dimension == null) {
+            return 1;
+        }
+        switch (dimension) {
+            case AREA: return dicAreas.tamanio() + 1;
+            case CATEGORIA: return dicCategorias.tamanio() + 1;
+            default: return ESTADOS.length + 1;
+        }
+    }
+
+    private String etiqueta(Dimension dimension, int codigo) {
+        if (dimension == null) {
+            return "total";
+        }
+        if (codigo == 0) {
+            return SIN_DATO;
+        }
+        switch (dimension) {
+            case AREA: return dicAreas.valor(codigo);
+            case CATEGORIA: return dicCategorias.valor(codigo);
+            default: return ESTADOS[codigo - 1].name();
+        }
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    private void vaciar() {
+        cargado = false;
+        filas = 0;
+        ids = new long[1024];
+        legajos = new long[1024];
+        ingresos = new int[1024];
+        areas = new short[1024];
+        categorias = new short[1024];
+        estados = new short[1024];
+        combinaciones = new short[1024];
+        eliminados = new long[1024 / 64];
+        dicAreas = new Diccionario("rea");
+        dicCategorias = new Diccionario("categora");
+        combinacion = new Combinaciones();
+        filaPorId = new MapaLongInt();
+        filaPorLegajo = new MapaLongInt();
+    }
+
+    /** Agrega o reemplaza la fila del empleado (sin lock: lo toma el llamador). */
+    private void agregarFila(long id, boolean eliminado, LocalDate fechaIngreso, String area,
+                             long legajoId, String categoria, Estado estado) {
+        int fila = filaPorId.get(id);
+        if (fila < 0) {
+            if (filas == ids.length) {
+                crecer();
+            }
+            fila = filas++;
+            filaPorId.put(id, fila);
+        } else {
+            quitarDeTotales(fila);
+        }
+        ids[fila] = id;
+        legajos[fila] = legajoId;
+        ingresos[fila] = diaDe(fechaIngreso);
+        areas[fila] = dicAreas.codigo(area);
+        categorias[fila] = legajoId != 0 ? dicCategorias.codigo(categoria) : 0;
+        estados[fila] = legajoId != 0 ? codigoEstado(estado) : 0;
+        if (eliminado) {
+            eliminados[fila >>> 6] |= 1L << fila;
+        } else {
+            eliminados[fila >>> 6] &= ~(1L << fila);
+        }
+        if (legajoId != 0) {
+            filaPorLegajo.put(legajoId, fila);
+        }
+        sumarATotales(fila);
+    }
+
+    /** Recalcula la combinacin de la fila y suma su aporte a los totales. */
+    private void sumarATotales(int fila) {
+        short k = combinacion.codigo(areas[fila], categorias[fila], estados[fila]);
+        combinaciones[fila] = k;
+        combinacion.acumular(k << 1 | (int) (eliminados[fila >>> 6] >>> fila & 1L), ingresos[fila], 1);
+    }
+
+    /** Resta el aporte de la fila a los totales (antes de modificarla). */
+    private void quitarDeTotales(int fila) {
+        combinacion.acumular(combinaciones[fila] << 1 | (int) (eliminados[fila >>> 6] >>> fila & 1L),
+                ingresos[fila], -1);
+    }
+
+    private int filaDelLegajo(long legajoId) {
+        int fila = filaPorLegajo.get(legajoId);
+        // La entrada queda al eliminar el legajo: se confirma contra la columna
+        return fila >= 0 && legajos[fila] == legajoId ? fila : -1;
+    }
+
+    private void crecer() {
+        int capacidad = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacidad);
+        legajos = Arrays.copyOf(legajos, capacidad);
+        ingresos = Arrays.copyOf(ingresos, capacidad);
+        areas = Arrays.copyOf(areas, capacidad);
+        categorias = Arrays.copyOf(categorias, capacidad);
+        estados = Arrays.copyOf(estados, capacidad);
+        combinaciones = Arrays.copyOf(combinaciones, capacidad);
+        eliminados = Arrays.copyOf(eliminados, capacidad / 64);
+    }
+
+    private static int diaDe(LocalDate fecha) {
+        return fecha != null ? (int) fecha.toEpochDay() : SIN_FECHA;
+    }
+
+    private static short codigoEstado(Estado estado) {
+        return estado != null ? (short) (estado.ordinal() + 1) : 0;
+    }
+
+    /** Valores distintos de una columna de texto, codificados como short desde 1 (0 = null). */
+    private static final class Diccionario {
+        private final String columna;
+        private final Map<String, Short> codigos = new HashMap<>();
+        private final List<String> valores = new ArrayList<>();
+
+        Diccionario(String columna) {
+            this.columna = columna;
+        }
+
+        /** @return el cdigo del valor (0 para null), agregndolo si es nuevo */
+        short codigo(String valor) {
+            if (valor == null) {
+                return 0;
+            }
+            Short codigo = codigos.get(valor);
+            if (codigo != null) {
+                return codigo;
+            }
+            if (valores.size() == Short.MAX_VALUE - 1) {
+                throw new IllegalStateException("Demasiados valores distintos de " + columna
+                        + " para el almacn analtico (mximo " + (Short.MAX_VALUE - 1) + ")");
+            }
+            valores.add(valor);
+            short nuevo = (short) valores.size();
+            codigos.put(valor, nuevo);
+            return nuevo;
+        }
+
+        /** @return el cdigo del valor, o -1 si no existe */
+        int buscar(String valor) {
+            Short codigo = codigos.get(valor);
+            return codigo != null ? codigo : -1;
+        }
+
+        String valor(int codigo) {
+            return valores.get(codigo - 1);
+        }
+
+        int tamanio() {
+            return valores.size();
+        }
+    }
+
+    /**
+     * Ternas (area, categoria, estado) presentes, con sus totales. Los
+     * arreglos de totales se indexan por combinacin * 2 + eliminado.
+     */
+    private static final class Combinaciones {
+        private final MapaLongInt codigos = new MapaLongInt();
+        private int cantidadCombinaciones;
+        short[] area = new short[64];
+        short[] categoria = new short[64];
+        short[] estado = new short[64];
+        long[] cantidad = new long[128];
+        long[] sumaIngreso = new long[128];
+        long[] conIngreso = new long[128];
+
+        /** @return el cdigo de la terna, agregndola si es nueva */
+        short codigo(short a, short c, short e) {
+            // Bit 48 encendido: la clave nunca es 0 (vaco en MapaLongInt)
+            long clave = 1L << 48 | (long) a << 32 | (long) c << 16 | e;
+            int codigo = codigos.get(clave);
+            if (codigo >= 0) {
+                return (short) codigo;
+            }
+            if (cantidadCombinaciones == Short.MAX_VALUE) {
+                throw new IllegalStateException("Demasiadas combinaciones de rea, categora y estado "
+                        + "para el almacn analtico (mximo " + Short.MAX_VALUE + ")");
+            }
+            if (cantidadCombinaciones == area.length) {
+                int capacidad = area.length * 2;
+                area = Arrays.copyOf(area, capacidad);
+                categoria = Arrays.copyOf(categoria, capacidad);
+                estado = Arrays.copyOf(estado, capacidad);
+                cantidad = Arrays.copyOf(cantidad, capacidad * 2);
+                sumaIngreso = Arrays.copyOf(sumaIngreso, capacidad * 2);
+                conIngreso = Arrays.copyOf(conIngreso, capacidad * 2);
+            }
+            short nuevo = (short) cantidadCombinaciones++;
+            area[nuevo] = a;
+            categoria[nuevo] = c;
+            estado[nuevo] = e;
+            codigos.put(clave, nuevo);
+            return nuevo;
+        }
+
+        /** Suma (signo 1) o resta (signo -1) una fila a los totales del ndice. */
+        void acumular(int indice, int ingreso, int signo) {
+            cantidad[indice] += signo;
+            if (ingreso != SIN_FECHA) {
+                sumaIngreso[indice] += (long) signo * ingreso;
+                conIngreso[indice] += signo;
+            }
+        }
+
+        int tamanio() {
+            return cantidadCombinaciones;
+        }
+    }
+
+    /** Tabla hash long -> int de direccionamiento abierto (claves distintas de 0). */
+    private static final class MapaLongInt {
+        private static final double CARGA_MAXIMA = 0.6;
+
+        private long[] claves = new long[1024];
+        private int[] valores = new int[1024];
+        private int cantidad;
+
+        /** @return el valor de la clave, o -1 si no est */
+        int get(long clave) {
+            int mascara = claves.length - 1;
+            int i = indice(clave, mascara);
+            while (claves[i] != 0L) {
+                if (claves[i] == clave) {
+                    return valores[i];
+                }
+                i = (i + 1) & mascara;
+            }
+            return -1;
+        }
+
+        void put(long clave, int valor) {
+            if (cantidad + 1 > claves.length * CARGA_MAXIMA) {
+                redimensionar();
+            }
+            if (insertar(claves, valores, clave, valor)) {
+                cantidad++;
+            }
+        }
+
+        private static boolean insertar(long[] claves, int[] valores, long clave, int valor) {
+            int mascara = claves.length - 1;
+            int i = indice(clave, mascara);
+            while (claves[i] != 0L) {
+                if (claves[i] == clave) {
+                    valores[i] = valor;
+                    return false;
+                }
+                i = (i + 1) & mascara;
+            }
+            claves[i] = clave;
+            valores[i] = valor;
+            return true;
+        }
+
+        private void redimensionar() {
+            long[] nuevasClaves = new long[claves.length * 2];
+            int[] nuevosValores = new int[claves.length * 2];
+            for (int i = 0; i < claves.length; i++) {
+                if (claves[i] != 0L) {
+                    insertar(nuevasClaves, nuevosValores, claves[i], valores[i]);
+                }
+            }
+            claves = nuevasClaves;
+            valores = nuevosValores;
+        }
+
+        private static int indice(long clave, int mascara) {
+            long h = clave * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mascara;
+        }
+    }
+}
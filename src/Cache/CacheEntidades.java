@@ -0,0 +1,51 @@
+package Cache;
+
+import Entities.Empleado;
+import Entities.Legajo;
+
+/**
+ * Caches de entidades compartidos por todas las instancias de los Services.
+ *
+ * - EMPLEADOS: Empleado (con su legajo) por ID.
+ * - DNI_A_ID: segunda clave de EMPLEADOS, DNI → ID del empleado activo.
+ * - LEGAJOS: Legajo por ID.
+ * - DNIS: índice de pertenencia de todos los DNI de la tabla empleados.
+ * - ANALITICA: vista columnar de empleados y legajos para conteos y agrupaciones.
+ *
+ * Los Services los actualizan o invalidan sólo después del commit
+ * (TransactionManager.afterCommit), nunca antes.
+ *
+ * Configuración por System properties:
+ * - cache.empleados.size / cache.legajos.size (10000 por defecto)
+ * - cache.ttlMs: vida máxima de una entrada (5 min por defecto, 0 = sin TTL)
+ */
+public final class CacheEntidades {
+
+    private static final long TTL_MS = Long.getLong("cache.ttlMs", 300_000L);
+
+    public static final LruCache<Long, Empleado> EMPLEADOS = new LruCache<>("empleados",
+            Integer.getInteger("cache.empleados.size", 10_000), TTL_MS, Empleado::new);
+
+    public static final LruCache<String, Long> DNI_A_ID = new LruCache<>("empleados_dni",
+            Integer.getInteger("cache.empleados.size", 10_000), TTL_MS, null);
+
+    public static final LruCache<Long, Legajo> LEGAJOS = new LruCache<>("legajos",
+            Integer.getInteger("cache.legajos.size", 10_000), TTL_MS, Legajo::new);
+
+    public static final IndiceDni DNIS = new IndiceDni();
+
+    public static final AlmacenColumnar ANALITICA = new AlmacenColumnar();
+
+    private CacheEntidades() {
+        throw new UnsupportedOperationException("Clase utilitaria: no debe instanciarse.");
+    }
+
+    /** Vacía todos los caches (p. ej. tras cambios hechos fuera de la aplicación). */
+    public static void invalidarTodo() {
+        EMPLEADOS.invalidarTodo();
+        DNI_A_ID.invalidarTodo();
+        LEGAJOS.invalidarTodo();
+        DNIS.invalidar();
+        ANALITICA.invalidar();
+    }
+}
@@ -0,0 +1,171 @@
+package Cache;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * ndice en memoria de los DNI presentes en la tabla empleados.
+ *
+ * Contiene TODOS los DNI de la tabla, incluidos los de empleados dados de
+ * baja lgica: igual que la restriccin UNIQUE de la columna dni. Por eso
+ * eliminar y recuperar un empleado no lo modifican, y slo las altas lo
+ * actualizan.
+ *
+ * - contiene() == false: el DNI seguro no existe (no hace falta ir a la BD).
+ * - contiene() == true: puede existir; el llamador confirma en la BD.
+ *
+ * Los DNI numricos (el caso normal) se guardan como long en una tabla
+ * hash de direccionamiento abierto, sin objetos por elemento; el resto
+ * (con letras o ceros a la izquierda) en un HashSet comn.
+ */
+public class IndiceDni {
+
+    /** Fuente de los DNI existentes, invocada una sola vez al cargar. */
+    @FunctionalInterface
+    public interface Fuente {
+        void recorrer(Consumer<String> destino) throws Exception;
+    }
+
+    private static final long VACIO = 0L;
+    private static final double CARGA_MAXIMA = 0.6;
+
+    private long[] tabla = new long[1024];
+    private int cantidadNumericos;
+    private final Set<String> otros = new HashSet<>();
+    private volatile boolean cargado;
+
+    /**
+     * Carga el ndice desde la fuente si todava no se carg.
+     * Las altas concurrentes esperan a que termine la carga.
+     *
+     * @throws Exception Si la fuente falla (el ndice queda sin cargar)
+     */
+    public void cargarSiHaceFalta(Fuente fuente) throws Exception {
+        if (cargado) {
+            return;
+        }
+        synchronized (this) {
+            if (!cargado) {
+                fuente.recorrer(this::agregarSinLock);
+                cargado = true;
+            }
+        }
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * @return false si el DNI seguro no existe; true si puede existir
+     *         (o si el ndice todava no est cargado)
+     */
+    public synchronized boolean contiene(String dni) {
+        if (!cargado) {
+            return true;
+        }
+        long numero = comoNumero(dni);
+        return numero != VACIO ? contieneNumero(numero) : otros.contains(dni);
+    }
+
+    /** Registra un DNI dado de alta (invocar despus del commit). */
+    public synchronized void agregar(String dni) {
+        agregarSinLock(dni);
+    }
+
+    /** @return cantidad de DNI en el ndice */
+    public synchronized int getTamanio() {
+        return cantidadNumericos + otros.size();
+    }
+
+    /** Descarta el contenido: se vuelve a cargar en el prximo uso. */
+    public synchronized void invalidar() {
+        tabla = new long[1024];
+        cantidadNumericos = 0;
+        otros.clear();
+        cargado = false;
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    private void agregarSinLock(String dni) {
+        if (dni == null) {
+            return;
+        }
+        dni = dni.trim();
+        long numero = comoNumero(dni);
+        if (numero == VACIO) {
+            otros.add(dni);
+            return;
+        }
+        if (cantidadNumericos + 1 > tabla.length * CARGA_MAXIMA) {
+            redimensionar();
+        }
+        if (insertar(tabla, numero)) {
+            cantidadNumericos++;
+        }
+    }
+
+    private boolean contieneNumero(long numero) {
+        int mascara = tabla.length - 1;
+        int i = indice(numero, mascara);
+        while (tabla[i] != VACIO) {
+            if (tabla[i] == numero) {
+                return true;
+            }
+            i = (i + 1) & mascara;
+        }
+        return false;
+    }
+
+    private static boolean insertar(long[] destino, long numero) {
+        int mascara = destino.length - 1;
+        int i = indice(numero, mascara);
+        while (destino[i] != VACIO) {
+            if (destino[i] == numero) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        destino[i] = numero;
+        return true;
+    }
+
+    private void redimensionar() {
+        long[] nueva = new long[tabla.length * 2];
+        for (long numero : tabla) {
+            if (numero != VACIO) {
+                insertar(nueva, numero);
+            }
+        }
+        tabla = nueva;
+    }
+
+    private static int indice(long numero, int mascara) {
+        long h = numero * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+
+    /**
+     * Convierte un DNI slo de dgitos (sin cero inicial, hasta 18 cifras)
+     * a long. Devuelve VACIO si no es representable sin perder el texto.
+     */
+    private static long comoNumero(String dni) {
+        int largo = dni.length();
+        if (largo == 0 || largo > 18 || dni.charAt(0) == '0') {
+            return VACIO;
+        }
+        long numero = 0;
+        for (int i = 0; i < largo; i++) {
+            char c = dni.charAt(i);
+            if (c < '0' || c > '9') {
+                return VACIO;
+            }
+            numero = numero * 10 + (c - '0');
+        }
+        return numero;
+    }
+}
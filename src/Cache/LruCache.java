@@ -0,0 +1,220 @@
+package Cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache en memoria acotado por tamaño con desalojo LRU y TTL opcional.
+ *
+ * - Al superar la capacidad se desaloja la entrada usada hace más tiempo.
+ * - Con TTL > 0 las entradas vencidas se descartan al leerlas.
+ * - Opcionalmente copia los valores al guardar y al leer, para que nadie
+ *   modifique por accidente la instancia cacheada (las entidades son mutables).
+ *
+ * Expone métricas de aciertos, fallos, desalojos y latencia de carga.
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+public class LruCache<K, V> {
+
+    /** Carga un valor desde la fuente (BD) cuando no está en el cache. */
+    @FunctionalInterface
+    public interface Cargador<K, V> {
+        V cargar(K clave) throws Exception;
+    }
+
+    private final String nombre;
+    private final int capacidad;
+    private final long ttlMillis;
+    private final UnaryOperator<V> copiador;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    /*
+     * Marca de las cargas en curso, por clave. Un put o una invalidación de la
+     * clave quita su marca, y una carga que ya no encuentra la suya no guarda
+     * el resultado: podría ser un valor viejo. Las demás claves no se enteran.
+     */
+    private final HashMap<K, Object> cargasEnCurso = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expiraciones = new LongAdder();
+    private final LongAdder cargas = new LongAdder();
+    private final LongAdder nanosCarga = new LongAdder();
+
+    /**
+     * @param nombre    Nombre para métricas y logs
+     * @param capacidad Cantidad máxima de entradas
+     * @param ttlMillis Vida máxima de cada entrada (0 = sin vencimiento)
+     * @param copiador  Copia defensiva de valores (null = se guardan tal cual)
+     */
+    public LruCache(String nombre, int capacidad, long ttlMillis, UnaryOperator<V> copiador) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad del cache debe ser mayor a 0");
+        }
+        this.nombre = nombre;
+        this.capacidad = capacidad;
+        this.ttlMillis = ttlMillis;
+        this.copiador = copiador;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+                if (size() > LruCache.this.capacidad) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el valor cacheado, o null si no está o venció.
+     */
+    public V get(K clave) {
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(clave);
+            if (entrada != null && entrada.vencida(System.currentTimeMillis())) {
+                entradas.remove(clave);
+                expiraciones.increment();
+                entrada = null;
+            }
+            if (entrada == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return copiar(entrada.valor);
+        }
+    }
+
+    /**
+     * Devuelve el valor cacheado o lo carga con el cargador y lo guarda.
+     * Los valores null no se cachean.
+     *
+     * @throws Exception Si el cargador falla
+     */
+    public V obtener(K clave, Cargador<K, V> cargador) throws Exception {
+        Object marca;
+        synchronized (this) {
+            V valor = get(clave);
+            if (valor != null) {
+                return valor;
+            }
+            marca = cargasEnCurso.computeIfAbsent(clave, k -> new Object());
+        }
+
+        V cargado = null;
+        try {
+            long inicio = System.nanoTime();
+            cargado = cargador.cargar(clave);
+            nanosCarga.add(System.nanoTime() - inicio);
+            cargas.increment();
+        } finally {
+            synchronized (this) {
+                if (cargasEnCurso.remove(clave, marca) && cargado != null) {
+                    entradas.put(clave, nuevaEntrada(cargado));
+                }
+            }
+        }
+        return cargado;
+    }
+
+    /** Guarda (o reemplaza) un valor. */
+    public synchronized void put(K clave, V valor) {
+        if (valor == null) {
+            invalidar(clave);
+            return;
+        }
+        cargasEnCurso.remove(clave);
+        entradas.put(clave, nuevaEntrada(valor));
+    }
+
+    /** Quita una entrada. */
+    public synchronized void invalidar(K clave) {
+        cargasEnCurso.remove(clave);
+        entradas.remove(clave);
+    }
+
+    /** Vacía el cache. */
+    public synchronized void invalidarTodo() {
+        cargasEnCurso.clear();
+        entradas.clear();
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    public String getNombre() { return nombre; }
+
+    public synchronized int getTamanio() { return entradas.size(); }
+
+    public int getCapacidad() { return capacidad; }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public long getEvictions() { return evictions.sum(); }
+
+    public long getExpiraciones() { return expiraciones.sum(); }
+
+    public long getCargas() { return cargas.sum(); }
+
+    /** @return proporción de aciertos entre 0 y 1 (0 si no hubo accesos) */
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /** @return latencia media de carga desde la fuente, en nanosegundos */
+    public long getLatenciaPromedioCargaNanos() {
+        long n = cargas.sum();
+        return n == 0 ? 0 : nanosCarga.sum() / n;
+    }
+
+    @Override
+    public String toString() {
+        return "LruCache{" +
+                "nombre='" + nombre + '\'' +
+                ", tamanio=" + getTamanio() + "/" + capacidad +
+                ", hitRatio=" + String.format("%.3f", getHitRatio()) +
+                ", evictions=" + getEvictions() +
+                ", cargaPromedioMs=" + String.format("%.3f", getLatenciaPromedioCargaNanos() / 1_000_000.0) +
+                '}';
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    private Entrada<V> nuevaEntrada(V valor) {
+        long vence = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+        return new Entrada<>(copiar(valor), vence);
+    }
+
+    private V copiar(V valor) {
+        return copiador != null ? copiador.apply(valor) : valor;
+    }
+
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long venceEn;
+
+        Entrada(V valor, long venceEn) {
+            this.valor = valor;
+            this.venceEn = venceEn;
+        }
+
+        boolean vencida(long ahora) {
+            return ahora >= venceEn;
+        }
+    }
+}
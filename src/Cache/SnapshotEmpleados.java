@@ -0,0 +1,550 @@
+package Cache;
+
+import Entities.Empleado;
+import Entities.Estado;
+import Entities.Legajo;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot binario de solo lectura de los empleados activos (con su legajo),
+ * pensado para arrancar en caliente sin consultar la BD.
+ *
+ * El archivo se mapea como un MemorySegment de solo lectura: abrirlo no lee
+ * los registros, y cada bsqueda decodifica nicamente el registro pedido
+ * directamente desde el mapeo. El sistema operativo comparte las pginas
+ * entre procesos y las conserva en su cache entre reinicios.
+ *
+ * El mapeo vive en un Arena compartido y se libera con close(): Windows no
+ * deja reemplazar un archivo que sigue mapeado, as que hay que cerrarlo
+ * antes de escribir un snapshot nuevo en el mismo archivo. Una lectura
+ * concurrente con close() (o posterior) lanza IllegalStateException.
+ *
+ * Formato (big-endian):
+ * <pre>
+ * Cabecera (64 bytes): magia 'EMPS', versin, creado (epoch ms), cantidad,
+ *     tamao de registro y offsets de cada seccin.
+ * Registros: cantidad  56 bytes, de ancho fijo:
+ *     id(8) dni(4) nombre(4) apellido(4) email(4) fecha_ingreso(4)
+ *     area(2) categoria(2) legajo_id(8) nro_legajo(4) fecha_alta(4)
+ *     observaciones(4) estado(1) relleno(3)
+ *     - textos: offset en la seccin de textos (-1 = null)
+ *     - fechas: epoch-day (Integer.MIN_VALUE = null)
+ *     - area / categoria: ndice en su diccionario (-1 = null)
+ *     - legajo_id 0 = sin legajo; estado 0 = null, 1 + ordinal de Estado
+ * ndice por ID: (id, registro)  cantidad, ordenado por id.
+ * ndice por DNI: (hash del DNI, registro)  cantidad, ordenado por hash.
+ * Diccionarios: reas y categoras (cantidad + textos).
+ * Textos: largo (4) + UTF-8.
+ * </pre>
+ *
+ * El archivo se escribe en uno temporal y se renombra al terminar: un
+ * lector nunca ve un snapshot a medio escribir.
+ */
+public final class SnapshotEmpleados implements AutoCloseable {
+
+    private static final int MAGIA = 0x454D5053; // 'EMPS'
+    private static final int VERSION = 1;
+    private static final int CABECERA = 64;
+    private static final int TAM_REGISTRO = 56;
+    private static final int TAM_ENTRADA = 12;
+    private static final int SIN_FECHA = Integer.MIN_VALUE;
+    private static final int NULO = -1;
+
+    // Offsets dentro del registro
+    private static final int R_ID = 0;
+    private static final int R_DNI = 8;
+    private static final int R_NOMBRE = 12;
+    private static final int R_APELLIDO = 16;
+    private static final int R_EMAIL = 20;
+    private static final int R_FECHA_INGRESO = 24;
+    private static final int R_AREA = 28;
+    private static final int R_CATEGORIA = 30;
+    private static final int R_LEGAJO_ID = 32;
+    private static final int R_NRO_LEGAJO = 40;
+    private static final int R_FECHA_ALTA = 44;
+    private static final int R_OBSERVACIONES = 48;
+    private static final int R_ESTADO = 52;
+
+    // El archivo es big-endian y los campos no estn alineados
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private static final Estado[] ESTADOS = Estado.values();
+
+    private final Arena arena;
+    private final MemorySegment mapa;
+    private final long creadoMillis;
+    private final int cantidad;
+    private final int offRegistros;
+    private final int offIndiceId;
+    private final int offIndiceDni;
+    private final int offTextos;
+    private final String[] areas;
+    private final String[] categorias;
+
+    private SnapshotEmpleados(Arena arena, MemorySegment mapa) throws IOException {
+        this.arena = arena;
+        this.mapa = mapa;
+        if (mapa.get(INT, 0) != MAGIA) {
+            throw new IOException("No es un snapshot de empleados");
+        }
+        if (mapa.get(INT, 4) != VERSION || mapa.get(INT, 20) != TAM_REGISTRO) {
+            throw new IOException("Versin de snapshot no soportada: " + mapa.get(INT, 4));
+        }
+        this.creadoMillis = mapa.get(LONG, 8);
+        this.cantidad = mapa.get(INT, 16);
+        this.offRegistros = (int) mapa.get(LONG, 24);
+        this.offIndiceId = (int) mapa.get(LONG, 32);
+        this.offIndiceDni = (int) mapa.get(LONG, 40);
+        int offDiccionarios = (int) mapa.get(LONG, 48);
+        this.offTextos = (int) mapa.get(LONG, 56);
+        if (offRegistros + (long) cantidad * TAM_REGISTRO > offIndiceId
+                || offIndiceDni + (long) cantidad * TAM_ENTRADA > offDiccionarios
+                || offTextos > mapa.byteSize()) {
+            throw new IOException("Snapshot truncado o daado");
+        }
+        int[] pos = {offDiccionarios};
+        this.areas = leerDiccionario(pos);
+        this.categorias = leerDiccionario(pos);
+    }
+
+    /**
+     * Mapea un snapshot existente (solo lectura).
+     *
+     * @throws IOException si el archivo no existe, est daado o es de otra versin
+     */
+    public static SnapshotEmpleados abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamanio = canal.size();
+            if (tamanio < CABECERA || tamanio > Integer.MAX_VALUE) {
+                throw new IOException("Tamao de snapshot invlido: " + tamanio + " bytes");
+            }
+            // El mapeo sigue siendo vlido despus de cerrar el canal
+            Arena arena = Arena.ofShared();
+            try {
+                return new SnapshotEmpleados(arena, canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanio, arena));
+            } catch (IOException | RuntimeException e) {
+                arena.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Desmapea el archivo. Las lecturas posteriores lanzan IllegalStateException.
+     */
+    @Override
+    public synchronized void close() {
+        if (arena.scope().isAlive()) {
+            arena.close();
+        }
+    }
+
+    /** @return cantidad de empleados del snapshot */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /** @return momento (epoch ms) en que se escribi el snapshot */
+    public long getCreadoMillis() {
+        return creadoMillis;
+    }
+
+    /**
+     * @return el empleado (copia nueva) con ese ID, o null si no est en el snapshot
+     */
+    public Empleado porId(long id) {
+        int registro = buscar(offIndiceId, id);
+        return registro >= 0 ? decodificar(registro) : null;
+    }
+
+    /**
+     * @return el empleado (copia nueva) con ese DNI, o null si no est en el snapshot
+     */
+    public Empleado porDni(String dni) {
+        long clave = hash(dni);
+        int desde = primeraEntrada(offIndiceDni, clave);
+        for (int i = desde; i < cantidad; i++) {
+            int entrada = offIndiceDni + i * TAM_ENTRADA;
+            if (mapa.get(LONG, entrada) != clave) {
+                break;
+            }
+            int registro = mapa.get(INT, entrada + 8);
+            if (dni.equals(texto(mapa.get(INT, offRegistros + registro * TAM_REGISTRO + R_DNI)))) {
+                return decodificar(registro);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca el empleado dueo de un legajo recorriendo los registros
+     * (no hay ndice por legajo: slo se usa al modificar un legajo).
+     *
+     * @return ID del empleado, o null si ningn registro tiene ese legajo
+     */
+    public Long empleadoDelLegajo(long legajoId) {
+        for (int i = 0; i < cantidad; i++) {
+            int base = offRegistros + i * TAM_REGISTRO;
+            if (mapa.get(LONG, base + R_LEGAJO_ID) == legajoId) {
+                return mapa.get(LONG, base + R_ID);
+            }
+        }
+        return null;
+    }
+
+    // ========================================================================
+    // ESCRITURA
+    // ========================================================================
+
+    /**
+     * Escribe un snapshot con los empleados dados, reemplazando el archivo
+     * de forma atmica. Los empleados se recorren una sola vez; en memoria
+     * slo quedan los ndices (12 bytes por empleado) y los diccionarios.
+     *
+     * @param destino   archivo del snapshot
+     * @param empleados empleados activos con su legajo (p. ej. EmpleadoDAO.streamTodos)
+     * @return cantidad de empleados escritos
+     */
+    public static int escribir(Path destino, Iterator<Empleado> empleados) throws IOException {
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        Path textosTemporal = destino.resolveSibling(destino.getFileName() + ".textos.tmp");
+        try {
+            int cantidad = escribirTemporal(temporal, textosTemporal, empleados);
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return cantidad;
+        } finally {
+            Files.deleteIfExists(temporal);
+            Files.deleteIfExists(textosTemporal);
+        }
+    }
+
+    private static int escribirTemporal(Path temporal, Path textosTemporal, Iterator<Empleado> empleados)
+            throws IOException {
+        Map<String, Integer> areas = new LinkedHashMap<>();
+        Map<String, Integer> categorias = new LinkedHashMap<>();
+        long[] ids = new long[1024];
+        long[] hashes = new long[1024];
+        int cantidad = 0;
+
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Textos textos = new Textos(textosTemporal)) {
+
+            // Registros, en el orden en que llegan
+            canal.position(CABECERA);
+            ByteBuffer lote = ByteBuffer.allocate(TAM_REGISTRO * 1024);
+            while (empleados.hasNext()) {
+                Empleado e = empleados.next();
+                if (cantidad == ids.length) {
+                    ids = Arrays.copyOf(ids, cantidad * 2);
+                    hashes = Arrays.copyOf(hashes, cantidad * 2);
+                }
+                ids[cantidad] = e.getId();
+                hashes[cantidad] = hash(e.getDni());
+                cantidad++;
+
+                int base = lote.position();
+                lote.putLong(e.getId());
+                lote.putInt(textos.agregar(e.getDni()));
+                lote.putInt(textos.agregar(e.getNombre()));
+                lote.putInt(textos.agregar(e.getApellido()));
+                lote.putInt(textos.agregar(e.getEmail()));
+                lote.putInt(epochDay(e.getFechaIngreso()));
+                lote.putShort(indice(areas, e.getArea()));
+                Legajo l = e.getLegajo();
+                lote.putShort(indice(categorias, l != null ? l.getCategoria() : null));
+                lote.putLong(l != null ? l.getId() : 0L);
+                lote.putInt(textos.agregar(l != null ? l.getNroLegajo() : null));
+                lote.putInt(epochDay(l != null ? l.getFechaAlta() : null));
+                lote.putInt(textos.agregar(l != null ? l.getObservaciones() : null));
+                lote.put((byte) (l != null && l.getEstado() != null ? l.getEstado().ordinal() + 1 : 0));
+                lote.position(base + TAM_REGISTRO);
+                if (!lote.hasRemaining()) {
+                    escribirTodo(canal, lote);
+                }
+            }
+            escribirTodo(canal, lote);
+
+            long offRegistros = CABECERA;
+            long offIndiceId = offRegistros + (long) cantidad * TAM_REGISTRO;
+            escribirIndice(canal, ids, cantidad);
+            long offIndiceDni = canal.position();
+            escribirIndice(canal, hashes, cantidad);
+            long offDiccionarios = canal.position();
+            escribirDiccionario(canal, areas);
+            escribirDiccionario(canal, categorias);
+            long offTextos = canal.position();
+            textos.copiarA(canal);
+            if (canal.position() > Integer.MAX_VALUE) {
+                throw new IOException("El snapshot supera los 2 GB");
+            }
+
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+            cabecera.putInt(MAGIA).putInt(VERSION).putLong(System.currentTimeMillis())
+                    .putInt(cantidad).putInt(TAM_REGISTRO)
+                    .putLong(offRegistros).putLong(offIndiceId).putLong(offIndiceDni)
+                    .putLong(offDiccionarios).putLong(offTextos);
+            cabecera.flip();
+            canal.write(cabecera, 0);
+            canal.force(true);
+        }
+        return cantidad;
+    }
+
+    /** Escribe (clave, registro) ordenado por clave. */
+    private static void escribirIndice(FileChannel canal, long[] claves, int cantidad) throws IOException {
+        int[] registros = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            registros[i] = i;
+        }
+        ordenar(claves, registros, 0, cantidad - 1);
+        ByteBuffer lote = ByteBuffer.allocate(TAM_ENTRADA * 4096);
+        for (int i = 0; i < cantidad; i++) {
+            lote.putLong(claves[i]).putInt(registros[i]);
+            if (!lote.hasRemaining()) {
+                escribirTodo(canal, lote);
+            }
+        }
+        escribirTodo(canal, lote);
+    }
+
+    private static void escribirDiccionario(FileChannel canal, Map<String, Integer> diccionario) throws IOException {
+        List<byte[]> valores = new ArrayList<>(diccionario.size());
+        int tamanio = 4;
+        for (String valor : diccionario.keySet()) {
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            valores.add(bytes);
+            tamanio += 4 + bytes.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(tamanio);
+        buffer.putInt(valores.size());
+        for (byte[] bytes : valores) {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        escribirTodo(canal, buffer);
+    }
+
+    private static void escribirTodo(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static short indice(Map<String, Integer> diccionario, String valor) throws IOException {
+        if (valor == null) {
+            return NULO;
+        }
+        Integer indice = diccionario.get(valor);
+        if (indice == null) {
+            if (diccionario.size() == Short.MAX_VALUE) {
+                throw new IOException("Demasiados valores distintos para un diccionario del snapshot");
+            }
+            indice = diccionario.size();
+            diccionario.put(valor, indice);
+        }
+        return indice.shortValue();
+    }
+
+    private static int epochDay(LocalDate fecha) {
+        return fecha != null ? (int) fecha.toEpochDay() : SIN_FECHA;
+    }
+
+    /** Seccin de textos, escrita aparte hasta conocer su posicin final. */
+    private static final class Textos implements AutoCloseable {
+        private final Path archivo;
+        private final DataOutputStream out;
+        private long tamanio;
+
+        Textos(Path archivo) throws IOException {
+            this.archivo = archivo;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivo), 64 * 1024));
+        }
+
+        int agregar(String valor) throws IOException {
+            if (valor == null) {
+                return NULO;
+            }
+            if (tamanio > Integer.MAX_VALUE) {
+                throw new IOException("Los textos del snapshot superan los 2 GB");
+            }
+            int offset = (int) tamanio;
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            tamanio += 4 + bytes.length;
+            return offset;
+        }
+
+        void copiarA(FileChannel destino) throws IOException {
+            out.flush();
+            try (FileChannel origen = FileChannel.open(archivo, StandardOpenOption.READ)) {
+                long copiado = 0;
+                while (copiado < tamanio) {
+                    copiado += origen.transferTo(copiado, tamanio - copiado, destino);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    // ========================================================================
+    // LECTURA (desde el mapeo, sin copiar registros)
+    // ========================================================================
+
+    private Empleado decodificar(int registro) {
+        int base = offRegistros + registro * TAM_REGISTRO;
+        Empleado empleado = new Empleado();
+        empleado.setId(mapa.get(LONG, base + R_ID));
+        empleado.setEliminado(false);
+        empleado.setDni(texto(mapa.get(INT, base + R_DNI)));
+        empleado.setNombre(texto(mapa.get(INT, base + R_NOMBRE)));
+        empleado.setApellido(texto(mapa.get(INT, base + R_APELLIDO)));
+        empleado.setEmail(texto(mapa.get(INT, base + R_EMAIL)));
+        empleado.setFechaIngreso(fecha(mapa.get(INT, base + R_FECHA_INGRESO)));
+        empleado.setArea(valor(areas, mapa.get(SHORT, base + R_AREA)));
+
+        long legajoId = mapa.get(LONG, base + R_LEGAJO_ID);
+        if (legajoId != 0) {
+            Legajo legajo = new Legajo();
+            legajo.setId(legajoId);
+            legajo.setEliminado(false);
+            legajo.setNroLegajo(texto(mapa.get(INT, base + R_NRO_LEGAJO)));
+            legajo.setCategoria(valor(categorias, mapa.get(SHORT, base + R_CATEGORIA)));
+            int estado = mapa.get(ValueLayout.JAVA_BYTE, base + R_ESTADO);
+            legajo.setEstado(estado > 0 ? ESTADOS[estado - 1] : null);
+            legajo.setFechaAlta(fecha(mapa.get(INT, base + R_FECHA_ALTA)));
+            legajo.setObservaciones(texto(mapa.get(INT, base + R_OBSERVACIONES)));
+            empleado.setLegajo(legajo);
+        }
+        return empleado;
+    }
+
+    /** @return registro de la clave en un ndice ordenado, o -1 */
+    private int buscar(int offIndice, long clave) {
+        int i = primeraEntrada(offIndice, clave);
+        int entrada = offIndice + i * TAM_ENTRADA;
+        return i < cantidad && mapa.get(LONG, entrada) == clave ? mapa.get(INT, entrada + 8) : -1;
+    }
+
+    /** @return posicin de la primera entrada con clave >= la dada */
+    private int primeraEntrada(int offIndice, long clave) {
+        int bajo = 0;
+        int alto = cantidad;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (mapa.get(LONG, offIndice + medio * TAM_ENTRADA) < clave) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    private String texto(int offset) {
+        if (offset == NULO) {
+            return null;
+        }
+        int posicion = offTextos + offset;
+        byte[] bytes = new byte[mapa.get(INT, posicion)];
+        MemorySegment.copy(mapa, ValueLayout.JAVA_BYTE, posicion + 4, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static LocalDate fecha(int epochDay) {
+        return epochDay != SIN_FECHA ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    private static String valor(String[] diccionario, short indice) {
+        return indice >= 0 ? diccionario[indice] : null;
+    }
+
+    private String[] leerDiccionario(int[] pos) {
+        String[] valores = new String[mapa.get(INT, pos[0])];
+        pos[0] += 4;
+        for (int i = 0; i < valores.length; i++) {
+            byte[] bytes = new byte[mapa.get(INT, pos[0])];
+            MemorySegment.copy(mapa, ValueLayout.JAVA_BYTE, pos[0] + 4, bytes, 0, bytes.length);
+            valores[i] = new String(bytes, StandardCharsets.UTF_8);
+            pos[0] += 4 + bytes.length;
+        }
+        return valores;
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    /** FNV-1a de 64 bits sobre los caracteres del DNI. */
+    private static long hash(String dni) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < dni.length(); i++) {
+            h ^= dni.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /** Quicksort de claves arrastrando su registro (sin boxing). */
+    private static void ordenar(long[] claves, int[] registros, int desde, int hasta) {
+        while (desde < hasta) {
+            long pivote = claves[(desde + hasta) >>> 1];
+            int i = desde;
+            int j = hasta;
+            while (i <= j) {
+                while (claves[i] < pivote) {
+                    i++;
+                }
+                while (claves[j] > pivote) {
+                    j--;
+                }
+                if (i <= j) {
+                    long clave = claves[i];
+                    claves[i] = claves[j];
+                    claves[j] = clave;
+                    int registro = registros[i];
+                    registros[i] = registros[j];
+                    registros[j] = registro;
+                    i++;
+                    j--;
+                }
+            }
+            // Recursin sobre la mitad menor: profundidad O(log n)
+            if (j - desde < hasta - i) {
+                ordenar(claves, registros, desde, j);
+                desde = i;
+            } else {
+                ordenar(claves, registros, i, hasta);
+                hasta = j;
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package Config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker del préstamo de conexiones de un {@link ConnectionPool}.
+ *
+ * - CERRADO: los préstamos pasan. Tras db.breaker.failureThreshold fallos
+ *   consecutivos al abrir una conexión física, pasa a ABIERTO.
+ * - ABIERTO: todo préstamo falla al instante con {@link CircuitOpenException}
+ *   durante db.breaker.openMs.
+ * - SEMI_ABIERTO: un único préstamo de prueba llega a la base (con la
+ *   conexión siempre validada); el resto sigue rechazándose. Si la prueba
+ *   funciona vuelve a CERRADO; si falla, a ABIERTO por otro período.
+ *
+ * Sólo cuentan los fallos de conexión: un timeout de préstamo por pool
+ * saturado no indica que la base esté caída.
+ */
+final class CircuitBreaker {
+
+    enum Estado { CERRADO, ABIERTO, SEMI_ABIERTO }
+
+    private final String nombre;
+    private final int umbral;
+    private final long aperturaNanos;
+
+    private final AtomicReference<Estado> estado = new AtomicReference<>(Estado.CERRADO);
+    private final AtomicInteger fallosConsecutivos = new AtomicInteger();
+    private final AtomicBoolean pruebaEnCurso = new AtomicBoolean();
+    private volatile long abiertoDesde;
+
+    private final LongAdder rechazos = new LongAdder();
+    private final LongAdder aperturas = new LongAdder();
+    private final LongAdder semiaperturas = new LongAdder();
+    private final LongAdder cierres = new LongAdder();
+
+    /**
+     * @param umbral        fallos consecutivos que abren el circuito (0 = deshabilitado)
+     * @param aperturaMs    tiempo abierto antes de permitir una prueba
+     */
+    CircuitBreaker(String nombre, int umbral, long aperturaMs) {
+        this.nombre = nombre;
+        this.umbral = umbral;
+        this.aperturaNanos = TimeUnit.MILLISECONDS.toNanos(aperturaMs);
+    }
+
+    /**
+     * Decide si un préstamo puede intentarse.
+     *
+     * @return true si el llamador es el préstamo de prueba (debe informar
+     *         exito, fallo o abandono); false si el circuito está cerrado
+     * @throws CircuitOpenException si el circuito está abierto
+     */
+    boolean permitir() throws CircuitOpenException {
+        Estado actual = estado.get();
+        if (actual == Estado.CERRADO) {
+            return false;
+        }
+        if (actual == Estado.ABIERTO && System.nanoTime() - abiertoDesde >= aperturaNanos
+                && estado.compareAndSet(Estado.ABIERTO, Estado.SEMI_ABIERTO)) {
+            semiaperturas.increment();
+            System.err.println("Circuito de base de datos " + nombre + " SEMI-ABIERTO: probando una conexión");
+        }
+        if (estado.get() == Estado.SEMI_ABIERTO && pruebaEnCurso.compareAndSet(false, true)) {
+            return true;
+        }
+        if (estado.get() == Estado.CERRADO) {
+            return false;
+        }
+        rechazos.increment();
+        throw new CircuitOpenException("Base de datos no disponible (circuito " + nombre + " abierto)");
+    }
+
+    /** Registra un préstamo exitoso; si era la prueba, cierra el circuito. */
+    void exito(boolean prueba) {
+        if (fallosConsecutivos.get() != 0) {
+            fallosConsecutivos.set(0);
+        }
+        if (prueba) {
+            if (estado.compareAndSet(Estado.SEMI_ABIERTO, Estado.CERRADO)) {
+                cierres.increment();
+                System.err.println("Circuito de base de datos " + nombre + " CERRADO: la conexión se recuperó");
+            }
+            pruebaEnCurso.set(false);
+        }
+    }
+
+    /** Registra un fallo al abrir una conexión física. */
+    void fallo(boolean prueba) {
+        if (prueba) {
+            abrir(Estado.SEMI_ABIERTO);
+            pruebaEnCurso.set(false);
+            return;
+        }
+        if (umbral > 0 && fallosConsecutivos.incrementAndGet() >= umbral) {
+            abrir(Estado.CERRADO);
+        }
+    }
+
+    /** La prueba terminó sin veredicto (p. ej. timeout de préstamo): otro puede probar. */
+    void abandonar(boolean prueba) {
+        if (prueba) {
+            pruebaEnCurso.set(false);
+        }
+    }
+
+    boolean estaCerrado() {
+        return estado.get() == Estado.CERRADO;
+    }
+
+    Estado getEstado() {
+        return estado.get();
+    }
+
+    long getRechazos() {
+        return rechazos.sum();
+    }
+
+    long getAperturas() {
+        return aperturas.sum();
+    }
+
+    long getSemiaperturas() {
+        return semiaperturas.sum();
+    }
+
+    long getCierres() {
+        return cierres.sum();
+    }
+
+    private void abrir(Estado desde) {
+        abiertoDesde = System.nanoTime();
+        if (estado.compareAndSet(desde, Estado.ABIERTO)) {
+            aperturas.increment();
+            fallosConsecutivos.set(0);
+            System.err.println("Circuito de base de datos " + nombre + " ABIERTO: se rechazan préstamos por "
+                    + TimeUnit.NANOSECONDS.toMillis(aperturaNanos) + " ms");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package Config;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Se lanza al pedir una conexión mientras el {@link CircuitBreaker} del
+ * pool está abierto: la base se considera caída y se falla al instante,
+ * sin esperar el timeout de conexión del driver.
+ */
+public class CircuitOpenException extends SQLTransientConnectionException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(String mensaje) {
+        super(mensaje);
+    }
+}
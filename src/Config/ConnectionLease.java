@@ -0,0 +1,178 @@
+package Config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Préstamo de una {@link PooledConnection} a un llamador.
+ *
+ * Cada préstamo entrega un proxy nuevo de {@link Connection}: close()
+ * devuelve la conexión al pool en lugar de cerrarla físicamente, y un
+ * close() repetido sobre un préstamo ya devuelto no tiene efecto (así no
+ * se libera por error una conexión que otro hilo ya tomó del pool).
+ * Los statements que crea pasan por {@link SlowQueryLog}.
+ *
+ * Quien se une a una transacción en curso (ver
+ * {@link DatabaseConnection#getCurrentConnection()}) recibe una vista que no
+ * es dueña de la conexión: su close() sólo la marca como cerrada, aunque se
+ * llame varias veces, y la conexión vuelve al pool con el close() del dueño.
+ */
+final class ConnectionLease implements InvocationHandler {
+    private final ConnectionPool pool;
+    private final PooledConnection pooled;
+    private final Connection proxy;
+    private boolean devuelta;
+    private Runnable alDevolver;
+
+    ConnectionLease(ConnectionPool pool, PooledConnection pooled) {
+        this.pool = pool;
+        this.pooled = pooled;
+        this.proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+    }
+
+    Connection getProxy() {
+        return proxy;
+    }
+
+    PooledConnection getPooled() {
+        return pooled;
+    }
+
+    /**
+     * Devuelve una conexión que comparte la conexión dada sin adueñarse de
+     * ella: su close() no la devuelve ni la cierra mientras el dueño la use.
+     *
+     * @param conn conexión de una transacción activa
+     * @return una vista nueva de la conexión, con su propio close()
+     */
+    static Connection unirse(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new Vista(conn));
+    }
+
+    /**
+     * Préstamo del pool detrás de una conexión (propia o vista de un préstamo).
+     *
+     * @return el préstamo, o null si la conexión no es del pool
+     */
+    static ConnectionLease de(Connection conn) {
+        if (conn == null || !Proxy.isProxyClass(conn.getClass())) {
+            return null;
+        }
+        InvocationHandler handler = Proxy.getInvocationHandler(conn);
+        if (handler instanceof Vista vista) {
+            return de(vista.destino);
+        }
+        return handler instanceof ConnectionLease lease ? lease : null;
+    }
+
+    /**
+     * Lo que tardó en obtenerse del pool la conexión dada.
+     *
+     * @return nanosegundos de espera del préstamo, o 0 si no es del pool
+     */
+    static long esperaDe(Connection conn) {
+        ConnectionLease lease = de(conn);
+        return lease != null ? lease.pooled.getEsperaPrestamoNanos() : 0;
+    }
+
+    /**
+     * Registra una acción que se ejecuta cuando el préstamo vuelve al pool
+     * (en el hilo que lo devuelve). Ignorada si la conexión no es del pool.
+     */
+    static void alDevolver(Connection conn, Runnable accion) {
+        ConnectionLease lease = de(conn);
+        if (lease != null) {
+            lease.alDevolver = accion;
+        }
+    }
+
+    @Override
+    public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                devolver();
+                return null;
+            case "isClosed":
+                return devuelta || pooled.getReal().isClosed();
+            case "equals":
+                return p == args[0];
+            case "hashCode":
+                return System.identityHashCode(p);
+            case "toString":
+                return "PooledConnection[" + pooled.getReal() + (devuelta ? ", devuelta" : "") + "]";
+            default:
+                break;
+        }
+        if (devuelta) {
+            throw new SQLException("La conexión ya fue devuelta al pool");
+        }
+        Object resultado;
+        try {
+            resultado = method.invoke(pooled.getReal(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        if (resultado instanceof Statement stmt) {
+            // prepareStatement / prepareCall / createStatement: se mide cada ejecución
+            return SlowQueryLog.interceptar(stmt, args != null && args[0] instanceof String sql ? sql : null, pooled);
+        }
+        return resultado;
+    }
+
+    private void devolver() {
+        if (!devuelta) {
+            devuelta = true;
+            pool.devolver(pooled);
+            if (alDevolver != null) {
+                alDevolver.run();
+            }
+        }
+    }
+
+    /**
+     * Vista de una conexión ajena (la de una transacción en curso): delega
+     * todo en ella salvo close(), que sólo cierra la vista.
+     */
+    private static final class Vista implements InvocationHandler {
+        private final Connection destino;
+        private boolean cerrada;
+
+        Vista(Connection destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    cerrada = true;
+                    return null;
+                case "isClosed":
+                    return cerrada || destino.isClosed();
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "Vista[" + destino + (cerrada ? ", cerrada" : "") + "]";
+                default:
+                    break;
+            }
+            if (cerrada) {
+                throw new SQLException("La conexión ya fue cerrada");
+            }
+            try {
+                return method.invoke(destino, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
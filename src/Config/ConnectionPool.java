@@ -0,0 +1,266 @@
+package Config;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de conexiones acotado usado por {@link DatabaseConnection}.
+ *
+ * Características:
+ * - Tamaño mínimo y máximo de conexiones físicas.
+ * - Cola de espera justa (FIFO) con timeout de préstamo.
+ * - Validación al préstamo (omitida si la conexión se usó hace muy poco).
+ * - Descarte de conexiones ociosas y de las que superan su vida máxima.
+ * - Circuit breaker: con la base caída falla al instante (ver {@link CircuitBreaker}).
+ *
+ * Las conexiones se crean a demanda: construir el pool no abre ninguna
+ * conexión, el mantenimiento en segundo plano completa el mínimo.
+ */
+final class ConnectionPool {
+
+    /** Configuración del pool, leída de System properties por DatabaseConnection. */
+    static final class Settings {
+        int minSize;
+        int maxSize;
+        long idleTimeoutMs;
+        long maxLifetimeMs;
+        long borrowTimeoutMs;
+        int validationTimeoutSec;
+        long validationBypassMs;
+        long housekeepingMs;
+        int breakerFailureThreshold;
+        long breakerOpenMs;
+    }
+
+    private final String url;
+    private final Properties props;
+    private final Settings settings;
+
+    /** Un permiso por conexión prestable; fair = los que esperan se atienden en orden. */
+    private final Semaphore permisos;
+
+    /** Conexiones libres. Se usa como pila (LIFO) para reutilizar las más "calientes". */
+    private final LinkedBlockingDeque<PooledConnection> libres = new LinkedBlockingDeque<>();
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final CircuitBreaker breaker;
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado;
+
+    ConnectionPool(String nombre, String url, Properties props, Settings settings) {
+        this.url = url;
+        this.props = props;
+        this.settings = settings;
+        this.permisos = new Semaphore(settings.maxSize, true);
+        this.breaker = new CircuitBreaker(nombre, settings.breakerFailureThreshold, settings.breakerOpenMs);
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-" + nombre);
+            t.setDaemon(true);
+            return t;
+        });
+        this.mantenimiento.scheduleWithFixedDelay(this::mantener,
+                0, settings.housekeepingMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Presta una conexión del pool, esperando como máximo borrowTimeoutMs
+     * (o lo que reste del {@link Deadline} activo, si es menos).
+     *
+     * @return proxy de Connection cuyo close() la devuelve al pool
+     * @throws SQLException si vence la espera o no se puede conectar
+     * @throws DeadlineExceededException si el plazo vence antes de obtenerla
+     * @throws CircuitOpenException si el circuito está abierto (base caída)
+     */
+    Connection prestar() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+        boolean prueba = breaker.permitir();
+        long inicio = System.nanoTime();
+        long esperaNanos = TimeUnit.MILLISECONDS.toNanos(settings.borrowTimeoutMs);
+        Deadline deadline = Deadline.actual();
+        try {
+            if (deadline != null) {
+                deadline.verificar("pedir una conexión al pool");
+                esperaNanos = Math.min(esperaNanos, deadline.restanteNanos());
+            }
+            if (!permisos.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS)) {
+                if (deadline != null && deadline.vencido()) {
+                    throw new DeadlineExceededException("Plazo vencido esperando una conexión del pool ("
+                            + getEnUso() + "/" + settings.maxSize + " en uso)");
+                }
+                throw new SQLTransientConnectionException(
+                        "Timeout esperando una conexión del pool (" + settings.borrowTimeoutMs + " ms, "
+                        + getEnUso() + "/" + settings.maxSize + " en uso)");
+            }
+        } catch (InterruptedException e) {
+            breaker.abandonar(prueba);
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión del pool", e);
+        } catch (SQLException | RuntimeException e) {
+            breaker.abandonar(prueba);
+            throw e;
+        }
+
+        try {
+            PooledConnection pc = tomarLibreValida(prueba);
+            if (pc == null) {
+                try {
+                    pc = crear();
+                } catch (SQLException e) {
+                    breaker.fallo(prueba);
+                    throw e;
+                }
+            }
+            breaker.exito(prueba);
+            pc.marcarPrestamo(System.nanoTime() - inicio);
+            return new ConnectionLease(this, pc).getProxy();
+        } catch (SQLException | RuntimeException e) {
+            breaker.abandonar(prueba);
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Recibe una conexión devuelta por un {@link ConnectionLease}.
+     * Si no puede restablecerse o ya expiró, se cierra físicamente.
+     */
+    void devolver(PooledConnection pc) {
+        try {
+            boolean reutilizable = !cerrado && !pc.expirada(System.currentTimeMillis(), settings.maxLifetimeMs);
+            if (reutilizable) {
+                try {
+                    pc.restablecer();
+                } catch (SQLException e) {
+                    reutilizable = false;
+                }
+            }
+            if (reutilizable) {
+                pc.marcarUso();
+                libres.offerFirst(pc);
+            } else {
+                destruir(pc);
+            }
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /** Cierra todas las conexiones libres y rechaza nuevos préstamos. */
+    void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        PooledConnection pc;
+        while ((pc = libres.pollFirst()) != null) {
+            destruir(pc);
+        }
+    }
+
+    int getTotal() {
+        return total.get();
+    }
+
+    int getLibres() {
+        return libres.size();
+    }
+
+    int getEnUso() {
+        return settings.maxSize - permisos.availablePermits();
+    }
+
+    int getEsperando() {
+        return permisos.getQueueLength();
+    }
+
+    int getMaxSize() {
+        return settings.maxSize;
+    }
+
+    CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    /**
+     * @param forzarValidacion true en el préstamo de prueba del circuit breaker:
+     *                         se valida aunque la conexión se haya usado hace poco
+     */
+    private PooledConnection tomarLibreValida(boolean forzarValidacion) {
+        PooledConnection pc;
+        while ((pc = libres.pollFirst()) != null) {
+            long ahora = System.currentTimeMillis();
+            if (pc.expirada(ahora, settings.maxLifetimeMs)) {
+                destruir(pc);
+                continue;
+            }
+            // Una conexión usada hace instantes casi seguro sigue viva: se evita el ping.
+            boolean validar = forzarValidacion || ahora - pc.getUltimoUso() > settings.validationBypassMs;
+            if (validar && !pc.validar(settings.validationTimeoutSec)) {
+                destruir(pc);
+                continue;
+            }
+            return pc;
+        }
+        return null;
+    }
+
+    private PooledConnection crear() throws SQLException {
+        Connection real = DriverManager.getConnection(url, props);
+        total.incrementAndGet();
+        return new PooledConnection(real);
+    }
+
+    private void destruir(PooledConnection pc) {
+        total.decrementAndGet();
+        pc.cerrarFisicamente();
+    }
+
+    /**
+     * Tarea periódica: descarta ociosas/expiradas por encima del mínimo
+     * y vuelve a completar el mínimo de conexiones.
+     */
+    private void mantener() {
+        if (cerrado) {
+            return;
+        }
+        long ahora = System.currentTimeMillis();
+        Iterator<PooledConnection> it = libres.descendingIterator();
+        while (it.hasNext()) {
+            PooledConnection pc = it.next();
+            boolean sobra = total.get() > settings.minSize && pc.ociosa(ahora, settings.idleTimeoutMs);
+            if ((sobra || pc.expirada(ahora, settings.maxLifetimeMs)) && libres.remove(pc)) {
+                destruir(pc);
+            }
+        }
+
+        // Con el circuito abierto no se insiste contra una base caída
+        while (!cerrado && breaker.estaCerrado() && total.get() < settings.minSize) {
+            // Se toma un permiso para no superar maxSize en carrera con los préstamos.
+            if (!permisos.tryAcquire()) {
+                return;
+            }
+            try {
+                libres.offerLast(crear());
+            } catch (SQLException e) {
+                System.err.println("No se pudo completar el mínimo del pool: " + e.getMessage());
+                return;
+            } finally {
+                permisos.release();
+            }
+        }
+    }
+}
@@ -5,36 +5,71 @@
 package Config;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
 public class DatabaseConnection {
    
     /** URL de conexin JDBC: configurable o usa valor por defecto */
     private static final String URL = System.getProperty("db.url", 
             "jdbc:mysql://localhost:3306/empresa?useSSL=false&serverTimezone=UTC");
 
+    /** Driver JDBC: configurable (p. ej. org.h2.Driver en los benchmarks) o MySQL */
+    private static final String DRIVER = System.getProperty("db.driver", "com.mysql.cj.jdbc.Driver");
+
     /** Usuario de la base de datos: configurable o usa "root" */
     private static final String USER = System.getProperty("db.user", "root");
 
     /** Contrasea: configurable o vaca si no se define */
     private static final String PASSWORD = System.getProperty("db.password", "");
 
+    /** Filas por executeBatch en las inserciones masivas: configurable o 500 */
+    private static final int BATCH_SIZE = Integer.getInteger("db.batch.size", 500);
+
+    /** Filas por viaje en lecturas por cursor: configurable o 1000 */
+    private static final int FETCH_SIZE = Integer.getInteger("db.fetchSize", 1000);
+
+    /** MySQL informa filas cambiadas (no encontradas) en UPDATE y upsert: configurable o true */
+    private static final boolean AFFECTED_ROWS =
+            Boolean.parseBoolean(System.getProperty("db.useAffectedRows", "true"));
+
+    /** URLs de rplicas de solo lectura separadas por coma: vaco = sin rplicas */
+    private static final String REPLICA_URLS = System.getProperty("db.replica.urls", "");
+
+    /** Seleccin de rplica: round-robin (por defecto) o least-loaded */
+    private static final String REPLICA_STRATEGY = System.getProperty("db.replica.strategy", "round-robin");
+
+    /** Pool de conexiones compartido por toda la aplicacin */
+    private static final ConnectionPool POOL;
+
+    /** Rplicas para lecturas fuera de transaccin (null si no hay rplicas) */
+    private static final ReplicaRouter REPLICAS;
+
+    /** Hilos que estn dentro de leerDelPrimario() */
+    private static final ThreadLocal<Boolean> SOLO_PRIMARIO = new ThreadLocal<>();
+
     /**
      * Bloque esttico de inicializacin.
      * Se ejecuta UNA SOLA VEZ cuando la clase se carga en memoria.
      * 
-     * - Carga el driver JDBC de MySQL
+     * - Carga el driver JDBC (MySQL por defecto)
      * - Valida la configuracin bsica (fail-fast)
      */
     static {
         try {
             // Carga explcita del driver JDBC
-            Class.forName("com.mysql.cj.jdbc.Driver");
+            Class.forName(DRIVER);
 
             // Validacin temprana de configuracin
             validateConfiguration();
+
+            // El pool no abre conexiones ac: se crean a demanda / en segundo plano
+            POOL = new ConnectionPool("primary", URL, connectionProperties(URL), poolSettings());
+            REPLICAS = replicaRouter();
         } catch (ClassNotFoundException e) {
-            throw new ExceptionInInitializerError("? Error: No se encontr el driver JDBC de MySQL. " + e.getMessage());
+            throw new ExceptionInInitializerError("? Error: No se encontr el driver JDBC " + DRIVER + ". " + e.getMessage());
         } catch (IllegalStateException e) {
             throw new ExceptionInInitializerError("? Error en la configuracin de la base de datos: " + e.getMessage());
         }
@@ -46,7 +81,10 @@ public class DatabaseConnection {
     }
 
     /**
-     * Devuelve una nueva conexin a la base de datos.
+     * Devuelve una conexin del pool de la base de datos.
+     * 
+     * La conexin es prestada: close() la devuelve al pool en lugar de
+     * cerrarla fsicamente, por eso siempre debe cerrarse.
      * 
      * ? Uso recomendado:
      * <pre>
@@ -56,10 +94,272 @@ public class DatabaseConnection {
      * </pre>
      * 
      * @return conexin JDBC activa
-     * @throws SQLException si no se puede conectar
+     * @throws SQLException si no se puede conectar o vence la espera del pool
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return POOL.prestar();
+    }
+
+    /**
+     * Devuelve la conexin de la transaccin activa en este hilo (si hay
+     * una abierta con TransactionManager) o, si no, una conexin del pool.
+     * 
+     * As los mtodos autnomos de los DAO se unen a la transaccin en
+     * curso en lugar de abrir una segunda conexin. Siempre debe cerrarse:
+     * cerrar una conexin unida a la transaccin no la termina.
+     * 
+     * @return conexin de la transaccin actual o una nueva del pool
+     * @throws SQLException si no se puede conectar o vence la espera del pool
+     */
+    public static Connection getCurrentConnection() throws SQLException {
+        Connection tx = TransactionManager.currentConnection();
+        if (tx != null) {
+            return ConnectionLease.unirse(tx);
+        }
+        return getConnection();
+    }
+
+    /**
+     * Devuelve una conexin para una lectura.
+     * 
+     * - Con una transaccin activa en el hilo: su conexin (primario), as
+     *   la lectura ve las escrituras todava no confirmadas.
+     * - Si el hilo escribi hace menos de db.replica.readYourWritesMs: el
+     *   primario, porque una rplica podra no tener an esa escritura.
+     * - Si no: una rplica (db.replica.urls), o el primario si no hay
+     *   rplicas configuradas o ninguna responde.
+     * 
+     * La conexin puede venir de una rplica: slo debe usarse para leer.
+     * 
+     * @return conexin para leer, que siempre debe cerrarse
+     * @throws SQLException si no se puede conectar o vence la espera del pool
+     */
+    public static Connection getReadConnection() throws SQLException {
+        Connection tx = TransactionManager.currentConnection();
+        if (tx != null) {
+            return ConnectionLease.unirse(tx);
+        }
+        return getDetachedReadConnection();
+    }
+
+    /**
+     * Como {@link #getReadConnection()}, pero nunca se une a la transaccin
+     * activa: siempre presta una conexin propia (p. ej. para un cursor que
+     * queda abierto mientras se consume). Dentro de una transaccin se
+     * presta del primario.
+     * 
+     * @return conexin para leer, de una rplica o del primario
+     * @throws SQLException si no se puede conectar o vence la espera del pool
+     */
+    public static Connection getDetachedReadConnection() throws SQLException {
+        if (REPLICAS != null && TransactionManager.currentConnection() == null && SOLO_PRIMARIO.get() == null) {
+            Connection replica = REPLICAS.prestar();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return POOL.prestar();
+    }
+
+    /**
+     * Devuelve la conexin para una escritura autnoma (fuera de un servicio
+     * transaccional): la de la transaccin activa o una del primario.
+     * 
+     * Al devolverse, abre la ventana read-your-writes del hilo.
+     * 
+     * @return conexin del primario
+     * @throws SQLException si no se puede conectar o vence la espera del pool
+     */
+    public static Connection getWriteConnection() throws SQLException {
+        Connection tx = TransactionManager.currentConnection();
+        if (tx != null) {
+            // El commit de la transaccin registra la escritura
+            return ConnectionLease.unirse(tx);
+        }
+        Connection conn = POOL.prestar();
+        if (REPLICAS != null) {
+            ConnectionLease.alDevolver(conn, REPLICAS::registrarEscritura);
+        }
+        return conn;
+    }
+
+    /**
+     * Ejecuta una lectura con todas sus conexiones del primario, aunque haya
+     * rplicas. La usan los cargadores de los caches: una rplica atrasada
+     * dejara cacheada una fila vieja durante todo el TTL, y la invalidacin
+     * posterior al commit ya ocurri antes de esa carga.
+     *
+     * @param lectura lectura a ejecutar (p. ej. dao.leer(id))
+     * @return lo que devuelve la lectura
+     * @throws Exception lo que lance la lectura
+     */
+    public static <T> T leerDelPrimario(Callable<T> lectura) throws Exception {
+        if (REPLICAS == null || SOLO_PRIMARIO.get() != null) {
+            return lectura.call();
+        }
+        SOLO_PRIMARIO.set(Boolean.TRUE);
+        try {
+            return lectura.call();
+        } finally {
+            SOLO_PRIMARIO.remove();
+        }
+    }
+
+    /**
+     * Instante de la ltima escritura del hilo actual, para pasarlo a otro
+     * hilo (p. ej. una tarea asincrnica) con {@link #heredarUltimaEscritura}.
+     *
+     * @return instante (System.nanoTime) o {@link #SIN_ESCRITURA}
+     */
+    public static long getUltimaEscritura() {
+        return REPLICAS != null ? ReplicaRouter.ultimaEscritura() : SIN_ESCRITURA;
+    }
+
+    /**
+     * Hace que el hilo actual respete la ventana read-your-writes de una
+     * escritura hecha en otro hilo (si es ms reciente que la suya).
+     *
+     * @param instante valor de {@link #getUltimaEscritura()} en el otro hilo
+     */
+    public static void heredarUltimaEscritura(long instante) {
+        if (REPLICAS != null && instante != SIN_ESCRITURA) {
+            ReplicaRouter.heredarEscritura(instante);
+        }
+    }
+
+    /** Valor de getUltimaEscritura() para un hilo que no escribi. */
+    public static final long SIN_ESCRITURA = Long.MIN_VALUE;
+
+    /**
+     * Registra que el hilo actual escribi en el primario (lo invoca
+     * TransactionManager al confirmar).
+     */
+    static void registrarEscritura() {
+        if (REPLICAS != null) {
+            REPLICAS.registrarEscritura();
+        }
+    }
+
+    /**
+     * Cierra el pool (y los de las rplicas) y todas sus conexiones libres.
+     * Las conexiones prestadas se cierran fsicamente al devolverse.
+     */
+    public static void shutdown() {
+        POOL.cerrar();
+        if (REPLICAS != null) {
+            REPLICAS.cerrar();
+        }
+    }
+
+    /** @return conexiones fsicas abiertas (libres + en uso) */
+    public static int getTotalConnections() {
+        return POOL.getTotal();
+    }
+
+    /** @return conexiones prestadas en este momento */
+    public static int getActiveConnections() {
+        return POOL.getEnUso();
+    }
+
+    /** @return conexiones libres listas para prestarse */
+    public static int getIdleConnections() {
+        return POOL.getLibres();
+    }
+
+    /** @return hilos esperando una conexin del pool */
+    public static int getPendingThreads() {
+        return POOL.getEsperando();
+    }
+
+    /** @return tamao mximo configurado del pool */
+    public static int getMaxPoolSize() {
+        return POOL.getMaxSize();
+    }
+
+    /**
+     * Estado del circuit breaker del primario: CERRADO (normal), ABIERTO
+     * (la base se considera cada, los prstamos fallan al instante) o
+     * SEMI_ABIERTO (probando con una conexin).
+     */
+    public static String getCircuitState() {
+        return POOL.getBreaker().getEstado().name();
+    }
+
+    /** @return prstamos rechazados al instante por el circuito abierto */
+    public static long getCircuitRejections() {
+        return POOL.getBreaker().getRechazos();
+    }
+
+    /** @return veces que el circuito pas a ABIERTO */
+    public static long getCircuitOpenings() {
+        return POOL.getBreaker().getAperturas();
+    }
+
+    /** @return veces que el circuito pas a SEMI_ABIERTO (pruebas) */
+    public static long getCircuitHalfOpenings() {
+        return POOL.getBreaker().getSemiaperturas();
+    }
+
+    /** @return veces que el circuito volvi a CERRADO tras una prueba exitosa */
+    public static long getCircuitClosings() {
+        return POOL.getBreaker().getCierres();
+    }
+
+    /** @return cantidad de rplicas configuradas */
+    public static int getReplicaCount() {
+        return REPLICAS != null ? REPLICAS.getCantidad() : 0;
+    }
+
+    /** @return conexiones de rplicas prestadas en este momento */
+    public static int getActiveReplicaConnections() {
+        return REPLICAS != null ? REPLICAS.getEnUso() : 0;
+    }
+
+    /** @return lecturas servidas por una rplica */
+    public static long getReplicaReads() {
+        return REPLICAS != null ? REPLICAS.getLecturasReplica() : 0;
+    }
+
+    /** @return lecturas enviadas al primario habiendo rplicas (read-your-writes o fallo) */
+    public static long getPrimaryFallbackReads() {
+        return REPLICAS != null ? REPLICAS.getLecturasPrimario() : 0;
+    }
+
+    /** @return prstamos fallidos en rplicas */
+    public static long getReplicaFailures() {
+        return REPLICAS != null ? REPLICAS.getFallosReplica() : 0;
+    }
+
+    /**
+     * Fetch size para lecturas por streaming (cursor de solo avance).
+     * 
+     * - MySQL sin useCursorFetch: Integer.MIN_VALUE, el driver entrega las
+     *   filas de a una a medida que llegan, sin cargar el resultado completo.
+     * - MySQL con useCursorFetch=true u otros drivers: db.fetchSize filas
+     *   por viaje (1000 por defecto).
+     * 
+     * @return valor para Statement.setFetchSize()
+     */
+    public static int getStreamingFetchSize() {
+        if (URL.startsWith("jdbc:mysql:") && !URL.contains("useCursorFetch=true")) {
+            return Integer.MIN_VALUE;
+        }
+        return FETCH_SIZE;
+    }
+
+    /**
+     * Indica si un UPDATE (o un upsert) que no cambia nada informa 0 filas.
+     * Con false (o fuera de MySQL) informa las filas encontradas.
+     * 
+     * @return true si las conexiones usan useAffectedRows=true
+     */
+    public static boolean isFilasAfectadas() {
+        return AFFECTED_ROWS && URL.startsWith("jdbc:mysql:");
+    }
+
+    /** @return filas por lote (executeBatch) en las inserciones masivas */
+    public static int getBatchSize() {
+        return BATCH_SIZE;
     }
 
     /**
@@ -79,6 +379,121 @@ public class DatabaseConnection {
         if (PASSWORD == null) {
             throw new IllegalStateException("La contrasea no puede ser null (puede ser vaca).");
         }
+        if (BATCH_SIZE <= 0) {
+            throw new IllegalStateException("db.batch.size debe ser mayor a 0.");
+        }
+    }
+
+    /**
+     * Propiedades que se pasan al driver al abrir cada conexin fsica.
+     * 
+     * Con MySQL se habilitan los prepares del lado del servidor
+     * (db.serverPrepStmts, true por defecto): junto con StatementCache,
+     * cada sentencia se prepara una sola vez por conexin.
+     * Tambin se habilita rewriteBatchedStatements (db.rewriteBatchedStatements),
+     * que convierte cada executeBatch de INSERT en un INSERT multi-fila.
+     * useAffectedRows (db.useAffectedRows, true por defecto) hace que un
+     * UPDATE (o un upsert) que no cambia nada informe 0 filas en lugar de
+     * las encontradas: as upsertPorDni distingue alta, modificacin y "sin
+     * cambios" en un solo viaje. Con false hace antes una lectura bloqueante
+     * del DNI (ver {@link #isFilasAfectadas()}).
+     */
+    private static Properties connectionProperties(String url) {
+        Properties props = new Properties();
+        props.setProperty("user", USER);
+        props.setProperty("password", PASSWORD);
+        if (url.startsWith("jdbc:mysql:")) {
+            props.setProperty("useServerPrepStmts", System.getProperty("db.serverPrepStmts", "true"));
+            props.setProperty("rewriteBatchedStatements", System.getProperty("db.rewriteBatchedStatements", "true"));
+            props.setProperty("useAffectedRows", String.valueOf(AFFECTED_ROWS));
+        }
+        return props;
+    }
+
+    /**
+     * Lee la configuracin del pool desde System properties.
+     * 
+     * - db.pool.minSize               conexiones que se mantienen abiertas (2)
+     * - db.pool.maxSize               mximo de conexiones fsicas (10)
+     * - db.pool.idleTimeoutMs         ociosidad tras la cual se descarta una conexin (10 min)
+     * - db.pool.maxLifetimeMs         vida mxima de una conexin fsica (30 min)
+     * - db.pool.borrowTimeoutMs       espera mxima para obtener una conexin (30 s)
+     * - db.pool.validationTimeoutSec  timeout del ping de validacin (5 s)
+     * - db.pool.validationBypassMs    no se valida si se us hace menos de esto (500 ms)
+     * - db.pool.housekeepingMs        perodo de la tarea de mantenimiento (30 s)
+     * - db.breaker.failureThreshold   fallos de conexin consecutivos que abren el circuito (5; 0 = sin breaker)
+     * - db.breaker.openMs             tiempo que el circuito rechaza prstamos antes de probar (5 s)
+     */
+    private static ConnectionPool.Settings poolSettings() {
+        ConnectionPool.Settings s = new ConnectionPool.Settings();
+        s.minSize = intProperty("db.pool.minSize", 2);
+        s.maxSize = intProperty("db.pool.maxSize", 10);
+        s.idleTimeoutMs = longProperty("db.pool.idleTimeoutMs", 600_000L);
+        s.maxLifetimeMs = longProperty("db.pool.maxLifetimeMs", 1_800_000L);
+        s.borrowTimeoutMs = longProperty("db.pool.borrowTimeoutMs", 30_000L);
+        s.validationTimeoutSec = intProperty("db.pool.validationTimeoutSec", 5);
+        s.validationBypassMs = longProperty("db.pool.validationBypassMs", 500L);
+        s.housekeepingMs = longProperty("db.pool.housekeepingMs", 30_000L);
+        s.breakerFailureThreshold = intProperty("db.breaker.failureThreshold", 5);
+        s.breakerOpenMs = longProperty("db.breaker.openMs", 5_000L);
+
+        if (s.maxSize <= 0) {
+            throw new IllegalStateException("db.pool.maxSize debe ser mayor a 0.");
+        }
+        if (s.minSize < 0 || s.minSize > s.maxSize) {
+            throw new IllegalStateException("db.pool.minSize debe estar entre 0 y db.pool.maxSize.");
+        }
+        if (s.housekeepingMs <= 0) {
+            throw new IllegalStateException("db.pool.housekeepingMs debe ser mayor a 0.");
+        }
+        if (s.breakerFailureThreshold < 0 || s.breakerOpenMs <= 0) {
+            throw new IllegalStateException("db.breaker.failureThreshold no puede ser negativo y db.breaker.openMs debe ser mayor a 0.");
+        }
+        return s;
+    }
+
+    /**
+     * Crea los pools de las rplicas, si se configur alguna.
+     * 
+     * - db.replica.urls              URLs JDBC separadas por coma (mismo usuario y contrasea)
+     * - db.replica.strategy          round-robin o least-loaded
+     * - db.replica.readYourWritesMs  ventana en que un hilo que escribi lee del primario (1000)
+     * 
+     * Cada rplica usa la misma configuracin de pool que el primario.
+     */
+    private static ReplicaRouter replicaRouter() {
+        List<ConnectionPool> pools = new ArrayList<>();
+        int n = 0;
+        for (String url : REPLICA_URLS.split(",")) {
+            if (!url.trim().isEmpty()) {
+                n++;
+                pools.add(new ConnectionPool("replica-" + n, url.trim(), connectionProperties(url.trim()), poolSettings()));
+            }
+        }
+        if (pools.isEmpty()) {
+            return null;
+        }
+        long ventanaMs = longProperty("db.replica.readYourWritesMs", 1_000L);
+        if (ventanaMs < 0) {
+            throw new IllegalStateException("db.replica.readYourWritesMs no puede ser negativo.");
+        }
+        return new ReplicaRouter(pools, ReplicaRouter.Estrategia.de(REPLICA_STRATEGY), ventanaMs);
+    }
+
+    private static int intProperty(String nombre, int porDefecto) {
+        return (int) longProperty(nombre, porDefecto);
+    }
+
+    private static long longProperty(String nombre, long porDefecto) {
+        String valor = System.getProperty(nombre);
+        if (valor == null || valor.trim().isEmpty()) {
+            return porDefecto;
+        }
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor invlido para " + nombre + ": " + valor);
+        }
     }
 
 }
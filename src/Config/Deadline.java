@@ -0,0 +1,284 @@
+package Config;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plazo máximo para una llamada, propagado por hilo hasta el pool y JDBC.
+ *
+ * Mientras el plazo está abierto en el hilo actual:
+ * - El préstamo de una conexión espera como máximo el tiempo restante.
+ * - Cada sentencia se ejecuta con setQueryTimeout(restante) y, además, se
+ *   cancela con Statement.cancel() al vencer el plazo (precisión de ms).
+ * - Los cursores de streaming dejan de avanzar al vencer.
+ * En todos los casos se lanza {@link DeadlineExceededException}.
+ *
+ * Uso:
+ * <pre>
+ * try (Deadline d = Deadline.dentroDe(Duration.ofMillis(500))) {
+ *     empleadoService.getAll();
+ * } catch (DeadlineExceededException e) {
+ *     // descartar la solicitud
+ * }
+ * </pre>
+ *
+ * Otro hilo puede cancelar el plazo con {@link #cancelar()}: vence en el
+ * acto y la sentencia en curso se cancela. {@link #cancelable()} abre un
+ * plazo sin límite de tiempo que sólo sirve para eso (p. ej. las tareas
+ * asincrónicas de los servicios).
+ *
+ * Los plazos se anidan: uno interno nunca extiende al externo, y cancelar
+ * el externo cancela también lo que corre bajo los internos.
+ */
+public final class Deadline implements AutoCloseable {
+
+    private static final ThreadLocal<Deadline> ACTUAL = new ThreadLocal<>();
+
+    /** Hilo que cancela las sentencias cuyo plazo vence. */
+    private static final ScheduledThreadPoolExecutor CANCELADOR = crearCancelador();
+
+    private final long vencimientoNanos;
+    /** false = sin límite de tiempo (sólo cancelable) */
+    private final boolean acotado;
+    private final Deadline anterior;
+    private final Thread duenio;
+    private boolean cerrado;
+
+    private volatile boolean cancelado;
+    /** Ejecución en curso bajo este plazo (o uno interno), para cancelar(). */
+    private volatile Ejecucion enCurso;
+
+    private Deadline(long vencimientoNanos, boolean acotado, Deadline anterior) {
+        this.vencimientoNanos = vencimientoNanos;
+        this.acotado = acotado;
+        this.anterior = anterior;
+        this.duenio = Thread.currentThread();
+    }
+
+    /**
+     * Abre un plazo en el hilo actual; debe cerrarse (try-with-resources).
+     *
+     * @param plazo tiempo máximo a partir de ahora
+     * @return plazo activo hasta close()
+     */
+    public static Deadline dentroDe(Duration plazo) {
+        if (plazo == null || plazo.isNegative()) {
+            throw new IllegalArgumentException("El plazo debe ser positivo");
+        }
+        Deadline externo = ACTUAL.get();
+        long vencimiento = System.nanoTime() + plazo.toNanos();
+        if (externo != null && externo.acotado && externo.vencimientoNanos - vencimiento < 0) {
+            vencimiento = externo.vencimientoNanos;
+        }
+        return abrir(new Deadline(vencimiento, true, externo));
+    }
+
+    /**
+     * Abre en el hilo actual un plazo sin límite de tiempo que otro hilo
+     * puede cancelar con {@link #cancelar()}. Si ya hay un plazo abierto,
+     * conserva su vencimiento.
+     *
+     * @return plazo activo hasta close()
+     */
+    public static Deadline cancelable() {
+        Deadline externo = ACTUAL.get();
+        if (externo != null && externo.acotado) {
+            return abrir(new Deadline(externo.vencimientoNanos, true, externo));
+        }
+        return abrir(new Deadline(0, false, externo));
+    }
+
+    /** @return plazo activo en el hilo actual, o null si no hay ninguno */
+    public static Deadline actual() {
+        return ACTUAL.get();
+    }
+
+    /** @return nanosegundos que faltan para vencer (0 o negativo si ya venció; Long.MAX_VALUE si no tiene límite) */
+    public long restanteNanos() {
+        if (estaCancelado()) {
+            return 0;
+        }
+        return acotado ? vencimientoNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /** @return true si el plazo ya venció o fue cancelado */
+    public boolean vencido() {
+        return restanteNanos() <= 0;
+    }
+
+    /**
+     * Lanza DeadlineExceededException si el plazo ya venció.
+     *
+     * @param operacion descripción para el mensaje
+     */
+    public void verificar(String operacion) {
+        if (vencido()) {
+            throw new DeadlineExceededException(motivo() + " antes de " + operacion);
+        }
+    }
+
+    /**
+     * Cancela el plazo desde cualquier hilo: vence en el acto y la
+     * sentencia que se esté ejecutando bajo él se cancela.
+     */
+    public void cancelar() {
+        cancelado = true;
+        Ejecucion ejecucion = enCurso;
+        if (ejecucion != null) {
+            ejecucion.cancelar();
+        }
+    }
+
+    /**
+     * Cierra el plazo y restaura el externo (si lo había).
+     */
+    @Override
+    public void close() {
+        if (!cerrado && Thread.currentThread() == duenio) {
+            cerrado = true;
+            if (anterior != null) {
+                ACTUAL.set(anterior);
+            } else {
+                ACTUAL.remove();
+            }
+        }
+    }
+
+    // ========================================================================
+    // INTERNOS (pool y StatementInterceptor)
+    // ========================================================================
+
+    /**
+     * Prepara la ejecución de una sentencia bajo este plazo: la registra
+     * para {@link #cancelar()} y, si el plazo tiene límite, fija el query
+     * timeout (en segundos, redondeado hacia arriba) y programa su
+     * cancelación para el instante exacto de vencimiento.
+     *
+     * @return la ejecución armada; debe pasarse a {@link #desarmar} al terminar
+     * @throws DeadlineExceededException si el plazo ya venció
+     */
+    Ejecucion armar(Statement stmt) throws SQLException {
+        verificar("ejecutar la sentencia");
+        Ejecucion ejecucion = new Ejecucion(stmt);
+        for (Deadline d = this; d != null; d = d.anterior) {
+            d.enCurso = ejecucion;
+        }
+        // cancelar() pudo correr antes de registrar la sentencia
+        if (estaCancelado()) {
+            desarmar(ejecucion);
+            verificar("ejecutar la sentencia");
+        }
+        if (acotado) {
+            long restante = restanteNanos();
+            stmt.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(restante + 999_999_999L)));
+            ejecucion.programada = CANCELADOR.schedule(ejecucion::cancelar, restante, TimeUnit.NANOSECONDS);
+        }
+        return ejecucion;
+    }
+
+    /**
+     * Termina la ejecución preparada con {@link #armar}. Si hay un cancel()
+     * en curso espera a que termine: al volver, ninguna cancelación tardía
+     * puede alcanzar a la próxima sentencia de la conexión.
+     */
+    void desarmar(Ejecucion ejecucion) {
+        for (Deadline d = this; d != null; d = d.anterior) {
+            d.enCurso = null;
+        }
+        ejecucion.terminar();
+    }
+
+    /** @return true si la sentencia armada lleva query timeout */
+    boolean isAcotado() {
+        return acotado;
+    }
+
+    /**
+     * Traduce el error de una sentencia ejecutada bajo este plazo: si el
+     * plazo venció, la causa fue el timeout o la cancelación.
+     */
+    RuntimeException traducir(Throwable error) {
+        if (vencido()) {
+            return new DeadlineExceededException(motivo() + " durante la ejecución de la sentencia", error);
+        }
+        return null;
+    }
+
+    private boolean estaCancelado() {
+        for (Deadline d = this; d != null; d = d.anterior) {
+            if (d.cancelado) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String motivo() {
+        return estaCancelado() ? "Operación cancelada" : "Plazo vencido";
+    }
+
+    private static Deadline abrir(Deadline d) {
+        ACTUAL.set(d);
+        return d;
+    }
+
+    /**
+     * Una ejecución de sentencia armada bajo un plazo.
+     *
+     * En MySQL Statement.cancel() envía KILL QUERY a la conexión, no a la
+     * sentencia: un cancel() que llega tarde mataría lo que se ejecute
+     * después en esa conexión (incluso de otro usuario del pool). Por eso
+     * se cancela a lo sumo una vez y sólo mientras la ejecución está activa,
+     * y terminar() espera a un cancel() que ya haya empezado.
+     */
+    static final class Ejecucion {
+        private final Statement stmt;
+        private boolean activa = true;
+        private ScheduledFuture<?> programada;
+
+        private Ejecucion(Statement stmt) {
+            this.stmt = stmt;
+        }
+
+        /** @return true si se programó una cancelación por vencimiento (hay query timeout) */
+        boolean isProgramada() {
+            return programada != null;
+        }
+
+        private synchronized void cancelar() {
+            if (!activa) {
+                return;
+            }
+            activa = false;
+            try {
+                stmt.cancel();
+            } catch (SQLException e) {
+                System.err.println("No se pudo cancelar la sentencia vencida: " + e.getMessage());
+            }
+        }
+
+        private void terminar() {
+            synchronized (this) {
+                activa = false;
+            }
+            if (programada != null) {
+                programada.cancel(false);
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor crearCancelador() {
+        ScheduledThreadPoolExecutor ex = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "db-deadline");
+            t.setDaemon(true);
+            return t;
+        });
+        // Las cancelaciones anuladas (el caso normal) no quedan en la cola
+        ex.setRemoveOnCancelPolicy(true);
+        return ex;
+    }
+}
@@ -0,0 +1,23 @@
+package Config;
+
+/**
+ * Se lanza cuando una operación no termina antes del {@link Deadline}
+ * activo: al esperar una conexión del pool, al ejecutar una sentencia
+ * (que se cancela) o al recorrer un cursor.
+ *
+ * Es unchecked y los servicios la propagan sin envolver, para que el
+ * llamador pueda distinguir "se acabó el tiempo" de un error de datos y
+ * descartar trabajo en lugar de reintentar.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(String mensaje) {
+        super(mensaje);
+    }
+
+    public DeadlineExceededException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
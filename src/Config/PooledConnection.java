@@ -0,0 +1,114 @@
+package Config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Conexión física administrada por {@link ConnectionPool}.
+ *
+ * Guarda la conexión JDBC real junto con los datos que el pool necesita
+ * para decidir si reutilizarla: momento de creación (max lifetime) y
+ * último uso (idle eviction y validación al préstamo). También es dueña
+ * del {@link StatementCache}, que vive lo mismo que la conexión física.
+ */
+final class PooledConnection {
+    private final Connection real;
+    private final StatementCache statementCache;
+    private final long creadaEn;
+    private volatile long ultimoUso;
+
+    /** Lo que tardó el préstamo actual (espera en el pool + validación o creación) */
+    private long esperaPrestamoNanos;
+
+    PooledConnection(Connection real) {
+        this.real = real;
+        this.statementCache = new StatementCache(this);
+        this.creadaEn = System.currentTimeMillis();
+        this.ultimoUso = creadaEn;
+    }
+
+    Connection getReal() {
+        return real;
+    }
+
+    StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    long getUltimoUso() {
+        return ultimoUso;
+    }
+
+    void marcarUso() {
+        this.ultimoUso = System.currentTimeMillis();
+    }
+
+    long getEsperaPrestamoNanos() {
+        return esperaPrestamoNanos;
+    }
+
+    void marcarPrestamo(long esperaNanos) {
+        this.esperaPrestamoNanos = esperaNanos;
+        marcarUso();
+    }
+
+    /**
+     * Indica si la conexión superó su tiempo de vida máximo.
+     *
+     * @param ahora         instante actual en milisegundos
+     * @param maxLifetimeMs vida máxima permitida (0 = sin límite)
+     */
+    boolean expirada(long ahora, long maxLifetimeMs) {
+        return maxLifetimeMs > 0 && ahora - creadaEn >= maxLifetimeMs;
+    }
+
+    /**
+     * Indica si la conexión estuvo ociosa más tiempo del permitido.
+     */
+    boolean ociosa(long ahora, long idleTimeoutMs) {
+        return idleTimeoutMs > 0 && ahora - ultimoUso >= idleTimeoutMs;
+    }
+
+    /**
+     * Verifica que la conexión siga viva consultando al driver.
+     *
+     * @param timeoutSegundos tiempo máximo de espera del ping
+     * @return true si la conexión es utilizable
+     */
+    boolean validar(int timeoutSegundos) {
+        try {
+            return !real.isClosed() && real.isValid(timeoutSegundos);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deja la conexión en estado limpio antes de volver al pool:
+     * revierte cualquier transacción pendiente y restaura el autocommit.
+     *
+     * @throws SQLException si la conexión ya no es utilizable
+     */
+    void restablecer() throws SQLException {
+        if (!real.getAutoCommit()) {
+            real.rollback();
+            real.setAutoCommit(true);
+        }
+        if (real.isReadOnly()) {
+            real.setReadOnly(false);
+        }
+        real.clearWarnings();
+    }
+
+    /**
+     * Cierra físicamente la conexión, ignorando errores.
+     */
+    void cerrarFisicamente() {
+        statementCache.cerrar();
+        try {
+            real.close();
+        } catch (SQLException e) {
+            System.err.println("Error al cerrar la conexión física: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package Config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de una ejecución de sentencia SQL, emitido por
+ * {@link StatementInterceptor}.
+ *
+ * La duración es la del execute*; con executeQuery el evento se confirma
+ * al cerrar o terminar de recorrer el ResultSet, cuando se conocen las
+ * filas. El stack trace muestra qué DAO y qué servicio la originaron.
+ */
+@Name("empresa.Query")
+@Label("Sentencia SQL")
+@Category({"Empresa", "Base de datos"})
+@Description("Ejecución de una sentencia JDBC en una conexión del pool")
+@StackTrace(true)
+final class QueryEvent extends Event {
+
+    private static final EventType TIPO = EventType.getEventType(QueryEvent.class);
+
+    @Label("Sentencia")
+    @Description("SQL normalizado (huella), sin valores de parámetros")
+    String sql;
+
+    @Label("Filas")
+    @Description("Filas leídas o afectadas; -1 si no se conocen")
+    long filas;
+
+    @Label("Lote")
+    @Description("Sentencias acumuladas en el executeBatch (0 si no es un lote)")
+    int lote;
+
+    @Label("Espera de conexión")
+    @Description("Tiempo que tardó el préstamo de la conexión en el pool")
+    @Timespan
+    long esperaConexion;
+
+    @Label("Error")
+    boolean error;
+
+    /**
+     * Inicia un evento si hay una grabación que lo habilite.
+     *
+     * @return evento iniciado, o null si JFR no lo está grabando (sin costo)
+     */
+    static QueryEvent iniciar() {
+        if (!TIPO.isEnabled()) {
+            return null;
+        }
+        QueryEvent evento = new QueryEvent();
+        evento.begin();
+        return evento;
+    }
+
+    void confirmar(String sql, long filas, int lote, long esperaConexion, boolean error) {
+        this.sql = sql;
+        this.filas = filas;
+        this.lote = lote;
+        this.esperaConexion = esperaConexion;
+        this.error = error;
+        commit();
+    }
+}
@@ -0,0 +1,176 @@
+package Config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enrutamiento de lecturas a rplicas de solo lectura.
+ *
+ * Cada rplica tiene su propio {@link ConnectionPool}. Una lectura fuera
+ * de transaccin se presta de una rplica elegida por round-robin o por
+ * menor carga (conexiones en uso + hilos esperando). Si la rplica no
+ * responde se prueba la siguiente y, si ninguna, la lectura va al primario.
+ *
+ * Read-your-writes: cada hilo recuerda cundo escribi por ltima vez
+ * (commit de una transaccin o escritura autnoma de un DAO). Durante la
+ * ventana configurada sus lecturas van al primario, as no lee una rplica
+ * que todava no recibi su propia escritura. El instante se puede pasar
+ * a otro hilo (ver DatabaseConnection.heredarUltimaEscritura), p. ej. a
+ * las tareas asincrnicas, que corren cada una en un hilo virtual nuevo.
+ */
+final class ReplicaRouter {
+
+    enum Estrategia {
+        ROUND_ROBIN, LEAST_LOADED;
+
+        static Estrategia de(String valor) {
+            return switch (valor.trim().toLowerCase()) {
+                case "round-robin" -> ROUND_ROBIN;
+                case "least-loaded" -> LEAST_LOADED;
+                default -> throw new IllegalStateException(
+                        "db.replica.strategy debe ser round-robin o least-loaded: " + valor);
+            };
+        }
+    }
+
+    /** Instante (nanoTime) de la ltima escritura de cada hilo. */
+    private static final ThreadLocal<long[]> ULTIMA_ESCRITURA = new ThreadLocal<>();
+
+    private final ConnectionPool[] replicas;
+    private final Estrategia estrategia;
+    private final long ventanaNanos;
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    private final LongAdder lecturasReplica = new LongAdder();
+    private final LongAdder lecturasPrimario = new LongAdder();
+    private final LongAdder fallosReplica = new LongAdder();
+
+    ReplicaRouter(List<ConnectionPool> replicas, Estrategia estrategia, long ventanaMs) {
+        this.replicas = replicas.toArray(new ConnectionPool[0]);
+        this.estrategia = estrategia;
+        this.ventanaNanos = ventanaMs * 1_000_000L;
+    }
+
+    /**
+     * Presta una conexin de rplica para una lectura.
+     *
+     * @return conexin de una rplica, o null si la lectura debe ir al
+     *         primario (ventana read-your-writes o rplicas no disponibles)
+     */
+    Connection prestar() {
+        if (escribioRecientemente()) {
+            lecturasPrimario.increment();
+            return null;
+        }
+        int inicio = elegir();
+        for (int i = 0; i < replicas.length; i++) {
+            ConnectionPool pool = replicas[(inicio + i) % replicas.length];
+            try {
+                Connection conn = pool.prestar();
+                lecturasReplica.increment();
+                return conn;
+            } catch (SQLException e) {
+                fallosReplica.increment();
+            }
+        }
+        lecturasPrimario.increment();
+        return null;
+    }
+
+    /** Marca que el hilo actual acaba de escribir en el primario. */
+    void registrarEscritura() {
+        if (ventanaNanos <= 0) {
+            return;
+        }
+        long[] ultima = ULTIMA_ESCRITURA.get();
+        if (ultima == null) {
+            ultima = new long[1];
+            ULTIMA_ESCRITURA.set(ultima);
+        }
+        ultima[0] = System.nanoTime();
+    }
+
+    /** @return instante de la ltima escritura del hilo actual, o DatabaseConnection.SIN_ESCRITURA */
+    static long ultimaEscritura() {
+        long[] ultima = ULTIMA_ESCRITURA.get();
+        return ultima != null ? ultima[0] : DatabaseConnection.SIN_ESCRITURA;
+    }
+
+    /** Adopta en el hilo actual una escritura hecha en otro, si es ms reciente. */
+    static void heredarEscritura(long instante) {
+        long[] ultima = ULTIMA_ESCRITURA.get();
+        if (ultima == null) {
+            ULTIMA_ESCRITURA.set(new long[]{instante});
+        } else if (instante - ultima[0] > 0) {
+            ultima[0] = instante;
+        }
+    }
+
+    void cerrar() {
+        for (ConnectionPool pool : replicas) {
+            pool.cerrar();
+        }
+    }
+
+    int getCantidad() {
+        return replicas.length;
+    }
+
+    long getLecturasReplica() {
+        return lecturasReplica.sum();
+    }
+
+    long getLecturasPrimario() {
+        return lecturasPrimario.sum();
+    }
+
+    long getFallosReplica() {
+        return fallosReplica.sum();
+    }
+
+    int getEnUso() {
+        int total = 0;
+        for (ConnectionPool pool : replicas) {
+            total += pool.getEnUso();
+        }
+        return total;
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    private boolean escribioRecientemente() {
+        if (ventanaNanos <= 0) {
+            return false;
+        }
+        long[] ultima = ULTIMA_ESCRITURA.get();
+        return ultima != null && System.nanoTime() - ultima[0] < ventanaNanos;
+    }
+
+    /** ndice de la rplica por la que empezar a intentar. */
+    private int elegir() {
+        if (replicas.length == 1) {
+            return 0;
+        }
+        if (estrategia == Estrategia.ROUND_ROBIN) {
+            return Math.floorMod(siguiente.getAndIncrement(), replicas.length);
+        }
+        // Menor carga; a igual carga, rota para no cargar siempre la primera
+        int desde = Math.floorMod(siguiente.getAndIncrement(), replicas.length);
+        int mejor = desde;
+        int menorCarga = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.length; i++) {
+            int idx = (desde + i) % replicas.length;
+            int carga = replicas[idx].getEnUso() + replicas[idx].getEsperando();
+            if (carga < menorCarga) {
+                menorCarga = carga;
+                mejor = idx;
+            }
+        }
+        return mejor;
+    }
+}
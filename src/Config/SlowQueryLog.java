@@ -0,0 +1,349 @@
+package Config;
+
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Registro de consultas lentas y estadísticas por sentencia SQL.
+ *
+ * Cada Statement que entrega el pool (directamente o vía
+ * {@link StatementCache}) pasa por un {@link StatementInterceptor} que
+ * mide cada ejecución. Por cada "huella" (SQL normalizado: sin espacios
+ * repetidos y con los literales reemplazados por ?) se acumulan
+ * ejecuciones, tiempo total y máximo en una tabla acotada.
+ *
+ * Las ejecuciones que superan el umbral se informan por System.err con:
+ * tiempo, filas, método del DAO que la originó, huella y parámetros
+ * (DNI y email enmascarados). De los errores sólo se informan el SQLState
+ * y el código del motor, nunca el mensaje del driver.
+ *
+ * Configuración (System properties):
+ * - db.slowQuery.enabled          mide las sentencias (true); el proxy se instala
+ *                                 igual porque también aplica el {@link Deadline}
+ *                                 y emite los QueryEvent de JFR
+ * - db.slowQuery.thresholdMs      umbral de consulta lenta; negativo = no informar (200)
+ * - db.slowQuery.maxFingerprints  huellas distintas que se acumulan (500)
+ */
+public final class SlowQueryLog {
+
+    static final boolean HABILITADO =
+            Boolean.parseBoolean(System.getProperty("db.slowQuery.enabled", "true"));
+
+    private static final long UMBRAL_NANOS = umbralNanos(Long.getLong("db.slowQuery.thresholdMs", 200L));
+
+    private static final int MAX_HUELLAS = Integer.getInteger("db.slowQuery.maxFingerprints", 500);
+
+    /** Huella donde se acumulan las sentencias que ya no entran en la tabla */
+    static final String OTRAS = "(otras sentencias)";
+
+    private static final int MAX_LARGO_VALOR = 64;
+
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    private static final Pattern LISTA_PARAMETROS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern DNI = Pattern.compile("\\d{7,8}");
+
+    private static final ConcurrentHashMap<String, Agregado> AGREGADOS = new ConcurrentHashMap<>();
+
+    private SlowQueryLog() {
+        throw new UnsupportedOperationException("Clase utilitaria: no debe instanciarse.");
+    }
+
+    /**
+     * Envuelve un statement recién creado para medir sus ejecuciones.
+     *
+     * @param stmt statement real del driver
+     * @param sql  texto SQL si es un PreparedStatement, null si es un Statement simple
+     * @param duenia conexión del pool a la que pertenece (para la espera del préstamo)
+     * @return proxy que mide cada execute* y aplica el plazo activo
+     */
+    static Statement interceptar(Statement stmt, String sql, PooledConnection duenia) {
+        if (stmt == null || (Proxy.isProxyClass(stmt.getClass())
+                && Proxy.getInvocationHandler(stmt) instanceof StatementInterceptor)) {
+            return stmt;
+        }
+        Class<?> tipo = stmt instanceof CallableStatement ? CallableStatement.class
+                : stmt instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[]{tipo}, new StatementInterceptor(stmt, sql, duenia));
+    }
+
+    /**
+     * Devuelve las estadísticas por huella, ordenadas por tiempo total
+     * descendente (las que más tiempo de base de datos consumen primero).
+     */
+    public static String volcar() {
+        List<Resumen> resumenes = resumenes();
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%10s %12s %10s %10s %7s  %s%n",
+                "ejec", "total_ms", "prom_ms", "max_ms", "lentas", "sentencia"));
+        for (Resumen r : resumenes) {
+            sb.append(String.format(Locale.ROOT, "%10d %12.1f %10.2f %10.1f %7d  %s%n",
+                    r.getEjecuciones(), r.getTotalMs(), r.getPromedioMs(), r.getMaximoMs(),
+                    r.getLentas(), r.getHuella()));
+        }
+        if (resumenes.isEmpty()) {
+            sb.append("(sin sentencias registradas)").append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /** @return copia de las estadísticas por huella, por tiempo total descendente */
+    public static List<Resumen> resumenes() {
+        List<Resumen> lista = new ArrayList<>(AGREGADOS.size());
+        AGREGADOS.forEach((huella, a) -> lista.add(new Resumen(huella, a)));
+        lista.sort(Comparator.comparingDouble(Resumen::getTotalMs).reversed());
+        return lista;
+    }
+
+    /** Borra las estadísticas acumuladas. */
+    public static void reiniciar() {
+        AGREGADOS.clear();
+    }
+
+    /** @return umbral configurado en milisegundos (negativo si no se informa) */
+    public static long getUmbralMs() {
+        return UMBRAL_NANOS < 0 ? -1 : UMBRAL_NANOS / 1_000_000L;
+    }
+
+    // ========================================================================
+    // INTERNOS (usados por StatementInterceptor)
+    // ========================================================================
+
+    static boolean esLenta(long nanos) {
+        return UMBRAL_NANOS >= 0 && nanos >= UMBRAL_NANOS;
+    }
+
+    /**
+     * Acumula una ejecución en la tabla. Si la tabla está llena, las
+     * huellas nuevas se suman a {@link #OTRAS} para acotar la memoria.
+     */
+    static void acumular(String huella, long nanos, boolean error) {
+        Agregado a = AGREGADOS.get(huella);
+        if (a == null) {
+            a = AGREGADOS.size() < MAX_HUELLAS
+                    ? AGREGADOS.computeIfAbsent(huella, h -> new Agregado())
+                    : AGREGADOS.computeIfAbsent(OTRAS, h -> new Agregado());
+        }
+        a.ejecuciones.increment();
+        a.nanosTotal.add(nanos);
+        a.nanosMax.accumulate(nanos);
+        if (error) {
+            a.errores.increment();
+        }
+        if (esLenta(nanos)) {
+            a.lentas.increment();
+        }
+    }
+
+    /**
+     * Informa una ejecución lenta.
+     *
+     * @param filas filas leídas o afectadas, -1 si no se conocen
+     */
+    static void informar(String huella, long nanos, long filas, String origen,
+                         Object[] parametros, int lote, Throwable error) {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("[consulta lenta] ")
+          .append(String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0));
+        if (filas >= 0) {
+            sb.append(" filas=").append(filas);
+        }
+        if (lote > 0) {
+            sb.append(" lote=").append(lote);
+        }
+        sb.append(" origen=").append(origen);
+        if (error != null) {
+            sb.append(" error=").append(describirError(error));
+        }
+        sb.append(" sql=\"").append(huella).append('"');
+        if (parametros != null) {
+            sb.append(" parametros=").append(formatearParametros(parametros));
+        }
+        System.err.println(sb);
+    }
+
+    /**
+     * Normaliza un SQL para agrupar ejecuciones de la misma sentencia:
+     * colapsa espacios, reemplaza literales de texto y numéricos por ? y
+     * reduce las listas de parámetros (?, ?, ...) a (?+), así un IN o un
+     * VALUES de distinto largo cuentan como la misma sentencia.
+     */
+    static String huella(String sql) {
+        if (sql == null) {
+            return "(sin sql)";
+        }
+        StringBuilder sb = new StringBuilder(sql.length());
+        int n = sql.length();
+        for (int i = 0; i < n; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                // Literal de texto ('' es una comilla escapada)
+                i++;
+                while (i < n) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                    i++;
+                }
+                sb.append('?');
+            } else if (Character.isDigit(c) && (sb.length() == 0 || !esParteDeIdentificador(sb.charAt(sb.length() - 1)))) {
+                while (i + 1 < n && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                sb.append('?');
+            } else {
+                sb.append(c);
+            }
+        }
+        String normalizado = ESPACIOS.matcher(sb).replaceAll(" ").trim();
+        return LISTA_PARAMETROS.matcher(normalizado).replaceAll("(?+)");
+    }
+
+    /**
+     * Método de la capa de acceso a datos que originó la sentencia: el
+     * primer frame del paquete Dao o, si no hay, el primero fuera de la
+     * infraestructura (Config, JDK, proxies).
+     */
+    static String origen() {
+        return StackWalker.getInstance().walk(frames -> {
+            String primero = null;
+            for (StackWalker.StackFrame f : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String clase = f.getClassName();
+                if (clase.startsWith("Dao.")) {
+                    return nombreCorto(clase) + "." + f.getMethodName();
+                }
+                if (primero == null && !esInfraestructura(clase)) {
+                    primero = nombreCorto(clase) + "." + f.getMethodName();
+                }
+            }
+            return primero != null ? primero : "?";
+        });
+    }
+
+    /**
+     * Enmascara un parámetro antes de informarlo: los emails conservan la
+     * inicial y el dominio, los DNI los últimos 3 dígitos. Los textos
+     * largos se truncan.
+     */
+    static String enmascarar(Object valor) {
+        if (valor == null) {
+            return "NULL";
+        }
+        if (!(valor instanceof CharSequence)) {
+            return String.valueOf(valor);
+        }
+        String s = valor.toString();
+        int arroba = s.indexOf('@');
+        if (arroba >= 0) {
+            return "'" + (arroba > 0 ? s.charAt(0) : "") + "***" + s.substring(arroba) + "'";
+        }
+        if (DNI.matcher(s).matches()) {
+            return "'" + "*".repeat(s.length() - 3) + s.substring(s.length() - 3) + "'";
+        }
+        if (s.length() > MAX_LARGO_VALOR) {
+            s = s.substring(0, MAX_LARGO_VALOR) + "...";
+        }
+        return "'" + s + "'";
+    }
+
+    /**
+     * Identifica el error sin su mensaje: el del driver suele incluir los
+     * valores (p. ej. "Duplicate entry '12345678' for key 'dni'") y
+     * saltearía el enmascarado de los parámetros.
+     */
+    static String describirError(Throwable error) {
+        if (error instanceof SQLException) {
+            SQLException sqlError = (SQLException) error;
+            return "SQLState=" + sqlError.getSQLState() + " codigo=" + sqlError.getErrorCode();
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    private static String formatearParametros(Object[] parametros) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 1; i < parametros.length; i++) {
+            if (i > 1) {
+                sb.append(", ");
+            }
+            sb.append(enmascarar(parametros[i]));
+        }
+        return sb.append(']').toString();
+    }
+
+    private static boolean esParteDeIdentificador(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '`';
+    }
+
+    private static boolean esInfraestructura(String clase) {
+        return clase.startsWith("Config.") || clase.startsWith("java.") || clase.startsWith("jdk.")
+                || clase.startsWith("sun.") || clase.startsWith("com.sun.") || clase.contains("$Proxy");
+    }
+
+    private static String nombreCorto(String clase) {
+        return clase.substring(clase.lastIndexOf('.') + 1);
+    }
+
+    private static long umbralNanos(long ms) {
+        return ms < 0 ? -1 : ms * 1_000_000L;
+    }
+
+    /** Contadores de una huella; se actualizan sin bloqueo desde cualquier hilo. */
+    private static final class Agregado {
+        final LongAdder ejecuciones = new LongAdder();
+        final LongAdder nanosTotal = new LongAdder();
+        final LongAccumulator nanosMax = new LongAccumulator(Math::max, 0);
+        final LongAdder lentas = new LongAdder();
+        final LongAdder errores = new LongAdder();
+    }
+
+    /**
+     * Foto de las estadísticas de una huella.
+     */
+    public static final class Resumen {
+        private final String huella;
+        private final long ejecuciones;
+        private final long nanosTotal;
+        private final long nanosMax;
+        private final long lentas;
+        private final long errores;
+
+        private Resumen(String huella, Agregado a) {
+            this.huella = huella;
+            this.ejecuciones = a.ejecuciones.sum();
+            this.nanosTotal = a.nanosTotal.sum();
+            this.nanosMax = a.nanosMax.get();
+            this.lentas = a.lentas.sum();
+            this.errores = a.errores.sum();
+        }
+
+        public String getHuella() { return huella; }
+
+        public long getEjecuciones() { return ejecuciones; }
+
+        public double getTotalMs() { return nanosTotal / 1_000_000.0; }
+
+        public double getPromedioMs() { return ejecuciones == 0 ? 0.0 : getTotalMs() / ejecuciones; }
+
+        public double getMaximoMs() { return nanosMax / 1_000_000.0; }
+
+        public long getLentas() { return lentas; }
+
+        public long getErrores() { return errores; }
+    }
+}
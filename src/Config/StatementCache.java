@@ -0,0 +1,185 @@
+package Config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU acotado de PreparedStatements por conexión física.
+ *
+ * Cada conexión del pool tiene su propio cache, indexado por texto SQL: un
+ * mapa para las sentencias sin claves generadas y otro para las que las
+ * devuelven, así buscar no arma ninguna clave compuesta. Cada mapa admite
+ * hasta db.statementCache.size sentencias. Así el driver no vuelve a
+ * parsear ni el servidor vuelve a preparar la misma sentencia en cada llamada.
+ * Los statements se guardan ya envueltos por {@link SlowQueryLog}.
+ *
+ * IMPORTANTE: los statements obtenidos con {@link #prepare} pertenecen al
+ * cache y NO deben cerrarse; sí deben cerrarse los ResultSet que generen.
+ *
+ * Uso recomendado:
+ * <pre>
+ * try (Connection conn = DatabaseConnection.getConnection()) {
+ *     PreparedStatement stmt = StatementCache.prepare(conn, SQL);
+ *     try (ResultSet rs = stmt.executeQuery()) { ... }
+ * }
+ * </pre>
+ */
+public final class StatementCache {
+
+    /** Tamaño del cache por conexión: configurable o 64 por defecto */
+    static final int CAPACIDAD = Integer.getInteger("db.statementCache.size", 64);
+
+    // Contadores globales (todas las conexiones) para dimensionar el cache
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+
+    private final PooledConnection duenia;
+    private final LinkedHashMap<String, PreparedStatement> sinClaves;
+    private final LinkedHashMap<String, PreparedStatement> conClaves;
+
+    StatementCache(PooledConnection duenia) {
+        if (CAPACIDAD <= 0) {
+            throw new IllegalStateException("db.statementCache.size debe ser mayor a 0.");
+        }
+        this.duenia = duenia;
+        this.sinClaves = nuevoMapa();
+        this.conClaves = nuevoMapa();
+    }
+
+    /**
+     * Devuelve un PreparedStatement cacheado para la conexión, sin claves generadas.
+     *
+     * @see #prepare(Connection, String, int)
+     */
+    public static PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+        return prepare(conn, sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * Devuelve un PreparedStatement cacheado para la conexión.
+     *
+     * Si la conexión no proviene del pool no hay cache: se prepara un
+     * statement nuevo, que el driver cierra junto con la conexión.
+     *
+     * @param conn              conexión (normalmente de DatabaseConnection)
+     * @param sql               texto SQL
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS o NO_GENERATED_KEYS
+     * @return statement listo para usar, con los parámetros y el lote limpios
+     * @throws SQLException si no se puede preparar la sentencia
+     */
+    public static PreparedStatement prepare(Connection conn, String sql, int autoGeneratedKeys) throws SQLException {
+        StatementCache cache = de(conn);
+        if (cache == null) {
+            return conn.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return cache.obtener(sql, autoGeneratedKeys);
+    }
+
+    /** @return aciertos acumulados de todos los caches */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /** @return fallos acumulados (sentencias preparadas de nuevo) */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /** @return statements desalojados por superar la capacidad */
+    public static long getEvictions() {
+        return EVICTIONS.sum();
+    }
+
+    /** @return proporción de aciertos entre 0 y 1 (0 si no hubo accesos) */
+    public static double getHitRatio() {
+        long hits = HITS.sum();
+        long total = hits + MISSES.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /** @return capacidad configurada por conexión */
+    public static int getCapacidad() {
+        return CAPACIDAD;
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    /**
+     * Obtiene el cache de una conexión prestada por el pool, o null.
+     */
+    private static StatementCache de(Connection conn) {
+        ConnectionLease lease = ConnectionLease.de(conn);
+        return lease != null ? lease.getPooled().getStatementCache() : null;
+    }
+
+    /*
+     * Una conexión la usa un solo hilo a la vez (la tiene prestada), por eso
+     * el cache no necesita sincronización.
+     */
+    private PreparedStatement obtener(String sql, int autoGeneratedKeys) throws SQLException {
+        LinkedHashMap<String, PreparedStatement> statements =
+                autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? conClaves : sinClaves;
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt != null && !stmt.isClosed()) {
+            HITS.increment();
+            // Un lote que quedó a medio armar (excepción entre addBatch y
+            // executeBatch) no debe ejecutarse en la próxima llamada
+            stmt.clearParameters();
+            stmt.clearBatch();
+            return stmt;
+        }
+        MISSES.increment();
+        stmt = (PreparedStatement) SlowQueryLog.interceptar(
+                duenia.getReal().prepareStatement(sql, autoGeneratedKeys), sql, duenia);
+        statements.put(sql, stmt);
+        return stmt;
+    }
+
+    /**
+     * Cierra todos los statements del cache (al cerrar la conexión física).
+     */
+    void cerrar() {
+        cerrarTodos(sinClaves);
+        cerrarTodos(conClaves);
+    }
+
+    private static LinkedHashMap<String, PreparedStatement> nuevoMapa() {
+        // accessOrder = true: el orden de iteración es de menos a más recientemente usado
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > CAPACIDAD) {
+                    EVICTIONS.increment();
+                    cerrarSilencioso(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static void cerrarTodos(Map<String, PreparedStatement> statements) {
+        Iterator<PreparedStatement> it = statements.values().iterator();
+        while (it.hasNext()) {
+            cerrarSilencioso(it.next());
+            it.remove();
+        }
+    }
+
+    private static void cerrarSilencioso(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            System.err.println("Error al cerrar statement cacheado: " + e.getMessage());
+        }
+    }
+}
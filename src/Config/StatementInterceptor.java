@@ -0,0 +1,298 @@
+package Config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Proxy de un Statement que mide cada ejecución para {@link SlowQueryLog}
+ * y, si hay una grabación JFR activa, emite un {@link QueryEvent}.
+ *
+ * Si el hilo tiene un {@link Deadline} abierto, cada ejecución lleva su
+ * query timeout y se cancela al vencer (o cancelarse) el plazo. Como los statements viven
+ * en el cache, el timeout se vuelve a 0 en la primera ejecución sin plazo.
+ *
+ * Guarda los parámetros que se asignan con setXxx(índice, valor) para
+ * poder informarlos si la ejecución resulta lenta. Con executeQuery la
+ * cantidad de filas recién se conoce al recorrer el ResultSet: solo en
+ * las consultas lentas (o con JFR grabando) se envuelve el ResultSet para
+ * contarlas, las demás devuelven el del driver sin costo extra.
+ *
+ * Como la conexión, el statement lo usa un solo hilo a la vez.
+ */
+final class StatementInterceptor implements InvocationHandler {
+    private final Statement real;
+    private final String sql;
+    private final PooledConnection duenia;
+    private String huella;
+    private Object[] parametros;
+    private int lote;
+    private boolean conTimeout;
+
+    StatementInterceptor(Statement real, String sql, PooledConnection duenia) {
+        this.real = real;
+        this.sql = sql;
+        this.duenia = duenia;
+    }
+
+    @Override
+    public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+        String nombre = method.getName();
+        if (nombre.startsWith("execute")) {
+            return ejecutar(method, args);
+        }
+        switch (nombre) {
+            case "clearParameters" -> parametros = null;
+            case "addBatch" -> lote++;
+            case "clearBatch" -> lote = 0;
+            case "equals" -> { return p == args[0]; }
+            case "hashCode" -> { return System.identityHashCode(p); }
+            case "toString" -> { return "Intercepted[" + real + "]"; }
+            default -> {
+                if (sql != null && nombre.startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer indice) {
+                    guardarParametro(indice, nombre.equals("setNull") ? null : args[1]);
+                }
+            }
+        }
+        return invocar(method, args);
+    }
+
+    private Object ejecutar(Method method, Object[] args) throws Throwable {
+        Deadline deadline = Deadline.actual();
+        if (conTimeout && (deadline == null || !deadline.isAcotado())) {
+            real.setQueryTimeout(0);
+            conTimeout = false;
+        }
+        if (deadline == null) {
+            return medir(method, args);
+        }
+        Deadline.Ejecucion ejecucion = deadline.armar(real);
+        if (ejecucion.isProgramada()) {
+            conTimeout = true;
+        }
+        try {
+            return medir(method, args);
+        } catch (SQLException e) {
+            RuntimeException vencido = deadline.traducir(e);
+            if (vencido != null) {
+                throw vencido;
+            }
+            throw e;
+        } finally {
+            deadline.desarmar(ejecucion);
+        }
+    }
+
+    /*
+     * El evento JFR no depende de db.slowQuery.enabled: con el log apagado
+     * sólo se mide si hay una grabación que lo pida.
+     */
+    private Object medir(Method method, Object[] args) throws Throwable {
+        QueryEvent evento = QueryEvent.iniciar();
+        boolean registrar = SlowQueryLog.HABILITADO;
+        if (!registrar && evento == null) {
+            return invocar(method, args);
+        }
+        String texto = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+        boolean esLote = method.getName().equals("executeBatch") || method.getName().equals("executeLargeBatch");
+        int loteEjecutado = esLote ? lote : 0;
+        if (esLote) {
+            lote = 0;
+        }
+        long inicio = System.nanoTime();
+        Object resultado;
+        try {
+            resultado = invocar(method, args);
+        } catch (Throwable e) {
+            long nanos = System.nanoTime() - inicio;
+            String h = huellaDe(texto);
+            if (registrar) {
+                SlowQueryLog.acumular(h, nanos, true);
+                if (SlowQueryLog.esLenta(nanos)) {
+                    SlowQueryLog.informar(h, nanos, -1, SlowQueryLog.origen(), copiaParametros(), loteEjecutado, e);
+                }
+            }
+            if (evento != null) {
+                evento.confirmar(h, -1, loteEjecutado, esperaConexion(), true);
+            }
+            throw e;
+        }
+        long nanos = System.nanoTime() - inicio;
+        String h = huellaDe(texto);
+        if (registrar) {
+            SlowQueryLog.acumular(h, nanos, false);
+        }
+        boolean lenta = registrar && SlowQueryLog.esLenta(nanos);
+        if (!lenta && evento == null) {
+            return resultado;
+        }
+        if (evento != null) {
+            evento.end();
+        }
+        String origen = lenta ? SlowQueryLog.origen() : null;
+        Object[] valores = lenta ? copiaParametros() : null;
+        if (resultado instanceof ResultSet rs) {
+            return new ResultadoContado(rs, h, nanos, origen, valores, evento, esperaConexion()).getProxy();
+        }
+        long filas = filasAfectadas(resultado);
+        if (lenta) {
+            SlowQueryLog.informar(h, nanos, filas, origen, valores, loteEjecutado, null);
+        }
+        if (evento != null) {
+            evento.confirmar(h, filas, loteEjecutado, esperaConexion(), false);
+        }
+        return resultado;
+    }
+
+    private long esperaConexion() {
+        return duenia != null ? duenia.getEsperaPrestamoNanos() : 0;
+    }
+
+    private Object invocar(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(real, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** La huella de un PreparedStatement se calcula una vez: vive en el cache. */
+    private String huellaDe(String texto) {
+        if (texto != sql) {
+            return SlowQueryLog.huella(texto);
+        }
+        if (huella == null) {
+            huella = SlowQueryLog.huella(sql);
+        }
+        return huella;
+    }
+
+    private void guardarParametro(int indice, Object valor) {
+        if (indice <= 0) {
+            return;
+        }
+        if (parametros == null) {
+            parametros = new Object[Math.max(indice + 1, 8)];
+        } else if (indice >= parametros.length) {
+            parametros = Arrays.copyOf(parametros, Math.max(indice + 1, parametros.length * 2));
+        }
+        parametros[indice] = valor;
+    }
+
+    /** Parámetros 1..n asignados (el índice 0 no se usa), o null si no hubo. */
+    private Object[] copiaParametros() {
+        if (parametros == null) {
+            return null;
+        }
+        int ultimo = parametros.length - 1;
+        while (ultimo > 0 && parametros[ultimo] == null) {
+            ultimo--;
+        }
+        return Arrays.copyOf(parametros, ultimo + 1);
+    }
+
+    private static long filasAfectadas(Object resultado) {
+        if (resultado instanceof Integer n) {
+            return n;
+        }
+        if (resultado instanceof Long n) {
+            return n;
+        }
+        if (resultado instanceof int[] lote) {
+            long total = 0;
+            for (int n : lote) {
+                if (n > 0) {
+                    total += n;
+                }
+            }
+            return total;
+        }
+        if (resultado instanceof long[] lote) {
+            long total = 0;
+            for (long n : lote) {
+                if (n > 0) {
+                    total += n;
+                }
+            }
+            return total;
+        }
+        return -1;
+    }
+
+    /**
+     * ResultSet de una consulta lenta o grabada por JFR: cuenta las filas
+     * leídas e informa la consulta (al log si fue lenta, origen != null, y
+     * al evento si lo hay) al cerrarse o al terminar de recorrerse.
+     */
+    private static final class ResultadoContado implements InvocationHandler {
+        private final ResultSet real;
+        private final ResultSet proxy;
+        private final String huella;
+        private final long nanos;
+        private final String origen;
+        private final Object[] parametros;
+        private final QueryEvent evento;
+        private final long esperaConexion;
+        private long filas;
+        private boolean informado;
+
+        ResultadoContado(ResultSet real, String huella, long nanos, String origen, Object[] parametros,
+                         QueryEvent evento, long esperaConexion) {
+            this.real = real;
+            this.huella = huella;
+            this.nanos = nanos;
+            this.origen = origen;
+            this.parametros = parametros;
+            this.evento = evento;
+            this.esperaConexion = esperaConexion;
+            this.proxy = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, this);
+        }
+
+        ResultSet getProxy() {
+            return proxy;
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> { return p == args[0]; }
+                case "hashCode" -> { return System.identityHashCode(p); }
+                case "close" -> informar();
+                default -> { }
+            }
+            Object resultado;
+            try {
+                resultado = method.invoke(real, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (method.getName().equals("next")) {
+                if ((Boolean) resultado) {
+                    filas++;
+                } else {
+                    informar();
+                }
+            }
+            return resultado;
+        }
+
+        private void informar() {
+            if (!informado) {
+                informado = true;
+                if (origen != null) {
+                    SlowQueryLog.informar(huella, nanos, filas, origen, parametros, 0, null);
+                }
+                if (evento != null) {
+                    evento.confirmar(huella, filas, 0, esperaConexion, false);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package Config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de una transacción de {@link TransactionManager}: abarca
+ * desde startTransaction() hasta el commit o el rollback.
+ *
+ * Los {@link QueryEvent} del mismo hilo dentro de ese intervalo son las
+ * sentencias de la transacción.
+ */
+@Name("empresa.Transaction")
+@Label("Transacción")
+@Category({"Empresa", "Base de datos"})
+@Description("Transacción JDBC iniciada con TransactionManager")
+@StackTrace(true)
+final class TransactionEvent extends Event {
+
+    static final String COMMIT = "commit";
+    static final String ROLLBACK = "rollback";
+    static final String COMMIT_FALLIDO = "commit fallido";
+
+    private static final EventType TIPO = EventType.getEventType(TransactionEvent.class);
+
+    @Label("Resultado")
+    @Description("commit, rollback o commit fallido")
+    String resultado;
+
+    @Label("Duración del commit")
+    @Timespan
+    long duracionCommit;
+
+    @Label("Espera de conexión")
+    @Description("Tiempo que tardó el préstamo de la conexión en el pool")
+    @Timespan
+    long esperaConexion;
+
+    /**
+     * Inicia un evento si hay una grabación que lo habilite.
+     *
+     * @return evento iniciado, o null si JFR no lo está grabando (sin costo)
+     */
+    static TransactionEvent iniciar() {
+        if (!TIPO.isEnabled()) {
+            return null;
+        }
+        TransactionEvent evento = new TransactionEvent();
+        evento.begin();
+        return evento;
+    }
+
+    void confirmar(String resultado, long duracionCommit) {
+        this.resultado = resultado;
+        this.duracionCommit = duracionCommit;
+        commit();
+    }
+}
@@ -2,6 +2,8 @@ package Config;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Gestor de transacciones que centraliza el manejo de commit/rollback.
@@ -9,11 +11,32 @@ import java.sql.SQLException;
  * 
  * Simplifica el código de los Services eliminando la repetición del patrón
  * setAutoCommit(false) → commit() → rollback() → close().
+ * 
+ * Mientras la transacción está activa, su conexión queda publicada para el
+ * hilo actual (ver {@link #currentConnection()}): los métodos autónomos de
+ * los DAO la reutilizan en lugar de abrir otra conexión.
+ * 
+ * Si hay una grabación JFR activa, cada transacción emite un
+ * {@link TransactionEvent} con su duración y resultado.
  */
 public class TransactionManager implements AutoCloseable {
+
+    /** Transacción activa del hilo actual (null si no hay ninguna). */
+    private static final ThreadLocal<TransactionManager> ACTUAL = new ThreadLocal<>();
+
     private Connection conn;
     private boolean transactionActive;
 
+    /** Transacción que estaba publicada antes que esta (se restaura al terminar). */
+    private TransactionManager anterior;
+    private boolean publicada;
+
+    /** Acciones a ejecutar sólo si la transacción confirma. */
+    private final List<Runnable> alConfirmar = new ArrayList<>();
+
+    /** Evento JFR de la transacción en curso (null si JFR no lo graba). */
+    private TransactionEvent evento;
+
     /**
      * Constructor que inicializa el gestor con una conexión.
      *
@@ -49,12 +72,39 @@ public class TransactionManager implements AutoCloseable {
         if (conn.isClosed()) {
             throw new SQLException("No se puede iniciar la transacción: conexión cerrada");
         }
+        evento = TransactionEvent.iniciar();
+        if (evento != null) {
+            evento.esperaConexion = ConnectionLease.esperaDe(conn);
+        }
         conn.setAutoCommit(false);
         transactionActive = true;
+        publicar();
+    }
+
+    /**
+     * Devuelve la conexión de la transacción activa en el hilo actual.
+     *
+     * @return conexión de la transacción en curso, o null si no hay ninguna
+     */
+    public static Connection currentConnection() {
+        TransactionManager tx = ACTUAL.get();
+        return tx != null ? tx.conn : null;
+    }
+
+    /**
+     * Registra una acción que se ejecuta después de un commit exitoso
+     * (p. ej. actualizar caches). Si la transacción se revierte, se descarta.
+     *
+     * @param accion Acción a ejecutar tras el commit
+     */
+    public void afterCommit(Runnable accion) {
+        alConfirmar.add(accion);
     }
 
     /**
-     * Confirma la transacción (commit).
+     * Confirma la transacción (commit) y ejecuta las acciones registradas
+     * con afterCommit(). Un error en esas acciones no revierte el commit.
+     * Abre la ventana read-your-writes del hilo (ver DatabaseConnection#getReadConnection).
      *
      * @throws SQLException Si no hay transacción activa
      */
@@ -65,8 +115,18 @@ public class TransactionManager implements AutoCloseable {
         if (!transactionActive) {
             throw new SQLException("No hay una transacción activa para hacer commit");
         }
-        conn.commit();
+        long inicioCommit = System.nanoTime();
+        try {
+            conn.commit();
+        } catch (SQLException e) {
+            terminarEvento(TransactionEvent.COMMIT_FALLIDO, System.nanoTime() - inicioCommit);
+            throw e;
+        }
         transactionActive = false;
+        terminarEvento(TransactionEvent.COMMIT, System.nanoTime() - inicioCommit);
+        DatabaseConnection.registrarEscritura();
+        despublicar();
+        ejecutarAlConfirmar();
     }
 
     /**
@@ -74,6 +134,7 @@ public class TransactionManager implements AutoCloseable {
      * Generalmente invocado automáticamente por close() si no se hizo commit.
      */
     public void rollback() {
+        alConfirmar.clear();
         if (conn != null && transactionActive) {
             try {
                 conn.rollback();
@@ -81,17 +142,22 @@ public class TransactionManager implements AutoCloseable {
             } catch (SQLException e) {
                 System.err.println("Error durante el rollback: " + e.getMessage());
             }
+            terminarEvento(TransactionEvent.ROLLBACK, 0);
         }
+        despublicar();
     }
 
     /**
-     * Cierra la transacción y la conexión de forma segura.
+     * Cierra la transacción y devuelve la conexión al pool de forma segura.
      * Invocado automáticamente por try-with-resources.
      * 
      * Si la transacción sigue activa, hace rollback automático.
+     * Las conexiones de DatabaseConnection son prestadas: close() no las
+     * cierra físicamente sino que las devuelve al pool para reutilizarlas.
      */
     @Override
     public void close() {
+        despublicar();
         if (conn != null) {
             try {
                 if (transactionActive) {
@@ -113,4 +179,42 @@ public class TransactionManager implements AutoCloseable {
     public boolean isTransactionActive() {
         return transactionActive;
     }
+
+    private void terminarEvento(String resultado, long duracionCommit) {
+        if (evento != null) {
+            evento.confirmar(resultado, duracionCommit);
+            evento = null;
+        }
+    }
+
+    private void ejecutarAlConfirmar() {
+        for (Runnable accion : alConfirmar) {
+            try {
+                accion.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error en accion posterior al commit: " + e.getMessage());
+            }
+        }
+        alConfirmar.clear();
+    }
+
+    private void publicar() {
+        if (!publicada) {
+            anterior = ACTUAL.get();
+            ACTUAL.set(this);
+            publicada = true;
+        }
+    }
+
+    private void despublicar() {
+        if (publicada) {
+            if (anterior != null) {
+                ACTUAL.set(anterior);
+            } else {
+                ACTUAL.remove();
+            }
+            anterior = null;
+            publicada = false;
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package Dao;
+
+// Resultado de una consulta agregada de ReporteDAO: un valor (area, estado,
+// mes...) y la cantidad de filas que lo tienen. La clave es null para las
+// filas sin valor (p. ej. empleados sin area).
+public class Conteo<K> {
+    private final K clave;
+    private final long cantidad;
+
+    public Conteo(K clave, long cantidad) {
+        this.clave = clave;
+        this.cantidad = cantidad;
+    }
+
+    public K getClave() { return clave; }
+
+    public long getCantidad() { return cantidad; }
+
+    @Override
+    public String toString() {
+        return "Conteo{" +
+                "clave=" + clave +
+                ", cantidad=" + cantidad +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package Dao;
+
+import Entities.Estado;
+import java.time.LocalDate;
+
+// Criterios opcionales para EmpleadoDAO.buscar. Los criterios en null no
+// filtran; los presentes se combinan con AND en una unica consulta.
+// Uso: new CriterioBusqueda().conArea("IT").conEstado(Estado.INACTIVO)
+public class CriterioBusqueda {
+    private String area;
+    private LocalDate fechaIngresoDesde;
+    private LocalDate fechaIngresoHasta;
+    private Estado estado;
+    private String categoria;
+    private String prefijoNombre;
+
+    // Area exacta del empleado
+    public CriterioBusqueda conArea(String area) {
+        this.area = vacioANull(area);
+        return this;
+    }
+
+    // Rango de fecha de ingreso, ambos extremos incluidos (cualquiera puede ser null)
+    public CriterioBusqueda conFechaIngresoEntre(LocalDate desde, LocalDate hasta) {
+        this.fechaIngresoDesde = desde;
+        this.fechaIngresoHasta = hasta;
+        return this;
+    }
+
+    // Estado del legajo (excluye empleados sin legajo)
+    public CriterioBusqueda conEstado(Estado estado) {
+        this.estado = estado;
+        return this;
+    }
+
+    // Categoria exacta del legajo (excluye empleados sin legajo)
+    public CriterioBusqueda conCategoria(String categoria) {
+        this.categoria = vacioANull(categoria);
+        return this;
+    }
+
+    // Prefijo del apellido o del nombre
+    public CriterioBusqueda conPrefijoNombre(String prefijo) {
+        this.prefijoNombre = vacioANull(prefijo);
+        return this;
+    }
+
+    public String getArea() { return area; }
+
+    public LocalDate getFechaIngresoDesde() { return fechaIngresoDesde; }
+
+    public LocalDate getFechaIngresoHasta() { return fechaIngresoHasta; }
+
+    public Estado getEstado() { return estado; }
+
+    public String getCategoria() { return categoria; }
+
+    public String getPrefijoNombre() { return prefijoNombre; }
+
+    private static String vacioANull(String valor) {
+        return valor == null || valor.trim().isEmpty() ? null : valor.trim();
+    }
+
+    @Override
+    public String toString() {
+        return "CriterioBusqueda{" +
+                "area='" + area + '\'' +
+                ", fechaIngresoDesde=" + fechaIngresoDesde +
+                ", fechaIngresoHasta=" + fechaIngresoHasta +
+                ", estado=" + estado +
+                ", categoria='" + categoria + '\'' +
+                ", prefijoNombre='" + prefijoNombre + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,33 @@
+package Dao;
+
+import Entities.Estado;
+
+// Fila de la tabla resumen dotacion: cantidad de empleados activos con un
+// area y un estado de legajo. area null = sin area; estado null = sin legajo.
+// Como cambio (DotacionDAO.sumar) la cantidad puede ser negativa.
+public class Dotacion {
+    private final String area;
+    private final Estado estado;
+    private final long cantidad;
+
+    public Dotacion(String area, Estado estado, long cantidad) {
+        this.area = area;
+        this.estado = estado;
+        this.cantidad = cantidad;
+    }
+
+    public String getArea() { return area; }
+
+    public Estado getEstado() { return estado; }
+
+    public long getCantidad() { return cantidad; }
+
+    @Override
+    public String toString() {
+        return "Dotacion{" +
+                "area=" + area +
+                ", estado=" + estado +
+                ", cantidad=" + cantidad +
+                '}';
+    }
+}
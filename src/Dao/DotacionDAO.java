@@ -0,0 +1,46 @@
+package Dao;
+
+import Entities.Estado;
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Tabla resumen dotacion: empleados activos por (area, estado del legajo).
+// Los Services la mantienen en la misma transaccion que cada alta, baja o
+// cambio de area/estado; reconstruirla la recalcula desde las tablas.
+public interface DotacionDAO {
+
+    // --- Lecturas (de una replica si hay) ---
+    // Cantidad de una sola celda: lectura por clave primaria.
+    long leer(String area, Estado estado) throws Exception;
+
+    // Todas las celdas con empleados, ordenadas por area y estado.
+    List<Dotacion> leerTodas() throws Exception;
+
+    // --- Metodos transaccionales ---
+    // Suma a cada (area, estado) su cantidad, positiva o negativa, creando las
+    // filas que falten. Agrupa los cambios por clave y los aplica siempre en el
+    // mismo orden para que dos transacciones no se bloqueen en cruz.
+    void sumar(List<Dotacion> cambios, Connection conn) throws Exception;
+
+    // (area, estado) actual del empleado activo, con cantidad 1, bloqueando
+    // sus filas hasta el fin de la transaccion. null si no esta activo.
+    Dotacion claveDeEmpleado(long empleadoId, Connection conn) throws Exception;
+
+    // Igual que claveDeEmpleado, para el empleado activo del legajo activo.
+    Dotacion claveDeLegajo(long legajoId, Connection conn) throws Exception;
+
+    // Igual que claveDeEmpleado para varios DNI; solo incluye los activos.
+    Map<String, Dotacion> clavesPorDni(Collection<String> dnis, Connection conn) throws Exception;
+
+    // --- Reconstruccion (en una sola transaccion, en este orden) ---
+    // Lee la tabla bloqueandola: las transacciones que la modifican esperan.
+    List<Dotacion> leerParaReconstruir(Connection conn) throws Exception;
+
+    // Recalcula las celdas desde empleados y legajos (GROUP BY).
+    List<Dotacion> calcular(Connection conn) throws Exception;
+
+    // Reemplaza el contenido de la tabla por las celdas dadas.
+    void reemplazar(List<Dotacion> celdas, Connection conn) throws Exception;
+}
@@ -0,0 +1,273 @@
+package Dao;
+
+import Config.DatabaseConnection;
+import Config.StatementCache;
+import Entities.Estado;
+import Metrics.Medicion;
+import Metrics.MetricaOperacion;
+import Metrics.Metricas;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Implementacion JDBC de DotacionDAO.
+// En la tabla, area '' = sin area y estado 'SIN_LEGAJO' = sin legajo: la
+// clave primaria (area, estado) no admite NULL. Hacia afuera ambos son null.
+// Los PreparedStatement se obtienen de StatementCache y no se cierran.
+public class DotacionDAOImpl implements DotacionDAO {
+
+    private static final String SIN_AREA = "";
+    private static final String SIN_LEGAJO = "SIN_LEGAJO";
+
+    // --- SENTENCIAS SQL ---
+    private static final String SQL_LEER = "SELECT cantidad FROM dotacion WHERE area=? AND estado=?";
+    private static final String SQL_LEER_TODAS = "SELECT area, estado, cantidad FROM dotacion WHERE cantidad <> 0 ORDER BY area, estado";
+    // Alias de fila en lugar de VALUES(), obsoleto desde MySQL 8.0.20
+    private static final String SQL_SUMAR = "INSERT INTO dotacion (area, estado, cantidad) VALUES (?, ?, ?) AS n "
+            + "ON DUPLICATE KEY UPDATE cantidad = dotacion.cantidad + n.cantidad";
+    private static final String SQL_CLAVE_EMPLEADO = "SELECT e.area, l.estado FROM empleados e "
+            + "LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE "
+            + "WHERE e.id=? AND e.eliminado=FALSE FOR UPDATE";
+    private static final String SQL_CLAVE_LEGAJO = "SELECT e.area, l.estado FROM legajos l "
+            + "JOIN empleados e ON e.id = l.empleado_id "
+            + "WHERE l.id=? AND l.eliminado=FALSE AND e.eliminado=FALSE FOR UPDATE";
+    private static final String SQL_CLAVES_POR_DNI = "SELECT e.dni, e.area, l.estado FROM empleados e "
+            + "LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE "
+            + "WHERE e.eliminado=FALSE AND e.dni IN (";
+    private static final String SQL_LEER_PARA_RECONSTRUIR = "SELECT area, estado, cantidad FROM dotacion FOR UPDATE";
+    private static final String SQL_CALCULAR = "SELECT COALESCE(e.area, ''), COALESCE(l.estado, 'SIN_LEGAJO'), COUNT(*) "
+            + "FROM empleados e "
+            + "LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE "
+            + "WHERE e.eliminado = FALSE "
+            + "GROUP BY COALESCE(e.area, ''), COALESCE(l.estado, 'SIN_LEGAJO')";
+    private static final String SQL_VACIAR = "DELETE FROM dotacion";
+    private static final String SQL_INSERTAR = "INSERT INTO dotacion (area, estado, cantidad) VALUES (?, ?, ?)";
+
+    // Reconstruccion completa en SQL, para scripts de carga masiva que no pasan por los DAOs
+    public static final String SQL_RECONSTRUIR = SQL_VACIAR + ";\n"
+            + "INSERT INTO dotacion (area, estado, cantidad)\n" + SQL_CALCULAR + ";\n";
+
+    // --- METRICAS (ver Metrics.Metricas y EmpleadoDAOImpl) ---
+    private static final MetricaOperacion M_LEER = Metricas.operacion("DotacionDAO.leer");
+    private static final MetricaOperacion M_LEER_TODAS = Metricas.operacion("DotacionDAO.leerTodas");
+    private static final MetricaOperacion M_SUMAR = Metricas.operacion("DotacionDAO.sumar");
+    private static final MetricaOperacion M_CLAVE = Metricas.operacion("DotacionDAO.clave");
+    private static final MetricaOperacion M_RECONSTRUIR = Metricas.operacion("DotacionDAO.reconstruir");
+
+    // --- LECTURAS ---
+    @Override
+    public long leer(String area, Estado estado) throws Exception {
+        Medicion m = M_LEER.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_LEER);
+            stmt.setString(1, area != null ? area : SIN_AREA);
+            stmt.setString(2, estado != null ? estado.name() : SIN_LEGAJO);
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                long cantidad = rs.next() ? rs.getLong(1) : 0L;
+                m.mapeado(1);
+                return cantidad;
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al leer la dotacion: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    @Override
+    public List<Dotacion> leerTodas() throws Exception {
+        Medicion m = M_LEER_TODAS.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_LEER_TODAS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                List<Dotacion> celdas = mapearCeldas(rs);
+                m.mapeado(celdas.size());
+                return celdas;
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al leer la dotacion: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    // --- METODOS TRANSACCIONALES ---
+    @Override
+    public void sumar(List<Dotacion> cambios, Connection conn) throws Exception {
+        // Clave (area, estado) → cambio neto; el TreeMap fija el orden de bloqueo
+        Map<String, Map<String, Long>> netos = new TreeMap<>();
+        for (Dotacion cambio : cambios) {
+            netos.computeIfAbsent(cambio.getArea() != null ? cambio.getArea() : SIN_AREA, a -> new TreeMap<>())
+                    .merge(cambio.getEstado() != null ? cambio.getEstado().name() : SIN_LEGAJO, cambio.getCantidad(), Long::sum);
+        }
+        Medicion m = M_SUMAR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_SUMAR);
+            int filas = 0;
+            for (Map.Entry<String, Map<String, Long>> area : netos.entrySet()) {
+                for (Map.Entry<String, Long> estado : area.getValue().entrySet()) {
+                    if (estado.getValue() == 0) {
+                        continue;
+                    }
+                    stmt.setString(1, area.getKey());
+                    stmt.setString(2, estado.getKey());
+                    stmt.setLong(3, estado.getValue());
+                    stmt.addBatch();
+                    filas++;
+                }
+            }
+            if (filas > 0) {
+                stmt.executeBatch();
+            }
+            m.ejecutado();
+            m.filas(filas);
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al actualizar la dotacion: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    @Override
+    public Dotacion claveDeEmpleado(long empleadoId, Connection conn) throws Exception {
+        return clave(SQL_CLAVE_EMPLEADO, empleadoId, conn);
+    }
+
+    @Override
+    public Dotacion claveDeLegajo(long legajoId, Connection conn) throws Exception {
+        return clave(SQL_CLAVE_LEGAJO, legajoId, conn);
+    }
+
+    @Override
+    public Map<String, Dotacion> clavesPorDni(Collection<String> dnis, Connection conn) throws Exception {
+        Map<String, Dotacion> claves = new HashMap<>();
+        if (dnis.isEmpty()) {
+            return claves;
+        }
+        StringBuilder sql = new StringBuilder(SQL_CLAVES_POR_DNI);
+        for (int i = 0; i < dnis.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") FOR UPDATE");
+
+        Medicion m = M_CLAVE.iniciar();
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int i = 1;
+            for (String dni : dnis) {
+                stmt.setString(i++, dni);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                while (rs.next()) {
+                    claves.put(rs.getString(1), new Dotacion(rs.getString(2), estado(rs.getString(3)), 1));
+                }
+                m.mapeado(claves.size());
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al leer la dotacion de los empleados: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+        return claves;
+    }
+
+    // --- RECONSTRUCCION ---
+    @Override
+    public List<Dotacion> leerParaReconstruir(Connection conn) throws Exception {
+        return consultarCeldas(SQL_LEER_PARA_RECONSTRUIR, conn);
+    }
+
+    @Override
+    public List<Dotacion> calcular(Connection conn) throws Exception {
+        return consultarCeldas(SQL_CALCULAR, conn);
+    }
+
+    @Override
+    public void reemplazar(List<Dotacion> celdas, Connection conn) throws Exception {
+        Medicion m = M_RECONSTRUIR.iniciar();
+        try {
+            StatementCache.prepare(conn, SQL_VACIAR).executeUpdate();
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_INSERTAR);
+            for (Dotacion celda : celdas) {
+                stmt.setString(1, celda.getArea() != null ? celda.getArea() : SIN_AREA);
+                stmt.setString(2, celda.getEstado() != null ? celda.getEstado().name() : SIN_LEGAJO);
+                stmt.setLong(3, celda.getCantidad());
+                stmt.addBatch();
+            }
+            if (!celdas.isEmpty()) {
+                stmt.executeBatch();
+            }
+            m.ejecutado();
+            m.filas(celdas.size());
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al reconstruir la dotacion: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    // --- METODOS DE AYUDA ---
+    private Dotacion clave(String sql, long id, Connection conn) throws Exception {
+        Medicion m = M_CLAVE.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, sql);
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                Dotacion clave = rs.next() ? new Dotacion(rs.getString(1), estado(rs.getString(2)), 1) : null;
+                m.mapeado(clave != null ? 1 : 0);
+                return clave;
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al leer la dotacion del empleado: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    private List<Dotacion> consultarCeldas(String sql, Connection conn) throws Exception {
+        Medicion m = M_RECONSTRUIR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, sql);
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                List<Dotacion> celdas = mapearCeldas(rs);
+                m.mapeado(celdas.size());
+                return celdas;
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al leer la dotacion: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    // Filas (area, estado, cantidad) con los valores centinela ya traducidos a null
+    private List<Dotacion> mapearCeldas(ResultSet rs) throws SQLException {
+        List<Dotacion> celdas = new ArrayList<>();
+        while (rs.next()) {
+            String area = rs.getString(1);
+            celdas.add(new Dotacion(SIN_AREA.equals(area) ? null : area, estado(rs.getString(2)), rs.getLong(3)));
+        }
+        return celdas;
+    }
+
+    private static Estado estado(String valor) {
+        return valor == null || SIN_LEGAJO.equals(valor) ? null : Estado.valueOf(valor);
+    }
+}
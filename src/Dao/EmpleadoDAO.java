@@ -1,7 +1,12 @@
 package Dao;
 
 import Entities.Empleado;
+import Entities.Estado;
 import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 //Interfaz especifica para operaciones de Empleado.
 //Hereda los metodos CRUD estandar de GenericDAO (autonomos).
@@ -13,9 +18,42 @@ public interface EmpleadoDAO extends GenericDAO<Empleado> {
     // Busca un Empleado por su DNI
     Empleado getByDni(String dni) throws Exception;
 
+    // Busca empleados activos que cumplan todos los criterios presentes,
+    // paginando por ID (keyset) igual que leerPagina en orden ascendente.
+    List<Empleado> buscar(CriterioBusqueda criterio, Long despuesDeId, int limite) throws Exception;
+
+    // Recorre todos los empleados activos (con su legajo) mediante un cursor
+    // de solo lectura, sin cargarlos en memoria. El Stream retiene una
+    // conexion hasta cerrarse: usar siempre con try-with-resources.
+    Stream<Empleado> streamTodos() throws Exception;
+
+    // Entrega al consumidor el DNI de cada fila de empleados, incluidas las
+    // dadas de baja logica (mismo alcance que la restriccion UNIQUE).
+    void cargarDnis(Consumer<String> destino) throws Exception;
+
+    // Recorre todas las filas de empleados (incluidas las dadas de baja logica)
+    // con solo las columnas de resumen, sin crear entidades. legajoId es 0 si
+    // el empleado no tiene legajo activo.
+    void recorrerResumen(FilaResumen destino) throws Exception;
+
+    @FunctionalInterface
+    interface FilaResumen {
+        void agregar(long id, boolean eliminado, LocalDate fechaIngreso, String area,
+                     long legajoId, String categoria, Estado estado);
+    }
+
     // --- Metodos transaccionales ---
     void crear(Empleado empleado, Connection conn) throws Exception;
 
+    // Inserta varios empleados con executeBatch, en lotes de DatabaseConnection.getBatchSize().
+    // Asigna a cada Empleado su ID generado, respetando el orden de la lista.
+    void crearBatch(List<Empleado> empleados, Connection conn) throws Exception;
+
+    // Inserta el empleado o, si su DNI ya existe activo, actualiza sus datos
+    // en una sola sentencia (INSERT ... ON DUPLICATE KEY UPDATE). Un DNI dado
+    // de baja no se toca: devuelve DADO_DE_BAJA con el ID de esa fila.
+    ResultadoUpsert upsertPorDni(Empleado empleado, Connection conn) throws Exception;
+
     void actualizar(Empleado empleado, Connection conn) throws Exception;
 
     void eliminar(long id, Connection conn) throws Exception;
@@ -1,25 +1,86 @@
 package Dao;
 
 import Config.DatabaseConnection;
+import Config.Deadline;
+import Config.DeadlineExceededException;
+import Config.StatementCache;
 import Entities.Empleado;
 import Entities.Legajo;
 import Entities.Estado;
+import Metrics.Medicion;
+import Metrics.MetricaOperacion;
+import Metrics.Metricas;
 import java.sql.*;
 import java.time.LocalDate; // Import para mapeo
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 // Implementacion JDBC de EmpleadoDAO.
 // Implementa tanto los metodos autonomos (de GenericDAO)
 // como los transaccionales (añadidos en EmpleadoDAO).
+// Los PreparedStatement se obtienen de StatementCache y no se cierran.
 public class EmpleadoDAOImpl implements EmpleadoDAO {
 
+    // --- SENTENCIAS SQL ---
+    private static final String SQL_INSERTAR = "INSERT INTO empleados (eliminado, nombre, apellido, dni, email, fecha_ingreso, area) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // LAST_INSERT_ID(id) hace que el ID de la fila existente se devuelva como clave generada.
+    // Una fila dada de baja conserva sus datos (los IF) y sigue eliminada.
+    // Alias de fila en lugar de VALUES(), obsoleto desde MySQL 8.0.20
+    private static final String SQL_UPSERT_POR_DNI = "INSERT INTO empleados (eliminado, nombre, apellido, dni, email, fecha_ingreso, area) VALUES (FALSE, ?, ?, ?, ?, ?, ?) AS n "
+            + "ON DUPLICATE KEY UPDATE id=LAST_INSERT_ID(empleados.id), "
+            + "nombre=IF(empleados.eliminado, empleados.nombre, n.nombre), "
+            + "apellido=IF(empleados.eliminado, empleados.apellido, n.apellido), "
+            + "email=IF(empleados.eliminado, empleados.email, n.email), "
+            + "fecha_ingreso=IF(empleados.eliminado, empleados.fecha_ingreso, n.fecha_ingreso), "
+            + "area=IF(empleados.eliminado, empleados.area, n.area)";
+    private static final String SQL_ACTUALIZAR = "UPDATE empleados SET nombre=?, apellido=?, email=?, fecha_ingreso=?, area=? WHERE id=? AND eliminado=FALSE";
+    private static final String SQL_ELIMINAR = "UPDATE empleados SET eliminado=TRUE WHERE id=? AND eliminado=FALSE";
+    private static final String SQL_RECUPERAR = "UPDATE empleados SET eliminado=FALSE WHERE id=? AND eliminado=TRUE";
+    private static final String SQL_EXISTENTE_POR_DNI = "SELECT id, eliminado FROM empleados WHERE dni=? FOR UPDATE";
+    private static final String SQL_EXISTE = "SELECT 1 FROM empleados WHERE id=? AND eliminado=FALSE";
+
+    // SELECT comun: Empleado + Legajo asociado (si existe)
+    private static final String SQL_SELECT_BASE = "SELECT e.*, l.id AS legajo_id, l.nro_legajo, l.categoria, l.estado, l.fecha_alta, l.observaciones "
+            + "FROM empleados e "
+            + "LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE ";
+    static final String SQL_LEER = SQL_SELECT_BASE + "WHERE e.id=? AND e.eliminado=FALSE";
+    private static final String SQL_LEER_TODOS = SQL_SELECT_BASE + "WHERE e.eliminado=FALSE";
+    private static final String SQL_POR_DNI = SQL_SELECT_BASE + "WHERE e.dni=? AND e.eliminado=FALSE";
+    private static final String SQL_TODOS_LOS_DNI = "SELECT dni FROM empleados";
+    private static final String SQL_RESUMEN = "SELECT e.id, e.eliminado, e.fecha_ingreso, e.area, l.id, l.categoria, l.estado "
+            + "FROM empleados e "
+            + "LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE";
+    private static final String SQL_PAGINA_ASC = SQL_SELECT_BASE + "WHERE e.eliminado=FALSE AND e.id > ? ORDER BY e.id ASC LIMIT ?";
+    private static final String SQL_PAGINA_DESC = SQL_SELECT_BASE + "WHERE e.eliminado=FALSE AND e.id < ? ORDER BY e.id DESC LIMIT ?";
+
+    // --- METRICAS (ver Metrics.Metricas) ---
+    // Los metodos con Connection miden solo la ejecucion: la conexion la mide quien la obtuvo.
+    private static final MetricaOperacion M_CREAR = Metricas.operacion("EmpleadoDAO.crear");
+    private static final MetricaOperacion M_CREAR_BATCH = Metricas.operacion("EmpleadoDAO.crearBatch");
+    private static final MetricaOperacion M_UPSERT = Metricas.operacion("EmpleadoDAO.upsertPorDni");
+    private static final MetricaOperacion M_ACTUALIZAR = Metricas.operacion("EmpleadoDAO.actualizar");
+    private static final MetricaOperacion M_ELIMINAR = Metricas.operacion("EmpleadoDAO.eliminar");
+    private static final MetricaOperacion M_RECUPERAR = Metricas.operacion("EmpleadoDAO.recuperar");
+    private static final MetricaOperacion M_LEER = Metricas.operacion("EmpleadoDAO.leer");
+    private static final MetricaOperacion M_LEER_TODOS = Metricas.operacion("EmpleadoDAO.leerTodos");
+    private static final MetricaOperacion M_LEER_PAGINA = Metricas.operacion("EmpleadoDAO.leerPagina");
+    private static final MetricaOperacion M_BUSCAR = Metricas.operacion("EmpleadoDAO.buscar");
+    private static final MetricaOperacion M_POR_DNI = Metricas.operacion("EmpleadoDAO.getByDni");
+    private static final MetricaOperacion M_STREAM = Metricas.operacion("EmpleadoDAO.streamTodos");
+    private static final MetricaOperacion M_CARGAR_DNIS = Metricas.operacion("EmpleadoDAO.cargarDnis");
+    private static final MetricaOperacion M_RESUMEN = Metricas.operacion("EmpleadoDAO.recorrerResumen");
+
     // --- METODOS TRANSACCIONALES ---
     @Override
     public void crear(Empleado empleado, Connection conn) throws Exception {
-        String sql = "INSERT INTO empleados (eliminado, nombre, apellido, dni, email, fecha_ingreso, area) VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        Medicion m = M_CREAR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS);
             stmt.setBoolean(1, false);
             stmt.setString(2, empleado.getNombre());
             stmt.setString(3, empleado.getApellido());
@@ -29,6 +90,8 @@ public class EmpleadoDAOImpl implements EmpleadoDAO {
             stmt.setString(7, empleado.getArea());
 
             stmt.executeUpdate();
+            m.ejecutado();
+            m.filas(1);
             try (ResultSet rs = stmt.getGeneratedKeys()) {
                 if (rs.next()) {
                     empleado.setId(rs.getLong(1));
@@ -37,14 +100,118 @@ public class EmpleadoDAOImpl implements EmpleadoDAO {
                 }
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al insertar Empleado: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    @Override
+    public void crearBatch(List<Empleado> empleados, Connection conn) throws Exception {
+        int lote = DatabaseConnection.getBatchSize();
+        Medicion m = M_CREAR_BATCH.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS);
+            for (int desde = 0; desde < empleados.size(); desde += lote) {
+                List<Empleado> chunk = empleados.subList(desde, Math.min(desde + lote, empleados.size()));
+                for (Empleado empleado : chunk) {
+                    stmt.setBoolean(1, false);
+                    stmt.setString(2, empleado.getNombre());
+                    stmt.setString(3, empleado.getApellido());
+                    stmt.setString(4, empleado.getDni());
+                    stmt.setString(5, empleado.getEmail());
+                    stmt.setDate(6, empleado.getFechaIngreso() != null ? Date.valueOf(empleado.getFechaIngreso()) : null);
+                    stmt.setString(7, empleado.getArea());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                m.filas(chunk.size());
+
+                // Las claves generadas llegan en el mismo orden que las filas del lote
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    for (Empleado empleado : chunk) {
+                        if (!rs.next()) {
+                            throw new SQLException("La insercion por lotes no devolvio todos los IDs generados.");
+                        }
+                        empleado.setId(rs.getLong(1));
+                    }
+                }
+            }
+            m.ejecutado();
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al insertar lote de Empleados: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    // Upsert en un solo viaje, apoyado en la restriccion UNIQUE de dni.
+    // Con useAffectedRows=true (ver DatabaseConnection) las filas afectadas son
+    // 1 = insertada, 2 = actualizada, 0 = ya existia sin cambios. En el ultimo
+    // caso el driver no devuelve clave generada y el ID se busca por DNI.
+    // No modifica 'eliminado': un empleado dado de baja sigue de baja.
+    @Override
+    public ResultadoUpsert upsertPorDni(Empleado empleado, Connection conn) throws Exception {
+        Medicion m = M_UPSERT.iniciar();
+        try {
+            // Sin useAffectedRows, 1 fila es tanto un alta como un "sin cambios":
+            // se bloquea y se lee antes la fila del DNI para distinguirlos
+            boolean filasAfectadas = DatabaseConnection.isFilasAfectadas();
+            ResultadoUpsert previo = filasAfectadas ? null : existentePorDni(empleado.getDni(), conn);
+            if (previo != null && previo.isDadoDeBaja()) {
+                empleado.setId(previo.getId());
+                return previo;
+            }
+
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_UPSERT_POR_DNI, Statement.RETURN_GENERATED_KEYS);
+            stmt.setString(1, empleado.getNombre());
+            stmt.setString(2, empleado.getApellido());
+            stmt.setString(3, empleado.getDni());
+            stmt.setString(4, empleado.getEmail());
+            stmt.setDate(5, empleado.getFechaIngreso() != null ? Date.valueOf(empleado.getFechaIngreso()) : null);
+            stmt.setString(6, empleado.getArea());
+
+            int filas = stmt.executeUpdate();
+            m.ejecutado();
+            m.filas(1);
+            ResultadoUpsert resultado;
+            if (filas == 0) {
+                // Con useAffectedRows: sin cambios, o dado de baja (los IF no tocaron nada)
+                resultado = existentePorDni(empleado.getDni(), conn);
+                if (resultado == null) {
+                    throw new SQLException("El upsert del empleado no devolvio ID.");
+                }
+            } else {
+                long id;
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    // Con filas == 2 el driver puede informar mas de una clave: vale la primera
+                    if (!rs.next()) {
+                        throw new SQLException("El upsert del empleado no devolvio ID.");
+                    }
+                    id = rs.getLong(1);
+                }
+                ResultadoUpsert.Tipo tipo = filas == 2 ? ResultadoUpsert.Tipo.ACTUALIZADO
+                        : filasAfectadas || previo == null ? ResultadoUpsert.Tipo.INSERTADO
+                        : ResultadoUpsert.Tipo.SIN_CAMBIOS;
+                resultado = new ResultadoUpsert(tipo, id);
+            }
+            empleado.setId(resultado.getId());
+            return resultado;
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al hacer upsert de Empleado: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
     }
 
     @Override
     public void actualizar(Empleado empleado, Connection conn) throws Exception {
-        String sql = "UPDATE empleados SET nombre=?, apellido=?, email=?, fecha_ingreso=?, area=? WHERE id=? AND eliminado=FALSE";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Medicion m = M_ACTUALIZAR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_ACTUALIZAR);
             stmt.setString(1, empleado.getNombre());
             stmt.setString(2, empleado.getApellido());
             stmt.setString(3, empleado.getEmail());
@@ -52,87 +219,138 @@ public class EmpleadoDAOImpl implements EmpleadoDAO {
             stmt.setString(5, empleado.getArea());
             stmt.setLong(6, empleado.getId());
 
-            if (stmt.executeUpdate() == 0) {
+            int filas = stmt.executeUpdate();
+            m.ejecutado();
+            m.filas(filas);
+            // Con useAffectedRows, 0 filas tambien si los datos eran los mismos
+            if (filas == 0 && (!DatabaseConnection.isFilasAfectadas() || !existeActivo(empleado.getId(), conn))) {
                 throw new SQLException("No se actualizo el empleado, ID no encontrado: " + empleado.getId());
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al actualizar Empleado: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
     }
 
     @Override
     public void eliminar(long id, Connection conn) throws Exception {
-        String sql = "UPDATE empleados SET eliminado=TRUE WHERE id=? AND eliminado=FALSE";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Medicion m = M_ELIMINAR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_ELIMINAR);
             stmt.setLong(1, id);
-            if (stmt.executeUpdate() == 0) {
+            int filas = stmt.executeUpdate();
+            m.ejecutado();
+            m.filas(filas);
+            if (filas == 0) {
                 throw new SQLException("ID no encontrado o previamente eliminado: " + id);
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al eliminar Empleado: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
     }
 
     @Override
     public void recuperar(long id, Connection conn) throws Exception {
-        String sql = "UPDATE empleados SET eliminado=FALSE WHERE id=? AND eliminado=TRUE";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Medicion m = M_RECUPERAR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_RECUPERAR);
             stmt.setLong(1, id);
-            if (stmt.executeUpdate() == 0) {
+            int filas = stmt.executeUpdate();
+            m.ejecutado();
+            m.filas(filas);
+            if (filas == 0) {
                 throw new SQLException("ID no encontrado o ya activo: " + id);
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al recuperar Empleado: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    // Fila existente con ese DNI, bloqueada: SIN_CAMBIOS si esta activa,
+    // DADO_DE_BAJA si esta eliminada, o null si no existe
+    private ResultadoUpsert existentePorDni(String dni, Connection conn) throws SQLException {
+        PreparedStatement stmt = StatementCache.prepare(conn, SQL_EXISTENTE_POR_DNI);
+        stmt.setString(1, dni);
+        try (ResultSet rs = stmt.executeQuery()) {
+            if (!rs.next()) {
+                return null;
+            }
+            return new ResultadoUpsert(rs.getBoolean(2) ? ResultadoUpsert.Tipo.DADO_DE_BAJA
+                    : ResultadoUpsert.Tipo.SIN_CAMBIOS, rs.getLong(1));
+        }
+    }
+
+    // true si el empleado existe y no esta eliminado
+    private boolean existeActivo(long id, Connection conn) throws SQLException {
+        PreparedStatement stmt = StatementCache.prepare(conn, SQL_EXISTE);
+        stmt.setLong(1, id);
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next();
         }
     }
 
     // --- METODOS AUTONOMOS (Implementacion de GenericDAO) ---
-    // Estos metodos solo abren una conexion y "envuelven" la llamada
-    // al metodo transaccional de arriba.
+    // Estos metodos solo obtienen una conexion y "envuelven" la llamada
+    // al metodo transaccional de arriba. Si el hilo tiene una transaccion
+    // activa (TransactionManager) se unen a ella en vez de abrir otra.
     @Override
     public void crear(Empleado empleado) throws Exception {
-        try (Connection conn = DatabaseConnection.getConnection()) {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
             this.crear(empleado, conn);
         }
     }
 
     @Override
     public void actualizar(Empleado empleado) throws Exception {
-        try (Connection conn = DatabaseConnection.getConnection()) {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
             this.actualizar(empleado, conn);
         }
     }
 
     @Override
     public void eliminar(long id) throws Exception {
-        try (Connection conn = DatabaseConnection.getConnection()) {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
             this.eliminar(id, conn);
         }
     }
 
     public void recuperar(long id) throws Exception {
-        try (Connection conn = DatabaseConnection.getConnection()) {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
             this.recuperar(id, conn);
         }
     }
 
     // --- METODOS DE LECTURA  ---
+    // Dentro de una transaccion leen de su conexion; fuera, de una replica
+    // si hay (DatabaseConnection.getReadConnection).
     @Override
     public Empleado leer(long id) throws Exception {
-        String sql = "SELECT e.*, l.id AS legajo_id, l.nro_legajo, l.categoria, l.estado, l.fecha_alta, l.observaciones "
-                + "FROM empleados e "
-                + "LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE "
-                + "WHERE e.id=? AND e.eliminado=FALSE";
-
-        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Medicion m = M_LEER.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_LEER);
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
                 if (rs.next()) {
-                    return mapearEmpleado(rs);
+                    Empleado empleado = mapearEmpleado(rs);
+                    m.mapeado(1);
+                    return empleado;
                 }
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al obtener Empleado por ID: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
         return null;
     }
@@ -140,43 +358,315 @@ public class EmpleadoDAOImpl implements EmpleadoDAO {
     @Override
     public List<Empleado> leerTodos() throws Exception {
         List<Empleado> lista = new ArrayList<>();
-        String sql = "SELECT e.*, l.id AS legajo_id, l.nro_legajo, l.categoria, l.estado, l.fecha_alta, l.observaciones "
-                + "FROM empleados e "
-                + "LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE "
-                + "WHERE e.eliminado=FALSE";
-
-        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql); ResultSet rs = stmt.executeQuery()) {
-            while (rs.next()) {
-                lista.add(mapearEmpleado(rs));
+        Medicion m = M_LEER_TODOS.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_LEER_TODOS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                while (rs.next()) {
+                    lista.add(mapearEmpleado(rs));
+                }
+                m.mapeado(lista.size());
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al obtener todos los Empleados: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
         return lista;
     }
 
+    // Paginacion por keyset: usa el indice de la PK en lugar de OFFSET,
+    // por lo que cada pagina cuesta lo mismo sin importar su posicion.
     @Override
-    public Empleado getByDni(String dni) throws Exception {
-        String sql = "SELECT e.*, l.id AS legajo_id, l.nro_legajo, l.categoria, l.estado, l.fecha_alta, l.observaciones "
-                + "FROM empleados e "
-                + "LEFT JOIN legajos l ON e.id = l.empleado_id AND l.eliminado = FALSE "
-                + "WHERE e.dni=? AND e.eliminado=FALSE";
+    public List<Empleado> leerPagina(Long despuesDeId, int limite, Orden orden) throws Exception {
+        List<Empleado> lista = new ArrayList<>(limite);
+        boolean desc = orden == Orden.DESC;
+        long cursor = despuesDeId != null ? despuesDeId : (desc ? Long.MAX_VALUE : 0L);
+
+        Medicion m = M_LEER_PAGINA.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, desc ? SQL_PAGINA_DESC : SQL_PAGINA_ASC);
+            stmt.setLong(1, cursor);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                while (rs.next()) {
+                    lista.add(mapearEmpleado(rs));
+                }
+                m.mapeado(lista.size());
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al obtener pagina de Empleados: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+        return lista;
+    }
+
+    // Compila los criterios presentes a una unica consulta parametrizada.
+    // Cada combinacion de criterios produce siempre el mismo texto SQL,
+    // asi que StatementCache reutiliza el statement preparado.
+    // Indices de apoyo en sql01: (eliminado, area), (eliminado, fecha_ingreso),
+    // (eliminado, apellido), (eliminado, nombre), legajos (estado, empleado_id)
+    // y legajos (categoria, empleado_id).
+    @Override
+    public List<Empleado> buscar(CriterioBusqueda criterio, Long despuesDeId, int limite) throws Exception {
+        StringBuilder sql = new StringBuilder(SQL_SELECT_BASE).append("WHERE e.eliminado=FALSE");
+        List<Object> parametros = new ArrayList<>();
+
+        if (criterio.getArea() != null) {
+            sql.append(" AND e.area = ?");
+            parametros.add(criterio.getArea());
+        }
+        if (criterio.getFechaIngresoDesde() != null) {
+            sql.append(" AND e.fecha_ingreso >= ?");
+            parametros.add(Date.valueOf(criterio.getFechaIngresoDesde()));
+        }
+        if (criterio.getFechaIngresoHasta() != null) {
+            sql.append(" AND e.fecha_ingreso <= ?");
+            parametros.add(Date.valueOf(criterio.getFechaIngresoHasta()));
+        }
+        if (criterio.getEstado() != null) {
+            sql.append(" AND l.estado = ?");
+            parametros.add(criterio.getEstado().name());
+        }
+        if (criterio.getCategoria() != null) {
+            sql.append(" AND l.categoria = ?");
+            parametros.add(criterio.getCategoria());
+        }
+        if (criterio.getPrefijoNombre() != null) {
+            String patron = escaparLike(criterio.getPrefijoNombre()) + "%";
+            sql.append(" AND (e.apellido LIKE ? OR e.nombre LIKE ?)");
+            parametros.add(patron);
+            parametros.add(patron);
+        }
+        sql.append(" AND e.id > ? ORDER BY e.id ASC LIMIT ?");
+        parametros.add(despuesDeId != null ? despuesDeId : 0L);
+        parametros.add(limite);
 
-        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+        List<Empleado> lista = new ArrayList<>(limite);
+        Medicion m = M_BUSCAR.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, sql.toString());
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                while (rs.next()) {
+                    lista.add(mapearEmpleado(rs));
+                }
+                m.mapeado(lista.size());
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al buscar Empleados: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+        return lista;
+    }
+
+    // Escapa los comodines de LIKE para que el prefijo se compare literalmente
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public Empleado getByDni(String dni) throws Exception {
+        Medicion m = M_POR_DNI.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_POR_DNI);
             stmt.setString(1, dni);
             try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
                 if (rs.next()) {
-                    return mapearEmpleado(rs);
+                    Empleado empleado = mapearEmpleado(rs);
+                    m.mapeado(1);
+                    return empleado;
                 }
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al buscar Empleado por DNI: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
         return null;
     }
 
+    // Lectura por streaming: ResultSet de solo avance y solo lectura con
+    // fetch size de streaming, mapeando cada fila recien al consumirla.
+    // Usa una conexion propia del pool (no la de la transaccion activa),
+    // ya que queda ocupada hasta que el Stream se cierra; fuera de una
+    // transaccion se presta de una replica, si las hay.
+    @Override
+    public Stream<Empleado> streamTodos() throws Exception {
+        Medicion m = M_STREAM.iniciar();
+        Connection conn = null;
+        try {
+            conn = DatabaseConnection.getDetachedReadConnection();
+            m.conectado();
+            PreparedStatement stmt = conn.prepareStatement(SQL_LEER_TODOS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(DatabaseConnection.getStreamingFetchSize());
+            ResultSet rs = stmt.executeQuery();
+            m.ejecutado();
+            CursorEmpleados cursor = new CursorEmpleados(conn, stmt, rs);
+            return StreamSupport.stream(cursor, false).onClose(cursor::cerrar);
+        } catch (SQLException e) {
+            m.fallo();
+            if (conn != null) {
+                conn.close();
+            }
+            throw new Exception("Error al abrir cursor de Empleados: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    // Lee solo la columna dni (cubierta por su indice UNIQUE) por streaming,
+    // con una conexion propia: debe invocarse fuera de una transaccion.
+    // Siempre del primario: el indice de DNI respalda la validacion de unicidad.
+    @Override
+    public void cargarDnis(Consumer<String> destino) throws Exception {
+        Medicion m = M_CARGAR_DNIS.iniciar();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_TODOS_LOS_DNI,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            m.conectado();
+            stmt.setFetchSize(DatabaseConnection.getStreamingFetchSize());
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                long filas = 0;
+                while (rs.next()) {
+                    destino.accept(rs.getString(1));
+                    filas++;
+                }
+                m.mapeado(filas);
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al leer los DNI de Empleados: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    // Mismo criterio que cargarDnis: streaming desde el primario, para que la
+    // carga incluya todo lo confirmado antes de ella (las modificaciones
+    // posteriores las aplican los Services despues del commit).
+    @Override
+    public void recorrerResumen(FilaResumen destino) throws Exception {
+        Medicion m = M_RESUMEN.iniciar();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_RESUMEN,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            m.conectado();
+            stmt.setFetchSize(DatabaseConnection.getStreamingFetchSize());
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                long filas = 0;
+                while (rs.next()) {
+                    Date fechaIngreso = rs.getDate(3);
+                    String estado = rs.getString(7);
+                    destino.agregar(rs.getLong(1), rs.getBoolean(2),
+                            fechaIngreso != null ? fechaIngreso.toLocalDate() : null, rs.getString(4),
+                            rs.getLong(5), rs.getString(6), estado != null ? Estado.valueOf(estado) : null);
+                    filas++;
+                }
+                m.mapeado(filas);
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al leer el resumen de Empleados: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    // Spliterator sobre el ResultSet abierto. Libera la conexion al agotar
+    // el cursor o al cerrar el Stream (lo que ocurra primero).
+    private class CursorEmpleados extends Spliterators.AbstractSpliterator<Empleado> {
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        // Plazo activo al abrir el cursor: se respeta aunque se consuma despues
+        private final Deadline deadline;
+        private boolean cerrado;
+
+        CursorEmpleados(Connection conn, PreparedStatement stmt, ResultSet rs) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.deadline = Deadline.actual();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Empleado> accion) {
+            if (cerrado) {
+                return false;
+            }
+            if (deadline != null && deadline.vencido()) {
+                cerrar();
+                throw new DeadlineExceededException("Plazo vencido recorriendo Empleados");
+            }
+            try {
+                if (!rs.next()) {
+                    cerrar();
+                    return false;
+                }
+                accion.accept(mapearEmpleado(rs));
+                return true;
+            } catch (SQLException e) {
+                cerrar();
+                throw new RuntimeException("Error al recorrer Empleados: " + e.getMessage(), e);
+            }
+        }
+
+        void cerrar() {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            // Cierra rs, stmt y devuelve la conexion al pool, aunque alguno falle
+            SQLException error = cerrarRecurso(rs, null);
+            error = cerrarRecurso(stmt, error);
+            error = cerrarRecurso(conn, error);
+            if (error != null) {
+                System.err.println("Error al cerrar cursor de Empleados: " + error.getMessage());
+            }
+        }
+
+        // Cierra el recurso; un error se agrega como suprimido al anterior, si lo hay
+        private static SQLException cerrarRecurso(AutoCloseable recurso, SQLException anterior) {
+            try {
+                if (recurso != null) {
+                    recurso.close();
+                }
+                return anterior;
+            } catch (Exception e) {
+                SQLException error = e instanceof SQLException ? (SQLException) e : new SQLException(e);
+                if (anterior == null) {
+                    return error;
+                }
+                anterior.addSuppressed(error);
+                return anterior;
+            }
+        }
+    }
+
     // --- METODO DE AYUDA (Mapeo) ---
-    private Empleado mapearEmpleado(ResultSet rs) throws SQLException {
+    // Visible en el paquete para medirlo aislado en bench/Dao
+    Empleado mapearEmpleado(ResultSet rs) throws SQLException {
         Empleado empleado = new Empleado();
 
         // Mapeamos los campos del Empleado
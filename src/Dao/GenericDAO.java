@@ -15,6 +15,10 @@ public interface GenericDAO<T> {
     //Obtiene todos los registros no eliminados.
     List<T> leerTodos() throws Exception;
 
+    //Obtiene hasta 'limite' registros no eliminados a partir de un ID (keyset).
+    //despuesDeId = null para la primera pagina; si no, el ultimo ID ya leido.
+    List<T> leerPagina(Long despuesDeId, int limite, Orden orden) throws Exception;
+
     //Actualiza un registro existente
     void actualizar(T entity) throws Exception;
 
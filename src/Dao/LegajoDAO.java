@@ -2,6 +2,9 @@ package Dao;
 
 import Entities.Legajo;
 import java.sql.Connection;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 // Interfaz especifica para operaciones de Legajo.
 // Hereda los metodos CRUD estandar de GenericDAO.
@@ -15,8 +18,22 @@ public interface LegajoDAO extends GenericDAO<Legajo> {
 // la 'Connection' de la transaccion y el 'empleadoId' (la FK).
     void crearLegajo(Legajo legajo, Connection conn, Long empleadoId) throws Exception;
 
+// Version por lotes de crearLegajo: empleadoIds.get(i) es la FK de legajos.get(i).
+// Usa executeBatch en lotes de DatabaseConnection.getBatchSize() y asigna los IDs
+// generados a cada Legajo en orden.
+    void crearLegajosBatch(List<Legajo> legajos, Connection conn, List<Long> empleadoIds) throws Exception;
+
     void crear(Legajo legajo, Connection conn) throws Exception;
 
+// Devuelve cuales de los numeros de legajo dados ya existen en la tabla,
+// incluidos los dados de baja (igual que la restriccion UNIQUE).
+// Lee del primario: es una verificacion de unicidad antes de escribir.
+    Set<String> nrosLegajoExistentes(Collection<String> nrosLegajo) throws Exception;
+
+// Devuelve el ID del empleado duenio del legajo, o null si el legajo no existe.
+// Sirve para invalidar por clave el empleado cacheado que lo contiene.
+    Long empleadoDeLegajo(long legajoId, Connection conn) throws Exception;
+
     //Actualiza un Legajo
     void actualizar(Legajo legajo, Connection conn) throws Exception;
 
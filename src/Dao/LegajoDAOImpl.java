@@ -1,23 +1,55 @@
 package Dao;
 
 import Config.DatabaseConnection;
+import Config.StatementCache;
 import Entities.Legajo;
 import Entities.Estado;
+import Metrics.Medicion;
+import Metrics.MetricaOperacion;
+import Metrics.Metricas;
 import java.sql.*;
 import java.time.LocalDate; // Import para mapeo
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 // Implementacion JDBC de LegajoDAO.
 // Bloquea el 'crear' generico y expone 'crearLegajo'.
+// Los PreparedStatement se obtienen de StatementCache y no se cierran.
 public class LegajoDAOImpl implements LegajoDAO {
 
+    // --- SENTENCIAS SQL ---
+    private static final String SQL_INSERTAR = "INSERT INTO legajos (eliminado, nro_legajo, categoria, estado, fecha_alta, observaciones, empleado_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_ACTUALIZAR = "UPDATE legajos SET nro_legajo=?, categoria=?, estado=?, fecha_alta=?, observaciones=? WHERE id=? AND eliminado=FALSE";
+    private static final String SQL_ELIMINAR = "UPDATE legajos SET eliminado=TRUE WHERE id=? AND eliminado=FALSE";
+    private static final String SQL_RECUPERAR = "UPDATE legajos SET eliminado=FALSE WHERE id=? AND eliminado=TRUE";
+    private static final String SQL_EMPLEADO_DE_LEGAJO = "SELECT empleado_id FROM legajos WHERE id=?";
+    private static final String SQL_EXISTE = "SELECT 1 FROM legajos WHERE id=? AND eliminado=FALSE";
+    private static final String SQL_LEER = "SELECT * FROM legajos WHERE id=? AND eliminado=FALSE";
+    private static final String SQL_LEER_TODOS = "SELECT * FROM legajos WHERE eliminado=FALSE";
+    private static final String SQL_PAGINA_ASC = "SELECT * FROM legajos WHERE eliminado=FALSE AND id > ? ORDER BY id ASC LIMIT ?";
+    private static final String SQL_PAGINA_DESC = "SELECT * FROM legajos WHERE eliminado=FALSE AND id < ? ORDER BY id DESC LIMIT ?";
+    private static final String SQL_NROS_EXISTENTES = "SELECT nro_legajo FROM legajos WHERE nro_legajo IN (";
+
+    // --- METRICAS (ver Metrics.Metricas y EmpleadoDAOImpl) ---
+    private static final MetricaOperacion M_CREAR = Metricas.operacion("LegajoDAO.crearLegajo");
+    private static final MetricaOperacion M_CREAR_BATCH = Metricas.operacion("LegajoDAO.crearLegajosBatch");
+    private static final MetricaOperacion M_ACTUALIZAR = Metricas.operacion("LegajoDAO.actualizar");
+    private static final MetricaOperacion M_ELIMINAR = Metricas.operacion("LegajoDAO.eliminar");
+    private static final MetricaOperacion M_RECUPERAR = Metricas.operacion("LegajoDAO.recuperar");
+    private static final MetricaOperacion M_LEER = Metricas.operacion("LegajoDAO.leer");
+    private static final MetricaOperacion M_LEER_TODOS = Metricas.operacion("LegajoDAO.leerTodos");
+    private static final MetricaOperacion M_LEER_PAGINA = Metricas.operacion("LegajoDAO.leerPagina");
+    private static final MetricaOperacion M_NROS_EXISTENTES = Metricas.operacion("LegajoDAO.nrosLegajoExistentes");
+
     // --- METODO TRANSACCIONAL ---
     @Override
     public void crearLegajo(Legajo legajo, Connection conn, Long empleadoId) throws Exception {
-        String sql = "INSERT INTO legajos (eliminado, nro_legajo, categoria, estado, fecha_alta, observaciones, empleado_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        Medicion m = M_CREAR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS);
             stmt.setBoolean(1, false);
             stmt.setString(2, legajo.getNroLegajo());
             stmt.setString(3, legajo.getCategoria());
@@ -27,6 +59,8 @@ public class LegajoDAOImpl implements LegajoDAO {
             stmt.setLong(7, empleadoId); // La FK
 
             stmt.executeUpdate();
+            m.ejecutado();
+            m.filas(1);
             try (ResultSet rs = stmt.getGeneratedKeys()) {
                 if (rs.next()) {
                     legajo.setId(rs.getLong(1));
@@ -35,14 +69,62 @@ public class LegajoDAOImpl implements LegajoDAO {
                 }
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al crear Legajo: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    @Override
+    public void crearLegajosBatch(List<Legajo> legajos, Connection conn, List<Long> empleadoIds) throws Exception {
+        if (legajos.size() != empleadoIds.size()) {
+            throw new IllegalArgumentException("Cada legajo del lote necesita su empleadoId");
+        }
+        int lote = DatabaseConnection.getBatchSize();
+        Medicion m = M_CREAR_BATCH.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS);
+            for (int desde = 0; desde < legajos.size(); desde += lote) {
+                int hasta = Math.min(desde + lote, legajos.size());
+                for (int i = desde; i < hasta; i++) {
+                    Legajo legajo = legajos.get(i);
+                    stmt.setBoolean(1, false);
+                    stmt.setString(2, legajo.getNroLegajo());
+                    stmt.setString(3, legajo.getCategoria());
+                    stmt.setString(4, legajo.getEstado().name());
+                    stmt.setDate(5, legajo.getFechaAlta() != null ? Date.valueOf(legajo.getFechaAlta()) : null);
+                    stmt.setString(6, legajo.getObservaciones());
+                    stmt.setLong(7, empleadoIds.get(i)); // La FK
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                m.filas(hasta - desde);
+
+                // Las claves generadas llegan en el mismo orden que las filas del lote
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    for (int i = desde; i < hasta; i++) {
+                        if (!rs.next()) {
+                            throw new SQLException("La insercion por lotes no devolvio todos los IDs generados.");
+                        }
+                        legajos.get(i).setId(rs.getLong(1));
+                    }
+                }
+            }
+            m.ejecutado();
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al crear lote de Legajos: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
     }
 
     @Override
     public void actualizar(Legajo legajo, Connection conn) throws Exception {
-        String sql = "UPDATE legajos SET nro_legajo=?, categoria=?, estado=?, fecha_alta=?, observaciones=? WHERE id=? AND eliminado=FALSE";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Medicion m = M_ACTUALIZAR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_ACTUALIZAR);
             stmt.setString(1, legajo.getNroLegajo());
             stmt.setString(2, legajo.getCategoria());
             stmt.setString(3, legajo.getEstado().name());
@@ -50,56 +132,101 @@ public class LegajoDAOImpl implements LegajoDAO {
             stmt.setString(5, legajo.getObservaciones());
             stmt.setLong(6, legajo.getId());
 
-            if (stmt.executeUpdate() == 0) {
+            int filas = stmt.executeUpdate();
+            m.ejecutado();
+            m.filas(filas);
+            // Con useAffectedRows, 0 filas tambien si los datos eran los mismos
+            if (filas == 0 && (!DatabaseConnection.isFilasAfectadas() || !existeActivo(legajo.getId(), conn))) {
                 throw new SQLException("No se actualizo el legajo, ID no encontrado: " + legajo.getId());
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al actualizar Legajo: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
     }
 
     @Override
     public void eliminar(long id, Connection conn) throws Exception {
-        String sql = "UPDATE legajos SET eliminado=TRUE WHERE id=? AND eliminado=FALSE";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Medicion m = M_ELIMINAR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_ELIMINAR);
             stmt.setLong(1, id);
-            if (stmt.executeUpdate() == 0) {
+            int filas = stmt.executeUpdate();
+            m.ejecutado();
+            m.filas(filas);
+            if (filas == 0) {
                 throw new SQLException("ID no encontrado o previamente eliminado: " + id);
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al eliminar Legajo: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
     }
 
     @Override
     public void recuperar(long id, Connection conn) throws Exception {
-        String sql = "UPDATE legajos SET eliminado=FALSE WHERE id=? AND eliminado=TRUE";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Medicion m = M_RECUPERAR.iniciar();
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_RECUPERAR);
             stmt.setLong(1, id);
-            if (stmt.executeUpdate() == 0) {
+            int filas = stmt.executeUpdate();
+            m.ejecutado();
+            m.filas(filas);
+            if (filas == 0) {
                 throw new SQLException("ID no encontrado o ya activo: " + id);
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al recuperar Legajo: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    @Override
+    public Long empleadoDeLegajo(long legajoId, Connection conn) throws Exception {
+        try {
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_EMPLEADO_DE_LEGAJO);
+            stmt.setLong(1, legajoId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new Exception("Error al buscar el empleado del legajo: " + e.getMessage(), e);
+        }
+    }
+
+    // true si el legajo existe y no esta eliminado
+    private boolean existeActivo(long id, Connection conn) throws SQLException {
+        PreparedStatement stmt = StatementCache.prepare(conn, SQL_EXISTE);
+        stmt.setLong(1, id);
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next();
         }
     }
+
     // --- METODOS AUTÓNOMOS (Wrappers) ---
+    // Se unen a la transaccion activa del hilo, si la hay.
     @Override
     public void actualizar(Legajo legajo) throws Exception {
-        try (Connection conn = DatabaseConnection.getConnection()) {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
             this.actualizar(legajo, conn);
         }
     }
 
     @Override
     public void eliminar(long id) throws Exception {
-        try (Connection conn = DatabaseConnection.getConnection()) {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
             this.eliminar(id, conn);
         }
     }
 
     public void recuperar(long id) throws Exception {
-        try (Connection conn = DatabaseConnection.getConnection()) {
+        try (Connection conn = DatabaseConnection.getWriteConnection()) {
             this.recuperar(id, conn);
         }
     }
@@ -122,18 +249,27 @@ public class LegajoDAOImpl implements LegajoDAO {
     }
 
     // --- METODOS DE LECTURA (Autonomos por diseño) ---
+    // Fuera de una transaccion se leen de una replica, si hay.
     @Override
     public Legajo leer(long id) throws Exception {
-        String sql = "SELECT * FROM legajos WHERE id=? AND eliminado=FALSE";
-        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Medicion m = M_LEER.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_LEER);
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
                 if (rs.next()) {
-                    return mapearLegajo(rs);
+                    Legajo legajo = mapearLegajo(rs);
+                    m.mapeado(1);
+                    return legajo;
                 }
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al leer Legajo: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
         return null;
     }
@@ -141,17 +277,94 @@ public class LegajoDAOImpl implements LegajoDAO {
     @Override
     public List<Legajo> leerTodos() throws Exception {
         List<Legajo> lista = new ArrayList<>();
-        String sql = "SELECT * FROM legajos WHERE eliminado=FALSE";
-        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql); ResultSet rs = stmt.executeQuery()) {
-            while (rs.next()) {
-                lista.add(mapearLegajo(rs));
+        Medicion m = M_LEER_TODOS.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_LEER_TODOS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                while (rs.next()) {
+                    lista.add(mapearLegajo(rs));
+                }
+                m.mapeado(lista.size());
             }
         } catch (SQLException e) {
+            m.fallo();
             throw new Exception("Error al leer todos los Legajos: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+        return lista;
+    }
+
+    // Paginacion por keyset sobre la PK (ver EmpleadoDAOImpl.leerPagina).
+    @Override
+    public List<Legajo> leerPagina(Long despuesDeId, int limite, Orden orden) throws Exception {
+        List<Legajo> lista = new ArrayList<>(limite);
+        boolean desc = orden == Orden.DESC;
+        long cursor = despuesDeId != null ? despuesDeId : (desc ? Long.MAX_VALUE : 0L);
+
+        Medicion m = M_LEER_PAGINA.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, desc ? SQL_PAGINA_DESC : SQL_PAGINA_ASC);
+            stmt.setLong(1, cursor);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                while (rs.next()) {
+                    lista.add(mapearLegajo(rs));
+                }
+                m.mapeado(lista.size());
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al leer pagina de Legajos: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
         }
         return lista;
     }
 
+    // Unicidad de nro_legajo para cargas masivas: un solo viaje por lote.
+    // El IN tiene tantos parametros como numeros, asi que la sentencia no
+    // pasa por StatementCache (cada tamanio de lote seria otra entrada).
+    @Override
+    public Set<String> nrosLegajoExistentes(Collection<String> nrosLegajo) throws Exception {
+        Set<String> existentes = new HashSet<>();
+        if (nrosLegajo.isEmpty()) {
+            return existentes;
+        }
+        StringBuilder sql = new StringBuilder(SQL_NROS_EXISTENTES);
+        for (int i = 0; i < nrosLegajo.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+
+        Medicion m = M_NROS_EXISTENTES.iniciar();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            m.conectado();
+            int i = 1;
+            for (String nro : nrosLegajo) {
+                stmt.setString(i++, nro);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                while (rs.next()) {
+                    existentes.add(rs.getString(1));
+                }
+                m.mapeado(existentes.size());
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al verificar numeros de legajo: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+        return existentes;
+    }
+
     // --- METODO DE AYUDA (Mapeo) ---
     private Legajo mapearLegajo(ResultSet rs) throws SQLException {
         Legajo legajo = new Legajo();
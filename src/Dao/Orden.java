@@ -0,0 +1,7 @@
+package Dao;
+
+// Sentido del recorrido por ID en las consultas paginadas (keyset).
+public enum Orden {
+    ASC,
+    DESC
+}
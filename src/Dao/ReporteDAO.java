@@ -0,0 +1,26 @@
+package Dao;
+
+import Entities.Estado;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+// Consultas agregadas (GROUP BY / COUNT) para reportes. Cada una se resuelve
+// leyendo solo un indice (ver NDICES DE REPORTES en sql01_creacion_bd.sql):
+// a la aplicacion llegan unas pocas filas, nunca las tablas completas.
+// Leen de una replica si hay (ver DatabaseConnection.getReadConnection).
+public interface ReporteDAO {
+
+    // Empleados activos por area, ordenados por area (null primero).
+    List<Conteo<String>> empleadosPorArea() throws Exception;
+
+    // Legajos no eliminados por estado.
+    List<Conteo<Estado>> legajosPorEstado() throws Exception;
+
+    // Empleados activos por mes de ingreso entre desde y hasta (inclusive;
+    // null = sin limite), en orden cronologico. Los meses sin altas no figuran.
+    List<Conteo<YearMonth>> altasPorMes(LocalDate desde, LocalDate hasta) throws Exception;
+
+    // Empleados activos sin legajo activo.
+    long empleadosSinLegajo() throws Exception;
+}
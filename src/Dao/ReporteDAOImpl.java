@@ -0,0 +1,120 @@
+package Dao;
+
+import Config.DatabaseConnection;
+import Config.StatementCache;
+import Entities.Estado;
+import Metrics.Medicion;
+import Metrics.MetricaOperacion;
+import Metrics.Metricas;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+// Implementacion JDBC de ReporteDAO.
+// Cada sentencia agrupa en la BD y devuelve una fila por grupo.
+// Los PreparedStatement se obtienen de StatementCache y no se cierran.
+public class ReporteDAOImpl implements ReporteDAO {
+
+    // --- SENTENCIAS SQL ---
+    // Indice (eliminado, area): el GROUP BY recorre el indice en orden, sin tabla temporal
+    private static final String SQL_POR_AREA = "SELECT COUNT(*), area FROM empleados "
+            + "WHERE eliminado=FALSE GROUP BY area ORDER BY area";
+    // Indice (eliminado, estado)
+    private static final String SQL_POR_ESTADO = "SELECT COUNT(*), estado FROM legajos "
+            + "WHERE eliminado=FALSE GROUP BY estado ORDER BY estado";
+    // Indice (eliminado, fecha_ingreso): rango sobre el indice
+    private static final String SQL_ALTAS_POR_MES = "SELECT COUNT(*), YEAR(fecha_ingreso), MONTH(fecha_ingreso) FROM empleados "
+            + "WHERE eliminado=FALSE AND fecha_ingreso BETWEEN ? AND ? "
+            + "GROUP BY YEAR(fecha_ingreso), MONTH(fecha_ingreso) ORDER BY 2, 3";
+    // Antijoin: empleados por cualquier indice (eliminado, ...) que incluye la PK,
+    // legajos por el indice (empleado_id, eliminado)
+    private static final String SQL_SIN_LEGAJO = "SELECT COUNT(*) FROM empleados e "
+            + "WHERE e.eliminado=FALSE AND NOT EXISTS "
+            + "(SELECT 1 FROM legajos l WHERE l.empleado_id = e.id AND l.eliminado = FALSE)";
+
+    // Limites del tipo DATE de MySQL, para los extremos abiertos del rango
+    private static final Date FECHA_MINIMA = Date.valueOf(LocalDate.of(1000, 1, 1));
+    private static final Date FECHA_MAXIMA = Date.valueOf(LocalDate.of(9999, 12, 31));
+
+    // --- METRICAS (ver Metrics.Metricas y EmpleadoDAOImpl) ---
+    private static final MetricaOperacion M_POR_AREA = Metricas.operacion("ReporteDAO.empleadosPorArea");
+    private static final MetricaOperacion M_POR_ESTADO = Metricas.operacion("ReporteDAO.legajosPorEstado");
+    private static final MetricaOperacion M_ALTAS_POR_MES = Metricas.operacion("ReporteDAO.altasPorMes");
+    private static final MetricaOperacion M_SIN_LEGAJO = Metricas.operacion("ReporteDAO.empleadosSinLegajo");
+
+    @Override
+    public List<Conteo<String>> empleadosPorArea() throws Exception {
+        return agrupar(M_POR_AREA, SQL_POR_AREA, "empleados por area",
+                rs -> rs.getString(2));
+    }
+
+    @Override
+    public List<Conteo<Estado>> legajosPorEstado() throws Exception {
+        return agrupar(M_POR_ESTADO, SQL_POR_ESTADO, "legajos por estado",
+                rs -> rs.getString(2) != null ? Estado.valueOf(rs.getString(2)) : null);
+    }
+
+    @Override
+    public List<Conteo<YearMonth>> altasPorMes(LocalDate desde, LocalDate hasta) throws Exception {
+        return agrupar(M_ALTAS_POR_MES, SQL_ALTAS_POR_MES, "altas por mes",
+                rs -> YearMonth.of(rs.getInt(2), rs.getInt(3)),
+                desde != null ? Date.valueOf(desde) : FECHA_MINIMA,
+                hasta != null ? Date.valueOf(hasta) : FECHA_MAXIMA);
+    }
+
+    @Override
+    public long empleadosSinLegajo() throws Exception {
+        Medicion m = M_SIN_LEGAJO.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, SQL_SIN_LEGAJO);
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                long cantidad = rs.next() ? rs.getLong(1) : 0L;
+                m.mapeado(1);
+                return cantidad;
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al contar empleados sin legajo: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    // Lee la clave de un grupo (las columnas despues de COUNT(*)).
+    @FunctionalInterface
+    private interface LectorClave<K> {
+        K leer(ResultSet rs) throws SQLException;
+    }
+
+    // Ejecuta una sentencia "SELECT COUNT(*), clave... GROUP BY clave..." y
+    // arma un Conteo por fila.
+    private <K> List<Conteo<K>> agrupar(MetricaOperacion metrica, String sql, String descripcion,
+                                        LectorClave<K> clave, Object... parametros) throws Exception {
+        List<Conteo<K>> conteos = new ArrayList<>();
+        Medicion m = metrica.iniciar();
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            m.conectado();
+            PreparedStatement stmt = StatementCache.prepare(conn, sql);
+            for (int i = 0; i < parametros.length; i++) {
+                stmt.setObject(i + 1, parametros[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                m.ejecutado();
+                while (rs.next()) {
+                    conteos.add(new Conteo<>(clave.leer(rs), rs.getLong(1)));
+                }
+                m.mapeado(conteos.size());
+            }
+        } catch (SQLException e) {
+            m.fallo();
+            throw new Exception("Error al contar " + descripcion + ": " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+        return conteos;
+    }
+}
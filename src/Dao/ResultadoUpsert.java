@@ -0,0 +1,39 @@
+package Dao;
+
+// Resultado de EmpleadoDAO.upsertPorDni: que paso con la fila del DNI,
+// junto con su ID.
+public class ResultadoUpsert {
+
+    // INSERTADO: el DNI no existia. ACTUALIZADO: existia activo y cambio.
+    // SIN_CAMBIOS: existia activo con los mismos datos.
+    // DADO_DE_BAJA: existia eliminado; la fila no se toca ni se reactiva.
+    public enum Tipo { INSERTADO, ACTUALIZADO, SIN_CAMBIOS, DADO_DE_BAJA }
+
+    private final Tipo tipo;
+    private final long id;
+
+    public ResultadoUpsert(Tipo tipo, long id) {
+        this.tipo = tipo;
+        this.id = id;
+    }
+
+    public Tipo getTipo() { return tipo; }
+
+    public boolean isInsertado() { return tipo == Tipo.INSERTADO; }
+
+    public boolean isActualizado() { return tipo == Tipo.ACTUALIZADO; }
+
+    public boolean isSinCambios() { return tipo == Tipo.SIN_CAMBIOS; }
+
+    public boolean isDadoDeBaja() { return tipo == Tipo.DADO_DE_BAJA; }
+
+    public long getId() { return id; }
+
+    @Override
+    public String toString() {
+        return "ResultadoUpsert{" +
+                tipo +
+                ", id=" + id +
+                '}';
+    }
+}
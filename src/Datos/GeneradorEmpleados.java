@@ -0,0 +1,319 @@
+package Datos;
+
+import Cache.CacheEntidades;
+import Config.DatabaseConnection;
+import Config.TransactionManager;
+import Dao.Dotacion;
+import Dao.DotacionDAO;
+import Dao.DotacionDAOImpl;
+import Dao.EmpleadoDAO;
+import Dao.EmpleadoDAOImpl;
+import Dao.LegajoDAO;
+import Dao.LegajoDAOImpl;
+import Entities.Empleado;
+import Entities.Estado;
+import Entities.Legajo;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generador determinista de empleados y legajos sintticos para pruebas de escala.
+ *
+ * La fila i depende solo de (semilla, i): dos corridas con la misma semilla
+ * producen exactamente los mismos datos, en cualquier orden o tamao de lote.
+ * Las fechas se calculan desde una fecha de referencia fija, no desde hoy.
+ *
+ * Distribuciones:
+ * - DNI: 8 dgitos entre 20.000.000 y 49.999.999, nicos hasta 30 millones de filas.
+ * - Nombre/apellido: listas de frecuentes en Argentina con peso decreciente.
+ * - Email: mayora del dominio de la empresa, algunos personales y algunos vacos.
+ * - rea y categora: pesos fijos (ms Ventas/Operaciones y ms Junior).
+ * - Estado del legajo: 90 % ACTIVO.
+ * - Fracciones configurables de empleados dados de baja y sin legajo.
+ *
+ * Carga: {@link #cargarPorLotes} usa el camino de insercin por lotes de los
+ * DAOs; {@link #escribirCsv} genera CSV + script LOAD DATA para cargas grandes.
+ */
+public final class GeneradorEmpleados {
+
+    /** Fecha "hoy" de los datos generados: fija para que las corridas sean reproducibles */
+    public static final LocalDate FECHA_REFERENCIA = LocalDate.of(2025, 1, 1);
+
+    private static final long DNI_MINIMO = 20_000_000L;
+    private static final long DNI_RANGO = 30_000_000L;
+    /** 2^25 > DNI_RANGO: la permutacin trabaja sobre 25 bits */
+    private static final long MASCARA_25 = (1L << 25) - 1;
+
+    private static final Ponderado NOMBRES = new Ponderado(
+            new String[]{"Juan", "Maria", "Carlos", "Ana", "Jorge", "Laura", "Luis", "Silvia", "Diego", "Lucia",
+                "Martin", "Sofia", "Pablo", "Valeria", "Sergio", "Florencia", "Alejandro", "Camila", "Matias", "Paula"},
+            new int[]{30, 29, 22, 22, 18, 18, 15, 14, 13, 13, 12, 12, 10, 10, 9, 9, 8, 8, 7, 7});
+    private static final Ponderado APELLIDOS = new Ponderado(
+            new String[]{"Gonzalez", "Rodriguez", "Gomez", "Fernandez", "Lopez", "Diaz", "Martinez", "Perez",
+                "Garcia", "Sanchez", "Romero", "Sosa", "Alvarez", "Torres", "Ruiz", "Ramirez", "Flores", "Benitez",
+                "Acosta", "Medina"},
+            new int[]{40, 35, 30, 28, 26, 24, 23, 22, 20, 18, 17, 16, 15, 14, 13, 12, 11, 10, 9, 8});
+    private static final Ponderado AREAS = new Ponderado(
+            new String[]{"Ventas", "Operaciones", "IT", "Finanzas", "RRHH", "Marketing", "Legales"},
+            new int[]{30, 25, 15, 10, 8, 7, 5});
+    private static final Ponderado CATEGORIAS = new Ponderado(
+            new String[]{"Junior", "Semi Senior", "Senior", "Gerente"},
+            new int[]{45, 30, 20, 5});
+    private static final Ponderado DOMINIOS = new Ponderado(
+            new String[]{"empresa.com", "gmail.com", "hotmail.com", null},
+            new int[]{80, 12, 5, 3});
+
+    private final long semilla;
+    private final double fraccionEliminados;
+    private final double fraccionSinLegajo;
+
+    /**
+     * @param semilla            semilla de la corrida
+     * @param fraccionEliminados proporcin de empleados dados de baja (0 a 1)
+     * @param fraccionSinLegajo  proporcin de empleados sin legajo (0 a 1)
+     */
+    public GeneradorEmpleados(long semilla, double fraccionEliminados, double fraccionSinLegajo) {
+        if (fraccionEliminados < 0 || fraccionEliminados > 1 || fraccionSinLegajo < 0 || fraccionSinLegajo > 1) {
+            throw new IllegalArgumentException("Las fracciones deben estar entre 0 y 1");
+        }
+        this.semilla = semilla;
+        this.fraccionEliminados = fraccionEliminados;
+        this.fraccionSinLegajo = fraccionSinLegajo;
+    }
+
+    /**
+     * DNI de la fila i: nico para i menor a 30 millones.
+     *
+     * Aplica a i una permutacin de 25 bits (xorshift + multiplicacin impar,
+     * ambas biyectivas) y repite mientras el resultado caiga fuera del rango
+     * (cycle walking), as los DNIs no siguen un patrn visible.
+     */
+    public String dni(long i) {
+        if (i < 0 || i >= DNI_RANGO) {
+            throw new IllegalArgumentException("Solo hay DNIs nicos para filas entre 0 y " + (DNI_RANGO - 1));
+        }
+        long x = i;
+        do {
+            x = permutar(x);
+        } while (x >= DNI_RANGO);
+        return String.valueOf(DNI_MINIMO + x);
+    }
+
+    /**
+     * Genera la fila i (sin ID). El legajo, si lo tiene, viene asociado al empleado.
+     */
+    public Empleado generar(long i) {
+        SplittableRandom random = new SplittableRandom(semilla * 0x9E3779B97F4A7C15L + i);
+        Empleado empleado = new Empleado();
+        String nombre = NOMBRES.elegir(random);
+        String apellido = APELLIDOS.elegir(random);
+        empleado.setNombre(nombre);
+        empleado.setApellido(apellido);
+        empleado.setDni(dni(i));
+
+        String dominio = DOMINIOS.elegir(random);
+        if (dominio != null) {
+            empleado.setEmail((nombre + "." + apellido).toLowerCase(Locale.ROOT) + "." + i + "@" + dominio);
+        }
+        // Ms ingresos recientes que antiguos: el mnimo de dos sorteos sesga hacia 0 das atrs
+        int diasAtras = Math.min(random.nextInt(15 * 365), random.nextInt(15 * 365));
+        empleado.setFechaIngreso(FECHA_REFERENCIA.minusDays(diasAtras));
+        empleado.setArea(AREAS.elegir(random));
+        empleado.setEliminado(random.nextDouble() < fraccionEliminados);
+
+        if (random.nextDouble() >= fraccionSinLegajo) {
+            Legajo legajo = new Legajo();
+            legajo.setNroLegajo(String.format("LEG-%07d", i + 1));
+            legajo.setCategoria(CATEGORIAS.elegir(random));
+            legajo.setEstado(random.nextInt(100) < 90 ? Estado.ACTIVO : Estado.INACTIVO);
+            LocalDate alta = empleado.getFechaIngreso().plusDays(random.nextInt(31));
+            legajo.setFechaAlta(alta.isAfter(FECHA_REFERENCIA) ? FECHA_REFERENCIA : alta);
+            legajo.setEliminado(empleado.getEliminado());
+            empleado.setLegajo(legajo);
+        }
+        return empleado;
+    }
+
+    /**
+     * Inserta las filas [0, filas) con crearBatch/crearLegajosBatch, una
+     * transaccin cada filasPorTransaccion. Las bajas se aplican con el
+     * soft delete de los DAOs dentro de la misma transaccin, que tambin
+     * suma los empleados activos a la tabla resumen dotacion.
+     *
+     * @return empleados insertados
+     */
+    public long cargarPorLotes(long filas, int filasPorTransaccion) throws Exception {
+        if (filasPorTransaccion <= 0) {
+            throw new IllegalArgumentException("filasPorTransaccion debe ser mayor a 0");
+        }
+        EmpleadoDAO empleadoDAO = new EmpleadoDAOImpl();
+        LegajoDAO legajoDAO = new LegajoDAOImpl();
+        DotacionDAO dotacionDAO = new DotacionDAOImpl();
+        for (long desde = 0; desde < filas; desde += filasPorTransaccion) {
+            long hasta = Math.min(desde + filasPorTransaccion, filas);
+            List<Empleado> lote = new ArrayList<>((int) (hasta - desde));
+            for (long i = desde; i < hasta; i++) {
+                lote.add(generar(i));
+            }
+
+            try (Connection conn = DatabaseConnection.getConnection();
+                 TransactionManager tx = new TransactionManager(conn)) {
+                tx.startTransaction();
+                empleadoDAO.crearBatch(lote, conn);
+
+                List<Legajo> legajos = new ArrayList<>();
+                List<Long> empleadoIds = new ArrayList<>();
+                for (Empleado empleado : lote) {
+                    if (empleado.getLegajo() != null) {
+                        legajos.add(empleado.getLegajo());
+                        empleadoIds.add(empleado.getId());
+                    }
+                }
+                if (!legajos.isEmpty()) {
+                    legajoDAO.crearLegajosBatch(legajos, conn, empleadoIds);
+                }
+                List<Dotacion> altas = new ArrayList<>(lote.size());
+                for (Empleado empleado : lote) {
+                    if (empleado.getEliminado()) {
+                        empleadoDAO.eliminar(empleado.getId(), conn);
+                        if (empleado.getLegajo() != null) {
+                            legajoDAO.eliminar(empleado.getLegajo().getId(), conn);
+                        }
+                    } else {
+                        Legajo legajo = empleado.getLegajo();
+                        altas.add(new Dotacion(empleado.getArea(), legajo != null ? legajo.getEstado() : null, 1));
+                    }
+                }
+                dotacionDAO.sumar(altas, conn);
+                tx.commit();
+            }
+        }
+        // Los caches e ndices en memoria no conocen las filas nuevas
+        CacheEntidades.invalidarTodo();
+        return filas;
+    }
+
+    /**
+     * Escribe empleados.csv, legajos.csv y cargar.sql (LOAD DATA LOCAL INFILE)
+     * en el directorio dado. Los IDs son explcitos desde idInicial para que
+     * los legajos referencien a su empleado sin consultar la base.
+     *
+     * @param directorio destino (se crea si no existe)
+     * @param filas      cantidad de empleados
+     * @param idInicial  ID del primer empleado/legajo (debe estar libre en la base)
+     */
+    public void escribirCsv(Path directorio, long filas, long idInicial) throws IOException {
+        Files.createDirectories(directorio);
+        Path empleadosCsv = directorio.resolve("empleados.csv");
+        Path legajosCsv = directorio.resolve("legajos.csv");
+        try (BufferedWriter empleados = Files.newBufferedWriter(empleadosCsv, StandardCharsets.UTF_8);
+             BufferedWriter legajos = Files.newBufferedWriter(legajosCsv, StandardCharsets.UTF_8)) {
+            empleados.write("id,eliminado,nombre,apellido,dni,email,fecha_ingreso,area\n");
+            legajos.write("id,eliminado,nro_legajo,categoria,estado,fecha_alta,observaciones,empleado_id\n");
+            for (long i = 0; i < filas; i++) {
+                Empleado e = generar(i);
+                long id = idInicial + i;
+                escribirFila(empleados, id, e.getEliminado() ? 1 : 0, e.getNombre(), e.getApellido(),
+                        e.getDni(), e.getEmail(), e.getFechaIngreso(), e.getArea());
+                Legajo l = e.getLegajo();
+                if (l != null) {
+                    escribirFila(legajos, id, l.getEliminado() ? 1 : 0, l.getNroLegajo(), l.getCategoria(),
+                            l.getEstado().name(), l.getFechaAlta(), l.getObservaciones(), id);
+                }
+            }
+        }
+
+        String script = "-- Generado por GeneradorEmpleados: semilla=" + semilla + ", filas=" + filas
+                + ", idInicial=" + idInicial + "\n"
+                + "-- Ejecutar con: mysql --local-infile=1 empresa < cargar.sql\n"
+                + "USE empresa;\n"
+                + "SET foreign_key_checks = 0;\n"
+                + "SET unique_checks = 0;\n"
+                + loadData(empleadosCsv, "empleados", "id, eliminado, nombre, apellido, dni, email, fecha_ingreso, area")
+                + loadData(legajosCsv, "legajos", "id, eliminado, nro_legajo, categoria, estado, fecha_alta, observaciones, empleado_id")
+                + "SET unique_checks = 1;\n"
+                + "SET foreign_key_checks = 1;\n"
+                + "-- Tabla resumen dotacion: se recalcula completa\n"
+                + DotacionDAOImpl.SQL_RECONSTRUIR;
+        Files.writeString(directorio.resolve("cargar.sql"), script, StandardCharsets.UTF_8);
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    private long permutar(long x) {
+        x = (x + semilla) & MASCARA_25;
+        x ^= x >>> 13;
+        x = (x * 0x2C1B3C6DL) & MASCARA_25;
+        x ^= x >>> 11;
+        x = (x * 0x297A2D39L) & MASCARA_25;
+        x ^= x >>> 15;
+        return x;
+    }
+
+    private static String loadData(Path csv, String tabla, String columnas) {
+        String ruta = csv.toAbsolutePath().toString().replace('\\', '/');
+        return "LOAD DATA LOCAL INFILE '" + ruta + "' INTO TABLE " + tabla + "\n"
+                + "    CHARACTER SET utf8mb4\n"
+                + "    FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"'\n"
+                + "    LINES TERMINATED BY '\\n'\n"
+                + "    IGNORE 1 LINES\n"
+                + "    (" + columnas + ");\n";
+    }
+
+    /** Escribe una fila CSV: null como \N (NULL de LOAD DATA), texto con comas o comillas entre comillas. */
+    private static void escribirFila(BufferedWriter out, Object... valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object valor = valores[i];
+            if (valor == null) {
+                out.write("\\N");
+                continue;
+            }
+            String texto = valor.toString();
+            if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0) {
+                texto = '"' + texto.replace("\"", "\"\"") + '"';
+            }
+            out.write(texto);
+        }
+        out.write('\n');
+    }
+
+    /** Eleccin con pesos enteros sobre un conjunto fijo de valores. */
+    private static final class Ponderado {
+        private final String[] valores;
+        private final int[] acumulados;
+
+        Ponderado(String[] valores, int[] pesos) {
+            this.valores = valores;
+            this.acumulados = new int[pesos.length];
+            int total = 0;
+            for (int i = 0; i < pesos.length; i++) {
+                total += pesos[i];
+                acumulados[i] = total;
+            }
+        }
+
+        String elegir(SplittableRandom random) {
+            int r = random.nextInt(acumulados[acumulados.length - 1]);
+            for (int i = 0; i < acumulados.length; i++) {
+                if (r < acumulados[i]) {
+                    return valores[i];
+                }
+            }
+            return valores[valores.length - 1];
+        }
+    }
+}
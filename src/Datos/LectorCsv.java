@@ -0,0 +1,146 @@
+package Datos;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV por streaming (RFC 4180): una fila por llamada a
+ * {@link #siguiente()}, sin cargar el archivo en memoria.
+ *
+ * - Separador ',' o ';' (el de Excel en español), detectado en la cabecera.
+ * - Campos entre comillas con "" como comilla literal y saltos de línea dentro.
+ * - Acepta finales de línea \n y \r\n, y descarta el BOM de UTF-8.
+ * - Los campos vacíos se devuelven como "" (el llamador decide si es null).
+ */
+public final class LectorCsv implements Closeable {
+
+    private static final int FIN = -1;
+
+    private final BufferedReader in;
+    private final char separador;
+    private final StringBuilder campo = new StringBuilder();
+    private long linea = 1;
+    private long lineaFila;
+
+    /**
+     * @param in origen; se cierra junto con el lector
+     * @throws IOException si no se puede leer la cabecera
+     */
+    public LectorCsv(Reader in) throws IOException {
+        this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, 64 * 1024);
+        this.in.mark(1);
+        if (this.in.read() != '\uFEFF') {
+            this.in.reset();
+        }
+        this.separador = detectarSeparador();
+    }
+
+    /**
+     * @return campos de la fila siguiente, o null al final del archivo
+     * @throws IOException si falla la lectura o hay comillas sin cerrar
+     */
+    public String[] siguiente() throws IOException {
+        int c = in.read();
+        while (c == '\r' || c == '\n') {
+            // Líneas en blanco entre filas
+            saltoDeLinea(c);
+            c = in.read();
+        }
+        if (c == FIN) {
+            return null;
+        }
+        lineaFila = linea;
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreComillas = false;
+        boolean eraComillado = false;
+        while (true) {
+            if (entreComillas) {
+                if (c == FIN) {
+                    throw new IOException("Comillas sin cerrar en la fila que empieza en la línea " + lineaFila);
+                }
+                if (c == '"') {
+                    in.mark(1);
+                    int proximo = in.read();
+                    if (proximo == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        in.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        linea++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+                eraComillado = false;
+            } else if (c == '\r' || c == '\n' || c == FIN) {
+                campos.add(campo.toString());
+                if (c != FIN) {
+                    saltoDeLinea(c);
+                }
+                return campos.toArray(new String[0]);
+            } else if (c == '"' && campo.length() == 0 && !eraComillado) {
+                entreComillas = true;
+                eraComillado = true;
+            } else {
+                campo.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    /** @return línea del archivo (desde 1) donde empieza la última fila leída */
+    public long getLinea() {
+        return lineaFila;
+    }
+
+    /** @return separador detectado */
+    public char getSeparador() {
+        return separador;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /** Completa el fin de línea que empezó con c (\r\n cuenta como uno). */
+    private void saltoDeLinea(int c) throws IOException {
+        linea++;
+        if (c == '\r') {
+            in.mark(1);
+            if (in.read() != '\n') {
+                in.reset();
+            }
+        }
+    }
+
+    /** Cuenta ',' y ';' fuera de comillas en la primera línea, sin consumirla. */
+    private char detectarSeparador() throws IOException {
+        in.mark(64 * 1024);
+        int comas = 0;
+        int puntoYComa = 0;
+        boolean entreComillas = false;
+        int c;
+        while ((c = in.read()) != FIN && (entreComillas || (c != '\n' && c != '\r'))) {
+            if (c == '"') {
+                entreComillas = !entreComillas;
+            } else if (!entreComillas && c == ',') {
+                comas++;
+            } else if (!entreComillas && c == ';') {
+                puntoYComa++;
+            }
+        }
+        in.reset();
+        return puntoYComa > comas ? ';' : ',';
+    }
+}
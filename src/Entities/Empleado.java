@@ -26,6 +26,12 @@ public class Empleado extends BaseEntity {
         this.legajo = legajo;
     }
 
+    // Constructor de copia (el legajo asociado tambien se copia)
+    public Empleado(Empleado otro) {
+        this(otro.id, otro.eliminado, otro.nombre, otro.apellido, otro.dni, otro.email,
+                otro.fechaIngreso, otro.area, otro.legajo != null ? new Legajo(otro.legajo) : null);
+    }
+
     public String getNombre() { return nombre; }
     public void setNombre(String nombre) { this.nombre = nombre; }
 
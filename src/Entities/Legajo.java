@@ -22,6 +22,12 @@ public class Legajo extends BaseEntity {
         this.observaciones = observaciones;
     }
 
+    // Constructor de copia
+    public Legajo(Legajo otro) {
+        this(otro.id, otro.eliminado, otro.nroLegajo, otro.categoria, otro.estado,
+                otro.fechaAlta, otro.observaciones);
+    }
+
     public String getNroLegajo() { return nroLegajo; }
     public void setNroLegajo(String nroLegajo) { this.nroLegajo = nroLegajo; }
 
@@ -11,11 +11,21 @@ import Entities.Empleado;
 import Entities.Legajo;
 import Service.EmpleadoServiceImpl;
 import Service.LegajoServiceImpl;
+import Service.GenericService;
+import Service.Pagina;
+import Service.GestorSnapshot;
 import Entities.Estado;
+import Dao.Orden;
+import Config.SlowQueryLog;
+import Metrics.Metricas;
 
 
 
 public class AppMenu {
+    
+    // Cantidad de registros que se muestran por pgina en los listados
+    private static final int TAMANIO_PAGINA = 20;
+    
     public static void main(String[] args) {
         Scanner scan = new Scanner (System.in);
         
@@ -25,6 +35,9 @@ public class AppMenu {
         
         EmpleadoServiceImpl empleadoService = new EmpleadoServiceImpl();
         LegajoServiceImpl legajoService = new LegajoServiceImpl();
+        
+        // Arranque en caliente: sirve lecturas desde el snapshot mientras se llena el cache
+        GestorSnapshot.iniciar();
          
         int opcion = -1;
         do{
@@ -113,12 +126,12 @@ public class AppMenu {
                                                 }
                                             }
                                             
-                                            case 4 -> {  // Lista todos los empleados activos
-                                                System.out.println(empleadoService.getAll());
+                                            case 4 -> {  // Lista todos los empleados activos, de a una pgina
+                                                listarPaginado(empleadoService, scan);
                                             }
                                             
-                                            case 5 -> { // Lista todos los legajos
-                                                System.out.println(legajoService.getAll());
+                                            case 5 -> { // Lista todos los legajos, de a una pgina
+                                                listarPaginado(legajoService, scan);
                                             }
                                             
                                             case 6 -> {  // Vuelve al men principal
@@ -292,12 +305,21 @@ public class AppMenu {
                             System.err.println("Se ha producido un error al eliminar la informacin: " + e.getMessage());
                         }
                     }
+                    case 5 -> { // Mtricas de DAOs, servicios, pool y caches (formato Prometheus)
+                        System.out.println(Metricas.exportarPrometheus());
+                    }
+                    case 6 -> { // Estadsticas por sentencia SQL (consultas lentas)
+                        System.out.println(SlowQueryLog.volcar());
+                    }
                         
                 }
             }catch (Exception v){
                 System.err.println("Error: " + v.getMessage());
             }    
         }while (opcion !=0);    
+        
+        // Deja un snapshot actualizado para el prximo arranque
+        GestorSnapshot.detener();
     }
      
     // Muestra el men principal con todas las opciones disponibles al usuario
@@ -307,10 +329,40 @@ public class AppMenu {
         System.out.println("2. BUSCAR REGISTROS");
         System.out.println("3. ACTUALIZAR REGISTROS");
         System.out.println("4. ELIMINAR REGISTROS");
+        System.out.println("5. VER METRICAS");
+        System.out.println("6. VER CONSULTAS LENTAS");
         System.out.println("0. SALIR");
         System.out.println("Ingrese un opcin: ");                
     }
     
+    // Muestra los registros activos de a una pgina por vez (paginacin por ID)
+    // El usuario avanza con ENTER o vuelve al men con 'q'
+    public static <T> void listarPaginado(GenericService<T> servicio, Scanner scan) throws Exception {
+        Long cursor = null;
+        int numeroPagina = 1;
+        while (true) {
+            Pagina<T> pagina = servicio.getPagina(cursor, TAMANIO_PAGINA, Orden.ASC);
+            if (pagina.estaVacia() && numeroPagina == 1) {
+                System.out.println("No se encontraron registros.");
+                return;
+            }
+            System.out.println("---------- Pgina " + numeroPagina + " ----------");
+            for (T elemento : pagina.getContenido()) {
+                System.out.println(elemento);
+            }
+            if (!pagina.tieneSiguiente()) {
+                System.out.println("---------- Fin del listado ----------");
+                return;
+            }
+            System.out.println("Presione ENTER para ver la siguiente pgina o 'q' para volver: ");
+            if (scan.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            cursor = pagina.getSiguienteCursor();
+            numeroPagina++;
+        }
+    }
+    
     // Solicita al usuario los datos de un empleado y devuelve un objeto Empleado
     public static Empleado crearEmpleado(){
         Scanner scan = new Scanner (System.in);
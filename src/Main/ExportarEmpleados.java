@@ -0,0 +1,52 @@
+package Main;
+
+import Config.DatabaseConnection;
+import Service.ExportadorEmpleados;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Exporta los empleados activos con su legajo (ver {@link ExportadorEmpleados}).
+ *
+ * Parámetros (--clave=valor, todos opcionales):
+ *   --formato=csv             csv o jsonl
+ *   --salida=empleados.csv    archivo destino; si termina en .gz se comprime con gzip
+ *
+ * La conexión se configura igual que la aplicación (db.url / db.user / ...).
+ */
+public class ExportarEmpleados {
+
+    public static void main(String[] args) {
+        try {
+            Map<String, String> opciones = leerOpciones(args);
+            ExportadorEmpleados.Formato formato = ExportadorEmpleados.Formato.de(opciones.getOrDefault("formato", "csv"));
+            Path salida = Path.of(opciones.getOrDefault("salida",
+                    "empleados." + formato.name().toLowerCase(Locale.ROOT)));
+
+            long inicio = System.nanoTime();
+            long filas = new ExportadorEmpleados().exportar(salida, formato);
+            long ms = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+            System.out.printf("%,d empleados exportados a %s en %d ms (%,d filas/s)%n",
+                    filas, salida.toAbsolutePath(), ms, filas * 1000 / ms);
+        } catch (Exception e) {
+            System.err.println("Error al exportar: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    private static Map<String, String> leerOpciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Parámetro inválido (se espera --clave=valor): " + arg);
+            }
+            opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opciones;
+    }
+}
@@ -0,0 +1,73 @@
+package Main;
+
+import Config.DatabaseConnection;
+import Datos.GeneradorEmpleados;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Genera datos sintéticos reproducibles (ver {@link GeneradorEmpleados}).
+ *
+ * Parámetros (--clave=valor, todos opcionales):
+ *   --filas=100000        empleados a generar
+ *   --semilla=42          misma semilla = mismos datos
+ *   --eliminados=0.05     fracción dada de baja
+ *   --sinLegajo=0.10      fracción sin legajo
+ *   --modo=lotes          lotes: inserta con los DAOs usando db.url / db.user / ...
+ *                         csv:   escribe CSV + cargar.sql (LOAD DATA) sin tocar la base
+ *   --lote=5000           filas por transacción (modo lotes)
+ *   --salida=datos        directorio de salida (modo csv)
+ *   --idInicial=1000      primer ID explícito (modo csv), por encima de los de sql02
+ */
+public class GeneradorDatos {
+
+    public static void main(String[] args) {
+        try {
+            Map<String, String> opciones = leerOpciones(args);
+            long filas = Long.parseLong(opciones.getOrDefault("filas", "100000"));
+            long semilla = Long.parseLong(opciones.getOrDefault("semilla", "42"));
+            double eliminados = Double.parseDouble(opciones.getOrDefault("eliminados", "0.05"));
+            double sinLegajo = Double.parseDouble(opciones.getOrDefault("sinLegajo", "0.10"));
+            String modo = opciones.getOrDefault("modo", "lotes");
+            if (filas <= 0) {
+                throw new IllegalArgumentException("filas debe ser mayor a 0");
+            }
+
+            GeneradorEmpleados generador = new GeneradorEmpleados(semilla, eliminados, sinLegajo);
+            long inicio = System.nanoTime();
+            switch (modo) {
+                case "lotes":
+                    int lote = Integer.parseInt(opciones.getOrDefault("lote", "5000"));
+                    generador.cargarPorLotes(filas, lote);
+                    DatabaseConnection.shutdown();
+                    break;
+                case "csv":
+                    Path salida = Path.of(opciones.getOrDefault("salida", "datos"));
+                    long idInicial = Long.parseLong(opciones.getOrDefault("idInicial", "1000"));
+                    generador.escribirCsv(salida, filas, idInicial);
+                    System.out.println("Archivos en " + salida.toAbsolutePath() + " (cargar con cargar.sql)");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Modo desconocido: " + modo + " (lotes o csv)");
+            }
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+            System.out.printf("%d empleados generados (semilla %d) en %d ms%n", filas, semilla, ms);
+        } catch (Exception e) {
+            System.err.println("Error al generar datos: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static Map<String, String> leerOpciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Parámetro inválido (se espera --clave=valor): " + arg);
+            }
+            opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opciones;
+    }
+}
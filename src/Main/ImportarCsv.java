@@ -0,0 +1,64 @@
+package Main;
+
+import Config.DatabaseConnection;
+import Service.ImportadorCsv;
+import Service.ResultadoImportacion;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Importa empleados y legajos desde un CSV (ver {@link ImportadorCsv}).
+ *
+ * Parámetros (--clave=valor):
+ *   --archivo=altas.csv       CSV a importar (obligatorio)
+ *   --rechazos=<archivo>.rechazos.csv  filas rechazadas con línea y motivo
+ *   --charset=UTF-8           codificación del CSV (p. ej. windows-1252 para Excel)
+ *
+ * La conexión se configura igual que la aplicación (db.url / db.user / ...).
+ */
+public class ImportarCsv {
+
+    public static void main(String[] args) {
+        try {
+            Map<String, String> opciones = leerOpciones(args);
+            String archivo = opciones.get("archivo");
+            if (archivo == null) {
+                throw new IllegalArgumentException("Falta --archivo=<csv a importar>");
+            }
+            Path origen = Path.of(archivo);
+            Path rechazos = Path.of(opciones.getOrDefault("rechazos", archivo + ".rechazos.csv"));
+            Charset charset = Charset.forName(opciones.getOrDefault("charset", "UTF-8"));
+
+            ResultadoImportacion resultado = new ImportadorCsv().importar(origen, charset, rechazos,
+                    avance -> System.out.printf("  %,d leídas, %,d creadas, %,d rechazadas (%.0f filas/s)%n",
+                            avance.getLeidas(), avance.getCreadas(), avance.getRechazadas(),
+                            avance.getFilasPorSegundo()));
+
+            System.out.printf("%,d filas importadas y %,d rechazadas en %d ms (%.0f filas/s)%n",
+                    resultado.getCreadas(), resultado.getRechazadas(), resultado.getMilisegundos(),
+                    resultado.getFilasPorSegundo());
+            if (resultado.getRechazadas() > 0) {
+                System.out.println("Rechazos en " + rechazos.toAbsolutePath());
+            }
+        } catch (Exception e) {
+            System.err.println("Error al importar: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    private static Map<String, String> leerOpciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Parámetro inválido (se espera --clave=valor): " + arg);
+            }
+            opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opciones;
+    }
+}
@@ -0,0 +1,48 @@
+package Main;
+
+import Config.DatabaseConnection;
+import Service.ReporteServiceImpl;
+import Service.ResultadoReconstruccion;
+
+/**
+ * Recalcula la tabla resumen dotacion desde empleados y legajos (ver
+ * {@link ReporteServiceImpl#reconstruirDotacion()}) e informa el desvío.
+ *
+ * Usarlo después de cargas o correcciones hechas por fuera de la aplicación.
+ * Sale con código 1 si encontró diferencias y 2 si falló.
+ *
+ * La conexión se configura igual que la aplicación (db.url / db.user / ...).
+ */
+public class ReconstruirDotacion {
+
+    public static void main(String[] args) {
+        int codigo = 0;
+        try {
+            long inicio = System.nanoTime();
+            ResultadoReconstruccion resultado = new ReporteServiceImpl().reconstruirDotacion();
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+            System.out.printf("Dotación reconstruida: %,d empleados en %d celdas (%d ms)%n",
+                    resultado.getEmpleados(), resultado.getCeldas(), ms);
+            if (!resultado.tieneDiferencias()) {
+                System.out.println("Sin diferencias.");
+            } else {
+                System.out.printf("%d celdas con diferencias:%n", resultado.getDiferencias().size());
+                System.out.printf("%-20s %-12s %12s %12s %12s%n", "área", "estado", "registrada", "real", "desvío");
+                for (ResultadoReconstruccion.Diferencia d : resultado.getDiferencias()) {
+                    System.out.printf("%-20s %-12s %12d %12d %+12d%n",
+                            d.getArea() != null ? d.getArea() : "(sin área)",
+                            d.getEstado() != null ? d.getEstado() : "(sin legajo)",
+                            d.getRegistrada(), d.getReal(), d.getDesvio());
+                }
+                codigo = 1;
+            }
+        } catch (Exception e) {
+            System.err.println("Error al reconstruir la dotación: " + e.getMessage());
+            e.printStackTrace();
+            codigo = 2;
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+        System.exit(codigo);
+    }
+}
@@ -0,0 +1,26 @@
+package Metrics;
+
+/**
+ * Fases en que se divide la latencia de una operación.
+ * La etiqueta es el valor del label "fase" en el volcado Prometheus.
+ */
+public enum Fase {
+    /** Obtener la conexión (pool o transacción en curso) */
+    CONEXION("connect"),
+    /** Ejecutar la sentencia hasta tener el resultado */
+    EJECUCION("execute"),
+    /** Recorrer el ResultSet y mapear filas a entidades */
+    MAPEO("map"),
+    /** Confirmar la transacción */
+    COMMIT("commit");
+
+    private final String etiqueta;
+
+    Fase(String etiqueta) {
+        this.etiqueta = etiqueta;
+    }
+
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+}
@@ -0,0 +1,130 @@
+package Metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias log-lineal, al estilo de HdrHistogram.
+ *
+ * Los valores (normalmente nanosegundos) se agrupan en cubetas cuyo ancho
+ * crece con la magnitud: hasta 127 son exactas y por encima cada potencia
+ * de 2 se divide en 64 cubetas, con un error relativo menor al 1,6 %.
+ * El arreglo tiene tamaño fijo, así que registrar no reserva memoria y
+ * puede hacerse desde muchos hilos a la vez sin bloqueo.
+ *
+ * Los percentiles informan el mayor valor equivalente de la cubeta
+ * (nunca subestiman la latencia real).
+ */
+public final class Histograma {
+
+    /** Bits de la parte lineal: 2^7 valores exactos y 64 cubetas por potencia de 2 */
+    private static final int BITS_SUB = 7;
+    private static final int MITAD_SUB = 1 << (BITS_SUB - 1);
+    private static final int CUBETAS = (Long.SIZE - BITS_SUB + 1) * MITAD_SUB + MITAD_SUB;
+
+    private final AtomicLongArray cuentas = new AtomicLongArray(CUBETAS);
+    private final LongAdder cantidad = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra un valor. Los negativos se cuentan como 0.
+     *
+     * @param valor valor a registrar (p. ej. latencia en nanosegundos)
+     */
+    public void registrar(long valor) {
+        long v = Math.max(0, valor);
+        cuentas.incrementAndGet(indice(v));
+        cantidad.increment();
+        suma.add(v);
+        maximo.accumulate(v);
+    }
+
+    /** @return cantidad de valores registrados */
+    public long getCantidad() {
+        return cantidad.sum();
+    }
+
+    /** @return suma de los valores registrados */
+    public long getSuma() {
+        return suma.sum();
+    }
+
+    /** @return mayor valor registrado (0 si no hay valores) */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /** @return promedio exacto de los valores registrados (0 si no hay valores) */
+    public double getPromedio() {
+        long n = cantidad.sum();
+        return n == 0 ? 0.0 : (double) suma.sum() / n;
+    }
+
+    /**
+     * Valor por debajo del cual cae el porcentaje pedido de los registros.
+     *
+     * @param percentil entre 0 y 100 (p. ej. 99.9)
+     * @return valor del percentil, o 0 si no hay valores
+     */
+    public long percentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100");
+        }
+        long total = 0;
+        long[] copia = new long[CUBETAS];
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cuentas.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(percentil / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                return Math.min(mayorEquivalente(i), getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+
+    /** Descarta todos los valores registrados. */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cuentas.set(i, 0);
+        }
+        cantidad.reset();
+        suma.reset();
+        maximo.reset();
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    /*
+     * v < 128: cubeta exacta. Si no, con magnitud m = floor(log2 v) y
+     * desplazamiento d = m - 6, los 7 bits altos (64..127) eligen la cubeta
+     * dentro de la potencia: índice = d * 64 + (v >>> d).
+     */
+    static int indice(long v) {
+        if (v < (1 << BITS_SUB)) {
+            return (int) v;
+        }
+        int desplazamiento = (63 - Long.numberOfLeadingZeros(v)) - (BITS_SUB - 1);
+        return desplazamiento * MITAD_SUB + (int) (v >>> desplazamiento);
+    }
+
+    static long mayorEquivalente(int indice) {
+        if (indice < (1 << BITS_SUB)) {
+            return indice;
+        }
+        int desplazamiento = indice / MITAD_SUB - 1;
+        long sub = indice - (long) desplazamiento * MITAD_SUB;
+        return ((sub + 1) << desplazamiento) - 1;
+    }
+}
@@ -0,0 +1,104 @@
+package Metrics;
+
+/**
+ * Medición en curso de una llamada a una {@link MetricaOperacion}.
+ *
+ * No se crea una por llamada: cada hilo reutiliza las suyas (una por nivel
+ * de anidamiento, p. ej. servicio que llama a un DAO); sólo los hilos
+ * virtuales crean una nueva en cada llamada. Por eso no debe
+ * guardarse ni compartirse entre hilos, y terminar() debe llamarse siempre,
+ * normalmente en un finally:
+ * <pre>
+ * Medicion m = M_LEER.iniciar();
+ * try (Connection conn = DatabaseConnection.getCurrentConnection()) {
+ *     m.conectado();
+ *     ...executeQuery...
+ *     m.ejecutado();
+ *     ...mapeo...
+ *     m.mapeado(filas);
+ * } catch (SQLException e) {
+ *     m.fallo();
+ *     throw ...;
+ * } finally {
+ *     m.terminar();
+ * }
+ * </pre>
+ * Cada marca de fase registra el tiempo transcurrido desde la marca anterior.
+ */
+public final class Medicion {
+
+    /** Medición que no registra nada, para cuando las métricas están deshabilitadas */
+    static final Medicion NULA = new Medicion(null);
+
+    /** Pila a la que vuelve al terminar (null en hilos virtuales y en NULA) */
+    private final PilaMediciones pila;
+    private MetricaOperacion operacion;
+    private long inicio;
+    private long ultimaMarca;
+    private long filas;
+    private boolean error;
+
+    Medicion(PilaMediciones pila) {
+        this.pila = pila;
+    }
+
+    void empezar(MetricaOperacion operacion) {
+        this.operacion = operacion;
+        this.inicio = System.nanoTime();
+        this.ultimaMarca = inicio;
+        this.filas = 0;
+        this.error = false;
+    }
+
+    /** Marca el fin de la obtención de la conexión. */
+    public void conectado() {
+        marcar(Fase.CONEXION);
+    }
+
+    /** Marca el fin de la ejecución de la sentencia. */
+    public void ejecutado() {
+        marcar(Fase.EJECUCION);
+    }
+
+    /** Marca el fin del mapeo y suma las filas devueltas. */
+    public void mapeado(long filas) {
+        marcar(Fase.MAPEO);
+        this.filas += filas;
+    }
+
+    /** Marca el fin del commit. */
+    public void confirmado() {
+        marcar(Fase.COMMIT);
+    }
+
+    /** Suma filas afectadas o devueltas sin marcar fase. */
+    public void filas(long filas) {
+        this.filas += filas;
+    }
+
+    /** Marca la llamada como fallida. */
+    public void fallo() {
+        this.error = true;
+    }
+
+    /** Registra la llamada y libera la medición para reutilizarla. */
+    public void terminar() {
+        if (operacion == null) {
+            return;
+        }
+        operacion.registrar(System.nanoTime() - inicio, filas, error);
+        operacion = null;
+        if (pila != null) {
+            pila.liberar(this);
+        }
+    }
+
+    private void marcar(Fase fase) {
+        if (operacion == null) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        operacion.registrarFase(fase, ahora - ultimaMarca);
+        ultimaMarca = ahora;
+    }
+}
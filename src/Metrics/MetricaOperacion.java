@@ -0,0 +1,169 @@
+package Metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas acumuladas de una operación (p. ej. "EmpleadoDAO.leer"):
+ * llamadas, errores, filas y latencia total y por {@link Fase}.
+ *
+ * Se obtiene una sola vez con {@link Metricas#operacion(String)} y se
+ * guarda en un campo static final; cada llamada se mide con
+ * {@link #iniciar()}. Registrar no bloquea ni reserva memoria: contadores
+ * LongAdder e histogramas de tamaño fijo.
+ */
+public final class MetricaOperacion implements MetricaOperacionMBean {
+
+    private final String nombre;
+    private final LongAdder llamadas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder filas = new LongAdder();
+    private final Histograma latencia = new Histograma();
+
+    /** Histogramas por fase, creados la primera vez que la operación marca esa fase */
+    private final AtomicReferenceArray<Histograma> fases = new AtomicReferenceArray<>(Fase.values().length);
+
+    MetricaOperacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Comienza a medir una llamada en el hilo actual.
+     *
+     * @return medición a cerrar con {@link Medicion#terminar()}
+     */
+    public Medicion iniciar() {
+        if (!Metricas.HABILITADAS) {
+            return Medicion.NULA;
+        }
+        return PilaMediciones.tomar(this);
+    }
+
+    void registrar(long nanos, long filasLlamada, boolean error) {
+        llamadas.increment();
+        if (error) {
+            errores.increment();
+        }
+        if (filasLlamada > 0) {
+            filas.add(filasLlamada);
+        }
+        latencia.registrar(nanos);
+    }
+
+    void registrarFase(Fase fase, long nanos) {
+        Histograma h = fases.get(fase.ordinal());
+        if (h == null) {
+            fases.compareAndSet(fase.ordinal(), null, new Histograma());
+            h = fases.get(fase.ordinal());
+        }
+        h.registrar(nanos);
+    }
+
+    /** @return histograma de latencia total en nanosegundos */
+    public Histograma getLatencia() {
+        return latencia;
+    }
+
+    /** @return histograma de la fase en nanosegundos, o null si nunca se marcó */
+    public Histograma getFase(Fase fase) {
+        return fases.get(fase.ordinal());
+    }
+
+    @Override
+    public String getNombre() {
+        return nombre;
+    }
+
+    @Override
+    public long getLlamadas() {
+        return llamadas.sum();
+    }
+
+    @Override
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    @Override
+    public long getFilas() {
+        return filas.sum();
+    }
+
+    @Override
+    public double getPromedioMs() {
+        return latencia.getPromedio() / 1_000_000.0;
+    }
+
+    @Override
+    public double getP50Ms() {
+        return ms(latencia.percentil(50));
+    }
+
+    @Override
+    public double getP99Ms() {
+        return ms(latencia.percentil(99));
+    }
+
+    @Override
+    public double getP999Ms() {
+        return ms(latencia.percentil(99.9));
+    }
+
+    @Override
+    public double getMaximoMs() {
+        return ms(latencia.getMaximo());
+    }
+
+    @Override
+    public double getConexionP99Ms() {
+        return p99Fase(Fase.CONEXION);
+    }
+
+    @Override
+    public double getEjecucionP99Ms() {
+        return p99Fase(Fase.EJECUCION);
+    }
+
+    @Override
+    public double getMapeoP99Ms() {
+        return p99Fase(Fase.MAPEO);
+    }
+
+    @Override
+    public double getCommitP99Ms() {
+        return p99Fase(Fase.COMMIT);
+    }
+
+    @Override
+    public void reiniciar() {
+        llamadas.reset();
+        errores.reset();
+        filas.reset();
+        latencia.reiniciar();
+        for (int i = 0; i < fases.length(); i++) {
+            Histograma h = fases.get(i);
+            if (h != null) {
+                h.reiniciar();
+            }
+        }
+    }
+
+    private double p99Fase(Fase fase) {
+        Histograma h = getFase(fase);
+        return h == null ? 0.0 : ms(h.percentil(99));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricaOperacion{" +
+                "nombre='" + nombre + '\'' +
+                ", llamadas=" + getLlamadas() +
+                ", errores=" + getErrores() +
+                ", p99Ms=" + getP99Ms() +
+                '}';
+    }
+}
@@ -0,0 +1,36 @@
+package Metrics;
+
+/**
+ * Vista JMX de una {@link MetricaOperacion}. Las latencias van en milisegundos.
+ */
+public interface MetricaOperacionMBean {
+
+    String getNombre();
+
+    long getLlamadas();
+
+    long getErrores();
+
+    long getFilas();
+
+    double getPromedioMs();
+
+    double getP50Ms();
+
+    double getP99Ms();
+
+    double getP999Ms();
+
+    double getMaximoMs();
+
+    double getConexionP99Ms();
+
+    double getEjecucionP99Ms();
+
+    double getMapeoP99Ms();
+
+    double getCommitP99Ms();
+
+    /** Descarta lo acumulado (p. ej. después de un despliegue o una prueba). */
+    void reiniciar();
+}
@@ -0,0 +1,211 @@
+package Metrics;
+
+import Cache.CacheEntidades;
+import Cache.LruCache;
+import Config.DatabaseConnection;
+import Config.StatementCache;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registro de métricas por operación de DAOs y servicios.
+ *
+ * - metrics.enabled (true por defecto): con false, iniciar() devuelve una
+ *   medición que no registra nada.
+ * - metrics.jmx (true por defecto): publica cada operación como MBean
+ *   "empresa:type=Operacion,name=..." y los recursos (pool, caches) como
+ *   "empresa:type=Recursos".
+ *
+ * {@link #exportarPrometheus()} devuelve todo en formato de texto Prometheus.
+ */
+public final class Metricas {
+
+    static final boolean HABILITADAS = Boolean.parseBoolean(System.getProperty("metrics.enabled", "true"));
+    private static final boolean JMX = Boolean.parseBoolean(System.getProperty("metrics.jmx", "true"));
+
+    private static final double[] CUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final ConcurrentMap<String, MetricaOperacion> OPERACIONES = new ConcurrentHashMap<>();
+
+    static {
+        registrarMBean("empresa:type=Recursos", new Recursos());
+    }
+
+    private Metricas() {
+        throw new UnsupportedOperationException("Clase utilitaria: no debe instanciarse.");
+    }
+
+    /**
+     * Obtiene (o crea y publica) la métrica de una operación.
+     * Pensado para inicializar campos static final, no para cada llamada.
+     *
+     * @param nombre nombre "Clase.metodo", p. ej. "EmpleadoDAO.leer"
+     */
+    public static MetricaOperacion operacion(String nombre) {
+        return OPERACIONES.computeIfAbsent(nombre, n -> {
+            MetricaOperacion m = new MetricaOperacion(n);
+            registrarMBean("empresa:type=Operacion,name=" + ObjectName.quote(n), m);
+            return m;
+        });
+    }
+
+    /** @return todas las operaciones registradas, ordenadas por nombre */
+    public static List<MetricaOperacion> operaciones() {
+        List<MetricaOperacion> lista = new ArrayList<>(OPERACIONES.values());
+        lista.sort((a, b) -> a.getNombre().compareTo(b.getNombre()));
+        return Collections.unmodifiableList(lista);
+    }
+
+    /** Reinicia los acumulados de todas las operaciones. */
+    public static void reiniciar() {
+        for (MetricaOperacion m : OPERACIONES.values()) {
+            m.reiniciar();
+        }
+    }
+
+    /**
+     * Vuelca operaciones, pool, cache de statements y caches de entidades en
+     * formato de texto de Prometheus (latencias en segundos, como summary).
+     */
+    public static String exportarPrometheus() {
+        StringBuilder sb = new StringBuilder(8192);
+        Collection<MetricaOperacion> ops = operaciones();
+
+        encabezado(sb, "empresa_operacion_llamadas_total", "counter", "Llamadas por operacion");
+        for (MetricaOperacion m : ops) {
+            linea(sb, "empresa_operacion_llamadas_total", etiquetaOperacion(m), m.getLlamadas());
+        }
+        encabezado(sb, "empresa_operacion_errores_total", "counter", "Llamadas fallidas por operacion");
+        for (MetricaOperacion m : ops) {
+            linea(sb, "empresa_operacion_errores_total", etiquetaOperacion(m), m.getErrores());
+        }
+        encabezado(sb, "empresa_operacion_filas_total", "counter", "Filas devueltas o afectadas por operacion");
+        for (MetricaOperacion m : ops) {
+            linea(sb, "empresa_operacion_filas_total", etiquetaOperacion(m), m.getFilas());
+        }
+
+        encabezado(sb, "empresa_operacion_latencia_segundos", "summary", "Latencia total por operacion");
+        for (MetricaOperacion m : ops) {
+            resumen(sb, "empresa_operacion_latencia_segundos", etiquetaOperacion(m), m.getLatencia());
+        }
+        encabezado(sb, "empresa_operacion_fase_segundos", "summary", "Latencia por operacion y fase");
+        for (MetricaOperacion m : ops) {
+            for (Fase fase : Fase.values()) {
+                Histograma h = m.getFase(fase);
+                if (h != null) {
+                    resumen(sb, "empresa_operacion_fase_segundos",
+                            etiquetaOperacion(m) + ",fase=\"" + fase.getEtiqueta() + "\"", h);
+                }
+            }
+        }
+
+        encabezado(sb, "empresa_pool_conexiones", "gauge", "Conexiones del pool por estado");
+        linea(sb, "empresa_pool_conexiones", "estado=\"total\"", DatabaseConnection.getTotalConnections());
+        linea(sb, "empresa_pool_conexiones", "estado=\"en_uso\"", DatabaseConnection.getActiveConnections());
+        linea(sb, "empresa_pool_conexiones", "estado=\"libres\"", DatabaseConnection.getIdleConnections());
+        linea(sb, "empresa_pool_conexiones", "estado=\"maximo\"", DatabaseConnection.getMaxPoolSize());
+        encabezado(sb, "empresa_pool_hilos_esperando", "gauge", "Hilos esperando una conexion");
+        linea(sb, "empresa_pool_hilos_esperando", null, DatabaseConnection.getPendingThreads());
+
+        encabezado(sb, "empresa_circuito_estado", "gauge", "Estado del circuit breaker del pool (1 = estado actual)");
+        String estadoCircuito = DatabaseConnection.getCircuitState();
+        for (String estado : List.of("CERRADO", "ABIERTO", "SEMI_ABIERTO")) {
+            linea(sb, "empresa_circuito_estado", "estado=\"" + estado.toLowerCase() + "\"", estado.equals(estadoCircuito) ? 1 : 0);
+        }
+        encabezado(sb, "empresa_circuito_transiciones_total", "counter", "Transiciones del circuit breaker por estado destino");
+        linea(sb, "empresa_circuito_transiciones_total", "hacia=\"abierto\"", DatabaseConnection.getCircuitOpenings());
+        linea(sb, "empresa_circuito_transiciones_total", "hacia=\"semi_abierto\"", DatabaseConnection.getCircuitHalfOpenings());
+        linea(sb, "empresa_circuito_transiciones_total", "hacia=\"cerrado\"", DatabaseConnection.getCircuitClosings());
+        encabezado(sb, "empresa_circuito_rechazos_total", "counter", "Prestamos rechazados con el circuito abierto");
+        linea(sb, "empresa_circuito_rechazos_total", null, DatabaseConnection.getCircuitRejections());
+
+        if (DatabaseConnection.getReplicaCount() > 0) {
+            encabezado(sb, "empresa_lecturas_total", "counter", "Lecturas fuera de transaccion por destino");
+            linea(sb, "empresa_lecturas_total", "destino=\"replica\"", DatabaseConnection.getReplicaReads());
+            linea(sb, "empresa_lecturas_total", "destino=\"primario\"", DatabaseConnection.getPrimaryFallbackReads());
+            encabezado(sb, "empresa_replica_fallos_total", "counter", "Prestamos fallidos en replicas");
+            linea(sb, "empresa_replica_fallos_total", null, DatabaseConnection.getReplicaFailures());
+            encabezado(sb, "empresa_replica_conexiones_en_uso", "gauge", "Conexiones de replicas prestadas");
+            linea(sb, "empresa_replica_conexiones_en_uso", null, DatabaseConnection.getActiveReplicaConnections());
+        }
+
+        encabezado(sb, "empresa_statement_cache_total", "counter", "Accesos al cache de PreparedStatement");
+        linea(sb, "empresa_statement_cache_total", "resultado=\"hit\"", StatementCache.getHits());
+        linea(sb, "empresa_statement_cache_total", "resultado=\"miss\"", StatementCache.getMisses());
+        linea(sb, "empresa_statement_cache_total", "resultado=\"eviction\"", StatementCache.getEvictions());
+
+        encabezado(sb, "empresa_cache_total", "counter", "Accesos a los caches de entidades");
+        for (LruCache<?, ?> cache : List.of(CacheEntidades.EMPLEADOS, CacheEntidades.DNI_A_ID, CacheEntidades.LEGAJOS)) {
+            String c = "cache=\"" + cache.getNombre() + "\"";
+            linea(sb, "empresa_cache_total", c + ",resultado=\"hit\"", cache.getHits());
+            linea(sb, "empresa_cache_total", c + ",resultado=\"miss\"", cache.getMisses());
+            linea(sb, "empresa_cache_total", c + ",resultado=\"eviction\"", cache.getEvictions());
+            linea(sb, "empresa_cache_total", c + ",resultado=\"expiracion\"", cache.getExpiraciones());
+        }
+        encabezado(sb, "empresa_cache_entradas", "gauge", "Entradas en los caches de entidades");
+        for (LruCache<?, ?> cache : List.of(CacheEntidades.EMPLEADOS, CacheEntidades.DNI_A_ID, CacheEntidades.LEGAJOS)) {
+            linea(sb, "empresa_cache_entradas", "cache=\"" + cache.getNombre() + "\"", cache.getTamanio());
+        }
+        linea(sb, "empresa_cache_entradas", "cache=\"indice_dni\"", CacheEntidades.DNIS.getTamanio());
+        return sb.toString();
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    private static void registrarMBean(String nombre, Object mbean) {
+        if (!JMX) {
+            return;
+        }
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objeto = new ObjectName(nombre);
+            if (!servidor.isRegistered(objeto)) {
+                servidor.registerMBean(mbean, objeto);
+            }
+        } catch (JMException e) {
+            System.err.println("No se pudo publicar el MBean " + nombre + ": " + e.getMessage());
+        }
+    }
+
+    private static String etiquetaOperacion(MetricaOperacion m) {
+        return "operacion=\"" + m.getNombre() + "\"";
+    }
+
+    private static void encabezado(StringBuilder sb, String metrica, String tipo, String ayuda) {
+        sb.append("# HELP ").append(metrica).append(' ').append(ayuda).append('\n');
+        sb.append("# TYPE ").append(metrica).append(' ').append(tipo).append('\n');
+    }
+
+    private static void linea(StringBuilder sb, String metrica, String etiquetas, double valor) {
+        sb.append(metrica);
+        if (etiquetas != null) {
+            sb.append('{').append(etiquetas).append('}');
+        }
+        sb.append(' ');
+        if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            sb.append((long) valor);
+        } else {
+            sb.append(String.format(Locale.ROOT, "%.9f", valor));
+        }
+        sb.append('\n');
+    }
+
+    private static void resumen(StringBuilder sb, String metrica, String etiquetas, Histograma h) {
+        for (double q : CUANTILES) {
+            linea(sb, metrica, etiquetas + ",quantile=\"" + q + "\"", h.percentil(q * 100) / 1e9);
+        }
+        linea(sb, metrica + "_sum", etiquetas, h.getSuma() / 1e9);
+        linea(sb, metrica + "_count", etiquetas, h.getCantidad());
+    }
+}
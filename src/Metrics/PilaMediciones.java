@@ -0,0 +1,51 @@
+package Metrics;
+
+import java.util.Arrays;
+
+/**
+ * Mediciones reutilizables de un hilo, una por nivel de anidamiento.
+ * Solo reserva memoria la primera vez que el hilo alcanza cada nivel.
+ *
+ * Los hilos virtuales no tienen pila: se crea uno por tarea, así que la pila
+ * y su arreglo costarían más que crear la medición en cada llamada.
+ */
+final class PilaMediciones {
+
+    private static final ThreadLocal<PilaMediciones> DEL_HILO = ThreadLocal.withInitial(PilaMediciones::new);
+
+    private Medicion[] mediciones = new Medicion[4];
+    private int tope;
+
+    static Medicion tomar(MetricaOperacion operacion) {
+        if (Thread.currentThread().isVirtual()) {
+            Medicion m = new Medicion(null);
+            m.empezar(operacion);
+            return m;
+        }
+        PilaMediciones pila = DEL_HILO.get();
+        if (pila.tope == pila.mediciones.length) {
+            pila.mediciones = Arrays.copyOf(pila.mediciones, pila.tope * 2);
+        }
+        Medicion m = pila.mediciones[pila.tope];
+        if (m == null) {
+            m = new Medicion(pila);
+            pila.mediciones[pila.tope] = m;
+        }
+        pila.tope++;
+        m.empezar(operacion);
+        return m;
+    }
+
+    /*
+     * Las mediciones terminan en orden inverso al de inicio (finally anidados);
+     * si alguna quedó sin terminar, se libera junto con las de encima.
+     */
+    void liberar(Medicion m) {
+        for (int i = tope - 1; i >= 0; i--) {
+            if (mediciones[i] == m) {
+                tope = i;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package Metrics;
+
+import Cache.CacheEntidades;
+import Config.DatabaseConnection;
+import Config.StatementCache;
+
+/**
+ * Expone por JMX los contadores que ya llevan DatabaseConnection,
+ * StatementCache y CacheEntidades (no duplica ningún contador).
+ */
+public final class Recursos implements RecursosMBean {
+
+    Recursos() {
+    }
+
+    @Override
+    public int getConexionesTotales() {
+        return DatabaseConnection.getTotalConnections();
+    }
+
+    @Override
+    public int getConexionesEnUso() {
+        return DatabaseConnection.getActiveConnections();
+    }
+
+    @Override
+    public int getConexionesLibres() {
+        return DatabaseConnection.getIdleConnections();
+    }
+
+    @Override
+    public int getHilosEsperandoConexion() {
+        return DatabaseConnection.getPendingThreads();
+    }
+
+    @Override
+    public int getMaximoConexiones() {
+        return DatabaseConnection.getMaxPoolSize();
+    }
+
+    @Override
+    public String getEstadoCircuito() {
+        return DatabaseConnection.getCircuitState();
+    }
+
+    @Override
+    public long getRechazosCircuito() {
+        return DatabaseConnection.getCircuitRejections();
+    }
+
+    @Override
+    public long getAperturasCircuito() {
+        return DatabaseConnection.getCircuitOpenings();
+    }
+
+    @Override
+    public long getLecturasReplica() {
+        return DatabaseConnection.getReplicaReads();
+    }
+
+    @Override
+    public long getLecturasPrimario() {
+        return DatabaseConnection.getPrimaryFallbackReads();
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return StatementCache.getHits();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return StatementCache.getMisses();
+    }
+
+    @Override
+    public double getStatementCacheHitRatio() {
+        return StatementCache.getHitRatio();
+    }
+
+    @Override
+    public double getCacheEmpleadosHitRatio() {
+        return CacheEntidades.EMPLEADOS.getHitRatio();
+    }
+
+    @Override
+    public double getCacheLegajosHitRatio() {
+        return CacheEntidades.LEGAJOS.getHitRatio();
+    }
+
+    @Override
+    public int getIndiceDniTamanio() {
+        return CacheEntidades.DNIS.getTamanio();
+    }
+}
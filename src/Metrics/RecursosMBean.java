@@ -0,0 +1,39 @@
+package Metrics;
+
+/**
+ * Vista JMX del pool de conexiones, el cache de statements y los caches de entidades.
+ */
+public interface RecursosMBean {
+
+    int getConexionesTotales();
+
+    int getConexionesEnUso();
+
+    int getConexionesLibres();
+
+    int getHilosEsperandoConexion();
+
+    int getMaximoConexiones();
+
+    String getEstadoCircuito();
+
+    long getRechazosCircuito();
+
+    long getAperturasCircuito();
+
+    long getLecturasReplica();
+
+    long getLecturasPrimario();
+
+    long getStatementCacheHits();
+
+    long getStatementCacheMisses();
+
+    double getStatementCacheHitRatio();
+
+    double getCacheEmpleadosHitRatio();
+
+    double getCacheLegajosHitRatio();
+
+    int getIndiceDniTamanio();
+}
@@ -0,0 +1,113 @@
+package Service;
+
+import Cache.Agrupacion;
+import Cache.AlmacenColumnar;
+import Cache.AlmacenColumnar.Dimension;
+import Cache.AlmacenColumnar.Filtro;
+import Cache.CacheEntidades;
+import Config.DeadlineExceededException;
+import Dao.EmpleadoDAO;
+import Dao.EmpleadoDAOImpl;
+import Metrics.Medicion;
+import Metrics.MetricaOperacion;
+import Metrics.Metricas;
+import java.time.LocalDate;
+
+/**
+ * Reportes de dotación sobre el almacén columnar en memoria
+ * ({@link CacheEntidades#ANALITICA}), sin consultar la BD.
+ *
+ * La primera consulta carga el almacén con un recorrido de la tabla
+ * empleados; después lo mantienen los Services de Empleado y Legajo con
+ * cada modificación confirmada. Los cambios hechos fuera de la aplicación
+ * se ven recién tras {@link #recargar()}.
+ */
+public class AnaliticaEmpleados {
+
+    private static final MetricaOperacion M_CARGAR = Metricas.operacion("AnaliticaEmpleados.cargar");
+    private static final MetricaOperacion M_CONSULTAR = Metricas.operacion("AnaliticaEmpleados.consultar");
+
+    private final EmpleadoDAO empleadoDAO;
+
+    public AnaliticaEmpleados() {
+        this.empleadoDAO = new EmpleadoDAOImpl();
+    }
+
+    /** Empleados activos por área y estado del legajo. */
+    public Agrupacion dotacionPorAreaYEstado() throws Exception {
+        return agrupar(Dimension.AREA, Dimension.ESTADO, new Filtro());
+    }
+
+    /** Antigüedad promedio (en días, a hoy) de los empleados activos por categoría. */
+    public Agrupacion antiguedadPorCategoria() throws Exception {
+        return antiguedad(Dimension.CATEGORIA, null, new Filtro(), LocalDate.now());
+    }
+
+    /** @return cantidad de empleados que cumplen el filtro */
+    public long contar(Filtro filtro) throws Exception {
+        cargar();
+        Medicion m = M_CONSULTAR.iniciar();
+        try {
+            return CacheEntidades.ANALITICA.contar(filtro);
+        } catch (RuntimeException e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+
+    /** Conteo agrupado por una o dos dimensiones (columnas null = una sola). */
+    public Agrupacion agrupar(Dimension filas, Dimension columnas, Filtro filtro) throws Exception {
+        cargar();
+        Medicion m = M_CONSULTAR.iniciar();
+        try {
+            return CacheEntidades.ANALITICA.agrupar(filas, columnas, filtro);
+        } catch (RuntimeException e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+
+    /** Conteo agrupado con la antigüedad promedio a la fecha de referencia. */
+    public Agrupacion antiguedad(Dimension filas, Dimension columnas, Filtro filtro, LocalDate referencia) throws Exception {
+        cargar();
+        Medicion m = M_CONSULTAR.iniciar();
+        try {
+            return CacheEntidades.ANALITICA.antiguedad(filas, columnas, filtro, referencia);
+        } catch (RuntimeException e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+
+    /** Descarta el almacén y lo vuelve a cargar desde la BD. */
+    public void recargar() throws Exception {
+        CacheEntidades.ANALITICA.invalidar();
+        cargar();
+    }
+
+    private void cargar() throws Exception {
+        AlmacenColumnar almacen = CacheEntidades.ANALITICA;
+        if (almacen.isCargado()) {
+            return;
+        }
+        Medicion m = M_CARGAR.iniciar();
+        try {
+            almacen.cargarSiHaceFalta(destino -> empleadoDAO.recorrerResumen(destino::agregar));
+            m.filas(almacen.getFilas());
+        } catch (IllegalStateException | DeadlineExceededException e) {
+            m.fallo();
+            throw e;
+        } catch (Exception e) {
+            m.fallo();
+            throw new Exception("Error al cargar el almacén analítico: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+}
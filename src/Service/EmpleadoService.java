@@ -1,6 +1,9 @@
 package Service;
 
+import Dao.CriterioBusqueda;
+import Dao.ResultadoUpsert;
 import Entities.Empleado;
+import java.util.List;
 
 /**
  * Servicio de negocio para Empleado con validaciones y transacciones.
@@ -13,4 +16,17 @@ public interface EmpleadoService extends GenericService<Empleado> {
     
     // Crea empleado con legajo en transacción ACID (ambos o ninguno).
     void crearEmpleadoConLegajo(Empleado empleado) throws Exception;
+
+    // Crea muchos empleados (con su legajo, si lo tienen) en transacciones por lotes.
+    // Las filas que fallan se informan en el resultado sin abortar la carga.
+    ResultadoCarga crearEmpleadosConLegajo(List<Empleado> empleados) throws Exception;
+
+    // Sincroniza empleados por DNI: inserta los nuevos y actualiza los existentes,
+    // varios miles por transacción. Los dados de baja no se reactivan.
+    // Devuelve un resultado por empleado, en orden.
+    List<ResultadoUpsert> sincronizarPorDni(List<Empleado> empleados) throws Exception;
+
+    // Busca empleados activos por area, rango de ingreso, estado/categoria del
+    // legajo y prefijo de nombre, paginando con cursor como getPagina.
+    Pagina<Empleado> buscar(CriterioBusqueda criterio, Long cursor, int tamanio) throws Exception;
 }
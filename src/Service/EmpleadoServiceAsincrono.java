@@ -0,0 +1,45 @@
+package Service;
+
+import Dao.CriterioBusqueda;
+import Entities.Empleado;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variantes asincrónicas de {@link EmpleadoService}; ver {@link ServicioAsincrono}
+ * para el modelo de ejecución, el bulkhead y la cancelación.
+ *
+ * Uso (fan-out de un reporte):
+ * <pre>
+ * EmpleadoServiceAsincrono async = new EmpleadoServiceAsincrono(new EmpleadoServiceImpl());
+ * List&lt;Empleado&gt; empleados = async.getByIds(ids).get(2, TimeUnit.SECONDS);
+ * </pre>
+ */
+public class EmpleadoServiceAsincrono extends ServicioAsincrono<Empleado> {
+
+    private final EmpleadoService servicio;
+
+    public EmpleadoServiceAsincrono(EmpleadoService servicio) {
+        super(servicio);
+        this.servicio = servicio;
+    }
+
+    public CompletableFuture<Empleado> buscarPorDni(String dni) {
+        return ejecutar(() -> servicio.buscarPorDni(dni));
+    }
+
+    public CompletableFuture<Void> crearEmpleadoConLegajo(Empleado empleado) {
+        return ejecutar(() -> {
+            servicio.crearEmpleadoConLegajo(empleado);
+            return null;
+        });
+    }
+
+    public CompletableFuture<ResultadoCarga> crearEmpleadosConLegajo(List<Empleado> empleados) {
+        return ejecutar(() -> servicio.crearEmpleadosConLegajo(empleados));
+    }
+
+    public CompletableFuture<Pagina<Empleado>> buscar(CriterioBusqueda criterio, Long cursor, int tamanio) {
+        return ejecutar(() -> servicio.buscar(criterio, cursor, tamanio));
+    }
+}
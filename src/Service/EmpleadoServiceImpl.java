@@ -1,24 +1,68 @@
 package Service;
 
+import Cache.CacheEntidades;
 import Config.DatabaseConnection;
+import Config.DeadlineExceededException;
 import Config.TransactionManager;
+import Dao.CriterioBusqueda;
+import Dao.Dotacion;
+import Dao.DotacionDAO;
+import Dao.DotacionDAOImpl;
 import Dao.EmpleadoDAO;
 import Dao.EmpleadoDAOImpl;
 import Dao.LegajoDAO;
 import Dao.LegajoDAOImpl;
+import Dao.Orden;
+import Dao.ResultadoUpsert;
 import Entities.Empleado;
+import Entities.Estado;
 import Entities.Legajo;
+import Metrics.Medicion;
+import Metrics.MetricaOperacion;
+import Metrics.Metricas;
 import java.sql.Connection;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * Implementación del servicio de negocio para la entidad Empleado.
  * Aplica validaciones y coordina transacciones entre Empleado y Legajo usando TransactionManager.
+ * 
+ * Las lecturas por ID y por DNI pasan por CacheEntidades; las escrituras
+ * actualizan o invalidan el cache (y el almacén analítico) recién después
+ * del commit. La tabla resumen dotacion, en cambio, se actualiza dentro de
+ * la misma transacción que cada alta, baja o cambio de área.
  */
 public class EmpleadoServiceImpl implements EmpleadoService {
+    /** Formato de email aceptado por validarEmpleado() */
+    private static final Pattern PATRON_EMAIL = Pattern.compile("^[\\w._%+-]+@[\\w.-]+\\.[a-zA-Z]{2,}$");
+    
+    /** Tamaño máximo de página aceptado por getPagina() */
+    private static final int TAMANIO_MAX_PAGINA = 500;
+    
+    // Métricas por operación (ver Metrics.Metricas): conexión y commit se miden acá,
+    // ejecución y mapeo en los DAOs.
+    private static final MetricaOperacion M_INSERTAR = Metricas.operacion("EmpleadoService.insertar");
+    private static final MetricaOperacion M_CREAR_CON_LEGAJO = Metricas.operacion("EmpleadoService.crearEmpleadoConLegajo");
+    private static final MetricaOperacion M_CREAR_LOTE = Metricas.operacion("EmpleadoService.crearEmpleadosConLegajo");
+    private static final MetricaOperacion M_SINCRONIZAR = Metricas.operacion("EmpleadoService.sincronizarPorDni");
+    private static final MetricaOperacion M_ACTUALIZAR = Metricas.operacion("EmpleadoService.actualizar");
+    private static final MetricaOperacion M_ELIMINAR = Metricas.operacion("EmpleadoService.eliminar");
+    private static final MetricaOperacion M_GET_BY_ID = Metricas.operacion("EmpleadoService.getById");
+    private static final MetricaOperacion M_GET_ALL = Metricas.operacion("EmpleadoService.getAll");
+    private static final MetricaOperacion M_GET_PAGINA = Metricas.operacion("EmpleadoService.getPagina");
+    private static final MetricaOperacion M_BUSCAR = Metricas.operacion("EmpleadoService.buscar");
+    private static final MetricaOperacion M_POR_DNI = Metricas.operacion("EmpleadoService.buscarPorDni");
+    
     private final EmpleadoDAO empleadoDAO;
     private final LegajoDAO legajoDAO;
+    private final DotacionDAO dotacionDAO;
     
     /**
      * Constructor que inicializa los DAOs necesarios.
@@ -27,29 +71,47 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     public EmpleadoServiceImpl() {
         this.empleadoDAO = new EmpleadoDAOImpl();
         this.legajoDAO = new LegajoDAOImpl();
+        this.dotacionDAO = new DotacionDAOImpl();
     }
     
     /**
      * Inserta un empleado sin legajo asociado.
      * Valida datos obligatorios y unicidad del DNI.
+     * La validación del DNI corre dentro de la transacción, sobre la misma conexión.
      *
      * @param empleado Empleado a insertar
      * @throws Exception Si la validación falla o hay error de BD
      */
     @Override
     public void insertar(Empleado empleado) throws Exception {
-        validarEmpleado(empleado);
-        validarDniUnico(empleado.getDni(), null);
+        Medicion m = M_INSERTAR.iniciar();
+        try {
+            validarEmpleado(empleado);
+            prepararIndiceDni();
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             TransactionManager tx = new TransactionManager(conn)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 TransactionManager tx = new TransactionManager(conn)) {
+                m.conectado();
             
-            tx.startTransaction();
-            empleadoDAO.crear(empleado, conn);
-            tx.commit();
+                tx.startTransaction();
+                validarDniUnico(empleado.getDni(), null);
+                empleadoDAO.crear(empleado, conn);
+                dotacionDAO.sumar(List.of(new Dotacion(empleado.getArea(), null, 1)), conn);
+                tx.afterCommit(() -> registrarAlta(empleado));
+                m.ejecutado();
+                tx.commit();
+                m.confirmado();
             
+            } catch (IllegalArgumentException | DeadlineExceededException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new Exception("Error al insertar empleado: " + e.getMessage(), e);
+            }
         } catch (Exception e) {
-            throw new Exception("Error al insertar empleado: " + e.getMessage(), e);
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
         }
     }
     
@@ -62,32 +124,287 @@ public class EmpleadoServiceImpl implements EmpleadoService {
      */
     @Override
     public void crearEmpleadoConLegajo(Empleado empleado) throws Exception {
-        // Validar datos antes de iniciar transacción
-        validarEmpleado(empleado);
-        validarDniUnico(empleado.getDni(), null);
+        Medicion m = M_CREAR_CON_LEGAJO.iniciar();
+        try {
+            // Validar datos antes de iniciar transacción
+            validarEmpleado(empleado);
         
-        if (empleado.getLegajo() != null) {
-            validarLegajo(empleado.getLegajo());
+            if (empleado.getLegajo() != null) {
+                validarLegajo(empleado.getLegajo());
+            }
+            prepararIndiceDni();
+        
+            // Ejecutar transacción
+            try (Connection conn = DatabaseConnection.getConnection();
+                 TransactionManager tx = new TransactionManager(conn)) {
+                m.conectado();
+            
+                tx.startTransaction();
+            
+                // DNI único: consulta sobre la conexión de la transacción
+                validarDniUnico(empleado.getDni(), null);
+            
+                // Insertar empleado (obtiene ID autogenerado)
+                empleadoDAO.crear(empleado, conn);
+            
+                // Insertar legajo con FK empleado_id
+                if (empleado.getLegajo() != null) {
+                    legajoDAO.crearLegajo(empleado.getLegajo(), conn, empleado.getId());
+                }
+                dotacionDAO.sumar(List.of(claveDeAlta(empleado)), conn);
+            
+                tx.afterCommit(() -> registrarAlta(empleado));
+                m.ejecutado();
+                tx.commit();
+                m.confirmado();
+            
+            } catch (IllegalArgumentException | DeadlineExceededException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new Exception("Error al crear empleado con legajo: " + e.getMessage(), e);
+            }
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+    
+    /**
+     * Crea una carga masiva de empleados (y sus legajos) en lotes.
+     * 
+     * 1. Valida cada fila (mismas reglas que crearEmpleadoConLegajo) y detecta
+     *    DNI / número de legajo repetidos dentro de la misma carga.
+     * 2. Inserta las filas válidas con executeBatch, un lote por transacción
+     *    (tamaño: DatabaseConnection.getBatchSize()).
+     * 3. Si un lote falla (p. ej. un DNI que ya existe en la BD) se revierte
+     *    y sus filas se reintentan de a una, para aislar las que fallan.
+     *
+     * @param empleados Empleados a crear; los que tengan Legajo se crean con él
+     * @return Resultado con la cantidad creada y el motivo de cada falla
+     * @throws Exception Si la lista es null
+     */
+    @Override
+    public ResultadoCarga crearEmpleadosConLegajo(List<Empleado> empleados) throws Exception {
+        Medicion m = M_CREAR_LOTE.iniciar();
+        try {
+            if (empleados == null) {
+                throw new IllegalArgumentException("La lista de empleados no puede ser null");
+            }
+            ResultadoCarga resultado = new ResultadoCarga(empleados.size());
+            prepararIndiceDni();
+        
+            // Validaciones sin acceso a BD
+            List<Integer> validos = new ArrayList<>();
+            Set<String> dnis = new HashSet<>();
+            Set<String> nrosLegajo = new HashSet<>();
+            for (int i = 0; i < empleados.size(); i++) {
+                Empleado empleado = empleados.get(i);
+                try {
+                    validarEmpleado(empleado);
+                    if (empleado.getLegajo() != null) {
+                        validarLegajo(empleado.getLegajo());
+                    }
+                    if (!dnis.add(empleado.getDni().trim())) {
+                        throw new IllegalArgumentException("DNI repetido en la carga: " + empleado.getDni());
+                    }
+                    // Sólo los DNI que el índice no descarta se confirman en la BD
+                    if (dniPuedeExistir(empleado.getDni().trim()) && buscarEnCache(empleado.getDni().trim(), false) != null) {
+                        throw new IllegalArgumentException("Ya existe un empleado con el DNI: " + empleado.getDni());
+                    }
+                    if (empleado.getLegajo() != null && !nrosLegajo.add(empleado.getLegajo().getNroLegajo().trim())) {
+                        throw new IllegalArgumentException("Número de legajo repetido en la carga: " + empleado.getLegajo().getNroLegajo());
+                    }
+                    validos.add(i);
+                } catch (IllegalArgumentException e) {
+                    resultado.registrarFalla(i, empleado, e.getMessage());
+                }
+            }
+        
+            // Inserción por lotes, una transacción por lote
+            int tamanioLote = DatabaseConnection.getBatchSize();
+            for (int desde = 0; desde < validos.size(); desde += tamanioLote) {
+                List<Integer> lote = validos.subList(desde, Math.min(desde + tamanioLote, validos.size()));
+                try {
+                    insertarLote(empleados, lote);
+                    resultado.registrarCreados(lote.size());
+                } catch (DeadlineExceededException e) {
+                    // Sin plazo no tiene sentido reintentar fila por fila
+                    throw e;
+                } catch (Exception e) {
+                    // El lote se revirtió entero: se reintenta fila por fila
+                    for (int indice : lote) {
+                        Empleado empleado = empleados.get(indice);
+                        limpiarIds(empleado);
+                        try {
+                            crearEmpleadoConLegajo(empleado);
+                            resultado.registrarCreados(1);
+                        } catch (DeadlineExceededException ex) {
+                            throw ex;
+                        } catch (Exception ex) {
+                            limpiarIds(empleado);
+                            resultado.registrarFalla(indice, empleado, ex.getMessage());
+                        }
+                    }
+                }
+            }
+            return resultado;
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+    
+    /**
+     * Sincroniza empleados contra la BD usando el DNI como clave natural.
+     * Cada empleado se resuelve con un único upsert (un viaje a la BD); los
+     * empleados se agrupan en transacciones de DatabaseConnection.getBatchSize().
+     * Si un lote falla se revierte completo y se propaga el error: los lotes
+     * anteriores ya quedaron confirmados.
+     *
+     * @param empleados Empleados a sincronizar (el legajo no se sincroniza)
+     * @return Un resultado por empleado, en el mismo orden de la lista
+     * @throws Exception Si algún empleado es inválido o falla la BD
+     */
+    @Override
+    public List<ResultadoUpsert> sincronizarPorDni(List<Empleado> empleados) throws Exception {
+        Medicion m = M_SINCRONIZAR.iniciar();
+        try {
+            if (empleados == null) {
+                throw new IllegalArgumentException("La lista de empleados no puede ser null");
+            }
+            for (Empleado empleado : empleados) {
+                validarEmpleado(empleado);
+            }
+        
+            List<ResultadoUpsert> resultados = new ArrayList<>(empleados.size());
+            int tamanioLote = DatabaseConnection.getBatchSize();
+            for (int desde = 0; desde < empleados.size(); desde += tamanioLote) {
+                List<Empleado> lote = empleados.subList(desde, Math.min(desde + tamanioLote, empleados.size()));
+            
+                try (Connection conn = DatabaseConnection.getConnection();
+                     TransactionManager tx = new TransactionManager(conn)) {
+                    m.conectado();
+                
+                    tx.startTransaction();
+                    // Clave actual de los que ya existen, para mover su conteo si cambia el área
+                    Set<String> dnisLote = new LinkedHashSet<>();
+                    for (Empleado empleado : lote) {
+                        dnisLote.add(empleado.getDni());
+                    }
+                    Map<String, Dotacion> claves = dotacionDAO.clavesPorDni(dnisLote, conn);
+                    List<Dotacion> cambios = new ArrayList<>();
+                    List<ResultadoUpsert> parciales = new ArrayList<>(lote.size());
+                    for (Empleado empleado : lote) {
+                        ResultadoUpsert resultado = empleadoDAO.upsertPorDni(empleado, conn);
+                        parciales.add(resultado);
+                        Dotacion anterior = claves.get(empleado.getDni());
+                        if (resultado.isDadoDeBaja()) {
+                            continue; // el upsert no lo reactiva ni lo cuenta
+                        }
+                        Estado estado = anterior != null ? anterior.getEstado() : null;
+                        if (anterior != null) {
+                            cambios.add(new Dotacion(anterior.getArea(), estado, -1));
+                        }
+                        Dotacion nueva = new Dotacion(empleado.getArea(), estado, 1);
+                        cambios.add(nueva);
+                        claves.put(empleado.getDni(), nueva);
+                    }
+                    dotacionDAO.sumar(cambios, conn);
+                    tx.afterCommit(() -> {
+                        for (int i = 0; i < lote.size(); i++) {
+                            CacheEntidades.DNIS.agregar(lote.get(i).getDni());
+                            if (parciales.get(i).isDadoDeBaja()) {
+                                continue;
+                            }
+                            CacheEntidades.EMPLEADOS.invalidar(parciales.get(i).getId());
+                            GestorSnapshot.descartar(parciales.get(i).getId());
+                            CacheEntidades.ANALITICA.actualizarEmpleado(parciales.get(i).getId(),
+                                    lote.get(i).getFechaIngreso(), lote.get(i).getArea());
+                        }
+                    });
+                    m.ejecutado();
+                    tx.commit();
+                    m.confirmado();
+                    resultados.addAll(parciales);
+                
+                } catch (DeadlineExceededException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new Exception("Error al sincronizar empleados (lote desde la fila " + desde + "): " + e.getMessage(), e);
+                }
+            }
+            return resultados;
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+    
+    /**
+     * Inserta un lote de empleados y sus legajos en una única transacción.
+     * La unicidad del DNI la garantiza la restricción UNIQUE de la BD:
+     * un duplicado hace fallar (y revertir) el lote completo.
+     */
+    private void insertarLote(List<Empleado> empleados, List<Integer> indices) throws Exception {
+        List<Empleado> lote = new ArrayList<>(indices.size());
+        for (int indice : indices) {
+            lote.add(empleados.get(indice));
         }
         
-        // Ejecutar transacción
         try (Connection conn = DatabaseConnection.getConnection();
              TransactionManager tx = new TransactionManager(conn)) {
             
             tx.startTransaction();
+            empleadoDAO.crearBatch(lote, conn);
             
-            // Insertar empleado (obtiene ID autogenerado)
-            empleadoDAO.crear(empleado, conn);
-            
-            // Insertar legajo con FK empleado_id
-            if (empleado.getLegajo() != null) {
-                legajoDAO.crearLegajo(empleado.getLegajo(), conn, empleado.getId());
+            List<Legajo> legajos = new ArrayList<>();
+            List<Long> empleadoIds = new ArrayList<>();
+            for (Empleado empleado : lote) {
+                if (empleado.getLegajo() != null) {
+                    legajos.add(empleado.getLegajo());
+                    empleadoIds.add(empleado.getId());
+                }
+            }
+            if (!legajos.isEmpty()) {
+                legajoDAO.crearLegajosBatch(legajos, conn, empleadoIds);
             }
+            List<Dotacion> altas = new ArrayList<>(lote.size());
+            for (Empleado empleado : lote) {
+                altas.add(claveDeAlta(empleado));
+            }
+            dotacionDAO.sumar(altas, conn);
             
+            tx.afterCommit(() -> {
+                for (Empleado empleado : lote) {
+                    CacheEntidades.DNIS.agregar(empleado.getDni());
+                    CacheEntidades.ANALITICA.registrar(empleado);
+                }
+            });
             tx.commit();
-            
-        } catch (Exception e) {
-            throw new Exception("Error al crear empleado con legajo: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Celda de dotacion que suma un empleado recién creado (con su legajo, si tiene).
+     */
+    private Dotacion claveDeAlta(Empleado empleado) {
+        Legajo legajo = empleado.getLegajo();
+        return new Dotacion(empleado.getArea(), legajo != null ? legajo.getEstado() : null, 1);
+    }
+    
+    /**
+     * Borra los IDs asignados a un empleado (y su legajo) cuya transacción se revirtió.
+     */
+    private void limpiarIds(Empleado empleado) {
+        empleado.setId(null);
+        if (empleado.getLegajo() != null) {
+            empleado.getLegajo().setId(null);
         }
     }
     
@@ -100,21 +417,50 @@ public class EmpleadoServiceImpl implements EmpleadoService {
      */
     @Override
     public void actualizar(Empleado empleado) throws Exception {
-        validarEmpleado(empleado);
-        if (empleado.getId() == null || empleado.getId() <= 0) {
-            throw new IllegalArgumentException("El ID del empleado debe ser mayor a 0 para actualizar");
-        }
-        validarDniUnico(empleado.getDni(), empleado.getId());
+        Medicion m = M_ACTUALIZAR.iniciar();
+        try {
+            validarEmpleado(empleado);
+            if (empleado.getId() == null || empleado.getId() <= 0) {
+                throw new IllegalArgumentException("El ID del empleado debe ser mayor a 0 para actualizar");
+            }
+            prepararIndiceDni();
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             TransactionManager tx = new TransactionManager(conn)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 TransactionManager tx = new TransactionManager(conn)) {
+                m.conectado();
             
-            tx.startTransaction();
-            empleadoDAO.actualizar(empleado, conn);
-            tx.commit();
+                tx.startTransaction();
+                validarDniUnico(empleado.getDni(), empleado.getId());
+                Dotacion anterior = dotacionDAO.claveDeEmpleado(empleado.getId(), conn);
+                empleadoDAO.actualizar(empleado, conn);
+                if (anterior != null) {
+                    // Si el área no cambió, los dos cambios se anulan y no se escribe nada
+                    dotacionDAO.sumar(List.of(
+                            new Dotacion(anterior.getArea(), anterior.getEstado(), -1),
+                            new Dotacion(empleado.getArea(), anterior.getEstado(), 1)), conn);
+                }
+                Long id = empleado.getId();
+                LocalDate fechaIngreso = empleado.getFechaIngreso();
+                String area = empleado.getArea();
+                tx.afterCommit(() -> {
+                    CacheEntidades.EMPLEADOS.invalidar(id);
+                    GestorSnapshot.descartar(id);
+                    CacheEntidades.ANALITICA.actualizarEmpleado(id, fechaIngreso, area);
+                });
+                m.ejecutado();
+                tx.commit();
+                m.confirmado();
             
+            } catch (IllegalArgumentException | DeadlineExceededException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new Exception("Error al actualizar empleado: " + e.getMessage(), e);
+            }
         } catch (Exception e) {
-            throw new Exception("Error al actualizar empleado: " + e.getMessage(), e);
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
         }
     }
     
@@ -126,24 +472,49 @@ public class EmpleadoServiceImpl implements EmpleadoService {
      */
     @Override
     public void eliminar(Long id) throws Exception {
-        if (id <= 0) {
-            throw new IllegalArgumentException("El ID debe ser mayor a 0");
-        }
+        Medicion m = M_ELIMINAR.iniciar();
+        try {
+            if (id <= 0) {
+                throw new IllegalArgumentException("El ID debe ser mayor a 0");
+            }
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             TransactionManager tx = new TransactionManager(conn)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 TransactionManager tx = new TransactionManager(conn)) {
+                m.conectado();
             
-            tx.startTransaction();
-            empleadoDAO.eliminar(id, conn);
-            tx.commit();
+                tx.startTransaction();
+                Dotacion anterior = dotacionDAO.claveDeEmpleado(id, conn);
+                empleadoDAO.eliminar(id, conn);
+                if (anterior != null) {
+                    dotacionDAO.sumar(List.of(new Dotacion(anterior.getArea(), anterior.getEstado(), -1)), conn);
+                }
+                // La entrada DNI → ID queda huérfana y se descarta al usarse (ver buscarEnCache)
+                tx.afterCommit(() -> {
+                    CacheEntidades.EMPLEADOS.invalidar(id);
+                    GestorSnapshot.descartar(id);
+                    CacheEntidades.ANALITICA.eliminarEmpleado(id);
+                });
+                m.ejecutado();
+                tx.commit();
+                m.confirmado();
             
+            } catch (DeadlineExceededException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new Exception("Error al eliminar empleado: " + e.getMessage(), e);
+            }
         } catch (Exception e) {
-            throw new Exception("Error al eliminar empleado: " + e.getMessage(), e);
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
         }
     }
     
     /**
-     * Obtiene un empleado por su ID.
+     * Obtiene un empleado por su ID (primero en cache, luego en BD).
+     * Durante el arranque en caliente los fallos del cache se resuelven
+     * con el snapshot (ver GestorSnapshot).
      *
      * @param id ID del empleado a buscar
      * @return Empleado encontrado, o null si no existe
@@ -151,10 +522,18 @@ public class EmpleadoServiceImpl implements EmpleadoService {
      */
     @Override
     public Empleado getById(Long id) throws Exception {
-        if (id <= 0) {
-            throw new IllegalArgumentException("El ID debe ser mayor a 0");
+        Medicion m = M_GET_BY_ID.iniciar();
+        try {
+            if (id <= 0) {
+                throw new IllegalArgumentException("El ID debe ser mayor a 0");
+            }
+            return CacheEntidades.EMPLEADOS.obtener(id, this::leer);
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
         }
-        return empleadoDAO.leer(id);
     }
     
     /**
@@ -165,11 +544,91 @@ public class EmpleadoServiceImpl implements EmpleadoService {
      */
     @Override
     public List<Empleado> getAll() throws Exception {
-        return empleadoDAO.leerTodos();
+        Medicion m = M_GET_ALL.iniciar();
+        try {
+            return empleadoDAO.leerTodos();
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+    
+    /**
+     * Obtiene una página de empleados activos ordenados por ID.
+     * Pide un elemento de más para saber si existe una página siguiente.
+     *
+     * @param cursor  null para la primera página, o el cursor de la anterior
+     * @param tamanio Cantidad de elementos por página (1 a TAMANIO_MAX_PAGINA)
+     * @param orden   ASC o DESC por ID
+     * @return Página con sus elementos y el cursor de la siguiente
+     * @throws Exception Si el tamaño es inválido o hay error de BD
+     */
+    @Override
+    public Pagina<Empleado> getPagina(Long cursor, int tamanio, Orden orden) throws Exception {
+        Medicion m = M_GET_PAGINA.iniciar();
+        try {
+            if (tamanio <= 0 || tamanio > TAMANIO_MAX_PAGINA) {
+                throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANIO_MAX_PAGINA);
+            }
+            List<Empleado> elementos = empleadoDAO.leerPagina(cursor, tamanio + 1, orden != null ? orden : Orden.ASC);
+            Long siguiente = null;
+            if (elementos.size() > tamanio) {
+                elementos.remove(tamanio);
+                siguiente = elementos.get(tamanio - 1).getId();
+            }
+            return new Pagina<>(elementos, siguiente);
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
     }
     
     /**
-     * Busca un empleado por DNI.
+     * Búsqueda por varios criterios combinados, paginada por cursor.
+     * Resuelve todos los filtros en una sola consulta (ver EmpleadoDAO.buscar).
+     *
+     * @param criterio filtros a aplicar (los null se ignoran)
+     * @param cursor   ID del último elemento de la página anterior, o null
+     * @param tamanio  cantidad de elementos por página
+     * @return Página de empleados que cumplen los criterios
+     * @throws Exception Si los criterios son inválidos o hay error de BD
+     */
+    @Override
+    public Pagina<Empleado> buscar(CriterioBusqueda criterio, Long cursor, int tamanio) throws Exception {
+        Medicion m = M_BUSCAR.iniciar();
+        try {
+            if (criterio == null) {
+                throw new IllegalArgumentException("El criterio de búsqueda no puede ser null");
+            }
+            if (tamanio <= 0 || tamanio > TAMANIO_MAX_PAGINA) {
+                throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANIO_MAX_PAGINA);
+            }
+            if (criterio.getFechaIngresoDesde() != null && criterio.getFechaIngresoHasta() != null
+                    && criterio.getFechaIngresoDesde().isAfter(criterio.getFechaIngresoHasta())) {
+                throw new IllegalArgumentException("La fecha de ingreso 'desde' no puede ser posterior a 'hasta'");
+            }
+            List<Empleado> elementos = empleadoDAO.buscar(criterio, cursor, tamanio + 1);
+            Long siguiente = null;
+            if (elementos.size() > tamanio) {
+                elementos.remove(tamanio);
+                siguiente = elementos.get(tamanio - 1).getId();
+            }
+            return new Pagina<>(elementos, siguiente);
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+    
+    /**
+     * Busca un empleado por DNI (primero en cache, luego en BD).
+     * Igual que getById, puede resolverse con el snapshot al arrancar.
      *
      * @param dni DNI del empleado
      * @return Empleado encontrado, o null si no existe
@@ -177,10 +636,115 @@ public class EmpleadoServiceImpl implements EmpleadoService {
      */
     @Override
     public Empleado buscarPorDni(String dni) throws Exception {
-        if (dni == null || dni.trim().isEmpty()) {
-            throw new IllegalArgumentException("El DNI no puede estar vacío");
+        Medicion m = M_POR_DNI.iniciar();
+        try {
+            if (dni == null || dni.trim().isEmpty()) {
+                throw new IllegalArgumentException("El DNI no puede estar vacío");
+            }
+            return buscarEnCache(dni.trim(), true);
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+    
+    // ========================================================================
+    // CACHE
+    // ========================================================================
+    
+    /**
+     * Resuelve un DNI con la segunda clave del cache (DNI → ID) y, si no
+     * está o quedó desactualizada, consulta la BD y cachea el resultado.
+     *
+     * @param conSnapshot true para aceptar el snapshot del arranque en
+     *        caliente; las validaciones de unicidad siempre van a la BD
+     */
+    private Empleado buscarEnCache(String dni, boolean conSnapshot) throws Exception {
+        Long id = CacheEntidades.DNI_A_ID.get(dni);
+        if (id != null) {
+            Empleado empleado = CacheEntidades.EMPLEADOS.obtener(id, conSnapshot ? this::leer : this::leerDeBd);
+            if (empleado != null && dni.equals(empleado.getDni())) {
+                return empleado;
+            }
+            // Empleado eliminado o DNI reasignado: la entrada ya no sirve
+            CacheEntidades.DNI_A_ID.invalidar(dni);
+        }
+        Empleado empleado = conSnapshot ? GestorSnapshot.porDni(dni) : null;
+        if (empleado == null) {
+            empleado = DatabaseConnection.leerDelPrimario(() -> empleadoDAO.getByDni(dni));
+        }
+        if (empleado != null) {
+            cachear(empleado);
         }
-        return empleadoDAO.getByDni(dni.trim());
+        return empleado;
+    }
+    
+    /**
+     * Cargador del cache por ID: durante el arranque en caliente, el
+     * snapshot antes que la BD.
+     */
+    private Empleado leer(Long id) throws Exception {
+        Empleado empleado = GestorSnapshot.porId(id);
+        return empleado != null ? empleado : leerDeBd(id);
+    }
+    
+    /**
+     * Lee un empleado para cachearlo: siempre del primario (o de la
+     * transacción en curso), nunca de una réplica que puede estar atrasada.
+     */
+    private Empleado leerDeBd(Long id) throws Exception {
+        return DatabaseConnection.leerDelPrimario(() -> empleadoDAO.leer(id));
+    }
+    
+    /**
+     * Registra en cache, índice de DNI y almacén analítico un empleado
+     * recién creado (post-commit).
+     */
+    private void registrarAlta(Empleado empleado) {
+        CacheEntidades.DNIS.agregar(empleado.getDni());
+        CacheEntidades.ANALITICA.registrar(empleado);
+        cachear(empleado);
+    }
+    
+    /**
+     * Carga el índice de DNI en el primer uso, antes de abrir la transacción.
+     * La carga presta su propia conexión y recorre toda la columna dni: dentro
+     * de una transacción ocuparía una segunda conexión mientras la primera
+     * sigue abierta. Por eso, si el hilo ya tiene una transacción, no se carga.
+     * Si la carga falla tampoco se interrumpe la operación: sin índice,
+     * dniPuedeExistir() responde "puede existir" y la validación consulta la BD.
+     */
+    private void prepararIndiceDni() {
+        if (CacheEntidades.DNIS.isCargado() || TransactionManager.currentConnection() != null) {
+            return;
+        }
+        try {
+            CacheEntidades.DNIS.cargarSiHaceFalta(empleadoDAO::cargarDnis);
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            System.err.println("No se pudo cargar el índice de DNI: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Consulta el índice de DNI. Nunca lo carga (ver prepararIndiceDni()):
+     * mientras no esté cargado, todo DNI "puede existir".
+     *
+     * @return false si ningún empleado, activo o eliminado, tiene ese DNI
+     */
+    private boolean dniPuedeExistir(String dni) {
+        return CacheEntidades.DNIS.contiene(dni);
+    }
+    
+    /**
+     * Guarda un empleado en el cache por ID y por DNI.
+     */
+    private void cachear(Empleado empleado) {
+        CacheEntidades.EMPLEADOS.put(empleado.getId(), empleado);
+        CacheEntidades.DNI_A_ID.put(empleado.getDni().trim(), empleado.getId());
     }
     
     // ========================================================================
@@ -189,11 +753,12 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     
     /**
      * Valida que un empleado tenga los datos obligatorios correctos.
+     * Visible en el paquete para la validación en paralelo de ImportadorCsv.
      *
      * @param empleado Empleado a validar
      * @throws IllegalArgumentException Si alguna validación falla
      */
-    private void validarEmpleado(Empleado empleado) {
+    void validarEmpleado(Empleado empleado) {
         if (empleado == null) {
             throw new IllegalArgumentException("El empleado no puede ser null");
         }
@@ -209,7 +774,7 @@ public class EmpleadoServiceImpl implements EmpleadoService {
         
         // Validar formato de email
         if (empleado.getEmail() != null && !empleado.getEmail().trim().isEmpty()) {
-            if (!empleado.getEmail().matches("^[\\w._%+-]+@[\\w.-]+\\.[a-zA-Z]{2,}$")) {
+            if (!emailValido(empleado.getEmail())) {
                 throw new IllegalArgumentException("El email tiene un formato inválido");
             }
         }
@@ -220,13 +785,26 @@ public class EmpleadoServiceImpl implements EmpleadoService {
         }
     }
     
+    /**
+     * Verifica el formato del email con el patrón precompilado
+     * (String.matches recompilaba la expresión en cada validación).
+     * Visible en el paquete para medirlo en bench/Service.
+     *
+     * @param email email no vacío
+     * @return true si el formato es válido
+     */
+    static boolean emailValido(String email) {
+        return PATRON_EMAIL.matcher(email).matches();
+    }
+    
     /**
      * Valida que un legajo tenga los datos obligatorios.
+     * Visible en el paquete, igual que validarEmpleado.
      *
      * @param legajo Legajo a validar
      * @throws IllegalArgumentException Si alguna validación falla
      */
-    private void validarLegajo(Legajo legajo) {
+    void validarLegajo(Legajo legajo) {
         if (legajo == null) {
             throw new IllegalArgumentException("El legajo no puede ser null");
         }
@@ -245,13 +823,23 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     /**
      * Valida que el DNI sea único en la base de datos.
      * Permite el mismo DNI al actualizar el mismo empleado.
+     * 
+     * Se invoca dentro de la transacción: getByDni se une a su conexión,
+     * así una escritura usa una sola conexión. La restricción UNIQUE de
+     * la columna dni sigue siendo la garantía final ante escrituras concurrentes.
+     * 
+     * Camino rápido: si el índice de DNI indica que el DNI no existe, no se
+     * consulta la BD. Sólo los posibles positivos se confirman con getByDni.
      *
      * @param dni DNI a validar
      * @param empleadoId ID del empleado (null para INSERT)
      * @throws Exception Si el DNI ya existe
      */
     private void validarDniUnico(String dni, Long empleadoId) throws Exception {
-        Empleado existente = empleadoDAO.getByDni(dni.trim());
+        if (!dniPuedeExistir(dni.trim())) {
+            return;
+        }
+        Empleado existente = buscarEnCache(dni.trim(), false);
         if (existente != null) {
             if (empleadoId == null || !existente.getId().equals(empleadoId)) {
                 throw new IllegalArgumentException("Ya existe un empleado con el DNI: " + dni);
@@ -0,0 +1,338 @@
+package Service;
+
+import Config.DeadlineExceededException;
+import Dao.EmpleadoDAO;
+import Dao.EmpleadoDAOImpl;
+import Entities.Empleado;
+import Entities.Legajo;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación de todos los empleados activos (con su legajo) a CSV o JSON Lines.
+ *
+ * Recorre el cursor de {@link EmpleadoDAO#streamTodos()} y escribe cada fila
+ * directamente en un Writer con buffer: no arma listas de entidades ni un
+ * String por fila, así el heap no depende de la cantidad de empleados.
+ * Opcionalmente comprime con gzip.
+ *
+ * - CSV (UTF-8, separador ','): cabecera con id, nombre, apellido, dni,
+ *   email, fecha_ingreso, area, legajo_id, nro_legajo, categoria, estado,
+ *   fecha_alta y observaciones. Las columnas coinciden con las de
+ *   {@link ImportadorCsv}, que ignora los id.
+ * - JSONL: un objeto por línea, con el legajo anidado (o null).
+ *
+ * Los valores null se escriben vacíos (CSV) o como null (JSON).
+ */
+public class ExportadorEmpleados {
+
+    public enum Formato {
+        CSV, JSONL;
+
+        public static Formato de(String valor) {
+            try {
+                return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato desconocido: " + valor + " (csv o jsonl)");
+            }
+        }
+    }
+
+    private static final int BUFFER = 64 * 1024;
+
+    private final EmpleadoDAO empleadoDAO;
+
+    public ExportadorEmpleados() {
+        this.empleadoDAO = new EmpleadoDAOImpl();
+    }
+
+    /**
+     * Exporta a un archivo; si el nombre termina en .gz se comprime.
+     *
+     * @return empleados exportados
+     */
+    public long exportar(Path archivo, Formato formato) throws Exception {
+        boolean gzip = archivo.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+        try (OutputStream out = Files.newOutputStream(archivo)) {
+            return exportar(out, formato, gzip);
+        }
+    }
+
+    /**
+     * Exporta al stream dado. Al terminar vacía el buffer (y cierra el
+     * bloque gzip) pero no cierra el stream.
+     *
+     * @param destino stream de salida
+     * @param formato CSV o JSONL
+     * @param gzip    true para comprimir la salida
+     * @return empleados exportados
+     * @throws Exception Si falla la lectura de la BD o la escritura
+     */
+    public long exportar(OutputStream destino, Formato formato, boolean gzip) throws Exception {
+        if (destino == null || formato == null) {
+            throw new IllegalArgumentException("El destino y el formato son obligatorios");
+        }
+        // El Writer no se cierra: cerrar destino le corresponde al llamador
+        OutputStream salida;
+        GZIPOutputStream comprimido = null;
+        if (gzip) {
+            comprimido = new GZIPOutputStream(destino, BUFFER);
+            salida = comprimido;
+        } else {
+            salida = new BufferedOutputStream(destino, BUFFER);
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), BUFFER);
+        Escritor escritor = formato == Formato.CSV ? new EscritorCsv(out) : new EscritorJsonl(out);
+
+        long filas = 0;
+        try (Stream<Empleado> empleados = empleadoDAO.streamTodos()) {
+            escritor.cabecera();
+            Iterator<Empleado> it = empleados.iterator();
+            while (it.hasNext()) {
+                escritor.fila(it.next());
+                filas++;
+            }
+            out.flush();
+            if (comprimido != null) {
+                comprimido.finish();
+            }
+            salida.flush();
+            return filas;
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new Exception("Error al escribir la exportación (fila " + filas + "): " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            throw new Exception("Error al exportar empleados (fila " + filas + "): " + e.getMessage(), e);
+        }
+    }
+
+    // ========================================================================
+    // ESCRITORES
+    // ========================================================================
+
+    /** Escritura campo a campo, sin Strings intermedios para números y fechas. */
+    private abstract static class Escritor {
+        protected final Writer out;
+        private final char[] digitos = new char[20];
+
+        Escritor(Writer out) {
+            this.out = out;
+        }
+
+        abstract void cabecera() throws IOException;
+
+        abstract void fila(Empleado empleado) throws IOException;
+
+        protected void numero(long valor) throws IOException {
+            if (valor < 0) {
+                out.write('-');
+                valor = -valor;
+            }
+            int i = digitos.length;
+            do {
+                digitos[--i] = (char) ('0' + valor % 10);
+                valor /= 10;
+            } while (valor > 0);
+            out.write(digitos, i, digitos.length - i);
+        }
+
+        /** AAAA-MM-DD */
+        protected void fecha(LocalDate fecha) throws IOException {
+            int anio = fecha.getYear();
+            digitos[0] = (char) ('0' + anio / 1000 % 10);
+            digitos[1] = (char) ('0' + anio / 100 % 10);
+            digitos[2] = (char) ('0' + anio / 10 % 10);
+            digitos[3] = (char) ('0' + anio % 10);
+            digitos[4] = '-';
+            digitos[5] = (char) ('0' + fecha.getMonthValue() / 10);
+            digitos[6] = (char) ('0' + fecha.getMonthValue() % 10);
+            digitos[7] = '-';
+            digitos[8] = (char) ('0' + fecha.getDayOfMonth() / 10);
+            digitos[9] = (char) ('0' + fecha.getDayOfMonth() % 10);
+            out.write(digitos, 0, 10);
+        }
+    }
+
+    private static final class EscritorCsv extends Escritor {
+
+        EscritorCsv(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void cabecera() throws IOException {
+            out.write("id,nombre,apellido,dni,email,fecha_ingreso,area,"
+                    + "legajo_id,nro_legajo,categoria,estado,fecha_alta,observaciones\n");
+        }
+
+        @Override
+        void fila(Empleado e) throws IOException {
+            numero(e.getId());
+            out.write(',');
+            texto(e.getNombre());
+            out.write(',');
+            texto(e.getApellido());
+            out.write(',');
+            texto(e.getDni());
+            out.write(',');
+            texto(e.getEmail());
+            out.write(',');
+            if (e.getFechaIngreso() != null) {
+                fecha(e.getFechaIngreso());
+            }
+            out.write(',');
+            texto(e.getArea());
+            out.write(',');
+            Legajo l = e.getLegajo();
+            if (l != null) {
+                numero(l.getId());
+                out.write(',');
+                texto(l.getNroLegajo());
+                out.write(',');
+                texto(l.getCategoria());
+                out.write(',');
+                texto(l.getEstado() != null ? l.getEstado().name() : null);
+                out.write(',');
+                if (l.getFechaAlta() != null) {
+                    fecha(l.getFechaAlta());
+                }
+                out.write(',');
+                texto(l.getObservaciones());
+            } else {
+                out.write(",,,,,");
+            }
+            out.write('\n');
+        }
+
+        /** Entre comillas sólo si contiene separador, comillas o saltos de línea. */
+        private void texto(String valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            boolean comillas = false;
+            for (int i = 0; i < valor.length() && !comillas; i++) {
+                char c = valor.charAt(i);
+                comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!comillas) {
+                out.write(valor);
+                return;
+            }
+            out.write('"');
+            int desde = 0;
+            for (int i = 0; i < valor.length(); i++) {
+                if (valor.charAt(i) == '"') {
+                    out.write(valor, desde, i + 1 - desde);
+                    desde = i;
+                }
+            }
+            out.write(valor, desde, valor.length() - desde);
+            out.write('"');
+        }
+    }
+
+    private static final class EscritorJsonl extends Escritor {
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        EscritorJsonl(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void cabecera() {
+            // JSON Lines no lleva cabecera
+        }
+
+        @Override
+        void fila(Empleado e) throws IOException {
+            out.write("{\"id\":");
+            numero(e.getId());
+            out.write(",\"nombre\":");
+            texto(e.getNombre());
+            out.write(",\"apellido\":");
+            texto(e.getApellido());
+            out.write(",\"dni\":");
+            texto(e.getDni());
+            out.write(",\"email\":");
+            texto(e.getEmail());
+            out.write(",\"fechaIngreso\":");
+            fechaJson(e.getFechaIngreso());
+            out.write(",\"area\":");
+            texto(e.getArea());
+            out.write(",\"legajo\":");
+            Legajo l = e.getLegajo();
+            if (l != null) {
+                out.write("{\"id\":");
+                numero(l.getId());
+                out.write(",\"nroLegajo\":");
+                texto(l.getNroLegajo());
+                out.write(",\"categoria\":");
+                texto(l.getCategoria());
+                out.write(",\"estado\":");
+                texto(l.getEstado() != null ? l.getEstado().name() : null);
+                out.write(",\"fechaAlta\":");
+                fechaJson(l.getFechaAlta());
+                out.write(",\"observaciones\":");
+                texto(l.getObservaciones());
+                out.write('}');
+            } else {
+                out.write("null");
+            }
+            out.write("}\n");
+        }
+
+        private void fechaJson(LocalDate valor) throws IOException {
+            if (valor == null) {
+                out.write("null");
+                return;
+            }
+            out.write('"');
+            fecha(valor);
+            out.write('"');
+        }
+
+        /** String JSON: escapa comillas, barra invertida y caracteres de control. */
+        private void texto(String valor) throws IOException {
+            if (valor == null) {
+                out.write("null");
+                return;
+            }
+            out.write('"');
+            int desde = 0;
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                if (c != '"' && c != '\\' && c >= 0x20) {
+                    continue;
+                }
+                out.write(valor, desde, i - desde);
+                desde = i + 1;
+                switch (c) {
+                    case '"': out.write("\\\""); break;
+                    case '\\': out.write("\\\\"); break;
+                    case '\n': out.write("\\n"); break;
+                    case '\r': out.write("\\r"); break;
+                    case '\t': out.write("\\t"); break;
+                    default:
+                        out.write("\\u00");
+                        out.write(HEX[c >> 4]);
+                        out.write(HEX[c & 0xF]);
+                }
+            }
+            out.write(valor, desde, valor.length() - desde);
+            out.write('"');
+        }
+    }
+}
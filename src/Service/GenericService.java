@@ -1,11 +1,15 @@
 package Service;
 
+import Dao.Orden;
 import java.util.List;
 
 /**
  * Interfaz genérica que define operaciones CRUD estándar para servicios de negocio.
  * Permite reutilización, polimorfismo y consistencia en toda la aplicación.
  *
+ * Todas las operaciones respetan el {@link Config.Deadline} abierto en el
+ * hilo: si vence, lanzan {@link Config.DeadlineExceededException} sin envolver.
+ *
  * @param <T> Tipo de entidad (Empleado, Legajo, etc.)
  */
 public interface GenericService<T> {
@@ -22,5 +26,10 @@ public interface GenericService<T> {
     T getById(Long id) throws Exception;
 
     // Obtiene todas las entidades activas (no eliminadas).
+    // Materializa la tabla completa: para listados usar getPagina().
     List<T> getAll() throws Exception;
+
+    // Obtiene una página de entidades activas ordenadas por ID.
+    // cursor = null para la primera página, o getSiguienteCursor() de la anterior.
+    Pagina<T> getPagina(Long cursor, int tamanio, Orden orden) throws Exception;
 }
@@ -0,0 +1,247 @@
+package Service;
+
+import Cache.SnapshotEmpleados;
+import Dao.EmpleadoDAO;
+import Dao.EmpleadoDAOImpl;
+import Entities.Empleado;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Arranque en caliente con {@link SnapshotEmpleados}.
+ *
+ * Al iniciar se mapea el último snapshot y, durante la ventana de
+ * calentamiento, getById y buscarPorDni de EmpleadoServiceImpl resuelven
+ * en él los fallos del cache en lugar de consultar la BD. Vencida la
+ * ventana el snapshot se libera y todo vuelve a leerse de la BD.
+ *
+ * Los datos del snapshot pueden estar atrasados respecto de la BD (como
+ * mucho, un intervalo de escritura más la ventana). Los empleados que
+ * este proceso modifica dejan de servirse desde el snapshot; las bajas
+ * hechas por otros nodos se ven recién al vencer la ventana.
+ *
+ * El snapshot se reescribe cada cache.snapshot.intervalMs y al detener.
+ * Antes de reescribirlo se libera el que está en uso, aunque no haya
+ * vencido la ventana: Windows no deja reemplazar un archivo mapeado.
+ *
+ * Configuración por System properties:
+ * - cache.snapshot.path: archivo del snapshot (vacío = deshabilitado)
+ * - cache.snapshot.warmupMs: ventana de calentamiento (2 min por defecto)
+ * - cache.snapshot.intervalMs: cada cuánto se reescribe (15 min por defecto, 0 = sólo al detener)
+ */
+public final class GestorSnapshot {
+
+    private static final String RUTA = System.getProperty("cache.snapshot.path", "");
+    private static final long VENTANA_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("cache.snapshot.warmupMs", 120_000L));
+    private static final long INTERVALO_MS = Long.getLong("cache.snapshot.intervalMs", 900_000L);
+
+    private static volatile SnapshotEmpleados activo;
+    private static volatile long abiertoNanos;
+    /** Empleados modificados por este proceso desde que se abrió el snapshot. */
+    private static final Set<Long> DESCARTADOS = ConcurrentHashMap.newKeySet();
+
+    private static ScheduledExecutorService escritor;
+    private static Thread alApagar;
+
+    private static final LongAdder ACIERTOS = new LongAdder();
+    private static final LongAdder ESCRITURAS = new LongAdder();
+
+    private GestorSnapshot() {
+        throw new UnsupportedOperationException("Clase utilitaria: no debe instanciarse.");
+    }
+
+    /**
+     * Mapea el snapshot existente (si lo hay) y programa su reescritura.
+     * No hace nada si cache.snapshot.path no está configurado.
+     */
+    public static synchronized void iniciar() {
+        if (RUTA.trim().isEmpty() || escritor != null) {
+            return;
+        }
+        Path archivo = Path.of(RUTA.trim());
+        if (Files.exists(archivo)) {
+            try {
+                SnapshotEmpleados snapshot = SnapshotEmpleados.abrir(archivo);
+                DESCARTADOS.clear();
+                abiertoNanos = System.nanoTime();
+                activo = snapshot;
+                System.err.println("Snapshot de empleados: " + snapshot.getCantidad() + " empleados del "
+                        + Instant.ofEpochMilli(snapshot.getCreadoMillis()));
+            } catch (Exception e) {
+                System.err.println("No se pudo abrir el snapshot de empleados (" + archivo + "): " + e.getMessage());
+            }
+        }
+
+        ScheduledThreadPoolExecutor ex = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "snapshot-empleados");
+            t.setDaemon(true);
+            return t;
+        });
+        if (INTERVALO_MS > 0) {
+            ex.scheduleWithFixedDelay(GestorSnapshot::guardarSinError, INTERVALO_MS, INTERVALO_MS, TimeUnit.MILLISECONDS);
+        }
+        escritor = ex;
+        alApagar = new Thread(GestorSnapshot::detener, "snapshot-empleados-apagado");
+        Runtime.getRuntime().addShutdownHook(alApagar);
+    }
+
+    /**
+     * Escribe un último snapshot y detiene la reescritura periódica.
+     * Debe llamarse antes de cerrar el pool de conexiones.
+     */
+    public static void detener() {
+        synchronized (GestorSnapshot.class) {
+            if (escritor == null) {
+                return;
+            }
+            escritor.shutdownNow();
+            escritor = null;
+            if (Thread.currentThread() != alApagar) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(alApagar);
+                } catch (IllegalStateException e) {
+                    // la JVM ya se está apagando: el hook no llega a correr dos veces
+                }
+            }
+        }
+        guardarSinError();
+    }
+
+    /**
+     * Escribe el snapshot ahora con todos los empleados activos.
+     *
+     * @return cantidad de empleados escritos
+     * @throws Exception Si falla la lectura de la BD o la escritura
+     */
+    public static synchronized int guardar() throws Exception {
+        if (RUTA.trim().isEmpty()) {
+            throw new IllegalStateException("cache.snapshot.path no está configurado");
+        }
+        liberar(activo);
+        EmpleadoDAO empleadoDAO = new EmpleadoDAOImpl();
+        try (Stream<Empleado> empleados = empleadoDAO.streamTodos()) {
+            int cantidad = SnapshotEmpleados.escribir(Path.of(RUTA.trim()), empleados.iterator());
+            ESCRITURAS.increment();
+            return cantidad;
+        }
+    }
+
+    // ========================================================================
+    // USO DESDE LOS SERVICES
+    // ========================================================================
+
+    /** @return el empleado según el snapshot, o null si no hay que usarlo */
+    static Empleado porId(long id) {
+        SnapshotEmpleados snapshot = vigente();
+        if (snapshot == null || DESCARTADOS.contains(id)) {
+            return null;
+        }
+        try {
+            return contar(snapshot.porId(id));
+        } catch (IllegalStateException e) {
+            return null; // se liberó mientras se leía
+        }
+    }
+
+    /** @return el empleado según el snapshot, o null si no hay que usarlo */
+    static Empleado porDni(String dni) {
+        SnapshotEmpleados snapshot = vigente();
+        if (snapshot == null) {
+            return null;
+        }
+        Empleado empleado;
+        try {
+            empleado = snapshot.porDni(dni);
+        } catch (IllegalStateException e) {
+            return null; // se liberó mientras se leía
+        }
+        if (empleado == null || DESCARTADOS.contains(empleado.getId())) {
+            return null;
+        }
+        return contar(empleado);
+    }
+
+    /** El empleado cambió en la BD: no volver a servirlo desde el snapshot. */
+    static void descartar(Long empleadoId) {
+        if (activo != null && empleadoId != null) {
+            DESCARTADOS.add(empleadoId);
+        }
+    }
+
+    /** El legajo cambió en la BD: descarta al empleado que lo tiene. */
+    static void descartarLegajo(Long legajoId) {
+        SnapshotEmpleados snapshot = activo;
+        if (snapshot != null && legajoId != null) {
+            try {
+                descartar(snapshot.empleadoDelLegajo(legajoId));
+            } catch (IllegalStateException e) {
+                // se liberó: ya no se sirve nada desde el snapshot
+            }
+        }
+    }
+
+    /** @return true mientras el snapshot se está usando */
+    public static boolean isActivo() {
+        return vigente() != null;
+    }
+
+    /** @return lecturas resueltas con el snapshot */
+    public static long getAciertos() {
+        return ACIERTOS.sum();
+    }
+
+    /** @return snapshots escritos por este proceso */
+    public static long getEscrituras() {
+        return ESCRITURAS.sum();
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    /** @return el snapshot si sigue dentro de la ventana; si venció, lo libera */
+    private static SnapshotEmpleados vigente() {
+        SnapshotEmpleados snapshot = activo;
+        if (snapshot != null && System.nanoTime() - abiertoNanos > VENTANA_NANOS) {
+            liberar(snapshot);
+            return null;
+        }
+        return snapshot;
+    }
+
+    /** Deja de usar el snapshot dado (si sigue activo) y lo desmapea. */
+    private static synchronized void liberar(SnapshotEmpleados snapshot) {
+        if (snapshot != null && activo == snapshot) {
+            activo = null;
+            DESCARTADOS.clear();
+            snapshot.close();
+        }
+    }
+
+    private static Empleado contar(Empleado empleado) {
+        if (empleado != null) {
+            ACIERTOS.increment();
+        }
+        return empleado;
+    }
+
+    private static void guardarSinError() {
+        try {
+            long inicio = System.nanoTime();
+            int cantidad = guardar();
+            System.err.println("Snapshot de empleados escrito: " + cantidad + " empleados en "
+                    + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+        } catch (Exception e) {
+            System.err.println("No se pudo escribir el snapshot de empleados: " + e.getMessage());
+        }
+    }
+}
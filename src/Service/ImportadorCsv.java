@@ -0,0 +1,459 @@
+package Service;
+
+import Cache.IndiceDni;
+import Config.DatabaseConnection;
+import Config.DeadlineExceededException;
+import Dao.LegajoDAO;
+import Dao.LegajoDAOImpl;
+import Datos.LectorCsv;
+import Entities.Empleado;
+import Entities.Estado;
+import Entities.Legajo;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Importación masiva de empleados y legajos desde un CSV (planillas de RRHH).
+ *
+ * Pipeline por bloques de DatabaseConnection.getBatchSize() filas:
+ * 1. Lectura: un hilo recorre el archivo con {@link LectorCsv} y arma bloques.
+ * 2. Validación: un pool de hilos (uno por procesador) convierte y valida
+ *    cada bloque con las reglas de EmpleadoServiceImpl (validarEmpleado /
+ *    validarLegajo), varios bloques en paralelo.
+ * 3. Escritura: el hilo llamador toma los bloques en el orden del archivo,
+ *    descarta DNI y números de legajo repetidos en el archivo o existentes
+ *    en la BD, e inserta el resto con crearEmpleadosConLegajo (un lote por
+ *    transacción; las filas que fallan se aíslan).
+ *
+ * Entre etapas hay colas acotadas: si la BD es más lenta que la lectura,
+ * la lectura espera. La memoria no depende del tamaño del archivo salvo
+ * por los DNI y números de legajo ya vistos (los DNI numéricos ocupan
+ * ~16 bytes cada uno, ver {@link IndiceDni}).
+ *
+ * Las filas rechazadas se escriben en el archivo de rechazos con el mismo
+ * separador, precedidas por el número de línea y el motivo. Los bloques
+ * ya confirmados quedan en la BD aunque la importación se interrumpa.
+ *
+ * Columnas (cabecera obligatoria, en cualquier orden, mayúsculas indistintas):
+ * nombre, apellido, dni, email, fecha_ingreso, area, nro_legajo, categoria,
+ * estado, fecha_alta, observaciones. Las tres primeras son obligatorias; la
+ * fila lleva legajo si tiene alguna columna de legajo con valor. Fechas en
+ * AAAA-MM-DD o DD/MM/AAAA.
+ */
+public class ImportadorCsv {
+
+    private static final List<String> COLUMNAS = List.of("nombre", "apellido", "dni", "email",
+            "fecha_ingreso", "area", "nro_legajo", "categoria", "estado", "fecha_alta", "observaciones");
+    private static final List<String> OBLIGATORIAS = List.of("nombre", "apellido", "dni");
+    private static final DateTimeFormatter FECHA_DMA = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+
+    /** Marca de fin de archivo en la cola de bloques. */
+    private static final Bloque FIN = new Bloque(List.of());
+
+    private final EmpleadoServiceImpl servicio;
+    private final LegajoDAO legajoDAO;
+    private final int tamanioBloque;
+    private final int validadores;
+
+    private final AtomicLong leidas = new AtomicLong();
+    private final AtomicLong creadas = new AtomicLong();
+    private final AtomicLong rechazadas = new AtomicLong();
+    private volatile long inicioNanos;
+    private volatile boolean detenido;
+
+    public ImportadorCsv() {
+        this(new EmpleadoServiceImpl());
+    }
+
+    public ImportadorCsv(EmpleadoServiceImpl servicio) {
+        this.servicio = servicio;
+        this.legajoDAO = new LegajoDAOImpl();
+        this.tamanioBloque = DatabaseConnection.getBatchSize();
+        this.validadores = Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Importa el archivo (UTF-8).
+     *
+     * @see #importar(Path, Charset, Path, Consumer)
+     */
+    public ResultadoImportacion importar(Path origen, Path rechazos) throws Exception {
+        return importar(origen, StandardCharsets.UTF_8, rechazos, null);
+    }
+
+    /**
+     * Importa el archivo y deja las filas rechazadas en rechazos.
+     *
+     * @param origen    CSV a importar
+     * @param charset   codificación del CSV (también la del archivo de rechazos)
+     * @param rechazos  archivo de rechazos (se reemplaza si existe)
+     * @param progreso  recibe el avance después de cada bloque (puede ser null)
+     * @return resultado final
+     * @throws IllegalArgumentException si falta la cabecera o una columna obligatoria
+     * @throws Exception si falla la lectura o la BD; lo confirmado hasta ahí queda
+     */
+    public ResultadoImportacion importar(Path origen, Charset charset, Path rechazos,
+                                         Consumer<ResultadoImportacion> progreso) throws Exception {
+        if (origen == null || rechazos == null) {
+            throw new IllegalArgumentException("El archivo de origen y el de rechazos son obligatorios");
+        }
+        leidas.set(0);
+        creadas.set(0);
+        rechazadas.set(0);
+        detenido = false;
+        inicioNanos = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(validadores, r -> {
+            Thread t = new Thread(r, "importador-csv-validacion");
+            t.setDaemon(true);
+            return t;
+        });
+        try (LectorCsv lector = new LectorCsv(Files.newBufferedReader(origen, charset))) {
+            String[] cabecera = lector.siguiente();
+            if (cabecera == null) {
+                throw new IllegalArgumentException("El archivo está vacío: " + origen);
+            }
+            Map<String, Integer> columnas = columnas(cabecera);
+
+            try (BufferedWriter salida = Files.newBufferedWriter(rechazos, charset)) {
+                Rechazos archivoRechazos = new Rechazos(salida, lector.getSeparador());
+                archivoRechazos.escribir("linea", "motivo", cabecera);
+
+                BlockingQueue<CompletableFuture<Bloque>> cola = new ArrayBlockingQueue<>(2 * validadores);
+                Thread lectura = new Thread(() -> leer(lector, columnas, pool, cola), "importador-csv-lectura");
+                lectura.setDaemon(true);
+                lectura.start();
+                try {
+                    escribir(cola, archivoRechazos, progreso);
+                } finally {
+                    detenido = true;
+                    lectura.join();
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return getProgreso();
+    }
+
+    /** @return avance de la importación en curso (o de la última) */
+    public ResultadoImportacion getProgreso() {
+        return new ResultadoImportacion(leidas.get(), creadas.get(), rechazadas.get(), System.nanoTime() - inicioNanos);
+    }
+
+    // ========================================================================
+    // ETAPA 1: LECTURA
+    // ========================================================================
+
+    private void leer(LectorCsv lector, Map<String, Integer> columnas,
+                      ExecutorService pool, BlockingQueue<CompletableFuture<Bloque>> cola) {
+        try {
+            List<Fila> filas = new ArrayList<>(tamanioBloque);
+            String[] campos;
+            while (!detenido && (campos = lector.siguiente()) != null) {
+                leidas.incrementAndGet();
+                filas.add(new Fila(lector.getLinea(), campos));
+                if (filas.size() == tamanioBloque) {
+                    List<Fila> bloque = filas;
+                    encolar(cola, CompletableFuture.supplyAsync(() -> validar(bloque, columnas), pool));
+                    filas = new ArrayList<>(tamanioBloque);
+                }
+            }
+            if (!filas.isEmpty()) {
+                List<Fila> bloque = filas;
+                encolar(cola, CompletableFuture.supplyAsync(() -> validar(bloque, columnas), pool));
+            }
+            encolar(cola, CompletableFuture.completedFuture(FIN));
+        } catch (Throwable e) {
+            encolar(cola, CompletableFuture.failedFuture(e));
+        }
+    }
+
+    /** Espera lugar en la cola; abandona si la escritura terminó por un error. */
+    private void encolar(BlockingQueue<CompletableFuture<Bloque>> cola, CompletableFuture<Bloque> bloque) {
+        try {
+            while (!detenido && !cola.offer(bloque, 100, TimeUnit.MILLISECONDS)) {
+                // la escritura va más lenta: esperar
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========================================================================
+    // ETAPA 2: VALIDACIÓN (en paralelo, sin acceso a BD)
+    // ========================================================================
+
+    private Bloque validar(List<Fila> filas, Map<String, Integer> columnas) {
+        for (Fila fila : filas) {
+            try {
+                Empleado empleado = convertir(fila.campos, columnas);
+                servicio.validarEmpleado(empleado);
+                if (empleado.getLegajo() != null) {
+                    servicio.validarLegajo(empleado.getLegajo());
+                }
+                fila.empleado = empleado;
+            } catch (IllegalArgumentException e) {
+                fila.motivo = e.getMessage();
+            }
+        }
+        return new Bloque(filas);
+    }
+
+    private static Empleado convertir(String[] campos, Map<String, Integer> columnas) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre(valor(campos, columnas, "nombre"));
+        empleado.setApellido(valor(campos, columnas, "apellido"));
+        empleado.setDni(valor(campos, columnas, "dni"));
+        empleado.setEmail(valor(campos, columnas, "email"));
+        empleado.setFechaIngreso(fecha(campos, columnas, "fecha_ingreso"));
+        empleado.setArea(valor(campos, columnas, "area"));
+
+        String nroLegajo = valor(campos, columnas, "nro_legajo");
+        String categoria = valor(campos, columnas, "categoria");
+        String estado = valor(campos, columnas, "estado");
+        LocalDate fechaAlta = fecha(campos, columnas, "fecha_alta");
+        String observaciones = valor(campos, columnas, "observaciones");
+        if (nroLegajo != null || categoria != null || estado != null || fechaAlta != null || observaciones != null) {
+            Legajo legajo = new Legajo();
+            legajo.setNroLegajo(nroLegajo);
+            legajo.setCategoria(categoria);
+            legajo.setEstado(estado(estado));
+            legajo.setFechaAlta(fechaAlta);
+            legajo.setObservaciones(observaciones);
+            empleado.setLegajo(legajo);
+        }
+        return empleado;
+    }
+
+    /** @return valor recortado de la columna, o null si falta o está vacío */
+    private static String valor(String[] campos, Map<String, Integer> columnas, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= campos.length) {
+            return null;
+        }
+        String texto = campos[indice].trim();
+        return texto.isEmpty() ? null : texto;
+    }
+
+    private static LocalDate fecha(String[] campos, Map<String, Integer> columnas, String columna) {
+        String texto = valor(campos, columnas, columna);
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return texto.indexOf('/') >= 0 ? LocalDate.parse(texto, FECHA_DMA) : LocalDate.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida en " + columna + ": " + texto
+                    + " (usar AAAA-MM-DD o DD/MM/AAAA)");
+        }
+    }
+
+    private static Estado estado(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return Estado.valueOf(texto.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado inválido: " + texto + " (debe ser ACTIVO o INACTIVO)");
+        }
+    }
+
+    // ========================================================================
+    // ETAPA 3: ESCRITURA (hilo llamador, en el orden del archivo)
+    // ========================================================================
+
+    private void escribir(BlockingQueue<CompletableFuture<Bloque>> cola, Rechazos archivoRechazos,
+                          Consumer<ResultadoImportacion> progreso) throws Exception {
+        IndiceDni dnisArchivo = new IndiceDni();
+        dnisArchivo.cargarSiHaceFalta(destino -> { });
+        Set<String> nrosArchivo = new HashSet<>();
+
+        while (true) {
+            Bloque bloque;
+            try {
+                bloque = cola.take().join();
+            } catch (CompletionException e) {
+                throw new Exception("Error al leer el CSV: " + e.getCause().getMessage(), e.getCause());
+            }
+            if (bloque == FIN) {
+                return;
+            }
+
+            // Repetidos dentro del archivo: gana la primera aparición
+            List<Fila> candidatas = new ArrayList<>(bloque.filas.size());
+            for (Fila fila : bloque.filas) {
+                if (fila.motivo == null) {
+                    String dni = fila.empleado.getDni();
+                    Legajo legajo = fila.empleado.getLegajo();
+                    if (dnisArchivo.contiene(dni)) {
+                        fila.motivo = "DNI repetido en el archivo: " + dni;
+                    } else if (legajo != null && !nrosArchivo.add(legajo.getNroLegajo())) {
+                        fila.motivo = "Número de legajo repetido en el archivo: " + legajo.getNroLegajo();
+                    } else {
+                        dnisArchivo.agregar(dni);
+                        candidatas.add(fila);
+                    }
+                }
+                if (fila.motivo != null) {
+                    rechazar(archivoRechazos, fila);
+                }
+            }
+
+            try {
+                insertar(candidatas, archivoRechazos);
+            } catch (DeadlineExceededException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new Exception("Error al importar el bloque que empieza en la línea "
+                        + bloque.filas.get(0).linea + ": " + e.getMessage(), e);
+            }
+            if (progreso != null) {
+                progreso.accept(getProgreso());
+            }
+        }
+    }
+
+    /**
+     * Descarta los números de legajo que ya existen en la BD (un solo viaje)
+     * e inserta el resto; el DNI lo verifica crearEmpleadosConLegajo.
+     */
+    private void insertar(List<Fila> candidatas, Rechazos archivoRechazos) throws Exception {
+        List<String> nros = new ArrayList<>();
+        for (Fila fila : candidatas) {
+            if (fila.empleado.getLegajo() != null) {
+                nros.add(fila.empleado.getLegajo().getNroLegajo());
+            }
+        }
+        Set<String> existentes = legajoDAO.nrosLegajoExistentes(nros);
+
+        List<Fila> filas = new ArrayList<>(candidatas.size());
+        List<Empleado> empleados = new ArrayList<>(candidatas.size());
+        for (Fila fila : candidatas) {
+            Legajo legajo = fila.empleado.getLegajo();
+            if (legajo != null && existentes.contains(legajo.getNroLegajo())) {
+                fila.motivo = "Ya existe un legajo con el número: " + legajo.getNroLegajo();
+                rechazar(archivoRechazos, fila);
+            } else {
+                filas.add(fila);
+                empleados.add(fila.empleado);
+            }
+        }
+        if (empleados.isEmpty()) {
+            return;
+        }
+
+        ResultadoCarga resultado = servicio.crearEmpleadosConLegajo(empleados);
+        creadas.addAndGet(resultado.getCreados());
+        for (ResultadoCarga.Falla falla : resultado.getFallas()) {
+            Fila fila = filas.get(falla.getIndice());
+            fila.motivo = falla.getMotivo();
+            rechazar(archivoRechazos, fila);
+        }
+    }
+
+    private void rechazar(Rechazos archivoRechazos, Fila fila) throws IOException {
+        archivoRechazos.escribir(String.valueOf(fila.linea), fila.motivo, fila.campos);
+        rechazadas.incrementAndGet();
+    }
+
+    // ========================================================================
+    // INTERNOS
+    // ========================================================================
+
+    /** @return posición de cada columna conocida en la cabecera */
+    private static Map<String, Integer> columnas(String[] cabecera) {
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < cabecera.length; i++) {
+            String nombre = cabecera[i].trim().toLowerCase(Locale.ROOT);
+            if (COLUMNAS.contains(nombre) && columnas.putIfAbsent(nombre, i) != null) {
+                throw new IllegalArgumentException("Columna repetida en la cabecera: " + nombre);
+            }
+        }
+        for (String obligatoria : OBLIGATORIAS) {
+            if (!columnas.containsKey(obligatoria)) {
+                throw new IllegalArgumentException("Falta la columna obligatoria: " + obligatoria
+                        + " (columnas: " + String.join(", ", COLUMNAS) + ")");
+            }
+        }
+        return columnas;
+    }
+
+    /** Fila del archivo: resultado de la validación (empleado) o motivo de rechazo. */
+    private static final class Fila {
+        final long linea;
+        final String[] campos;
+        Empleado empleado;
+        String motivo;
+
+        Fila(long linea, String[] campos) {
+            this.linea = linea;
+            this.campos = campos;
+        }
+    }
+
+    private static final class Bloque {
+        final List<Fila> filas;
+
+        Bloque(List<Fila> filas) {
+            this.filas = filas;
+        }
+    }
+
+    /** Archivo de rechazos: linea, motivo y los campos originales. */
+    private static final class Rechazos {
+        private final BufferedWriter out;
+        private final char separador;
+
+        Rechazos(BufferedWriter out, char separador) {
+            this.out = out;
+            this.separador = separador;
+        }
+
+        void escribir(String linea, String motivo, String[] campos) throws IOException {
+            campo(linea);
+            out.write(separador);
+            campo(motivo);
+            for (String valor : campos) {
+                out.write(separador);
+                campo(valor);
+            }
+            out.write('\n');
+        }
+
+        private void campo(String texto) throws IOException {
+            if (texto == null) {
+                return;
+            }
+            if (texto.indexOf(separador) >= 0 || texto.indexOf('"') >= 0
+                    || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+                texto = '"' + texto.replace("\"", "\"\"") + '"';
+            }
+            out.write(texto);
+        }
+    }
+}
@@ -1,10 +1,20 @@
 package Service;
 
+import Cache.CacheEntidades;
 import Config.DatabaseConnection;
+import Config.DeadlineExceededException;
 import Config.TransactionManager;
+import Dao.Dotacion;
+import Dao.DotacionDAO;
+import Dao.DotacionDAOImpl;
 import Dao.LegajoDAO;
 import Dao.LegajoDAOImpl;
+import Dao.Orden;
+import Entities.Estado;
 import Entities.Legajo;
+import Metrics.Medicion;
+import Metrics.MetricaOperacion;
+import Metrics.Metricas;
 
 import java.sql.Connection;
 import java.util.List;
@@ -14,15 +24,33 @@ import java.util.List;
  * Aplica validaciones y restricciones de integridad referencial.
  * 
  * IMPORTANTE: Un legajo NO puede existir sin un empleado asociado.
+ * 
+ * getById pasa por CacheEntidades. Actualizar o eliminar un legajo invalida,
+ * después del commit, el legajo y el empleado cacheado que lo contiene, y
+ * se refleja en el almacén analítico (CacheEntidades.ANALITICA). La tabla
+ * resumen dotacion se actualiza dentro de la misma transacción.
  */
 public class LegajoServiceImpl implements LegajoService {
+    /** Tamaño máximo de página aceptado por getPagina() */
+    private static final int TAMANIO_MAX_PAGINA = 500;
+    
+    // Métricas por operación (ver Metrics.Metricas): conexión y commit se miden acá,
+    // ejecución y mapeo en los DAOs.
+    private static final MetricaOperacion M_ACTUALIZAR = Metricas.operacion("LegajoService.actualizar");
+    private static final MetricaOperacion M_ELIMINAR = Metricas.operacion("LegajoService.eliminar");
+    private static final MetricaOperacion M_GET_BY_ID = Metricas.operacion("LegajoService.getById");
+    private static final MetricaOperacion M_GET_ALL = Metricas.operacion("LegajoService.getAll");
+    private static final MetricaOperacion M_GET_PAGINA = Metricas.operacion("LegajoService.getPagina");
+    
     private final LegajoDAO legajoDAO;
+    private final DotacionDAO dotacionDAO;
     
     /**
-     * Constructor que inicializa el DAO necesario.
+     * Constructor que inicializa los DAOs necesarios.
      */
     public LegajoServiceImpl() {
         this.legajoDAO = new LegajoDAOImpl();
+        this.dotacionDAO = new DotacionDAOImpl();
     }
     
     /**
@@ -48,20 +76,48 @@ public class LegajoServiceImpl implements LegajoService {
      */
     @Override
     public void actualizar(Legajo legajo) throws Exception {
-        if (legajo.getId() == null || legajo.getId() <= 0) {
-            throw new IllegalArgumentException("El ID del legajo debe ser mayor a 0 para actualizar");
-        }
-        validarLegajo(legajo);
+        Medicion m = M_ACTUALIZAR.iniciar();
+        try {
+            if (legajo.getId() == null || legajo.getId() <= 0) {
+                throw new IllegalArgumentException("El ID del legajo debe ser mayor a 0 para actualizar");
+            }
+            validarLegajo(legajo);
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             TransactionManager tx = new TransactionManager(conn)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 TransactionManager tx = new TransactionManager(conn)) {
+                m.conectado();
             
-            tx.startTransaction();
-            legajoDAO.actualizar(legajo, conn);
-            tx.commit();
+                tx.startTransaction();
+                Dotacion anterior = dotacionDAO.claveDeLegajo(legajo.getId(), conn);
+                Long empleadoId = legajoDAO.empleadoDeLegajo(legajo.getId(), conn);
+                legajoDAO.actualizar(legajo, conn);
+                if (anterior != null) {
+                    // Si el estado no cambió, los dos cambios se anulan y no se escribe nada
+                    dotacionDAO.sumar(List.of(
+                            new Dotacion(anterior.getArea(), anterior.getEstado(), -1),
+                            new Dotacion(anterior.getArea(), legajo.getEstado(), 1)), conn);
+                }
+                Long id = legajo.getId();
+                String categoria = legajo.getCategoria();
+                Estado estado = legajo.getEstado();
+                tx.afterCommit(() -> {
+                    invalidarCache(id, empleadoId);
+                    CacheEntidades.ANALITICA.actualizarLegajo(id, categoria, estado);
+                });
+                m.ejecutado();
+                tx.commit();
+                m.confirmado();
             
+            } catch (DeadlineExceededException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new Exception("Error al actualizar legajo: " + e.getMessage(), e);
+            }
         } catch (Exception e) {
-            throw new Exception("Error al actualizar legajo: " + e.getMessage(), e);
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
         }
     }
     
@@ -73,19 +129,44 @@ public class LegajoServiceImpl implements LegajoService {
      */
     @Override
     public void eliminar(Long id) throws Exception {
-        if (id <= 0) {
-            throw new IllegalArgumentException("El ID debe ser mayor a 0");
-        }
+        Medicion m = M_ELIMINAR.iniciar();
+        try {
+            if (id <= 0) {
+                throw new IllegalArgumentException("El ID debe ser mayor a 0");
+            }
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             TransactionManager tx = new TransactionManager(conn)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 TransactionManager tx = new TransactionManager(conn)) {
+                m.conectado();
             
-            tx.startTransaction();
-            legajoDAO.eliminar(id, conn);
-            tx.commit();
+                tx.startTransaction();
+                Dotacion anterior = dotacionDAO.claveDeLegajo(id, conn);
+                Long empleadoId = legajoDAO.empleadoDeLegajo(id, conn);
+                legajoDAO.eliminar(id, conn);
+                if (anterior != null) {
+                    // El empleado sigue activo, ahora sin legajo
+                    dotacionDAO.sumar(List.of(
+                            new Dotacion(anterior.getArea(), anterior.getEstado(), -1),
+                            new Dotacion(anterior.getArea(), null, 1)), conn);
+                }
+                tx.afterCommit(() -> {
+                    invalidarCache(id, empleadoId);
+                    CacheEntidades.ANALITICA.eliminarLegajo(id);
+                });
+                m.ejecutado();
+                tx.commit();
+                m.confirmado();
             
+            } catch (DeadlineExceededException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new Exception("Error al eliminar legajo: " + e.getMessage(), e);
+            }
         } catch (Exception e) {
-            throw new Exception("Error al eliminar legajo: " + e.getMessage(), e);
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
         }
     }
     
@@ -98,10 +179,19 @@ public class LegajoServiceImpl implements LegajoService {
      */
     @Override
     public Legajo getById(Long id) throws Exception {
-        if (id <= 0) {
-            throw new IllegalArgumentException("El ID debe ser mayor a 0");
+        Medicion m = M_GET_BY_ID.iniciar();
+        try {
+            if (id <= 0) {
+                throw new IllegalArgumentException("El ID debe ser mayor a 0");
+            }
+            // Lo que se cachea se lee del primario: una réplica atrasada dejaría un dato viejo por todo el TTL
+            return CacheEntidades.LEGAJOS.obtener(id, legajoId -> DatabaseConnection.leerDelPrimario(() -> legajoDAO.leer(legajoId)));
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
         }
-        return legajoDAO.leer(id);
     }
     
     /**
@@ -112,7 +202,61 @@ public class LegajoServiceImpl implements LegajoService {
      */
     @Override
     public List<Legajo> getAll() throws Exception {
-        return legajoDAO.leerTodos();
+        Medicion m = M_GET_ALL.iniciar();
+        try {
+            return legajoDAO.leerTodos();
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+    
+    /**
+     * Obtiene una página de legajos activos ordenados por ID.
+     * Pide un elemento de más para saber si existe una página siguiente.
+     *
+     * @param cursor  null para la primera página, o el cursor de la anterior
+     * @param tamanio Cantidad de elementos por página (1 a TAMANIO_MAX_PAGINA)
+     * @param orden   ASC o DESC por ID
+     * @return Página con sus elementos y el cursor de la siguiente
+     * @throws Exception Si el tamaño es inválido o hay error de BD
+     */
+    @Override
+    public Pagina<Legajo> getPagina(Long cursor, int tamanio, Orden orden) throws Exception {
+        Medicion m = M_GET_PAGINA.iniciar();
+        try {
+            if (tamanio <= 0 || tamanio > TAMANIO_MAX_PAGINA) {
+                throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANIO_MAX_PAGINA);
+            }
+            List<Legajo> elementos = legajoDAO.leerPagina(cursor, tamanio + 1, orden != null ? orden : Orden.ASC);
+            Long siguiente = null;
+            if (elementos.size() > tamanio) {
+                elementos.remove(tamanio);
+                siguiente = elementos.get(tamanio - 1).getId();
+            }
+            return new Pagina<>(elementos, siguiente);
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+    
+    /**
+     * Quita del cache el legajo y el empleado que lo tiene asociado.
+     *
+     * @param id         ID del legajo modificado
+     * @param empleadoId ID del empleado dueño del legajo (null si no se encontró)
+     */
+    private void invalidarCache(Long id, Long empleadoId) {
+        CacheEntidades.LEGAJOS.invalidar(id);
+        if (empleadoId != null) {
+            CacheEntidades.EMPLEADOS.invalidar(empleadoId);
+        }
+        GestorSnapshot.descartarLegajo(id);
     }
     
     /**
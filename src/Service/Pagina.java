@@ -0,0 +1,39 @@
+package Service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página de resultados de una consulta paginada por keyset (ID).
+ *
+ * El cursor siguiente es el ID del último elemento de la página: se pasa
+ * tal cual a getPagina() para obtener la página que sigue. Es null cuando
+ * no hay más resultados.
+ *
+ * @param <T> Tipo de entidad (Empleado, Legajo, etc.)
+ */
+public class Pagina<T> {
+    private final List<T> contenido;
+    private final Long siguienteCursor;
+
+    public Pagina(List<T> contenido, Long siguienteCursor) {
+        this.contenido = Collections.unmodifiableList(contenido);
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public List<T> getContenido() { return contenido; }
+
+    public Long getSiguienteCursor() { return siguienteCursor; }
+
+    public boolean tieneSiguiente() { return siguienteCursor != null; }
+
+    public boolean estaVacia() { return contenido.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "Pagina{" +
+                "elementos=" + contenido.size() +
+                ", siguienteCursor=" + siguienteCursor +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package Service;
+
+import Dao.Conteo;
+import Dao.Dotacion;
+import Entities.Estado;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Reportes de conteos y distribuciones calculados en la BD (GROUP BY),
+ * sin traer las entidades a memoria.
+ */
+public interface ReporteService {
+
+    // Empleados activos por área (clave null = sin área).
+    List<Conteo<String>> empleadosPorArea() throws Exception;
+
+    // Legajos no eliminados por estado.
+    List<Conteo<Estado>> legajosPorEstado() throws Exception;
+
+    // Altas (empleados activos) por mes de ingreso, entre desde y hasta
+    // inclusive; null = sin límite.
+    List<Conteo<YearMonth>> altasPorMes(LocalDate desde, LocalDate hasta) throws Exception;
+
+    // Empleados activos que no tienen legajo activo.
+    long empleadosSinLegajo() throws Exception;
+
+    // --- Tabla resumen dotacion (mantenida en cada escritura) ---
+    // Empleados activos con esa área y ese estado de legajo (null = sin área /
+    // sin legajo): una lectura por clave primaria.
+    long dotacion(String area, Estado estado) throws Exception;
+
+    // Todas las celdas (área, estado) con empleados.
+    List<Dotacion> dotacion() throws Exception;
+
+    // Recalcula la tabla desde empleados y legajos e informa las celdas que
+    // estaban desviadas.
+    ResultadoReconstruccion reconstruirDotacion() throws Exception;
+}
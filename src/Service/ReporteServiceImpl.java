@@ -0,0 +1,201 @@
+package Service;
+
+import Config.DatabaseConnection;
+import Config.DeadlineExceededException;
+import Config.TransactionManager;
+import Dao.Conteo;
+import Dao.Dotacion;
+import Dao.DotacionDAO;
+import Dao.DotacionDAOImpl;
+import Dao.ReporteDAO;
+import Dao.ReporteDAOImpl;
+import Entities.Estado;
+import Metrics.Medicion;
+import Metrics.MetricaOperacion;
+import Metrics.Metricas;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de ReporteService sobre ReporteDAO.
+ * Cada reporte es una sola consulta agregada que se resuelve con un índice;
+ * a la aplicación llega una fila por grupo.
+ *
+ * La dotación por (área, estado) se lee de la tabla resumen dotacion, que
+ * los Services de Empleado y Legajo mantienen en cada escritura; los
+ * cambios hechos por fuera (scripts, SQL manual) la desvían hasta que se
+ * ejecuta {@link #reconstruirDotacion()}.
+ */
+public class ReporteServiceImpl implements ReporteService {
+
+    // Métricas por operación (ver Metrics.Metricas); la conexión y la
+    // ejecución se miden en el DAO.
+    private static final MetricaOperacion M_POR_AREA = Metricas.operacion("ReporteService.empleadosPorArea");
+    private static final MetricaOperacion M_POR_ESTADO = Metricas.operacion("ReporteService.legajosPorEstado");
+    private static final MetricaOperacion M_ALTAS_POR_MES = Metricas.operacion("ReporteService.altasPorMes");
+    private static final MetricaOperacion M_SIN_LEGAJO = Metricas.operacion("ReporteService.empleadosSinLegajo");
+    private static final MetricaOperacion M_DOTACION = Metricas.operacion("ReporteService.dotacion");
+    private static final MetricaOperacion M_RECONSTRUIR = Metricas.operacion("ReporteService.reconstruirDotacion");
+
+    private final ReporteDAO reporteDAO;
+    private final DotacionDAO dotacionDAO;
+
+    public ReporteServiceImpl() {
+        this.reporteDAO = new ReporteDAOImpl();
+        this.dotacionDAO = new DotacionDAOImpl();
+    }
+
+    @Override
+    public List<Conteo<String>> empleadosPorArea() throws Exception {
+        Medicion m = M_POR_AREA.iniciar();
+        try {
+            return reporteDAO.empleadosPorArea();
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+
+    @Override
+    public List<Conteo<Estado>> legajosPorEstado() throws Exception {
+        Medicion m = M_POR_ESTADO.iniciar();
+        try {
+            return reporteDAO.legajosPorEstado();
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+
+    /**
+     * @param desde primer día incluido, o null
+     * @param hasta último día incluido, o null
+     * @throws IllegalArgumentException Si desde es posterior a hasta
+     */
+    @Override
+    public List<Conteo<YearMonth>> altasPorMes(LocalDate desde, LocalDate hasta) throws Exception {
+        Medicion m = M_ALTAS_POR_MES.iniciar();
+        try {
+            if (desde != null && hasta != null && desde.isAfter(hasta)) {
+                throw new IllegalArgumentException("La fecha desde no puede ser posterior a la fecha hasta");
+            }
+            return reporteDAO.altasPorMes(desde, hasta);
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+
+    @Override
+    public long empleadosSinLegajo() throws Exception {
+        Medicion m = M_SIN_LEGAJO.iniciar();
+        try {
+            return reporteDAO.empleadosSinLegajo();
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+
+    @Override
+    public long dotacion(String area, Estado estado) throws Exception {
+        Medicion m = M_DOTACION.iniciar();
+        try {
+            return dotacionDAO.leer(area, estado);
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+
+    @Override
+    public List<Dotacion> dotacion() throws Exception {
+        Medicion m = M_DOTACION.iniciar();
+        try {
+            return dotacionDAO.leerTodas();
+        } catch (Exception e) {
+            m.fallo();
+            throw e;
+        } finally {
+            m.terminar();
+        }
+    }
+
+    /**
+     * Reconstruye la tabla dotacion en una sola transacción:
+     * 1. Bloquea sus filas: las altas, bajas y cambios concurrentes esperan
+     *    (la cantidad leída es la confirmada, no la de una foto vieja).
+     * 2. Recalcula las celdas con un GROUP BY sobre empleados y legajos.
+     * 3. Compara celda por celda y reemplaza el contenido de la tabla.
+     *
+     * @return las celdas que estaban desviadas
+     * @throws Exception Si falla la BD (la tabla queda como estaba)
+     */
+    @Override
+    public ResultadoReconstruccion reconstruirDotacion() throws Exception {
+        Medicion m = M_RECONSTRUIR.iniciar();
+        try (Connection conn = DatabaseConnection.getConnection();
+             TransactionManager tx = new TransactionManager(conn)) {
+            m.conectado();
+
+            tx.startTransaction();
+            List<Dotacion> registradas = dotacionDAO.leerParaReconstruir(conn);
+            List<Dotacion> reales = dotacionDAO.calcular(conn);
+            dotacionDAO.reemplazar(reales, conn);
+            m.ejecutado();
+            tx.commit();
+            m.confirmado();
+
+            Map<String, Dotacion> porClave = new HashMap<>();
+            for (Dotacion registrada : registradas) {
+                porClave.put(clave(registrada), registrada);
+            }
+            long empleados = 0;
+            for (Dotacion real : reales) {
+                empleados += real.getCantidad();
+            }
+            ResultadoReconstruccion resultado = new ResultadoReconstruccion(empleados, reales.size());
+            for (Dotacion real : reales) {
+                Dotacion registrada = porClave.remove(clave(real));
+                long cantidad = registrada != null ? registrada.getCantidad() : 0;
+                if (cantidad != real.getCantidad()) {
+                    resultado.registrarDiferencia(real.getArea(), real.getEstado(), cantidad, real.getCantidad());
+                }
+            }
+            // Celdas registradas que ya no tienen empleados
+            for (Dotacion registrada : porClave.values()) {
+                if (registrada.getCantidad() != 0) {
+                    resultado.registrarDiferencia(registrada.getArea(), registrada.getEstado(), registrada.getCantidad(), 0);
+                }
+            }
+            return resultado;
+
+        } catch (DeadlineExceededException e) {
+            m.fallo();
+            throw e;
+        } catch (Exception e) {
+            m.fallo();
+            throw new Exception("Error al reconstruir la dotación: " + e.getMessage(), e);
+        } finally {
+            m.terminar();
+        }
+    }
+
+    private static String clave(Dotacion celda) {
+        return celda.getArea() + '\u0000' + celda.getEstado();
+    }
+}
@@ -0,0 +1,76 @@
+package Service;
+
+import Entities.Empleado;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una carga masiva de empleados.
+ * Informa cuántas filas se crearon y el motivo de cada fila rechazada,
+ * sin que una fila inválida aborte el resto de la carga.
+ */
+public class ResultadoCarga {
+    private final int procesados;
+    private int creados;
+    private final List<Falla> fallas = new ArrayList<>();
+
+    public ResultadoCarga(int procesados) {
+        this.procesados = procesados;
+    }
+
+    void registrarCreados(int cantidad) {
+        creados += cantidad;
+    }
+
+    void registrarFalla(int indice, Empleado empleado, String motivo) {
+        fallas.add(new Falla(indice, empleado, motivo));
+    }
+
+    public int getProcesados() { return procesados; }
+
+    public int getCreados() { return creados; }
+
+    public List<Falla> getFallas() { return Collections.unmodifiableList(fallas); }
+
+    public boolean tieneFallas() { return !fallas.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "ResultadoCarga{" +
+                "procesados=" + procesados +
+                ", creados=" + creados +
+                ", fallas=" + fallas.size() +
+                '}';
+    }
+
+    /**
+     * Fila rechazada: posición en la lista original, empleado y motivo.
+     */
+    public static class Falla {
+        private final int indice;
+        private final Empleado empleado;
+        private final String motivo;
+
+        Falla(int indice, Empleado empleado, String motivo) {
+            this.indice = indice;
+            this.empleado = empleado;
+            this.motivo = motivo;
+        }
+
+        public int getIndice() { return indice; }
+
+        public Empleado getEmpleado() { return empleado; }
+
+        public String getMotivo() { return motivo; }
+
+        @Override
+        public String toString() {
+            return "Falla{" +
+                    "indice=" + indice +
+                    ", dni='" + (empleado != null ? empleado.getDni() : null) + '\'' +
+                    ", motivo='" + motivo + '\'' +
+                    '}';
+        }
+    }
+}
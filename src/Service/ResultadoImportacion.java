@@ -0,0 +1,50 @@
+package Service;
+
+/**
+ * Avance (o resultado final) de una importación de {@link ImportadorCsv}.
+ * Es una foto inmutable: los contadores no cambian después de obtenerla.
+ */
+public class ResultadoImportacion {
+    private final long leidas;
+    private final long creadas;
+    private final long rechazadas;
+    private final long nanos;
+
+    ResultadoImportacion(long leidas, long creadas, long rechazadas, long nanos) {
+        this.leidas = leidas;
+        this.creadas = creadas;
+        this.rechazadas = rechazadas;
+        this.nanos = nanos;
+    }
+
+    /** @return filas de datos leídas del archivo (sin la cabecera) */
+    public long getLeidas() { return leidas; }
+
+    /** @return filas insertadas (empleado y, si tenía, su legajo) */
+    public long getCreadas() { return creadas; }
+
+    /** @return filas escritas en el archivo de rechazos */
+    public long getRechazadas() { return rechazadas; }
+
+    /** @return filas leídas que todavía no se insertaron ni rechazaron */
+    public long getPendientes() { return leidas - creadas - rechazadas; }
+
+    /** @return milisegundos desde el inicio de la importación */
+    public long getMilisegundos() { return nanos / 1_000_000; }
+
+    /** @return filas resueltas (creadas + rechazadas) por segundo */
+    public double getFilasPorSegundo() {
+        return nanos > 0 ? (creadas + rechazadas) * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoImportacion{" +
+                "leidas=" + leidas +
+                ", creadas=" + creadas +
+                ", rechazadas=" + rechazadas +
+                ", ms=" + getMilisegundos() +
+                ", filasPorSegundo=" + String.format("%.0f", getFilasPorSegundo()) +
+                '}';
+    }
+}
@@ -0,0 +1,84 @@
+package Service;
+
+import Entities.Estado;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de reconstruir la tabla resumen dotacion.
+ * Informa las celdas que tenían una cantidad distinta de la real (el
+ * desvío acumulado por cambios hechos fuera de los Services).
+ */
+public class ResultadoReconstruccion {
+    private final long empleados;
+    private final int celdas;
+    private final List<Diferencia> diferencias = new ArrayList<>();
+
+    ResultadoReconstruccion(long empleados, int celdas) {
+        this.empleados = empleados;
+        this.celdas = celdas;
+    }
+
+    void registrarDiferencia(String area, Estado estado, long registrada, long real) {
+        diferencias.add(new Diferencia(area, estado, registrada, real));
+    }
+
+    /** @return empleados activos contados al reconstruir */
+    public long getEmpleados() { return empleados; }
+
+    /** @return celdas (área, estado) con empleados */
+    public int getCeldas() { return celdas; }
+
+    public List<Diferencia> getDiferencias() { return Collections.unmodifiableList(diferencias); }
+
+    public boolean tieneDiferencias() { return !diferencias.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "ResultadoReconstruccion{" +
+                "empleados=" + empleados +
+                ", celdas=" + celdas +
+                ", diferencias=" + diferencias.size() +
+                '}';
+    }
+
+    /**
+     * Celda cuya cantidad registrada no coincidía con la calculada.
+     * area null = sin área; estado null = sin legajo.
+     */
+    public static class Diferencia {
+        private final String area;
+        private final Estado estado;
+        private final long registrada;
+        private final long real;
+
+        Diferencia(String area, Estado estado, long registrada, long real) {
+            this.area = area;
+            this.estado = estado;
+            this.registrada = registrada;
+            this.real = real;
+        }
+
+        public String getArea() { return area; }
+
+        public Estado getEstado() { return estado; }
+
+        public long getRegistrada() { return registrada; }
+
+        public long getReal() { return real; }
+
+        /** @return real - registrada */
+        public long getDesvio() { return real - registrada; }
+
+        @Override
+        public String toString() {
+            return "Diferencia{" +
+                    "area=" + area +
+                    ", estado=" + estado +
+                    ", registrada=" + registrada +
+                    ", real=" + real +
+                    '}';
+        }
+    }
+}
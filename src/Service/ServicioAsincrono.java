@@ -0,0 +1,259 @@
+package Service;
+
+import Config.DatabaseConnection;
+import Config.Deadline;
+import Config.DeadlineExceededException;
+import Dao.Orden;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Variantes asincrónicas de las operaciones de un {@link GenericService}.
+ *
+ * Cada llamada corre en su propio hilo virtual y devuelve un
+ * CompletableFuture; así un fan-out (p. ej. 50 getById para un reporte)
+ * tarda lo que la llamada más lenta y no la suma de todas.
+ *
+ * - Bulkhead: como mucho service.async.maxConcurrent operaciones (por
+ *   defecto, el tamaño del pool) trabajan a la vez; el resto espera turno
+ *   sin ocupar conexiones ni hacer cola en el pool.
+ * - Plazos: si el llamador tiene un {@link Deadline} abierto, la tarea
+ *   corre bajo el tiempo que le queda (incluida la espera de turno).
+ * - Cancelación: cancel() sobre el future devuelto cancela la sentencia
+ *   que la operación esté ejecutando; el future termina con
+ *   CancellationException y la operación no deja la conexión tomada.
+ * - Read-your-writes con réplicas: la tarea hereda la última escritura del
+ *   hilo llamador y de las tareas ya terminadas de esta instancia, así no
+ *   lee de una réplica que todavía no recibió esas escrituras.
+ *
+ * Los errores del servicio completan el future excepcionalmente con la
+ * misma excepción que lanzaría la llamada sincrónica.
+ *
+ * @param <T> Tipo de entidad (Empleado, Legajo, etc.)
+ */
+public class ServicioAsincrono<T> {
+
+    /** Un hilo virtual por tarea: esperar la BD no ocupa hilos de plataforma. */
+    private static final ExecutorService EJECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final int MAX_CONCURRENTES =
+            Integer.getInteger("service.async.maxConcurrent", DatabaseConnection.getMaxPoolSize());
+    private static final Semaphore BULKHEAD = new Semaphore(MAX_CONCURRENTES, true);
+    /** Cada cuánto revisa su plazo una tarea que espera turno. */
+    private static final long SONDEO_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final AtomicInteger ESPERANDO = new AtomicInteger();
+
+    private final GenericService<T> servicio;
+    /** Última escritura (nanoTime) de las tareas terminadas de esta instancia */
+    private final AtomicLong ultimaEscritura = new AtomicLong(DatabaseConnection.SIN_ESCRITURA);
+
+    public ServicioAsincrono(GenericService<T> servicio) {
+        if (servicio == null) {
+            throw new IllegalArgumentException("El servicio no puede ser null");
+        }
+        this.servicio = servicio;
+    }
+
+    public CompletableFuture<Void> insertar(T entidad) {
+        return ejecutar(() -> {
+            servicio.insertar(entidad);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> actualizar(T entidad) {
+        return ejecutar(() -> {
+            servicio.actualizar(entidad);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> eliminar(Long id) {
+        return ejecutar(() -> {
+            servicio.eliminar(id);
+            return null;
+        });
+    }
+
+    public CompletableFuture<T> getById(Long id) {
+        return ejecutar(() -> servicio.getById(id));
+    }
+
+    public CompletableFuture<List<T>> getAll() {
+        return ejecutar(servicio::getAll);
+    }
+
+    public CompletableFuture<Pagina<T>> getPagina(Long cursor, int tamanio, Orden orden) {
+        return ejecutar(() -> servicio.getPagina(cursor, tamanio, orden));
+    }
+
+    /**
+     * Obtiene varias entidades por ID en paralelo.
+     *
+     * Si una lectura falla, el resultado falla con ese error y se cancelan
+     * las que siguen en curso. Cancelar el resultado cancela todas.
+     *
+     * @param ids IDs a leer
+     * @return entidades en el mismo orden que ids (null donde no existe)
+     */
+    public CompletableFuture<List<T>> getByIds(List<Long> ids) {
+        if (ids == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("La lista de IDs no puede ser null"));
+        }
+        List<CompletableFuture<T>> partes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            partes.add(getById(id));
+        }
+
+        TareaAsincrona<List<T>> todas = new TareaAsincrona<>();
+        todas.alCancelar(() -> cancelarTodas(partes));
+        for (CompletableFuture<T> parte : partes) {
+            parte.whenComplete((valor, error) -> {
+                if (error != null && todas.completeExceptionally(error)) {
+                    cancelarTodas(partes);
+                }
+            });
+        }
+        CompletableFuture.allOf(partes.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+            List<T> resultado = new ArrayList<>(partes.size());
+            for (CompletableFuture<T> parte : partes) {
+                resultado.add(parte.join());
+            }
+            todas.complete(resultado);
+        });
+        return todas;
+    }
+
+    // ========================================================================
+    // EJECUCIÓN
+    // ========================================================================
+
+    /** Operación sincrónica del servicio a ejecutar en segundo plano. */
+    @FunctionalInterface
+    protected interface Llamada<R> {
+        R llamar() throws Exception;
+    }
+
+    /**
+     * Ejecuta la llamada en un hilo virtual, bajo el bulkhead y con un plazo
+     * cancelable derivado del plazo del hilo llamador.
+     */
+    protected final <R> CompletableFuture<R> ejecutar(Llamada<R> llamada) {
+        Deadline delLlamador = Deadline.actual();
+        long escrituraLlamador = DatabaseConnection.getUltimaEscritura();
+        TareaAsincrona<R> tarea = new TareaAsincrona<>();
+        try {
+            EJECUTOR.execute(() -> {
+                // La ventana read-your-writes es por hilo y no viaja sola al hilo virtual
+                DatabaseConnection.heredarUltimaEscritura(escrituraLlamador);
+                DatabaseConnection.heredarUltimaEscritura(ultimaEscritura.get());
+                correr(tarea, llamada, delLlamador);
+            });
+        } catch (RejectedExecutionException e) {
+            tarea.completeExceptionally(e);
+        }
+        return tarea;
+    }
+
+    /** @return operaciones asincrónicas trabajando en este momento */
+    public static int getEnCurso() {
+        return MAX_CONCURRENTES - BULKHEAD.availablePermits();
+    }
+
+    /** @return operaciones asincrónicas esperando turno en el bulkhead */
+    public static int getEsperando() {
+        return ESPERANDO.get();
+    }
+
+    /** @return límite de operaciones asincrónicas simultáneas */
+    public static int getMaxConcurrentes() {
+        return MAX_CONCURRENTES;
+    }
+
+    private <R> void correr(TareaAsincrona<R> tarea, Llamada<R> llamada, Deadline delLlamador) {
+        if (tarea.isDone()) {
+            return;
+        }
+        try (Deadline deadline = abrirPlazo(delLlamador)) {
+            if (!tarea.iniciar(deadline)) {
+                return;
+            }
+            tomarTurno(deadline);
+            R resultado;
+            try {
+                resultado = llamada.llamar();
+            } finally {
+                BULKHEAD.release();
+            }
+            registrarEscritura();
+            tarea.complete(resultado);
+        } catch (Throwable e) {
+            registrarEscritura();
+            tarea.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Suma la escritura de la tarea (si hizo alguna) a la de la instancia,
+     * antes de completar el future: la próxima tarea ya la hereda.
+     */
+    private void registrarEscritura() {
+        long propia = DatabaseConnection.getUltimaEscritura();
+        if (propia != DatabaseConnection.SIN_ESCRITURA) {
+            ultimaEscritura.accumulateAndGet(propia, ServicioAsincrono::masReciente);
+        }
+    }
+
+    /**
+     * Abre en el hilo de la tarea un plazo cancelable con el vencimiento
+     * del llamador (el plazo es por hilo y no viaja solo al hilo virtual).
+     */
+    private static Deadline abrirPlazo(Deadline delLlamador) {
+        long restante = delLlamador != null ? delLlamador.restanteNanos() : Long.MAX_VALUE;
+        if (restante == Long.MAX_VALUE) {
+            return Deadline.cancelable();
+        }
+        if (restante <= 0) {
+            throw new DeadlineExceededException("Plazo vencido antes de iniciar la operación asincrónica");
+        }
+        return Deadline.dentroDe(Duration.ofNanos(restante));
+    }
+
+    /**
+     * Espera un turno del bulkhead revisando el plazo: una tarea cancelada
+     * o vencida deja la cola sin llegar a la BD.
+     */
+    private static void tomarTurno(Deadline deadline) throws InterruptedException {
+        ESPERANDO.incrementAndGet();
+        try {
+            while (!BULKHEAD.tryAcquire(Math.min(SONDEO_NANOS, deadline.restanteNanos()), TimeUnit.NANOSECONDS)) {
+                deadline.verificar("obtener turno para la operación asincrónica");
+            }
+        } finally {
+            ESPERANDO.decrementAndGet();
+        }
+    }
+
+    private static long masReciente(long a, long b) {
+        if (a == DatabaseConnection.SIN_ESCRITURA) {
+            return b;
+        }
+        return b - a > 0 ? b : a;
+    }
+
+    private static void cancelarTodas(List<? extends CompletableFuture<?>> partes) {
+        for (CompletableFuture<?> parte : partes) {
+            parte.cancel(false);
+        }
+    }
+}
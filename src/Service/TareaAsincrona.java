@@ -0,0 +1,53 @@
+package Service;
+
+import Config.Deadline;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Future de una operación de {@link ServicioAsincrono}.
+ *
+ * cancel() además cancela el {@link Deadline} bajo el que corre la tarea:
+ * la sentencia en curso recibe Statement.cancel() y la operación termina
+ * con DeadlineExceededException en su hilo. El hilo virtual no se
+ * interrumpe (interrumpirlo cerraría el socket de la conexión).
+ *
+ * Sólo el future devuelto por el servicio cancela la tarea; las etapas
+ * derivadas (thenApply, etc.) se comportan como un CompletableFuture común.
+ */
+final class TareaAsincrona<R> extends CompletableFuture<R> {
+
+    private volatile Deadline deadline;
+    private volatile Runnable alCancelar;
+
+    /**
+     * Registra el plazo de la tarea que empieza a ejecutarse.
+     *
+     * @return false si la tarea ya fue cancelada (no debe ejecutarse)
+     */
+    boolean iniciar(Deadline deadline) {
+        this.deadline = deadline;
+        // cancel() pudo correr antes de registrar el plazo
+        return !isDone();
+    }
+
+    /** Acción adicional al cancelar (p. ej. cancelar las subtareas de un fan-out). */
+    void alCancelar(Runnable accion) {
+        this.alCancelar = accion;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelada = super.cancel(mayInterruptIfRunning);
+        if (cancelada) {
+            Deadline d = deadline;
+            if (d != null) {
+                d.cancelar();
+            }
+            Runnable accion = alCancelar;
+            if (accion != null) {
+                accion.run();
+            }
+        }
+        return cancelada;
+    }
+}
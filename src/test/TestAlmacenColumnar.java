@@ -0,0 +1,307 @@
+package test;
+
+import Cache.Agrupacion;
+import Cache.AlmacenColumnar;
+import Cache.AlmacenColumnar.Dimension;
+import Cache.AlmacenColumnar.Filtro;
+import Entities.Empleado;
+import Entities.Estado;
+import Entities.Legajo;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Test del almacen analitico (AlmacenColumnar) contra un conteo por fuerza bruta.
+ *
+ * PREREQUISITOS: ninguno (no usa la base de datos).
+ *
+ * Carga un conjunto fijo de empleados con cargarSiHaceFalta y compara
+ * contar/agrupar con el mismo conteo hecho fila por fila sobre una copia:
+ *
+ * TESTS:
+ * 1. Consultas sin rango de fechas (totales por combinacion)
+ * 2. Consultas con rango de fechas (recorrido sin saltos, incluidas fechas
+ *    anteriores a 1970 y empleados sin fecha de ingreso)
+ * 3. Las mismas consultas despues de modificar empleados y legajos
+ *    (totales mantenidos con quitarDeTotales / sumarATotales y bits de baja)
+ *
+ * Con -Danalitica.particion=1024 el test 2 recorre varias particiones.
+ */
+public class TestAlmacenColumnar {
+
+    private static final String[] AREAS = {"IT", "RRHH", "Ventas", null};
+    private static final String[] CATEGORIAS = {"A", "B", null};
+    private static final LocalDate[] FECHAS = {
+        LocalDate.of(1900, 1, 1), LocalDate.of(1955, 6, 30), LocalDate.of(1969, 12, 31),
+        LocalDate.of(1970, 1, 1), LocalDate.of(1999, 12, 31), LocalDate.of(2010, 3, 15),
+        LocalDate.of(2024, 2, 29), LocalDate.of(2100, 1, 1), null
+    };
+
+    private static AlmacenColumnar almacen;
+    private static List<Fila> modelo;
+    private static int testsPasados = 0;
+    private static int testsFallados = 0;
+
+    public static void main(String[] args) {
+        System.out.println("========================================================");
+        System.out.println("   TEST DE ALMACEN COLUMNAR - Conteos y agrupaciones    ");
+        System.out.println("========================================================\n");
+
+        try {
+            modelo = generar(3000);
+            almacen = new AlmacenColumnar();
+            almacen.cargarSiHaceFalta(destino -> {
+                for (Fila f : modelo) {
+                    destino.agregar(f.id, f.eliminado, f.ingreso, f.area, f.legajoId, f.categoria, f.estado);
+                }
+            });
+        } catch (Exception e) {
+            System.out.println("No se pudo cargar el almacen: " + e.getMessage());
+            e.printStackTrace();
+            return;
+        }
+
+        test1_sinRango();
+        test2_conRango();
+        test3_despuesDeModificar();
+
+        System.out.println("\n========================================================");
+        System.out.println("                    RESUMEN FINAL                       ");
+        System.out.println("========================================================");
+        System.out.println("Tests pasados: " + testsPasados);
+        System.out.println("Tests fallados: " + testsFallados);
+
+        if (testsFallados == 0) {
+            System.out.println("\nTODOS LOS TESTS PASARON! El almacen analitico coincide con la fuerza bruta.");
+        } else {
+            System.out.println("\nHay errores que corregir.");
+        }
+    }
+
+    private static void test1_sinRango() {
+        System.out.println("-------------------------------------------------------");
+        System.out.println("TEST 1: Consultas sin rango de fechas");
+        System.out.println("-------------------------------------------------------");
+
+        List<String> errores = new ArrayList<>();
+        comparar("todos los activos", new Filtro(), f -> !f.eliminado, errores);
+        comparar("con eliminados", new Filtro().conEliminados(), f -> true, errores);
+        comparar("areas IT y sin area", new Filtro().areas("IT", null),
+                f -> !f.eliminado && (Objects.equals(f.area, "IT") || f.area == null), errores);
+        comparar("estado ACTIVO con eliminados", new Filtro().conEliminados().estados(Estado.ACTIVO),
+                f -> f.estado == Estado.ACTIVO, errores);
+        comparar("categoria B", new Filtro().categorias("B"),
+                f -> !f.eliminado && Objects.equals(f.categoria, "B"), errores);
+        informar("Test 1", errores);
+    }
+
+    private static void test2_conRango() {
+        System.out.println("\n-------------------------------------------------------");
+        System.out.println("TEST 2: Consultas con rango de fechas de ingreso");
+        System.out.println("-------------------------------------------------------");
+
+        List<String> errores = new ArrayList<>();
+        compararRangos(errores);
+        informar("Test 2", errores);
+    }
+
+    private static void test3_despuesDeModificar() {
+        System.out.println("\n-------------------------------------------------------");
+        System.out.println("TEST 3: Consultas despues de modificar empleados y legajos");
+        System.out.println("-------------------------------------------------------");
+
+        Random azar = new Random(7);
+        for (int i = 0; i < 400; i++) {
+            Fila f = modelo.get(azar.nextInt(modelo.size()));
+            switch (i % 5) {
+                case 0 -> {
+                    f.ingreso = FECHAS[azar.nextInt(FECHAS.length)];
+                    f.area = AREAS[azar.nextInt(AREAS.length)];
+                    almacen.actualizarEmpleado(f.id, f.ingreso, f.area);
+                }
+                case 1 -> {
+                    f.eliminado = true;
+                    almacen.eliminarEmpleado(f.id);
+                }
+                case 2 -> {
+                    if (f.legajoId != 0) {
+                        f.categoria = CATEGORIAS[azar.nextInt(CATEGORIAS.length)];
+                        f.estado = Estado.values()[azar.nextInt(Estado.values().length)];
+                        almacen.actualizarLegajo(f.legajoId, f.categoria, f.estado);
+                    }
+                }
+                case 3 -> {
+                    if (f.legajoId != 0) {
+                        almacen.eliminarLegajo(f.legajoId);
+                        f.legajoId = 0;
+                        f.categoria = null;
+                        f.estado = null;
+                    }
+                }
+                default -> {
+                    Fila nueva = fila(100_000 + i, azar);
+                    nueva.eliminado = false;
+                    modelo.add(nueva);
+                    almacen.registrar(empleado(nueva));
+                }
+            }
+        }
+
+        List<String> errores = new ArrayList<>();
+        if (almacen.getFilas() != modelo.size()) {
+            errores.add("filas: " + almacen.getFilas() + " en lugar de " + modelo.size());
+        }
+        comparar("todos los activos", new Filtro(), f -> !f.eliminado, errores);
+        comparar("con eliminados", new Filtro().conEliminados(), f -> true, errores);
+        comparar("estado INACTIVO", new Filtro().estados(Estado.INACTIVO),
+                f -> !f.eliminado && f.estado == Estado.INACTIVO, errores);
+        compararRangos(errores);
+        informar("Test 3", errores);
+    }
+
+    // Metodos auxiliares
+
+    private static void compararRangos(List<String> errores) {
+        LocalDate[][] rangos = {
+            {LocalDate.of(1950, 1, 1), LocalDate.of(2000, 12, 31)},
+            {null, LocalDate.of(1969, 12, 31)},
+            {LocalDate.of(1970, 1, 1), null},
+            {LocalDate.of(2024, 2, 29), LocalDate.of(2024, 2, 29)},
+            {LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1)},
+            {LocalDate.of(2011, 1, 1), LocalDate.of(2020, 1, 1)}
+        };
+        for (LocalDate[] r : rangos) {
+            LocalDate desde = r[0];
+            LocalDate hasta = r[1];
+            Predicate<Fila> enRango = f -> f.ingreso != null
+                    && (desde == null || !f.ingreso.isBefore(desde))
+                    && (hasta == null || !f.ingreso.isAfter(hasta));
+            comparar("ingreso " + desde + " a " + hasta, new Filtro().ingresoEntre(desde, hasta),
+                    f -> !f.eliminado && enRango.test(f), errores);
+            comparar("ingreso " + desde + " a " + hasta + " con eliminados, area Ventas",
+                    new Filtro().conEliminados().areas("Ventas").ingresoEntre(desde, hasta),
+                    f -> Objects.equals(f.area, "Ventas") && enRango.test(f), errores);
+        }
+    }
+
+    /**
+     * Compara contar y agrupar (area x estado, y por categoria) con la fuerza
+     * bruta sobre el modelo, para un filtro y su equivalente como predicado.
+     */
+    private static void comparar(String nombre, Filtro filtro, Predicate<Fila> condicion, List<String> errores) {
+        long esperado = modelo.stream().filter(condicion).count();
+        long contado = almacen.contar(filtro);
+        System.out.println("  " + nombre + ": " + contado + " (esperado " + esperado + ")");
+        if (contado != esperado) {
+            errores.add(nombre + ": contar = " + contado + ", esperado " + esperado);
+        }
+
+        Agrupacion porAreaYEstado = almacen.agrupar(Dimension.AREA, Dimension.ESTADO, filtro);
+        Map<String, Long> celdas = new HashMap<>();
+        for (Fila f : modelo) {
+            if (condicion.test(f)) {
+                celdas.merge(etiqueta(f.area) + "|" + etiqueta(f.estado), 1L, Long::sum);
+            }
+        }
+        for (Map.Entry<String, Long> celda : celdas.entrySet()) {
+            String[] partes = celda.getKey().split("\\|");
+            long obtenido = porAreaYEstado.getConteo(partes[0], partes[1]);
+            if (obtenido != celda.getValue()) {
+                errores.add(nombre + ": celda " + celda.getKey() + " = " + obtenido + ", esperado " + celda.getValue());
+            }
+        }
+        if (porAreaYEstado.getTotal() != esperado) {
+            errores.add(nombre + ": total agrupado = " + porAreaYEstado.getTotal() + ", esperado " + esperado);
+        }
+
+        Agrupacion porCategoria = almacen.agrupar(Dimension.CATEGORIA, null, filtro);
+        Map<String, Long> grupos = new HashMap<>();
+        for (Fila f : modelo) {
+            if (condicion.test(f)) {
+                grupos.merge(etiqueta(f.categoria), 1L, Long::sum);
+            }
+        }
+        for (Map.Entry<String, Long> grupo : grupos.entrySet()) {
+            if (porCategoria.getConteo(grupo.getKey()) != grupo.getValue()) {
+                errores.add(nombre + ": categoria " + grupo.getKey() + " = "
+                        + porCategoria.getConteo(grupo.getKey()) + ", esperado " + grupo.getValue());
+            }
+        }
+    }
+
+    private static String etiqueta(Object valor) {
+        return valor != null ? valor.toString() : AlmacenColumnar.SIN_DATO;
+    }
+
+    private static void informar(String nombreTest, List<String> errores) {
+        if (errores.isEmpty()) {
+            testPasado(nombreTest);
+        } else {
+            for (String error : errores) {
+                System.out.println("  - " + error);
+            }
+            testFallado(nombreTest, errores.size() + " diferencias con la fuerza bruta");
+        }
+    }
+
+    // Conjunto fijo (semilla constante): mas de 64 filas para usar varias
+    // palabras del bitset de bajas
+    private static List<Fila> generar(int cantidad) {
+        Random azar = new Random(42);
+        List<Fila> filas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            filas.add(fila(i + 1, azar));
+        }
+        return filas;
+    }
+
+    private static Fila fila(long id, Random azar) {
+        Fila f = new Fila();
+        f.id = id;
+        f.eliminado = azar.nextInt(7) == 0;
+        f.ingreso = FECHAS[azar.nextInt(FECHAS.length)];
+        f.area = AREAS[azar.nextInt(AREAS.length)];
+        if (azar.nextInt(5) != 0) {
+            f.legajoId = 1_000_000 + id;
+            f.categoria = CATEGORIAS[azar.nextInt(CATEGORIAS.length)];
+            f.estado = Estado.values()[azar.nextInt(Estado.values().length)];
+        }
+        return f;
+    }
+
+    private static Empleado empleado(Fila f) {
+        Legajo legajo = null;
+        if (f.legajoId != 0) {
+            legajo = new Legajo(f.legajoId, false, "L" + f.legajoId, f.categoria, f.estado, f.ingreso, null);
+        }
+        return new Empleado(f.id, false, "Nombre", "Apellido", String.valueOf(f.id), null, f.ingreso, f.area, legajo);
+    }
+
+    private static void testPasado(String nombreTest) {
+        System.out.println("\n" + nombreTest + " PASADO\n");
+        testsPasados++;
+    }
+
+    private static void testFallado(String nombreTest, String motivo) {
+        System.out.println("\n" + nombreTest + " FALLADO");
+        System.out.println("   Motivo: " + motivo + "\n");
+        testsFallados++;
+    }
+
+    /** Copia de una fila del almacen, para contar por fuerza bruta. */
+    private static final class Fila {
+        long id;
+        boolean eliminado;
+        LocalDate ingreso;
+        String area;
+        long legajoId;
+        String categoria;
+        Estado estado;
+    }
+}
@@ -0,0 +1,180 @@
+package test;
+
+import Datos.LectorCsv;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test del lector CSV (LectorCsv) con entradas fijas en memoria.
+ *
+ * PREREQUISITOS: ninguno (no usa la base de datos ni archivos).
+ *
+ * TESTS:
+ * 1. Separador dentro de comillas
+ * 2. Comilla literal escrita como ""
+ * 3. Salto de linea dentro de comillas y numero de linea de cada fila
+ * 4. Finales de linea \r\n
+ * 5. BOM de UTF-8 al inicio
+ * 6. Deteccion del separador ';'
+ * 7. Campos vacios, lineas en blanco y ultima fila sin salto de linea
+ * 8. Comillas sin cerrar
+ */
+public class TestLectorCsv {
+
+    private static int testsPasados = 0;
+    private static int testsFallados = 0;
+
+    public static void main(String[] args) {
+        System.out.println("========================================================");
+        System.out.println("        TEST DE LECTOR CSV - RFC 4180 por streaming      ");
+        System.out.println("========================================================\n");
+
+        test1_separadorEntreComillas();
+        test2_comillaLiteral();
+        test3_saltoDeLineaEntreComillas();
+        test4_finDeLineaCrLf();
+        test5_bom();
+        test6_puntoYComa();
+        test7_camposVacios();
+        test8_comillasSinCerrar();
+
+        System.out.println("\n========================================================");
+        System.out.println("                    RESUMEN FINAL                       ");
+        System.out.println("========================================================");
+        System.out.println("Tests pasados: " + testsPasados);
+        System.out.println("Tests fallados: " + testsFallados);
+
+        if (testsFallados == 0) {
+            System.out.println("\nTODOS LOS TESTS PASARON! LectorCsv esta funcionando correctamente.");
+        } else {
+            System.out.println("\nHay errores que corregir.");
+        }
+    }
+
+    private static void test1_separadorEntreComillas() {
+        titulo("TEST 1: Separador dentro de comillas");
+        verificar("Test 1", "dni,nombre\n\"30,5\",\"Perez, Juan\"\n",
+                new String[][] {{"dni", "nombre"}, {"30,5", "Perez, Juan"}},
+                new long[] {1, 2}, ',');
+    }
+
+    private static void test2_comillaLiteral() {
+        titulo("TEST 2: Comilla literal escrita como \"\"");
+        verificar("Test 2", "a,b\n\"dice \"\"hola\"\"\",\"\"\"\"\n",
+                new String[][] {{"a", "b"}, {"dice \"hola\"", "\""}},
+                new long[] {1, 2}, ',');
+    }
+
+    private static void test3_saltoDeLineaEntreComillas() {
+        titulo("TEST 3: Salto de linea dentro de comillas");
+        verificar("Test 3", "dni,obs\n1,\"linea uno\nlinea dos\nlinea tres\"\n2,simple\n",
+                new String[][] {{"dni", "obs"}, {"1", "linea uno\nlinea dos\nlinea tres"}, {"2", "simple"}},
+                new long[] {1, 2, 5}, ',');
+    }
+
+    private static void test4_finDeLineaCrLf() {
+        titulo("TEST 4: Finales de linea \\r\\n");
+        verificar("Test 4", "a,b\r\n1,\"x\r\ny\"\r\n2,z\r\n",
+                new String[][] {{"a", "b"}, {"1", "x\r\ny"}, {"2", "z"}},
+                new long[] {1, 2, 4}, ',');
+    }
+
+    private static void test5_bom() {
+        titulo("TEST 5: BOM de UTF-8 al inicio");
+        verificar("Test 5", "\uFEFFdni;nombre\n1;Ana\n",
+                new String[][] {{"dni", "nombre"}, {"1", "Ana"}},
+                new long[] {1, 2}, ';');
+    }
+
+    private static void test6_puntoYComa() {
+        titulo("TEST 6: Deteccion del separador ';'");
+        // Las comas entre comillas de la cabecera no cuentan para la deteccion
+        verificar("Test 6", "\"apellido, nombre\";dni;\"area, sector\"\n\"Perez, Ana\";1;\"a;b\"\n",
+                new String[][] {{"apellido, nombre", "dni", "area, sector"}, {"Perez, Ana", "1", "a;b"}},
+                new long[] {1, 2}, ';');
+    }
+
+    private static void test7_camposVacios() {
+        titulo("TEST 7: Campos vacios, lineas en blanco y fin sin salto");
+        verificar("Test 7", "a,b,c\n\n1,,\n\r\n,\"\",3",
+                new String[][] {{"a", "b", "c"}, {"1", "", ""}, {"", "", "3"}},
+                new long[] {1, 3, 5}, ',');
+    }
+
+    private static void test8_comillasSinCerrar() {
+        titulo("TEST 8: Comillas sin cerrar");
+        try (LectorCsv lector = new LectorCsv(new StringReader("a,b\n1,\"sin cerrar\n2,x\n"))) {
+            lector.siguiente();
+            String[] fila = lector.siguiente();
+            testFallado("Test 8", "No se detectaron las comillas sin cerrar: " + Arrays.toString(fila));
+        } catch (IOException e) {
+            System.out.println("Error esperado: " + e.getMessage());
+            testPasado("Test 8");
+        }
+    }
+
+    // Metodos auxiliares
+
+    /**
+     * Lee la entrada completa y compara filas, linea de inicio de cada fila
+     * y separador detectado con lo esperado.
+     */
+    private static void verificar(String nombreTest, String entrada, String[][] filasEsperadas,
+                                  long[] lineasEsperadas, char separadorEsperado) {
+        List<String[]> filas = new ArrayList<>();
+        List<Long> lineas = new ArrayList<>();
+        try (LectorCsv lector = new LectorCsv(new StringReader(entrada))) {
+            if (lector.getSeparador() != separadorEsperado) {
+                testFallado(nombreTest, "Separador '" + lector.getSeparador() + "' en lugar de '" + separadorEsperado + "'");
+                return;
+            }
+            String[] fila;
+            while ((fila = lector.siguiente()) != null) {
+                filas.add(fila);
+                lineas.add(lector.getLinea());
+            }
+        } catch (IOException e) {
+            testFallado(nombreTest, "Error inesperado: " + e.getMessage());
+            return;
+        }
+
+        if (filas.size() != filasEsperadas.length) {
+            testFallado(nombreTest, filas.size() + " filas en lugar de " + filasEsperadas.length);
+            return;
+        }
+        for (int i = 0; i < filas.size(); i++) {
+            System.out.println("  linea " + lineas.get(i) + ": " + Arrays.toString(filas.get(i)));
+            if (!Arrays.equals(filas.get(i), filasEsperadas[i])) {
+                testFallado(nombreTest, "Fila " + (i + 1) + " = " + Arrays.toString(filas.get(i))
+                        + ", esperada " + Arrays.toString(filasEsperadas[i]));
+                return;
+            }
+            if (lineas.get(i) != lineasEsperadas[i]) {
+                testFallado(nombreTest, "Fila " + (i + 1) + " empieza en la linea " + lineas.get(i)
+                        + ", esperada " + lineasEsperadas[i]);
+                return;
+            }
+        }
+        testPasado(nombreTest);
+    }
+
+    private static void titulo(String titulo) {
+        System.out.println("-------------------------------------------------------");
+        System.out.println(titulo);
+        System.out.println("-------------------------------------------------------");
+    }
+
+    private static void testPasado(String nombreTest) {
+        System.out.println("\n" + nombreTest + " PASADO\n");
+        testsPasados++;
+    }
+
+    private static void testFallado(String nombreTest, String motivo) {
+        System.out.println("\n" + nombreTest + " FALLADO");
+        System.out.println("   Motivo: " + motivo + "\n");
+        testsFallados++;
+    }
+}
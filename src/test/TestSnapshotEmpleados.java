@@ -0,0 +1,254 @@
+package test;
+
+import Cache.SnapshotEmpleados;
+import Entities.Empleado;
+import Entities.Estado;
+import Entities.Legajo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test de ida y vuelta del formato binario de SnapshotEmpleados.
+ *
+ * PREREQUISITOS: ninguno (no usa la base de datos; escribe en un archivo temporal).
+ *
+ * TESTS:
+ * 1. Escribir y abrir: cada empleado se lee por ID igual a como se escribio
+ *    (textos y fechas null, diccionarios de area y categoria, sin legajo)
+ * 2. Busqueda por DNI, incluidos dos DNI con el mismo hash
+ * 3. Busqueda del empleado duenio de un legajo
+ * 4. Cerrar el snapshot y reescribir el mismo archivo (con un solo DNI del par
+ *    con el mismo hash)
+ */
+public class TestSnapshotEmpleados {
+
+    // Dos DNI distintos con el mismo hash FNV-1a de 64 bits (el del indice
+    // por DNI): obligan a recorrer las entradas con el mismo hash
+    private static final String DNI_COLISION_1 = "\u0f9d\u049b\u0555\u09c5\u02f4";
+    private static final String DNI_COLISION_2 = "\u06ec\u115f\u0dd8\u03a3\u02ca";
+
+    private static final String[] AREAS = {"IT", "RRHH", "Ventas", "Administraci\u00F3n", null};
+    private static final String[] CATEGORIAS = {"A", "B", "Jefe de \u00E1rea", null};
+
+    private static Path archivo;
+    private static List<Empleado> empleados;
+    private static SnapshotEmpleados snapshot;
+    private static int testsPasados = 0;
+    private static int testsFallados = 0;
+
+    public static void main(String[] args) {
+        System.out.println("========================================================");
+        System.out.println("   TEST DE SNAPSHOT DE EMPLEADOS - Formato binario      ");
+        System.out.println("========================================================\n");
+
+        try {
+            archivo = Files.createTempFile("empleados", ".snap");
+            empleados = generar(500);
+            SnapshotEmpleados.escribir(archivo, empleados.iterator());
+            snapshot = SnapshotEmpleados.abrir(archivo);
+        } catch (Exception e) {
+            System.out.println("No se pudo escribir o abrir el snapshot: " + e.getMessage());
+            e.printStackTrace();
+            return;
+        }
+
+        try {
+            test1_idaYVuelta();
+            test2_porDni();
+            test3_empleadoDelLegajo();
+            test4_cerrarYReescribir();
+        } finally {
+            snapshot.close();
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (Exception e) {
+                System.out.println("No se pudo borrar " + archivo + ": " + e.getMessage());
+            }
+        }
+
+        System.out.println("\n========================================================");
+        System.out.println("                    RESUMEN FINAL                       ");
+        System.out.println("========================================================");
+        System.out.println("Tests pasados: " + testsPasados);
+        System.out.println("Tests fallados: " + testsFallados);
+
+        if (testsFallados == 0) {
+            System.out.println("\nTODOS LOS TESTS PASARON! El snapshot conserva los datos.");
+        } else {
+            System.out.println("\nHay errores que corregir.");
+        }
+    }
+
+    private static void test1_idaYVuelta() {
+        titulo("TEST 1: Escribir, abrir y leer por ID");
+
+        if (snapshot.getCantidad() != empleados.size()) {
+            testFallado("Test 1", snapshot.getCantidad() + " empleados en lugar de " + empleados.size());
+            return;
+        }
+        for (Empleado esperado : empleados) {
+            Empleado leido = snapshot.porId(esperado.getId());
+            if (leido == null || !describir(leido).equals(describir(esperado))) {
+                testFallado("Test 1", "ID " + esperado.getId() + ": " + describir(leido)
+                        + ", esperado " + describir(esperado));
+                return;
+            }
+        }
+        if (snapshot.porId(999_999L) != null || snapshot.porId(0L) != null) {
+            testFallado("Test 1", "Se encontro un ID que no esta en el snapshot");
+            return;
+        }
+        System.out.println("Empleados leidos por ID: " + empleados.size());
+        System.out.println("  Ejemplo: " + describir(snapshot.porId(empleados.get(7).getId())));
+        testPasado("Test 1");
+    }
+
+    private static void test2_porDni() {
+        titulo("TEST 2: Busqueda por DNI (con colision de hash)");
+
+        for (Empleado esperado : empleados) {
+            Empleado leido = snapshot.porDni(esperado.getDni());
+            if (leido == null || !leido.getId().equals(esperado.getId())) {
+                testFallado("Test 2", "DNI " + esperado.getDni() + ": " + describir(leido));
+                return;
+            }
+        }
+        if (fnv1a(DNI_COLISION_1) != fnv1a(DNI_COLISION_2)) {
+            testFallado("Test 2", "Los DNI de colision ya no tienen el mismo hash");
+            return;
+        }
+        if (snapshot.porDni("00000000") != null) {
+            testFallado("Test 2", "Se encontro un DNI que no esta en el snapshot");
+            return;
+        }
+        System.out.println("DNI con el mismo hash: " + escapar(DNI_COLISION_1) + " y " + escapar(DNI_COLISION_2));
+        System.out.println("  -> IDs " + snapshot.porDni(DNI_COLISION_1).getId()
+                + " y " + snapshot.porDni(DNI_COLISION_2).getId());
+        testPasado("Test 2");
+    }
+
+    private static void test3_empleadoDelLegajo() {
+        titulo("TEST 3: Empleado duenio de un legajo");
+
+        for (Empleado e : empleados) {
+            if (e.getLegajo() != null && !e.getId().equals(snapshot.empleadoDelLegajo(e.getLegajo().getId()))) {
+                testFallado("Test 3", "Legajo " + e.getLegajo().getId() + " -> "
+                        + snapshot.empleadoDelLegajo(e.getLegajo().getId()) + ", esperado " + e.getId());
+                return;
+            }
+        }
+        if (snapshot.empleadoDelLegajo(123L) != null) {
+            testFallado("Test 3", "Se encontro un legajo que no esta en el snapshot");
+            return;
+        }
+        testPasado("Test 3");
+    }
+
+    private static void test4_cerrarYReescribir() {
+        titulo("TEST 4: Cerrar el snapshot y reescribir el mismo archivo");
+
+        try {
+            snapshot.close();
+            try {
+                snapshot.porId(empleados.get(0).getId());
+                testFallado("Test 4", "Se pudo leer un snapshot cerrado");
+                return;
+            } catch (IllegalStateException e) {
+                System.out.println("Lectura despues de cerrar: " + e.getClass().getSimpleName() + " (esperado)");
+            }
+
+            // Sin el primer empleado: de los dos DNI con el mismo hash queda uno solo
+            List<Empleado> menos = empleados.subList(1, 11);
+            SnapshotEmpleados.escribir(archivo, menos.iterator());
+            snapshot = SnapshotEmpleados.abrir(archivo);
+            if (snapshot.getCantidad() != menos.size()
+                    || !describir(snapshot.porId(menos.get(9).getId())).equals(describir(menos.get(9)))
+                    || snapshot.porId(empleados.get(0).getId()) != null
+                    || snapshot.porId(empleados.get(11).getId()) != null) {
+                testFallado("Test 4", "El snapshot reescrito no tiene los datos nuevos");
+                return;
+            }
+            if (snapshot.porDni(DNI_COLISION_1) != null
+                    || !empleados.get(1).getId().equals(snapshot.porDni(DNI_COLISION_2).getId())) {
+                testFallado("Test 4", "Con un solo DNI del par de colision se encontro " + describir(snapshot.porDni(DNI_COLISION_1)));
+                return;
+            }
+            testPasado("Test 4");
+        } catch (Exception e) {
+            testFallado("Test 4", "Error inesperado: " + e.getMessage());
+        }
+    }
+
+    // Metodos auxiliares
+
+    private static List<Empleado> generar(int cantidad) {
+        List<Empleado> lista = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            long id = 10L + i * 3L;
+            String dni = i == 0 ? DNI_COLISION_1 : i == 1 ? DNI_COLISION_2 : String.valueOf(20_000_000 + i * 7);
+            Legajo legajo = null;
+            if (i % 4 != 0) {
+                legajo = new Legajo(5_000L + i, false, i % 9 == 0 ? null : "L-" + i,
+                        CATEGORIAS[i % CATEGORIAS.length],
+                        i % 6 == 0 ? null : Estado.values()[i % Estado.values().length],
+                        i % 5 == 0 ? null : LocalDate.of(1960, 1, 1).plusDays(i * 53L),
+                        i % 3 == 0 ? null : "Observaci\u00F3n \u00F1 " + i);
+            }
+            lista.add(new Empleado(id, false, "Nombre" + i, i % 10 == 0 ? null : "Apellido" + i, dni,
+                    i % 2 == 0 ? null : "empleado" + i + "@empresa.com",
+                    i % 7 == 0 ? null : LocalDate.of(1965, 3, 1).plusDays(i * 31L),
+                    AREAS[i % AREAS.length], legajo));
+        }
+        return lista;
+    }
+
+    /** Todos los campos que guarda el snapshot, para comparar. */
+    private static String describir(Empleado e) {
+        if (e == null) {
+            return "null";
+        }
+        Legajo l = e.getLegajo();
+        return e.getId() + "|" + e.getDni() + "|" + e.getNombre() + "|" + e.getApellido() + "|"
+                + e.getEmail() + "|" + e.getFechaIngreso() + "|" + e.getArea() + "|"
+                + (l == null ? "sin legajo" : l.getId() + "|" + l.getNroLegajo() + "|" + l.getCategoria()
+                        + "|" + l.getEstado() + "|" + l.getFechaAlta() + "|" + l.getObservaciones());
+    }
+
+    /** Mismo hash que usa SnapshotEmpleados para el indice por DNI. */
+    private static long fnv1a(String texto) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < texto.length(); i++) {
+            h ^= texto.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static String escapar(String texto) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : texto.toCharArray()) {
+            sb.append(c >= 0x20 && c < 0x7F ? String.valueOf(c) : String.format("\\u%04x", (int) c));
+        }
+        return sb.toString();
+    }
+
+    private static void titulo(String titulo) {
+        System.out.println("-------------------------------------------------------");
+        System.out.println(titulo);
+        System.out.println("-------------------------------------------------------");
+    }
+
+    private static void testPasado(String nombreTest) {
+        System.out.println("\n" + nombreTest + " PASADO\n");
+        testsPasados++;
+    }
+
+    private static void testFallado(String nombreTest, String motivo) {
+        System.out.println("\n" + nombreTest + " FALLADO");
+        System.out.println("   Motivo: " + motivo + "\n");
+        testsFallados++;
+    }
+}